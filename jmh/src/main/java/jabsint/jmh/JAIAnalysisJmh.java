@@ -0,0 +1,78 @@
+package jabsint.jmh;
+
+import jabsint.JAIAbstractInterpreter;
+import jabsint.JAIMinimalWorld;
+import jabsint.JAIWorklistInterpreter;
+import jabsint.JAIWorld;
+import jabsint.benchmarks.JAIHotPathBenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javassist.CtMethod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the analysis of the methods of the corpus from their first
+ * instruction, with the worklist interpreter and, for the methods without loops,
+ * with the path-sensitive interpreter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JAIAnalysisJmh {
+
+	/**
+	 * The method analysed with the worklist interpreter.
+	 */
+	@State(Scope.Thread)
+	public static class JAIWorklistState {
+		@Param({"straightLine", "branchy", "loop", "tableSwitch", "lookupSwitch", "nestedLoops", "manyLocalsBranchy", "bigMethod"})
+		public String methodName;
+
+		public CtMethod m;
+
+		@Setup
+		public void setUp() throws Exception {
+			m = JAIJmhCorpus.getMethod(methodName);
+		}
+	}
+
+	/**
+	 * The method analysed with the path-sensitive interpreter.
+	 */
+	@State(Scope.Thread)
+	public static class JAIPathsState {
+		@Param({"straightLine", "branchy", "tableSwitch", "lookupSwitch", "manyLocalsBranchy"})
+		public String methodName;
+
+		public CtMethod m;
+
+		@Setup
+		public void setUp() throws Exception {
+			m = JAIJmhCorpus.getMethod(methodName);
+		}
+	}
+
+	@Benchmark
+	public JAIWorld worklist(JAIWorklistState state) {
+		return new JAIWorklistInterpreter(state.m).interpret(new JAIMinimalWorld(JAIHotPathBenchmark.newFactory(state.m)));
+	}
+
+	@Benchmark
+	public JAIWorld paths(JAIPathsState state) {
+		return new JAIAbstractInterpreter(state.m).interpret(new JAIMinimalWorld(JAIHotPathBenchmark.newFactory(state.m)));
+	}
+}
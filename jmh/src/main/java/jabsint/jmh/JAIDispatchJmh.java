@@ -0,0 +1,79 @@
+package jabsint.jmh;
+
+import jabsint.JAIAbstractInterpreter;
+import jabsint.JAIWorld;
+import jabsint.benchmarks.JAIDispatchBenchmark;
+import jabsint.benchmarks.JAIDispatchBenchmark.JAINonForkingWorld;
+import jabsint.benchmarks.JAIHotPathBenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javassist.CtMethod;
+import javassist.bytecode.CodeIterator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the dispatch of the instructions of a method of the corpus
+ * (control transfers excepted) by the handler table of the interpreter, and of the
+ * first instruction of the method, in a world that does not compute values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JAIDispatchJmh {
+
+	@Param({"straightLine", "branchy", "loop", "tableSwitch", "lookupSwitch", "bigMethod"})
+	public String methodName;
+
+	private JAIAbstractInterpreter interpreter;
+	private CodeIterator ci;
+	private int []indexes;
+	private final JAIWorld world = new JAINonForkingWorld();
+
+	@Setup
+	public void setUp() throws Exception {
+		CtMethod m = JAIJmhCorpus.getMethod(methodName);
+		interpreter = new JAIAbstractInterpreter(m);
+		ci = m.getMethodInfo().getCodeAttribute().iterator();
+		List<Integer> dispatched = new ArrayList<Integer>();
+		for (int index: JAIDispatchBenchmark.instructionIndexes(m)) {
+			if (!JAIHotPathBenchmark.isControlTransfer(ci.byteAt(index))) {
+				dispatched.add(index);
+			}
+		}
+		indexes = new int[dispatched.size()];
+		for (int i = 0; i<indexes.length; i++) {
+			indexes[i] = dispatched.get(i);
+		}
+	}
+
+	@Benchmark
+	public JAIWorld method() {
+		JAIWorld w = world;
+		for (int index: indexes) {
+			w = interpreter.interpretOneInstruction(world, ci, index);
+		}
+		return w;
+	}
+
+	@Benchmark
+	public JAIWorld firstInstruction() {
+		return interpreter.interpretOneInstruction(world, ci, indexes[0]);
+	}
+}
@@ -0,0 +1,27 @@
+package jabsint.jmh;
+
+import jabsint.benchmarks.JAIBenchmarkCorpus;
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+
+/**
+ * This class gives the JMH benchmarks the methods of the corpus of the in-tree
+ * benchmarks (see {@link JAIBenchmarkCorpus}), so that both suites analyse the same code.
+ */
+public class JAIJmhCorpus {
+
+	/**
+	 * Returns a method of the corpus.
+	 *
+	 * @param methodName the name of the method.
+	 * @return the method.
+	 * @throws NotFoundException if the corpus has no such method.
+	 */
+	public static CtMethod getMethod(String methodName) throws NotFoundException {
+		ClassPool pool = new ClassPool(true);
+		pool.insertClassPath(new ClassClassPath(JAIBenchmarkCorpus.class));
+		return pool.get(JAIBenchmarkCorpus.class.getName()).getDeclaredMethod(methodName);
+	}
+}
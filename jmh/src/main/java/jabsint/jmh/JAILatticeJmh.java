@@ -0,0 +1,73 @@
+package jabsint.jmh;
+
+import jabsint.JAIAbstractValue;
+import jabsint.domains.JAIIntegerInterval;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the lattice and arithmetic operations of int intervals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("rawtypes")
+public class JAILatticeJmh {
+
+	private final JAIIntegerInterval a = JAIIntegerInterval.of(-10, 100);
+	private final JAIIntegerInterval b = JAIIntegerInterval.of(5, 1000);
+	private final long []thresholds = {-1, 0, 1, 10, 100, 1000, 65535};
+
+	@Benchmark
+	public JAIAbstractValue union() {
+		return a.union(b);
+	}
+
+	@Benchmark
+	public JAIAbstractValue intersection() {
+		return a.intersection(b);
+	}
+
+	@Benchmark
+	public JAIAbstractValue widen() {
+		return a.widen(b, null);
+	}
+
+	@Benchmark
+	public JAIAbstractValue widenThresholds() {
+		return a.widen(b, thresholds);
+	}
+
+	@Benchmark
+	public JAIAbstractValue narrow() {
+		return JAIIntegerInterval.TOP.narrow(a);
+	}
+
+	@Benchmark
+	public boolean subsumes() {
+		return b.subsumes(a);
+	}
+
+	@Benchmark
+	public JAIAbstractValue integerAdd() {
+		return a.integerAdd(b);
+	}
+
+	@Benchmark
+	public JAIAbstractValue integerMul() {
+		return a.integerMul(b);
+	}
+}
@@ -0,0 +1,70 @@
+package jabsint.jmh;
+
+import jabsint.JAIAbstractValue;
+import jabsint.JAIStack;
+import jabsint.domains.JAIIntegerInterval;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the operations of the operand stack on a stack of eight values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("rawtypes")
+public class JAIStackJmh {
+
+	private final JAIStack stack = new JAIStack(16);
+	private final JAIAbstractValue value = JAIIntegerInterval.of(0, 1);
+
+	@Setup
+	public void setUp() {
+		for (int i = 0; i<8; i++) {
+			stack.push(JAIIntegerInterval.of(i, i));
+		}
+	}
+
+	@Benchmark
+	public JAIAbstractValue pushPop() {
+		stack.push(value);
+		return stack.pop();
+	}
+
+	@Benchmark
+	public JAIAbstractValue dupPop() {
+		stack.dup();
+		return stack.pop();
+	}
+
+	@Benchmark
+	public JAIAbstractValue dup_x2Pop() {
+		stack.dup_x2();
+		return stack.pop();
+	}
+
+	@Benchmark
+	public JAIStack swap() {
+		stack.swap();
+		return stack;
+	}
+
+	@Benchmark
+	public JAIStack copy() {
+		return stack.clone();
+	}
+}
@@ -0,0 +1,71 @@
+package jabsint.jmh;
+
+import jabsint.JAIAbstractValue;
+import jabsint.JAIMinimalWorld;
+import jabsint.JAIWorld;
+import jabsint.benchmarks.JAIHotPathBenchmark;
+import jabsint.domains.JAIIntegerInterval;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures forking, joining, widening and comparing worlds with as many
+ * values on the stack as local variables.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("rawtypes")
+public class JAIWorldJmh {
+
+	@Param({"4", "32", "256"})
+	public int locals;
+
+	private JAIMinimalWorld world;
+	private JAIMinimalWorld other;
+	private final JAIAbstractValue one = JAIIntegerInterval.of(1, 1);
+
+	@Setup
+	public void setUp() {
+		world = JAIHotPathBenchmark.newWorld(locals);
+		other = (JAIMinimalWorld) world.copy();
+		other.setLocalVariable(locals/2, JAIIntegerInterval.of(-1000, 1000));
+	}
+
+	@Benchmark
+	public JAIWorld fork() {
+		JAIMinimalWorld w = (JAIMinimalWorld) world.copy();
+		w.setLocalVariable(0, one);
+		return w;
+	}
+
+	@Benchmark
+	public JAIWorld join() {
+		return world.copy().combineWith(other);
+	}
+
+	@Benchmark
+	public JAIWorld widen() {
+		return world.copy().widenWith(other, null);
+	}
+
+	@Benchmark
+	public boolean subsumes() {
+		return other.subsumes(world);
+	}
+}
@@ -3,18 +3,20 @@
  */
 package jabsint;
 
+import java.io.DataOutput;
 import java.io.IOException;
-import java.util.Stack;
-import java.util.Vector;
+import java.util.ArrayList;
 
 import javassist.CannotCompileException;
 import javassist.ClassPool;
 import javassist.CtClass;
+import javassist.CtConstructor;
 import javassist.CtMethod;
 import javassist.NotFoundException;
 import javassist.bytecode.BadBytecode;
 import javassist.bytecode.CodeAttribute;
 import javassist.bytecode.CodeIterator;
+import javassist.bytecode.MethodInfo;
 import javassist.bytecode.Mnemonic;
 import javassist.bytecode.Opcode;
 
@@ -28,20 +30,294 @@ import javassist.bytecode.Opcode;
 public class JAIAbstractInterpreter {
 
 	/**
-	 * A variable that stores all the worlds that need to be recomposed afterwards.
+	 * The context of the interpretation being run by each thread (see {@link JAIRunContext}).
 	 */
-	private Vector<JAIWorld> resultsOfExecutionToCollect = new Vector<JAIWorld>();
+	private final ThreadLocal<JAIRunContext> context = new ThreadLocal<JAIRunContext>();
 
 	/**
-	 * A variable that stores all the worlds that need to be recomposed afterwards.
+	 * The context of the last interpretation that finished.
 	 */
-	private Stack<Integer> returnIndexesForSubroutines = new Stack<Integer>();
+	private volatile JAIRunContext lastContext = null;
 
 	/**
 	 * The method to interpret.
 	 */
 	private CtMethod m = null;
 
+	/**
+	 * The decoded code of the method, shared with the other interpreters of the method.
+	 */
+	private volatile JAIDecodedMethod decodedMethod = null;
+
+	/**
+	 * True if paths are merged at join points (see {@link JAIStateTable}).
+	 */
+	private boolean mergingAtJoinPoints = false;
+
+	/**
+	 * The maximum estimated size of the worlds kept at join points, in bytes.
+	 */
+	private long stateTableCapacity = JAIStateTable.DEFAULT_CAPACITY;
+
+	/**
+	 * The limits of the interpretation (null for none).
+	 */
+	private JAIPathBudget pathBudget = null;
+
+	/**
+	 * True if the instructions that may throw implicitly (see {@link JAIControlFlowGraph#mayThrowImplicitly(int)})
+	 * lead to the handlers covering them, as athrow does.
+	 */
+	private boolean implicitExceptionEdges = false;
+
+	/**
+	 * The time (as given by System.nanoTime()) after which the interpretation stops, 0 for none.
+	 */
+	private long deadline = 0;
+
+	/**
+	 * The number of instructions interpreted between two checks of the deadline.
+	 */
+	private static final int INSTRUCTIONS_BETWEEN_CHECKS = 1024;
+
+	/**
+	 * The cache of the summaries of the methods called, created the first time a call is
+	 * interpreted unless the interpreter was given one.
+	 */
+	private volatile JAISummaryCache summaryCache = null;
+
+	/**
+	 * The store of the summaries on disk, null if summaries are not stored.
+	 */
+	private JAISummaryStore summaryStore = null;
+
+	/**
+	 * The interpreter of the method calling this one when summarizing it, null otherwise.
+	 */
+	private JAIAbstractInterpreter caller = null;
+
+	/**
+	 * The maximum number of nested calls that are summarized.
+	 */
+	private int maximumCallDepth = 8;
+
+	/**
+	 * The dispatch table, indexed by opcode, shared by all interpreters.
+	 */
+	private static final JAIInstructionHandler[] handlers = buildHandlers();
+
+	/**
+	 * Builds the dispatch table associating each opcode with its interpret method.
+	 * Unused opcodes are left null.
+	 * 
+	 * @return the dispatch table.
+	 */
+	private static JAIInstructionHandler[] buildHandlers() {
+		JAIInstructionHandler[] handlers = new JAIInstructionHandler[256];
+		handlers[Opcode.NOP] = JAIAbstractInterpreter::interpretNop;
+		handlers[Opcode.ACONST_NULL] = JAIAbstractInterpreter::interpretAconst_null;
+		handlers[Opcode.ICONST_M1] = JAIAbstractInterpreter::interpretIconst_m1;
+		handlers[Opcode.ICONST_0] = JAIAbstractInterpreter::interpretIconst_0;
+		handlers[Opcode.ICONST_1] = JAIAbstractInterpreter::interpretIconst_1;
+		handlers[Opcode.ICONST_2] = JAIAbstractInterpreter::interpretIconst_2;
+		handlers[Opcode.ICONST_3] = JAIAbstractInterpreter::interpretIconst_3;
+		handlers[Opcode.ICONST_4] = JAIAbstractInterpreter::interpretIconst_4;
+		handlers[Opcode.ICONST_5] = JAIAbstractInterpreter::interpretIconst_5;
+		handlers[Opcode.LCONST_0] = JAIAbstractInterpreter::interpretLconst_0;
+		handlers[Opcode.LCONST_1] = JAIAbstractInterpreter::interpretLconst_1;
+		handlers[Opcode.FCONST_0] = JAIAbstractInterpreter::interpretFconst_0;
+		handlers[Opcode.FCONST_1] = JAIAbstractInterpreter::interpretFconst_1;
+		handlers[Opcode.FCONST_2] = JAIAbstractInterpreter::interpretFconst_2;
+		handlers[Opcode.DCONST_0] = JAIAbstractInterpreter::interpretDconst_0;
+		handlers[Opcode.DCONST_1] = JAIAbstractInterpreter::interpretDconst_1;
+		handlers[Opcode.BIPUSH] = JAIAbstractInterpreter::interpretBipush;
+		handlers[Opcode.SIPUSH] = JAIAbstractInterpreter::interpretSipush;
+		handlers[Opcode.LDC] = JAIAbstractInterpreter::interpretLdc;
+		handlers[Opcode.LDC_W] = JAIAbstractInterpreter::interpretLdc_w;
+		handlers[Opcode.LDC2_W] = JAIAbstractInterpreter::interpretLdc2_w;
+		handlers[Opcode.ILOAD] = JAIAbstractInterpreter::interpretIload;
+		handlers[Opcode.LLOAD] = JAIAbstractInterpreter::interpretLload;
+		handlers[Opcode.FLOAD] = JAIAbstractInterpreter::interpretFload;
+		handlers[Opcode.DLOAD] = JAIAbstractInterpreter::interpretDload;
+		handlers[Opcode.ALOAD] = JAIAbstractInterpreter::interpretAload;
+		handlers[Opcode.ILOAD_0] = JAIAbstractInterpreter::interpretIload_0;
+		handlers[Opcode.ILOAD_1] = JAIAbstractInterpreter::interpretIload_1;
+		handlers[Opcode.ILOAD_2] = JAIAbstractInterpreter::interpretIload_2;
+		handlers[Opcode.ILOAD_3] = JAIAbstractInterpreter::interpretIload_3;
+		handlers[Opcode.LLOAD_0] = JAIAbstractInterpreter::interpretLload_0;
+		handlers[Opcode.LLOAD_1] = JAIAbstractInterpreter::interpretLload_1;
+		handlers[Opcode.LLOAD_2] = JAIAbstractInterpreter::interpretLload_2;
+		handlers[Opcode.LLOAD_3] = JAIAbstractInterpreter::interpretLload_3;
+		handlers[Opcode.FLOAD_0] = JAIAbstractInterpreter::interpretFload_0;
+		handlers[Opcode.FLOAD_1] = JAIAbstractInterpreter::interpretFload_1;
+		handlers[Opcode.FLOAD_2] = JAIAbstractInterpreter::interpretFload_2;
+		handlers[Opcode.FLOAD_3] = JAIAbstractInterpreter::interpretFload_3;
+		handlers[Opcode.DLOAD_0] = JAIAbstractInterpreter::interpretDload_0;
+		handlers[Opcode.DLOAD_1] = JAIAbstractInterpreter::interpretDload_1;
+		handlers[Opcode.DLOAD_2] = JAIAbstractInterpreter::interpretDload_2;
+		handlers[Opcode.DLOAD_3] = JAIAbstractInterpreter::interpretDload_3;
+		handlers[Opcode.ALOAD_0] = JAIAbstractInterpreter::interpretAload_0;
+		handlers[Opcode.ALOAD_1] = JAIAbstractInterpreter::interpretAload_1;
+		handlers[Opcode.ALOAD_2] = JAIAbstractInterpreter::interpretAload_2;
+		handlers[Opcode.ALOAD_3] = JAIAbstractInterpreter::interpretAload_3;
+		handlers[Opcode.IALOAD] = JAIAbstractInterpreter::interpretIaload;
+		handlers[Opcode.LALOAD] = JAIAbstractInterpreter::interpretLaload;
+		handlers[Opcode.FALOAD] = JAIAbstractInterpreter::interpretFaload;
+		handlers[Opcode.DALOAD] = JAIAbstractInterpreter::interpretDaload;
+		handlers[Opcode.AALOAD] = JAIAbstractInterpreter::interpretAaload;
+		handlers[Opcode.BALOAD] = JAIAbstractInterpreter::interpretBaload;
+		handlers[Opcode.CALOAD] = JAIAbstractInterpreter::interpretCaload;
+		handlers[Opcode.SALOAD] = JAIAbstractInterpreter::interpretSaload;
+		handlers[Opcode.ISTORE] = JAIAbstractInterpreter::interpretIstore;
+		handlers[Opcode.LSTORE] = JAIAbstractInterpreter::interpretLstore;
+		handlers[Opcode.FSTORE] = JAIAbstractInterpreter::interpretFstore;
+		handlers[Opcode.DSTORE] = JAIAbstractInterpreter::interpretDstore;
+		handlers[Opcode.ASTORE] = JAIAbstractInterpreter::interpretAstore;
+		handlers[Opcode.ISTORE_0] = JAIAbstractInterpreter::interpretIstore_0;
+		handlers[Opcode.ISTORE_1] = JAIAbstractInterpreter::interpretIstore_1;
+		handlers[Opcode.ISTORE_2] = JAIAbstractInterpreter::interpretIstore_2;
+		handlers[Opcode.ISTORE_3] = JAIAbstractInterpreter::interpretIstore_3;
+		handlers[Opcode.LSTORE_0] = JAIAbstractInterpreter::interpretLstore_0;
+		handlers[Opcode.LSTORE_1] = JAIAbstractInterpreter::interpretLstore_1;
+		handlers[Opcode.LSTORE_2] = JAIAbstractInterpreter::interpretLstore_2;
+		handlers[Opcode.LSTORE_3] = JAIAbstractInterpreter::interpretLstore_3;
+		handlers[Opcode.FSTORE_0] = JAIAbstractInterpreter::interpretFstore_0;
+		handlers[Opcode.FSTORE_1] = JAIAbstractInterpreter::interpretFstore_1;
+		handlers[Opcode.FSTORE_2] = JAIAbstractInterpreter::interpretFstore_2;
+		handlers[Opcode.FSTORE_3] = JAIAbstractInterpreter::interpretFstore_3;
+		handlers[Opcode.DSTORE_0] = JAIAbstractInterpreter::interpretDstore_0;
+		handlers[Opcode.DSTORE_1] = JAIAbstractInterpreter::interpretDstore_1;
+		handlers[Opcode.DSTORE_2] = JAIAbstractInterpreter::interpretDstore_2;
+		handlers[Opcode.DSTORE_3] = JAIAbstractInterpreter::interpretDstore_3;
+		handlers[Opcode.ASTORE_0] = JAIAbstractInterpreter::interpretAstore_0;
+		handlers[Opcode.ASTORE_1] = JAIAbstractInterpreter::interpretAstore_1;
+		handlers[Opcode.ASTORE_2] = JAIAbstractInterpreter::interpretAstore_2;
+		handlers[Opcode.ASTORE_3] = JAIAbstractInterpreter::interpretAstore_3;
+		handlers[Opcode.IASTORE] = JAIAbstractInterpreter::interpretIastore;
+		handlers[Opcode.LASTORE] = JAIAbstractInterpreter::interpretLastore;
+		handlers[Opcode.FASTORE] = JAIAbstractInterpreter::interpretFastore;
+		handlers[Opcode.DASTORE] = JAIAbstractInterpreter::interpretDastore;
+		handlers[Opcode.AASTORE] = JAIAbstractInterpreter::interpretAastore;
+		handlers[Opcode.BASTORE] = JAIAbstractInterpreter::interpretBastore;
+		handlers[Opcode.CASTORE] = JAIAbstractInterpreter::interpretCastore;
+		handlers[Opcode.SASTORE] = JAIAbstractInterpreter::interpretSastore;
+		handlers[Opcode.POP] = JAIAbstractInterpreter::interpretPop;
+		handlers[Opcode.POP2] = JAIAbstractInterpreter::interpretPop2;
+		handlers[Opcode.DUP] = JAIAbstractInterpreter::interpretDup;
+		handlers[Opcode.DUP_X1] = JAIAbstractInterpreter::interpretDup_x1;
+		handlers[Opcode.DUP_X2] = JAIAbstractInterpreter::interpretDup_x2;
+		handlers[Opcode.DUP2] = JAIAbstractInterpreter::interpretDup2;
+		handlers[Opcode.DUP2_X1] = JAIAbstractInterpreter::interpretDup2_x1;
+		handlers[Opcode.DUP2_X2] = JAIAbstractInterpreter::interpretDup2_x2;
+		handlers[Opcode.SWAP] = JAIAbstractInterpreter::interpretSwap;
+		handlers[Opcode.IADD] = JAIAbstractInterpreter::interpretIadd;
+		handlers[Opcode.LADD] = JAIAbstractInterpreter::interpretLadd;
+		handlers[Opcode.FADD] = JAIAbstractInterpreter::interpretFadd;
+		handlers[Opcode.DADD] = JAIAbstractInterpreter::interpretDadd;
+		handlers[Opcode.ISUB] = JAIAbstractInterpreter::interpretIsub;
+		handlers[Opcode.LSUB] = JAIAbstractInterpreter::interpretLsub;
+		handlers[Opcode.FSUB] = JAIAbstractInterpreter::interpretFsub;
+		handlers[Opcode.DSUB] = JAIAbstractInterpreter::interpretDsub;
+		handlers[Opcode.IMUL] = JAIAbstractInterpreter::interpretImul;
+		handlers[Opcode.LMUL] = JAIAbstractInterpreter::interpretLmul;
+		handlers[Opcode.FMUL] = JAIAbstractInterpreter::interpretFmul;
+		handlers[Opcode.DMUL] = JAIAbstractInterpreter::interpretDmul;
+		handlers[Opcode.IDIV] = JAIAbstractInterpreter::interpretIdiv;
+		handlers[Opcode.LDIV] = JAIAbstractInterpreter::interpretLdiv;
+		handlers[Opcode.FDIV] = JAIAbstractInterpreter::interpretFdiv;
+		handlers[Opcode.DDIV] = JAIAbstractInterpreter::interpretDdiv;
+		handlers[Opcode.IREM] = JAIAbstractInterpreter::interpretIrem;
+		handlers[Opcode.LREM] = JAIAbstractInterpreter::interpretLrem;
+		handlers[Opcode.FREM] = JAIAbstractInterpreter::interpretFrem;
+		handlers[Opcode.DREM] = JAIAbstractInterpreter::interpretDrem;
+		handlers[Opcode.INEG] = JAIAbstractInterpreter::interpretIneg;
+		handlers[Opcode.LNEG] = JAIAbstractInterpreter::interpretLneg;
+		handlers[Opcode.FNEG] = JAIAbstractInterpreter::interpretFneg;
+		handlers[Opcode.DNEG] = JAIAbstractInterpreter::interpretDneg;
+		handlers[Opcode.ISHL] = JAIAbstractInterpreter::interpretIshl;
+		handlers[Opcode.LSHL] = JAIAbstractInterpreter::interpretLshl;
+		handlers[Opcode.ISHR] = JAIAbstractInterpreter::interpretIshr;
+		handlers[Opcode.LSHR] = JAIAbstractInterpreter::interpretLshr;
+		handlers[Opcode.IUSHR] = JAIAbstractInterpreter::interpretIushr;
+		handlers[Opcode.LUSHR] = JAIAbstractInterpreter::interpretLushr;
+		handlers[Opcode.IAND] = JAIAbstractInterpreter::interpretIand;
+		handlers[Opcode.LAND] = JAIAbstractInterpreter::interpretLand;
+		handlers[Opcode.IOR] = JAIAbstractInterpreter::interpretIor;
+		handlers[Opcode.LOR] = JAIAbstractInterpreter::interpretLor;
+		handlers[Opcode.IXOR] = JAIAbstractInterpreter::interpretIxor;
+		handlers[Opcode.LXOR] = JAIAbstractInterpreter::interpretLxor;
+		handlers[Opcode.IINC] = JAIAbstractInterpreter::interpretIinc;
+		handlers[Opcode.I2L] = JAIAbstractInterpreter::interpretI2l;
+		handlers[Opcode.I2F] = JAIAbstractInterpreter::interpretI2f;
+		handlers[Opcode.I2D] = JAIAbstractInterpreter::interpretI2d;
+		handlers[Opcode.L2I] = JAIAbstractInterpreter::interpretL2i;
+		handlers[Opcode.L2F] = JAIAbstractInterpreter::interpretL2f;
+		handlers[Opcode.L2D] = JAIAbstractInterpreter::interpretL2d;
+		handlers[Opcode.F2I] = JAIAbstractInterpreter::interpretF2i;
+		handlers[Opcode.F2L] = JAIAbstractInterpreter::interpretF2l;
+		handlers[Opcode.F2D] = JAIAbstractInterpreter::interpretF2d;
+		handlers[Opcode.D2I] = JAIAbstractInterpreter::interpretD2i;
+		handlers[Opcode.D2L] = JAIAbstractInterpreter::interpretD2l;
+		handlers[Opcode.D2F] = JAIAbstractInterpreter::interpretD2f;
+		handlers[Opcode.I2B] = JAIAbstractInterpreter::interpretI2b;
+		handlers[Opcode.I2C] = JAIAbstractInterpreter::interpretI2c;
+		handlers[Opcode.I2S] = JAIAbstractInterpreter::interpretI2s;
+		handlers[Opcode.LCMP] = JAIAbstractInterpreter::interpretLcmp;
+		handlers[Opcode.FCMPL] = JAIAbstractInterpreter::interpretFcmpl;
+		handlers[Opcode.FCMPG] = JAIAbstractInterpreter::interpretFcmpg;
+		handlers[Opcode.DCMPL] = JAIAbstractInterpreter::interpretDcmpl;
+		handlers[Opcode.DCMPG] = JAIAbstractInterpreter::interpretDcmpg;
+		handlers[Opcode.IFEQ] = JAIAbstractInterpreter::interpretIfeq;
+		handlers[Opcode.IFNE] = JAIAbstractInterpreter::interpretIfne;
+		handlers[Opcode.IFLT] = JAIAbstractInterpreter::interpretIflt;
+		handlers[Opcode.IFGE] = JAIAbstractInterpreter::interpretIfge;
+		handlers[Opcode.IFGT] = JAIAbstractInterpreter::interpretIfgt;
+		handlers[Opcode.IFLE] = JAIAbstractInterpreter::interpretIfle;
+		handlers[Opcode.IF_ICMPEQ] = JAIAbstractInterpreter::interpretIf_icmpeq;
+		handlers[Opcode.IF_ICMPNE] = JAIAbstractInterpreter::interpretIf_icmpne;
+		handlers[Opcode.IF_ICMPLT] = JAIAbstractInterpreter::interpretIf_icmplt;
+		handlers[Opcode.IF_ICMPGE] = JAIAbstractInterpreter::interpretIf_icmpge;
+		handlers[Opcode.IF_ICMPGT] = JAIAbstractInterpreter::interpretIf_icmpgt;
+		handlers[Opcode.IF_ICMPLE] = JAIAbstractInterpreter::interpretIf_icmple;
+		handlers[Opcode.IF_ACMPEQ] = JAIAbstractInterpreter::interpretIf_acmpeq;
+		handlers[Opcode.IF_ACMPNE] = JAIAbstractInterpreter::interpretIf_acmpne;
+		handlers[Opcode.GOTO] = JAIAbstractInterpreter::interpretGoto;
+		handlers[Opcode.JSR] = JAIAbstractInterpreter::interpretJsr;
+		handlers[Opcode.RET] = JAIAbstractInterpreter::interpretRet;
+		handlers[Opcode.TABLESWITCH] = JAIAbstractInterpreter::interpretTableswitch;
+		handlers[Opcode.LOOKUPSWITCH] = JAIAbstractInterpreter::interpretLookupswitch;
+		handlers[Opcode.IRETURN] = JAIAbstractInterpreter::interpretIreturn;
+		handlers[Opcode.LRETURN] = JAIAbstractInterpreter::interpretLreturn;
+		handlers[Opcode.FRETURN] = JAIAbstractInterpreter::interpretFreturn;
+		handlers[Opcode.DRETURN] = JAIAbstractInterpreter::interpretDreturn;
+		handlers[Opcode.ARETURN] = JAIAbstractInterpreter::interpretAreturn;
+		handlers[Opcode.RETURN] = JAIAbstractInterpreter::interpretReturn;
+		handlers[Opcode.GETSTATIC] = JAIAbstractInterpreter::interpretGetstatic;
+		handlers[Opcode.PUTSTATIC] = JAIAbstractInterpreter::interpretPutstatic;
+		handlers[Opcode.GETFIELD] = JAIAbstractInterpreter::interpretGetfield;
+		handlers[Opcode.PUTFIELD] = JAIAbstractInterpreter::interpretPutfield;
+		handlers[Opcode.INVOKEVIRTUAL] = JAIAbstractInterpreter::interpretInvokevirtual;
+		handlers[Opcode.INVOKESPECIAL] = JAIAbstractInterpreter::interpretInvokespecial;
+		handlers[Opcode.INVOKESTATIC] = JAIAbstractInterpreter::interpretInvokestatic;
+		handlers[Opcode.INVOKEINTERFACE] = JAIAbstractInterpreter::interpretInvokeinterface;
+		handlers[Opcode.NEW] = JAIAbstractInterpreter::interpretNew;
+		handlers[Opcode.NEWARRAY] = JAIAbstractInterpreter::interpretNewarray;
+		handlers[Opcode.ANEWARRAY] = JAIAbstractInterpreter::interpretAnewarray;
+		handlers[Opcode.ARRAYLENGTH] = JAIAbstractInterpreter::interpretArraylength;
+		handlers[Opcode.ATHROW] = JAIAbstractInterpreter::interpretAthrow;
+		handlers[Opcode.CHECKCAST] = JAIAbstractInterpreter::interpretCheckcast;
+		handlers[Opcode.INSTANCEOF] = JAIAbstractInterpreter::interpretInstanceof;
+		handlers[Opcode.MONITORENTER] = JAIAbstractInterpreter::interpretMonitorenter;
+		handlers[Opcode.MONITOREXIT] = JAIAbstractInterpreter::interpretMonitorexit;
+		handlers[Opcode.WIDE] = JAIAbstractInterpreter::interpretWide;
+		handlers[Opcode.MULTIANEWARRAY] = JAIAbstractInterpreter::interpretMultianewarray;
+		handlers[Opcode.IFNULL] = JAIAbstractInterpreter::interpretIfnull;
+		handlers[Opcode.IFNONNULL] = JAIAbstractInterpreter::interpretIfnonnull;
+		handlers[Opcode.GOTO_W] = JAIAbstractInterpreter::interpretGoto_w;
+		handlers[Opcode.JSR_W] = JAIAbstractInterpreter::interpretJsr_w;
+		return handlers;
+	}
+
 	/**
 	 * Simple getter for the method to interpret.
 	 * 
@@ -62,6 +338,69 @@ public class JAIAbstractInterpreter {
 		this.m = m;
 	}
 
+	/**
+	 * Returns the decoded code of the method, decoding it the first time the method is interpreted.
+	 * 
+	 * @return the decoded code.
+	 * @throws BadBytecode
+	 */
+	public JAIDecodedMethod getDecodedMethod() throws BadBytecode {
+		if (decodedMethod==null) {
+			decodedMethod = JAIDecodedMethod.get(m);
+		}
+		return decodedMethod;
+	}
+
+	/**
+	 * Returns the control-flow graph of the method, built once with its decoded code.
+	 * 
+	 * @return the control-flow graph.
+	 * @throws BadBytecode
+	 */
+	public JAIControlFlowGraph getControlFlowGraph() throws BadBytecode {
+		JAIDecodedMethod decoded = getDecodedMethod();
+		return (decoded==null) ? null : decoded.getControlFlowGraph();
+	}
+
+	/**
+	 * Returns the control-flow graph of the method, if its code can be decoded.
+	 * 
+	 * @return the control-flow graph, null if the code cannot be decoded.
+	 */
+	private JAIControlFlowGraph findControlFlowGraph() {
+		try {
+			return getControlFlowGraph();
+		} catch (BadBytecode e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the number of state indexes of the method (see {@link JAIControlFlowGraph#getNumberOfStates()}).
+	 * 
+	 * @return the number of state indexes, the length of the code if it cannot be decoded.
+	 */
+	private int getNumberOfStates() {
+		JAIControlFlowGraph graph = findControlFlowGraph();
+		return (graph==null) ? m.getMethodInfo2().getCodeAttribute().getCodeLength() : graph.getNumberOfStates();
+	}
+
+	/**
+	 * Returns the constant of the constant pool used by an instruction, as resolved when
+	 * the method was decoded.
+	 * 
+	 * @param index the index of the instruction.
+	 * @return the constant, null if there is none.
+	 */
+	private Object getConstant(int index) {
+		try {
+			JAIDecodedMethod decoded = getDecodedMethod();
+			return (decoded==null) ? null : decoded.getConstant(index);
+		} catch (BadBytecode e) {
+			return null;
+		}
+	}
+
 	/**
 	 * Generates a method per bytecode to call an equivalent method in the abstract world.
 	 * 
@@ -199,14 +538,655 @@ public class JAIAbstractInterpreter {
 	 * @throws BadBytecode
 	 */
 	public JAIWorld interpret(JAIWorld world) {
-		JAIWorld resultWorld = interpretFrom(world,0);
-		for(JAIWorld w: this.resultsOfExecutionToCollect) {
-			resultWorld = resultWorld.combineWith(w);
+		CodeAttribute ca = m.getMethodInfo2().getCodeAttribute();
+		world.setFrameSize(ca.getMaxStack(), ca.getMaxLocals());
+		JAIStateTable stateTable = mergingAtJoinPoints ? new JAIStateTable(getNumberOfStates(), stateTableCapacity, JAIStateTable.DEFAULT_WIDENING_DELAY) : null;
+		JAIPathStatistics statistics = new JAIPathStatistics(getMethodDescriptor());
+		JAIRunContext run = new JAIRunContext(new ArrayList<JAIWorld>(), stateTable, statistics);
+		JAIRunContext previous = enterContext(run);
+		JAIWorld resultWorld;
+		try {
+			// the first path is null if it stopped at a join point or was aborted
+			resultWorld = interpretFrom(world,0);
+			// the handlers are interpreted once all the exceptions thrown to them are known,
+			// and again each time a handler throws more to another one (or to itself)
+			for (int handlerState = run.nextPendingHandler(); handlerState>=0; handlerState = run.nextPendingHandler()) {
+				interpretFrom(run.getExceptionalWorld(handlerState), findControlFlowGraph().getIndexOfState(handlerState));
+			}
+		} finally {
+			exitContext(previous);
+		}
+		for(JAIWorld w: run.getResults()) {
+			resultWorld = (resultWorld==null) ? w : resultWorld.combineWith(w);
 		}
-		JAIDebug.print("Number of paths: "+this.resultsOfExecutionToCollect.size(), this, true);
+		// the paths that were not explored are covered by top
+		if (resultWorld!=null && statistics.isDegraded() && statistics.getPolicy()==JAIPathBudget.JOIN_WITH_TOP) {
+			resultWorld = resultWorld.toTop();
+		}
+		statistics.finished(run.getStateTable());
+		lastContext = run;
+		if (JAIDebug.isEnabled(JAIDebug.INFO, this)) JAIDebug.print(JAIDebug.INFO, "Number of paths: "+run.getResults().size()+", "+statistics, this);
 		return resultWorld;
 	}
 
+	/**
+	 * Returns the context of the interpretation being run by the current thread.
+	 * 
+	 * @return the context, null if the thread is not interpreting the method.
+	 */
+	public JAIRunContext getContext() {
+		return context.get();
+	}
+
+	/**
+	 * Makes a context the one of the interpretation run by the current thread.
+	 * 
+	 * @param run the context.
+	 * @return the previous context of the thread, to be restored by {@link #exitContext(JAIRunContext)}.
+	 */
+	protected JAIRunContext enterContext(JAIRunContext run) {
+		JAIRunContext previous = context.get();
+		context.set(run);
+		return previous;
+	}
+
+	/**
+	 * Restores the context the current thread had before {@link #enterContext(JAIRunContext)}.
+	 * 
+	 * @param previous the previous context, null if there was none.
+	 */
+	protected void exitContext(JAIRunContext previous) {
+		if (previous==null) {
+			context.remove();
+		} else {
+			context.set(previous);
+		}
+	}
+
+	/**
+	 * Returns the context of the last interpretation that finished.
+	 * 
+	 * @return the context, null if the method was not interpreted yet.
+	 */
+	protected JAIRunContext getLastContext() {
+		return lastContext;
+	}
+
+	/**
+	 * Records the context of an interpretation that finished, for {@link #getStatistics()}
+	 * and {@link #getStateTable()}.
+	 * 
+	 * @param run the context.
+	 */
+	protected void setLastContext(JAIRunContext run) {
+		lastContext = run;
+	}
+
+	/**
+	 * Returns true if paths are merged at join points: a path reaching an instruction
+	 * reached from several blocks stops if the world there already includes its world,
+	 * and continues with the combination of both worlds otherwise (see {@link JAIStateTable}).
+	 * 
+	 * @return true if paths are merged at join points.
+	 */
+	public boolean isMergingAtJoinPoints() {
+		return mergingAtJoinPoints;
+	}
+
+	/**
+	 * Sets whether paths are merged at join points. By default they are not, and each
+	 * path is interpreted until its end.
+	 * 
+	 * @param mergingAtJoinPoints true to merge paths at join points.
+	 */
+	public void setMergingAtJoinPoints(boolean mergingAtJoinPoints) {
+		this.mergingAtJoinPoints = mergingAtJoinPoints;
+	}
+
+	/**
+	 * @return the maximum estimated size of the worlds kept at join points, in bytes.
+	 */
+	public long getStateTableCapacity() {
+		return stateTableCapacity;
+	}
+
+	/**
+	 * @param stateTableCapacity the maximum estimated size of the worlds kept at join points, in bytes.
+	 */
+	public void setStateTableCapacity(long stateTableCapacity) {
+		this.stateTableCapacity = stateTableCapacity;
+	}
+
+	/**
+	 * @return the limits of the interpretation, null if there are none.
+	 */
+	public JAIPathBudget getPathBudget() {
+		return pathBudget;
+	}
+
+	/**
+	 * Sets the limits of the interpretation and what is done when one is reached
+	 * (see {@link JAIPathBudget}).
+	 * 
+	 * @param pathBudget the limits, null for none.
+	 */
+	public void setPathBudget(JAIPathBudget pathBudget) {
+		this.pathBudget = pathBudget;
+	}
+
+	/**
+	 * Returns true if the instructions that may throw an exception without an athrow
+	 * (array accesses, divisions, invocations) lead to the handlers covering them.
+	 * 
+	 * @return true if implicit exceptions are followed.
+	 */
+	public boolean isImplicitExceptionEdges() {
+		return implicitExceptionEdges;
+	}
+
+	/**
+	 * Sets whether the instructions that may throw an exception without an athrow lead
+	 * to the handlers covering them. By default they do not: only athrow does, and the
+	 * handlers that catch implicit exceptions only are never interpreted.
+	 * 
+	 * @param implicitExceptionEdges true to follow implicit exceptions.
+	 */
+	public void setImplicitExceptionEdges(boolean implicitExceptionEdges) {
+		this.implicitExceptionEdges = implicitExceptionEdges;
+	}
+
+	/**
+	 * Simple getter for the statistics of the last interpretation that finished.
+	 * 
+	 * @return the statistics, null if the method was not interpreted yet or if they are not kept.
+	 */
+	public JAIPathStatistics getStatistics() {
+		JAIRunContext run = lastContext;
+		return (run==null) ? null : run.getStatistics();
+	}
+
+	/**
+	 * Returns the combination of the worlds of the paths that left the method by throwing
+	 * an exception during the last interpretation that finished. They are kept apart from
+	 * the result of {@link #interpret(JAIWorld)}, which only covers the paths that return.
+	 * The paths that were not explored because of the path budget are not covered.
+	 * 
+	 * @return the world, the exception on top of its stack, null if no exception left the method.
+	 */
+	public JAIWorld getThrownWorld() {
+		JAIRunContext run = lastContext;
+		return (run==null) ? null : run.getThrownWorld();
+	}
+
+	/**
+	 * Counts a path about to be explored and checks the limit on paths.
+	 * 
+	 * @param run the context of the interpretation.
+	 * @param numberOfStates the number of state indexes of the method.
+	 * @return true if the path should be explored.
+	 */
+	private boolean startPath(JAIRunContext run, int numberOfStates) {
+		JAIPathStatistics statistics = run.getStatistics();
+		statistics.numberOfPaths++;
+		if (!statistics.isDegraded() && pathBudget!=null && pathBudget.getMaximumPaths()>0
+				&& statistics.numberOfPaths>pathBudget.getMaximumPaths()) {
+			exhaust(run, "paths", numberOfStates);
+		}
+		// once degraded, new paths are only explored if they are merged
+		return !statistics.isDegraded() || statistics.getPolicy()==JAIPathBudget.MERGE_AT_JOIN_POINTS;
+	}
+
+	/**
+	 * Counts an instruction about to be interpreted and checks the limits on instructions and time.
+	 * 
+	 * @param run the context of the interpretation.
+	 * @param numberOfStates the number of state indexes of the method.
+	 * @return true if the instruction should be interpreted, false if the path ends.
+	 */
+	private boolean countInstruction(JAIRunContext run, int numberOfStates) {
+		JAIPathStatistics statistics = run.getStatistics();
+		statistics.numberOfInstructions++;
+		if (!statistics.isDegraded() && pathBudget!=null) {
+			if (pathBudget.getMaximumInstructions()>0 && statistics.numberOfInstructions>pathBudget.getMaximumInstructions()) {
+				exhaust(run, "instructions", numberOfStates);
+			} else if (pathBudget.getMaximumTime()>0 && (statistics.numberOfInstructions & (INSTRUCTIONS_BETWEEN_CHECKS-1))==0
+					&& System.nanoTime()-statistics.start>pathBudget.getMaximumTime()*1000000) {
+				exhaust(run, "time", numberOfStates);
+			}
+		}
+		// once degraded, only the paths that are merged go on
+		return !statistics.isDegraded() || statistics.getPolicy()==JAIPathBudget.MERGE_AT_JOIN_POINTS;
+	}
+
+	/**
+	 * Degrades the interpretation when a limit is reached.
+	 * 
+	 * @param run the context of the interpretation.
+	 * @param limit the limit reached (paths, instructions or time).
+	 * @param numberOfStates the number of state indexes of the method.
+	 */
+	private void exhaust(JAIRunContext run, String limit, int numberOfStates) {
+		run.getStatistics().exhausted(limit, pathBudget.getPolicy());
+		if (JAIDebug.isEnabled(JAIDebug.INFO, this)) JAIDebug.print(JAIDebug.INFO, "Limit on "+limit+" reached: "+JAIPathBudget.getPolicyName(pathBudget.getPolicy()), this);
+		if (pathBudget.getPolicy()==JAIPathBudget.MERGE_AT_JOIN_POINTS && run.getStateTable()==null) {
+			run.setStateTable(new JAIStateTable(numberOfStates, stateTableCapacity, JAIStateTable.DEFAULT_WIDENING_DELAY));
+		}
+	}
+
+	/**
+	 * Simple getter for the worlds at the join points during the last interpretation that finished.
+	 * 
+	 * @return the table, null if paths were not merged.
+	 */
+	public JAIStateTable getStateTable() {
+		JAIRunContext run = lastContext;
+		return (run==null) ? null : run.getStateTable();
+	}
+
+
+	/**
+	 * Sets the time after which the interpretation stops by throwing a JAITimeoutException.
+	 * The deadline is checked every few instructions.
+	 * 
+	 * @param deadline the time as given by System.nanoTime(), 0 for no deadline.
+	 */
+	public void setDeadline(long deadline) {
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Returns the time after which the interpretation stops.
+	 * 
+	 * @return the time as given by System.nanoTime(), 0 for no deadline.
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Throws a JAITimeoutException if the deadline has passed or the thread was interrupted.
+	 */
+	private void checkDeadline() {
+		if (System.nanoTime()-deadline>0 || Thread.currentThread().isInterrupted()) {
+			throw new JAITimeoutException("Interpretation of "+m.getLongName()+" went past its deadline");
+		}
+	}
+
+	/**
+	 * Returns the cache of the summaries of the methods called. Unless the interpreter
+	 * was given one, it has its own cache, shared with the interpreters of the methods it
+	 * calls only.
+	 * 
+	 * @return the cache of the summaries of the methods called.
+	 */
+	public JAISummaryCache getSummaryCache() {
+		JAISummaryCache cache = summaryCache;
+		if (cache==null) {
+			synchronized (this) {
+				if (summaryCache==null) {
+					summaryCache = new JAISummaryCache(JAISummaryCache.DEFAULT_CAPACITY);
+				}
+				cache = summaryCache;
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Sets the cache of the summaries of the methods called. A cache given to several
+	 * interpreters shares the summaries they compute in the same context (see
+	 * {@link JAISummaryCache#contextOf(JAIAbstractInterpreter, JAIWorld)}).
+	 * 
+	 * @param summaryCache the cache of the summaries of the methods called.
+	 */
+	public void setSummaryCache(JAISummaryCache summaryCache) {
+		this.summaryCache = summaryCache;
+	}
+
+	/**
+	 * @return the store of the summaries on disk, null if summaries are not stored.
+	 */
+	public JAISummaryStore getSummaryStore() {
+		return summaryStore;
+	}
+
+	/**
+	 * Sets the store of the summaries on disk, in which the summaries of the methods
+	 * called are looked for before they are interpreted, and stored after.
+	 * 
+	 * @param summaryStore the store, null to store no summaries.
+	 */
+	public void setSummaryStore(JAISummaryStore summaryStore) {
+		this.summaryStore = summaryStore;
+	}
+
+	/**
+	 * Writes the options of the interpreter that may change its results, so that the
+	 * summaries stored on disk are only reused by equivalent interpreters (see
+	 * {@link JAISummaryStore}). The time limit of the path budget is not written, since
+	 * the summaries of degraded interpretations are not stored.
+	 * 
+	 * @param out the output.
+	 * @throws IOException if the output fails.
+	 */
+	public void writeConfiguration(DataOutput out) throws IOException {
+		out.writeUTF(getClass().getName());
+		out.writeBoolean(mergingAtJoinPoints);
+		out.writeBoolean(implicitExceptionEdges);
+		out.writeLong(stateTableCapacity);
+		out.writeInt(maximumCallDepth);
+		out.writeBoolean(pathBudget!=null);
+		if (pathBudget!=null) {
+			out.writeLong(pathBudget.getMaximumPaths());
+			out.writeLong(pathBudget.getMaximumInstructions());
+			out.writeInt(pathBudget.getPolicy());
+		}
+	}
+
+	/**
+	 * @return the maximum number of nested calls that are summarized.
+	 */
+	public int getMaximumCallDepth() {
+		return maximumCallDepth;
+	}
+
+	/**
+	 * @param maximumCallDepth the maximum number of nested calls that are summarized.
+	 */
+	public void setMaximumCallDepth(int maximumCallDepth) {
+		this.maximumCallDepth = maximumCallDepth;
+	}
+
+	/**
+	 * Interprets a call using the summary of the method called for the abstract values of
+	 * its arguments. The summary is computed by interpreting the method the first time and
+	 * kept in the cache of summaries. Calls whose summary cannot be computed (no code,
+	 * recursion, too many nested calls, values the world does not represent, a degraded
+	 * interpretation of the method) are applied as unknown calls (see
+	 * {@link JAIWorld#applyUnknownCall(JAIMemberDescriptor, int)}).
+	 * 
+	 * @param world the world in which the call is evaluated.
+	 * @param className the class of the method called.
+	 * @param methodName the name of the method called.
+	 * @param type the type of the method called.
+	 * @param hasReceiver true if the method is called on an object.
+	 * @return the new state of abstract variables.
+	 */
+	public JAIWorld interpretCall(JAIWorld world, String className, String methodName, String type, boolean hasReceiver) {
+		return interpretCall(world, JAIMemberDescriptor.get(className, methodName, type), hasReceiver);
+	}
+
+	/**
+	 * Interprets a call using the summary of the method called, given the interned
+	 * descriptor of the method (see {@link #interpretCall(JAIWorld, String, String, String, boolean)}).
+	 * 
+	 * @param world the world in which the call is evaluated.
+	 * @param method the descriptor of the method called.
+	 * @param hasReceiver true if the method is called on an object.
+	 * @return the new state of abstract variables.
+	 */
+	@SuppressWarnings("rawtypes")
+	public JAIWorld interpretCall(JAIWorld world, JAIMemberDescriptor method, boolean hasReceiver) {
+		String methodDescriptor = method.getDescriptor();
+		int numberOfArguments = method.getNumberOfParameters()+(hasReceiver ? 1 : 0);
+		boolean returnsValue = method.returnsValue();
+		JAIAbstractValue []arguments = world.getCallArguments(numberOfArguments);
+		if (arguments==null) {
+			return world;
+		}
+		JAISummaryCache cache = getSummaryCache();
+		Object summaryContext = getSummaryContext(world);
+		JAIMethodSummary summary = cache.get(summaryContext, methodDescriptor, arguments);
+		if (summary==null) {
+			summary = summarize(world, methodDescriptor, method.getClassName(), method.getName(), method.getType(), arguments, returnsValue);
+			if (summary==null) {
+				if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "No summary for "+methodDescriptor, this);
+				return world.applyUnknownCall(method, numberOfArguments);
+			}
+			summary = cache.put(summaryContext, methodDescriptor, arguments, summary);
+		}
+		return world.applySummary(summary, numberOfArguments, returnsValue);
+	}
+
+	/**
+	 * Returns the context in which the summaries of the methods called from a world are
+	 * computed (see {@link JAISummaryCache#contextOf(JAIAbstractInterpreter, JAIWorld)}),
+	 * computing it once per interpretation.
+	 * 
+	 * @param world the world of the caller.
+	 * @return the context.
+	 */
+	private Object getSummaryContext(JAIWorld world) {
+		JAIRunContext run = getContext();
+		Object summaryContext = (run==null) ? null : run.getSummaryContext();
+		if (summaryContext==null) {
+			summaryContext = JAISummaryCache.contextOf(this, world);
+			if (run!=null) run.setSummaryContext(summaryContext);
+		}
+		return summaryContext;
+	}
+
+	/**
+	 * Returns the interpreter of the method at the root of the calls being summarized.
+	 * 
+	 * @return the interpreter whose method calls this one, this interpreter if it is not summarizing a call.
+	 */
+	public JAIAbstractInterpreter getRootInterpreter() {
+		JAIAbstractInterpreter root = this;
+		while (root.caller!=null) {
+			root = root.caller;
+		}
+		return root;
+	}
+
+	/**
+	 * Evaluates a call once the world evaluated the invoke instruction: the call is
+	 * interpreted if the world interprets calls, applied as an unknown call otherwise
+	 * (see {@link JAIWorld#applyUnknownCall(JAIMemberDescriptor, int)}).
+	 * 
+	 * @param world the world in which the call is evaluated.
+	 * @param method the descriptor of the method called.
+	 * @param hasReceiver true if the method is called on an object.
+	 * @return the new state of abstract variables.
+	 */
+	private JAIWorld evaluateCall(JAIWorld world, JAIMemberDescriptor method, boolean hasReceiver) {
+		if (world.shouldInterpretMehtodCalls()) {
+			return interpretCall(world, method, hasReceiver);
+		}
+		return world.applyUnknownCall(method, method.getNumberOfParameters()+(hasReceiver ? 1 : 0));
+	}
+
+	/**
+	 * Computes the summary of a method by interpreting it with the given arguments,
+	 * unless the store of summaries on disk has it (see {@link JAISummaryStore}). There
+	 * is no summary if the interpretation of the method was degraded by the path budget,
+	 * since some of its paths were not explored.
+	 * 
+	 * @param world the world of the caller.
+	 * @param methodDescriptor the descriptor of the method (class/name:type).
+	 * @param className the class of the method.
+	 * @param methodName the name of the method.
+	 * @param type the type of the method.
+	 * @param arguments the abstract values of the arguments (receiver first).
+	 * @param returnsValue true if the method returns a value.
+	 * @return the summary or null if it cannot be computed.
+	 */
+	@SuppressWarnings("rawtypes")
+	protected JAIMethodSummary summarize(JAIWorld world, String methodDescriptor, String className, String methodName,
+			String type, JAIAbstractValue []arguments, boolean returnsValue) {
+		int depth = 0;
+		for (JAIAbstractInterpreter i = this; i!=null; i = i.caller) {
+			// recursive calls are not summarized
+			if (methodDescriptor.equals(i.getMethodDescriptor())) {
+				return null;
+			}
+			depth++;
+		}
+		if (depth>maximumCallDepth) {
+			return null;
+		}
+		CtMethod callee;
+		ClassPool pool = getM().getDeclaringClass().getClassPool();
+		synchronized (pool) {
+			try {
+				callee = getCallee(pool.get(className), methodName, type);
+			} catch (NotFoundException e) {
+				return null;
+			}
+			if (callee.getMethodInfo().getCodeAttribute()==null) {
+				return null;
+			}
+		}
+		JAIWorld calleeWorld = world.createCalleeWorld(arguments);
+		if (calleeWorld==null) {
+			return null;
+		}
+		JAIAbstractInterpreter interpreter = createCalleeInterpreter(callee);
+		interpreter.caller = this;
+		interpreter.summaryCache = getSummaryCache();
+		interpreter.summaryStore = summaryStore;
+		interpreter.maximumCallDepth = maximumCallDepth;
+		interpreter.setDeadline(deadline);
+		interpreter.pathBudget = pathBudget;
+		interpreter.implicitExceptionEdges = implicitExceptionEdges;
+		interpreter.mergingAtJoinPoints = mergingAtJoinPoints;
+		interpreter.stateTableCapacity = stateTableCapacity;
+		byte []key = (summaryStore==null) ? null : summaryStore.keyOf(interpreter, calleeWorld, arguments);
+		if (key!=null) {
+			JAIMethodSummary stored = summaryStore.get(key, calleeWorld);
+			if (stored!=null) {
+				return stored;
+			}
+		}
+		try {
+			JAIWorld result = interpreter.interpret(calleeWorld);
+			JAIPathStatistics statistics = interpreter.getStatistics();
+			if (statistics!=null && statistics.isDegraded()) {
+				// the paths of the callee that were not explored are not in its summary,
+				// the call is left unknown rather than cached or stored
+				if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Degraded interpretation of "+methodDescriptor, this);
+				return null;
+			}
+			JAIMethodSummary summary = (result==null) ? null : result.summarize(returnsValue);
+			if (key!=null && summary!=null) {
+				summaryStore.put(key, summary);
+			}
+			return summary;
+		} catch (JAIAbstractValueException | JAIStack.JAIStackException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the method called. Constructors are returned as a method with the same
+	 * name, type and code, so that they are interpreted as any other method.
+	 * 
+	 * @param declaring the class of the method called.
+	 * @param methodName the name of the method called.
+	 * @param type the type of the method called.
+	 * @return the method.
+	 * @throws NotFoundException if the class has no such method.
+	 */
+	static CtMethod getCallee(CtClass declaring, String methodName, String type) throws NotFoundException {
+		if (!MethodInfo.nameInit.equals(methodName)) {
+			return declaring.getMethod(methodName, type);
+		}
+		CtConstructor constructor = declaring.getConstructor(type);
+		CtMethod callee = new CtMethod(CtClass.voidType, methodName, constructor.getParameterTypes(), declaring);
+		callee.setModifiers(constructor.getModifiers());
+		CodeAttribute ca = constructor.getMethodInfo2().getCodeAttribute();
+		if (ca!=null) {
+			// the copy shares the constant pool of the class, unlike CtConstructor.toMethod it keeps the call of the super constructor
+			callee.getMethodInfo2().setCodeAttribute((CodeAttribute)ca.copy(ca.getConstPool(), null));
+		}
+		return callee;
+	}
+
+	/**
+	 * Creates the interpreter used to summarize a method called.
+	 * 
+	 * @param callee the method called.
+	 * @return the interpreter.
+	 */
+	protected JAIAbstractInterpreter createCalleeInterpreter(CtMethod callee) {
+		return new JAIAbstractInterpreter(callee);
+	}
+
+	/**
+	 * Returns the descriptor of the method interpreted, as used for method calls.
+	 * 
+	 * @return the descriptor (class/name:type).
+	 */
+	public String getMethodDescriptor() {
+		return m.getDeclaringClass().getName()+"/"+m.getName()+":"+m.getSignature();
+	}
+
+	/**
+	 * Explores a branch of the code from a copy of the world (which carries its subroutine
+	 * context). The result of the branch is collected when it returns (see
+	 * {@link #collectResult(JAIWorld)}). By default, the branch is interpreted right away,
+	 * in the current thread.
+	 * 
+	 * @param world the world at the start of the branch (not shared with any other path).
+	 * @param index the index at which the branch starts.
+	 */
+	protected void forkPath(JAIWorld world, int index) {
+		interpretFrom(world, index);
+	}
+
+	/**
+	 * Keeps the world of a path leaving the method, to be combined with the others at the end.
+	 * Worlds leaving the method outside of an interpretation (for example when interpreting
+	 * one instruction) are not kept.
+	 * 
+	 * @param world the world.
+	 */
+	protected void collectResult(JAIWorld world) {
+		JAIRunContext run = getContext();
+		if (run!=null) {
+			run.addResult(world);
+		}
+	}
+
+	/**
+	 * Keeps the world of a path leaving the method by throwing an exception, apart from
+	 * the worlds of the paths that return. Worlds leaving the method outside of an
+	 * interpretation are not kept.
+	 * 
+	 * @param world the world, the exception on top of its stack.
+	 */
+	protected void collectThrown(JAIWorld world) {
+		JAIRunContext run = getContext();
+		if (run!=null) {
+			run.addThrownResult(world);
+		}
+	}
+
+	/**
+	 * Sends the world of an exception thrown at an index to the handlers that may catch it.
+	 * The worlds reaching a handler are combined and the handler is interpreted after the
+	 * paths of the run (see {@link JAIRunContext#addExceptionalWorld(int, JAIWorld)}), so
+	 * that throwing instructions do not each start a path. Exceptions thrown outside of an
+	 * interpretation are not followed.
+	 * 
+	 * @param graph the control-flow graph of the method.
+	 * @param world the world when the exception is thrown (not modified).
+	 * @param index the index of the instruction throwing the exception.
+	 * @param handlers the handlers that may catch the exception (see {@link JAIControlFlowGraph#getHandlersAt(int)}).
+	 */
+	private void throwToHandlers(JAIControlFlowGraph graph, JAIWorld world, int index, JAIExceptionHandler []handlers) {
+		JAIRunContext run = getContext();
+		if (run==null) {
+			return;
+		}
+		for (JAIExceptionHandler h: handlers) {
+			if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Exception thrown at "+index+" to "+h, this);
+			JAIWorld handlerWorld = world.copy().evaluateExceptionHandler(h.getCatchType());
+			int context = graph.getContextAt(world.getSubroutineContext(), h.getHandlerIndex());
+			handlerWorld.setSubroutineContext(context);
+			run.addExceptionalWorld(graph.getStateIndex(context, h.getHandlerIndex()), handlerWorld);
+		}
+	}
 
 	/**
 	 * Method that interprets code from a given index on a give world.
@@ -217,8 +1197,33 @@ public class JAIAbstractInterpreter {
 	 * @throws BadBytecode
 	 */
 	public JAIWorld interpretFrom(JAIWorld world, int index) {
-		JAIDebug.print("Started an interpreter from: "+index, this, true);
-		CodeAttribute ca = m.getMethodInfo().getCodeAttribute();
+		if (JAIDebug.isEnabled(JAIDebug.INFO, this)) JAIDebug.print(JAIDebug.INFO, "Started an interpreter from: "+index, this);
+		JAIDecodedMethod decoded;
+		try {
+			decoded = getDecodedMethod();
+		} catch (BadBytecode e) {
+			return world;
+		}
+		if (decoded==null) {
+			return world;
+		}
+		JAIRunContext run = getContext();
+		if (run==null) {
+			// the code is interpreted outside of interpret(), in a run of its own
+			run = new JAIRunContext(new ArrayList<JAIWorld>(), null, null);
+			JAIRunContext previous = enterContext(run);
+			try {
+				return interpretFrom(world, index);
+			} finally {
+				exitContext(previous);
+			}
+		}
+		JAIPathStatistics statistics = run.getStatistics();
+		JAIControlFlowGraph graph = decoded.getControlFlowGraph();
+		if (statistics!=null && !startPath(run, graph.getNumberOfStates())) {
+			return null;
+		}
+		CodeAttribute ca = m.getMethodInfo2().getCodeAttribute();
 		CodeIterator ci = ca.iterator();
 		ci.move(index);
 
@@ -227,16 +1232,37 @@ public class JAIAbstractInterpreter {
 
 		while (ci.hasNext()) {
 			modifiedWorld = null;
-			int index0;
-			try {
-				index0 = ci.next();
-			} catch (BadBytecode e) {
+			// the next instruction is known from the decoded code, jumps move the iterator
+			int index0 = ci.lookAhead();
+			int next = decoded.getNextIndex(index0);
+			if (next<0) {
 				return world;
-			} 
+			}
+			ci.move(next);
+			if (statistics!=null && !countInstruction(run, graph.getNumberOfStates())) {
+				if (statistics.getPolicy()==JAIPathBudget.JOIN_WITH_TOP) {
+					// the path ends here, what is left of it is covered by top
+					String type = m.getSignature();
+					collectResult(world.toTopResult(type.substring(type.indexOf(')')+1)));
+				}
+				return null;
+			}
+			// states inside subroutines are kept for each call site (subroutine context)
+			JAIStateTable stateTable = run.getStateTable();
+			if (stateTable!=null && decoded.isJoinPoint(index0)) {
+				world = stateTable.join(graph.getStateIndex(world.getSubroutineContext(), index0), world, decoded.isLoopHead(index0));
+				if (world==null) {
+					if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Path included at "+index0, this);
+					return null;
+				}
+			}
+			if (implicitExceptionEdges && JAIControlFlowGraph.mayThrowImplicitly(ci.byteAt(index0))) {
+				throwToHandlers(graph, world, index0, graph.getHandlersAt(index0));
+			}
 			modifiedWorld = this.interpretOneInstruction(world, ci, index0);
 			if (modifiedWorld==null) {
 				int op = ci.byteAt(index0);
-				JAIDebug.print("Not interpreting "+Mnemonic.OPCODE[op], this);
+				if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Not interpreting "+Mnemonic.OPCODE[op], this);
 				return null;
 			}
 		}
@@ -252,51 +1278,18 @@ public class JAIAbstractInterpreter {
 	 * @return the modified world
 	 */
 	public JAIWorld interpretOneInstruction(JAIWorld world, CodeIterator ci, int index) {
-		int op = ci.byteAt(index);
-		if (Mnemonic.OPCODE[op].contains("pop")||Mnemonic.OPCODE[op].contains("dup")||Mnemonic.OPCODE[op].contains("swap")) {
-			return interpretStack(world, ci, index);
-		}
-		if (Mnemonic.OPCODE[op].substring(1).contains("aload")||Mnemonic.OPCODE[op].substring(1).contains("astore")||Mnemonic.OPCODE[op].contains("array")) {
-			return interpretArrayOperation(world, ci, index);
-		}
-
-		if (Mnemonic.OPCODE[op].contains("field")||Mnemonic.OPCODE[op].equals("getstatic")||Mnemonic.OPCODE[op].equals("getstatic")) {
-			return interpretFieldsOperation(world, ci, index);
-		}
-		if (Mnemonic.OPCODE[op].contains("monitor")) {
-			return interpretConcurrencyOperations(world, ci, index);
-		}
-		if (Mnemonic.OPCODE[op].equals("new")||Mnemonic.OPCODE[op].equals("aconst_null")) {
-			return interpretObjectStackOperation(world, ci, index);
-		}
-
-		if (Mnemonic.OPCODE[op].contains("invoke")) {
-			return interpretInvokeOperation(world, ci, index);
-		}
-
-		if (Mnemonic.OPCODE[op].contains("return")) {
-			return interpretReturnOperation(world, ci, index);
-		}
-
-		if (Mnemonic.OPCODE[op].contains("load")||Mnemonic.OPCODE[op].contains("store")||Mnemonic.OPCODE[op].equals("iinc")) {
-			return interpretLocalVariableLoadAndStore(world, ci, index);
-		}
-
-		if (Mnemonic.OPCODE[op].startsWith("ldc")) {
-			return interpretLoadingFromConstantPool(world, ci, index);
-		}
-		if (Mnemonic.OPCODE[op].startsWith("goto")||Mnemonic.OPCODE[op].startsWith("jsr")||Mnemonic.OPCODE[op].equals("ret")||Mnemonic.OPCODE[op].contains("if")||Mnemonic.OPCODE[op].contains("switch")) {
-			return interpretControlFlowStructure(world, ci, index);
-		}
-
-		if (Mnemonic.OPCODE[op].equals("nop")||Mnemonic.OPCODE[op].equals("athrow")||Mnemonic.OPCODE[op].equals("instanceof")||Mnemonic.OPCODE[op].equals("checkcast")||Mnemonic.OPCODE[op].equals("wide")) {
-			return interpretSpecialOperation(world, ci, index);
+		if (deadline!=0) {
+			// outside of an interpretation, the deadline is checked at each instruction
+			JAIRunContext run = getContext();
+			if (run==null || run.isDeadlineCheckDue(INSTRUCTIONS_BETWEEN_CHECKS)) {
+				checkDeadline();
+			}
 		}
-
-		if (Mnemonic.OPCODE[op].contains("ipush")||Mnemonic.OPCODE[op].contains("const")||Mnemonic.OPCODE[op].substring(1,2).equals("2")||Mnemonic.OPCODE[op].contains("add")||Mnemonic.OPCODE[op].contains("div")||Mnemonic.OPCODE[op].contains("rem")||Mnemonic.OPCODE[op].contains("mul")||Mnemonic.OPCODE[op].contains("neg")||Mnemonic.OPCODE[op].contains("cmp")||Mnemonic.OPCODE[op].contains("and")||Mnemonic.OPCODE[op].contains("or")||Mnemonic.OPCODE[op].contains("sh")||Mnemonic.OPCODE[op].contains("xor")) {
-			return interpretPrimitiveTypeOperation(world, ci, index);
+		JAIInstructionHandler handler = handlers[ci.byteAt(index)];
+		if (handler==null) {
+			return null;
 		}
-		return null;
+		return handler.interpret(this, world, ci, index);
 	}
 
 
@@ -314,7 +1307,7 @@ public class JAIAbstractInterpreter {
 	 */	
 	public JAIWorld interpretPrimitiveTypeOperation(JAIWorld world,
 			CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a primitive type operation (and, mul...) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a primitive type operation (and, mul...) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);		
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.ICONST_M1: 
@@ -547,7 +1540,7 @@ public class JAIAbstractInterpreter {
 	 */	
 	public JAIWorld interpretSpecialOperation(JAIWorld world, CodeIterator ci,
 			int index) {
-		JAIDebug.print("Interpreting a special operation (nop, athrow, instanceof, checkcast, wide) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a special operation (nop, athrow, instanceof, checkcast, wide) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
@@ -582,7 +1575,7 @@ public class JAIAbstractInterpreter {
 	 */	
 	public JAIWorld interpretControlFlowStructure(JAIWorld world,
 			CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a control-flow statement (if, ret, jsr, goto, switch) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a control-flow statement (if, ret, jsr, goto, switch) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.IF_ACMPEQ:
@@ -669,7 +1662,7 @@ public class JAIAbstractInterpreter {
 	 */	
 	public JAIWorld interpretLoadingFromConstantPool(JAIWorld world,
 			CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a load statement from constant pool (ldc...) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a load statement from constant pool (ldc...) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);		
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.LDC: 
@@ -697,7 +1690,7 @@ public class JAIAbstractInterpreter {
 	 */	
 	public JAIWorld interpretLocalVariableLoadAndStore(JAIWorld world,
 			CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a load or a store statement (iinc, ?load and ?store,) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a load or a store statement (iinc, ?load and ?store,) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);		
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.ALOAD: 
@@ -868,7 +1861,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretReturnOperation(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a return statement (return, dreturn, freturn, ireturn, lreturn, areturn) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a return statement (return, dreturn, freturn, ireturn, lreturn, areturn) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.IRETURN: 
@@ -904,7 +1897,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretInvokeOperation(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting an invocation (invokeinterface, invokespecial, invokestatic, or invokevirtual) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting an invocation (invokeinterface, invokespecial, invokestatic, or invokevirtual) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.INVOKEVIRTUAL: 
@@ -935,7 +1928,7 @@ public class JAIAbstractInterpreter {
 	 */
 	public JAIWorld interpretObjectStackOperation(JAIWorld world,
 			CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting an object-related operation adding an instance to the stack (new or aconst_null) : "+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting an object-related operation adding an instance to the stack (new or aconst_null) : "+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.NEW: 
@@ -959,7 +1952,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */
 	public JAIWorld interpretConcurrencyOperations(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a concurrency-related operation (monitorenter or monitorexit): "+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a concurrency-related operation (monitorenter or monitorexit): "+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.MONITORENTER: 
@@ -984,7 +1977,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */
 	public JAIWorld interpretFieldsOperation(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a field operation (getfield, getstatic,...): "+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a field operation (getfield, getstatic,...): "+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.GETFIELD: 
@@ -1013,7 +2006,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretArrayOperation(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting an array operation (baload, bastore, newarray...): "+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting an array operation (baload, bastore, newarray...): "+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.IALOAD: 
@@ -1090,7 +2083,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretStack(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a stack operation (pop, dup, swap and their variants): "+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a stack operation (pop, dup, swap and their variants): "+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world;
 		switch (ci.byteAt(index)) {
 		case Opcode.POP: 
@@ -1133,7 +2126,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretNop(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a nop :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a nop :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateNop();
 	}
 
@@ -1146,7 +2139,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAconst_null(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a aconst_null :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a aconst_null :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAconst_null();
 	}
 
@@ -1159,7 +2152,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIconst_m1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iconst_m1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iconst_m1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIconst_m1();
 	}
 
@@ -1172,7 +2165,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIconst_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iconst_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iconst_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIconst_0();
 	}
 
@@ -1185,7 +2178,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIconst_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iconst_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iconst_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIconst_1();
 	}
 
@@ -1198,7 +2191,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIconst_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iconst_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iconst_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIconst_2();
 	}
 
@@ -1211,7 +2204,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIconst_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iconst_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iconst_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIconst_3();
 	}
 
@@ -1224,7 +2217,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIconst_4(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iconst_4 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iconst_4 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIconst_4();
 	}
 
@@ -1237,7 +2230,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIconst_5(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iconst_5 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iconst_5 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIconst_5();
 	}
 
@@ -1250,7 +2243,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLconst_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lconst_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lconst_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLconst_0();
 	}
 
@@ -1263,7 +2256,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLconst_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lconst_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lconst_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLconst_1();
 	}
 
@@ -1276,7 +2269,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFconst_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fconst_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fconst_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFconst_0();
 	}
 
@@ -1289,7 +2282,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFconst_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fconst_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fconst_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFconst_1();
 	}
 
@@ -1302,7 +2295,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFconst_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fconst_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fconst_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFconst_2();
 	}
 
@@ -1315,7 +2308,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDconst_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dconst_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dconst_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDconst_0();
 	}
 
@@ -1328,7 +2321,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDconst_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dconst_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dconst_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDconst_1();
 	}
 
@@ -1341,7 +2334,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretBipush(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a bipush :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a bipush :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		byte b = (byte)ci.byteAt(index+1);
 		return world.evaluateBipush(b);
 	}
@@ -1355,7 +2348,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretSipush(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a sipush :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a sipush :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		short s = (short)ci.s16bitAt(index+1);
 		return world.evaluateSipush(s);
 	}
@@ -1369,9 +2362,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLdc(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ldc :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int i = (int)ci.byteAt(index+1);
-		return world.evaluateLdc(getM().getDeclaringClass().getClassFile().getConstPool().getLdcValue(i));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ldc :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return world.evaluateLdc(getConstant(index));
 	}
 
 	/**
@@ -1383,9 +2375,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLdc_w(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ldc_w :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int i = (int)ci.s16bitAt(index+1);
-		return world.evaluateLdc_w(getM().getDeclaringClass().getClassFile().getConstPool().getLdcValue(i));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ldc_w :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return world.evaluateLdc_w(getConstant(index));
 	}
 
 	/**
@@ -1397,9 +2388,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLdc2_w(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ldc2_w :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int i = (int)ci.s16bitAt(index+1);
-		return world.evaluateLdc2_w(getM().getDeclaringClass().getClassFile().getConstPool().getLdcValue(i));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ldc2_w :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return world.evaluateLdc2_w(getConstant(index));
 	}
 
 	/**
@@ -1411,7 +2401,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateIload(i);
 	}
@@ -1425,7 +2415,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateLload(i);
 	}
@@ -1439,7 +2429,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateFload(i);
 	}
@@ -1453,7 +2443,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateDload(i);
 	}
@@ -1467,7 +2457,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a aload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a aload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateAload(i);
 	}
@@ -1481,7 +2471,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIload_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIload_0();
 	}
 
@@ -1494,7 +2484,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIload_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIload_1();
 	}
 
@@ -1507,7 +2497,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIload_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIload_2();
 	}
 
@@ -1520,7 +2510,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIload_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIload_3();
 	}
 
@@ -1533,7 +2523,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLload_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLload_0();
 	}
 
@@ -1546,7 +2536,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLload_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLload_1();
 	}
 
@@ -1559,7 +2549,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLload_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLload_2();
 	}
 
@@ -1572,7 +2562,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLload_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLload_3();
 	}
 
@@ -1585,7 +2575,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFload_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFload_0();
 	}
 
@@ -1598,7 +2588,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFload_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFload_1();
 	}
 
@@ -1611,7 +2601,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFload_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFload_2();
 	}
 
@@ -1624,7 +2614,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFload_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFload_3();
 	}
 
@@ -1637,7 +2627,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDload_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDload_0();
 	}
 
@@ -1650,7 +2640,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDload_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDload_1();
 	}
 
@@ -1663,7 +2653,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDload_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDload_2();
 	}
 
@@ -1676,7 +2666,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDload_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDload_3();
 	}
 
@@ -1689,7 +2679,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAload_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a aload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a aload_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAload_0();
 	}
 
@@ -1702,7 +2692,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAload_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a aload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a aload_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAload_1();
 	}
 
@@ -1715,7 +2705,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAload_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a aload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a aload_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAload_2();
 	}
 
@@ -1728,7 +2718,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAload_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a aload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a aload_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAload_3();
 	}
 
@@ -1741,7 +2731,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIaload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iaload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iaload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIaload();
 	}
 
@@ -1754,7 +2744,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLaload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a laload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a laload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLaload();
 	}
 
@@ -1767,7 +2757,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFaload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a faload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a faload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFaload();
 	}
 
@@ -1780,7 +2770,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDaload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a daload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a daload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDaload();
 	}
 
@@ -1793,7 +2783,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAaload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a aaload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a aaload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAaload();
 	}
 
@@ -1806,7 +2796,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretBaload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a baload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a baload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateBaload();
 	}
 
@@ -1819,7 +2809,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretCaload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a caload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a caload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateCaload();
 	}
 
@@ -1832,7 +2822,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretSaload(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a saload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a saload :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateSaload();
 	}
 
@@ -1845,7 +2835,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIstore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a istore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a istore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateIstore(i);
 	}
@@ -1859,7 +2849,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLstore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lstore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lstore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateLstore(i);
 	}
@@ -1873,7 +2863,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFstore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fstore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fstore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateFstore(i);
 	}
@@ -1887,7 +2877,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDstore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dstore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dstore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateDstore(i);
 	}
@@ -1901,7 +2891,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAstore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a astore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a astore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int i = (int)ci.byteAt(index+1);
 		return world.evaluateAstore(i);
 	}
@@ -1915,7 +2905,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIstore_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a istore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a istore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIstore_0();
 	}
 
@@ -1928,7 +2918,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIstore_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a istore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a istore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIstore_1();
 	}
 
@@ -1941,7 +2931,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIstore_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a istore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a istore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIstore_2();
 	}
 
@@ -1954,7 +2944,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIstore_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a istore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a istore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIstore_3();
 	}
 
@@ -1967,7 +2957,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLstore_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lstore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lstore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLstore_0();
 	}
 
@@ -1980,7 +2970,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLstore_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lstore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lstore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLstore_1();
 	}
 
@@ -1993,7 +2983,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLstore_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lstore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lstore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLstore_2();
 	}
 
@@ -2006,7 +2996,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLstore_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lstore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lstore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLstore_3();
 	}
 
@@ -2019,7 +3009,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFstore_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fstore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fstore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFstore_0();
 	}
 
@@ -2032,7 +3022,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFstore_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fstore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fstore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFstore_1();
 	}
 
@@ -2045,7 +3035,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFstore_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fstore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fstore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFstore_2();
 	}
 
@@ -2058,7 +3048,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFstore_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fstore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fstore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFstore_3();
 	}
 
@@ -2071,7 +3061,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDstore_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dstore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dstore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDstore_0();
 	}
 
@@ -2084,7 +3074,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDstore_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dstore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dstore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDstore_1();
 	}
 
@@ -2097,7 +3087,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDstore_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dstore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dstore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDstore_2();
 	}
 
@@ -2110,7 +3100,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDstore_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dstore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dstore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDstore_3();
 	}
 
@@ -2123,7 +3113,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAstore_0(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a astore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a astore_0 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAstore_0();
 	}
 
@@ -2136,7 +3126,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAstore_1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a astore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a astore_1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAstore_1();
 	}
 
@@ -2149,7 +3139,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAstore_2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a astore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a astore_2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAstore_2();
 	}
 
@@ -2162,7 +3152,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAstore_3(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a astore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a astore_3 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAstore_3();
 	}
 
@@ -2175,7 +3165,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIastore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIastore();
 	}
 
@@ -2188,7 +3178,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLastore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLastore();
 	}
 
@@ -2201,7 +3191,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFastore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFastore();
 	}
 
@@ -2214,7 +3204,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDastore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDastore();
 	}
 
@@ -2227,7 +3217,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAastore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a aastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a aastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateAastore();
 	}
 
@@ -2240,7 +3230,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretBastore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a bastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a bastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateBastore();
 	}
 
@@ -2253,7 +3243,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretCastore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a castore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a castore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateCastore();
 	}
 
@@ -2266,7 +3256,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretSastore(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a sastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a sastore :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateSastore();
 	}
 
@@ -2279,7 +3269,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretPop(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a pop :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a pop :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluatePop();
 	}
 
@@ -2292,7 +3282,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretPop2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a pop2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a pop2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluatePop2();
 	}
 
@@ -2305,7 +3295,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDup(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dup :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dup :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDup();
 	}
 
@@ -2318,7 +3308,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDup_x1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dup_x1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dup_x1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDup_x1();
 	}
 
@@ -2331,7 +3321,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDup_x2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dup_x2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dup_x2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDup_x2();
 	}
 
@@ -2344,7 +3334,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDup2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dup2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dup2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDup2();
 	}
 
@@ -2357,7 +3347,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDup2_x1(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dup2_x1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dup2_x1 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDup2_x1();
 	}
 
@@ -2370,7 +3360,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDup2_x2(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dup2_x2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dup2_x2 :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDup2_x2();
 	}
 
@@ -2383,7 +3373,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretSwap(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a swap :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a swap :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateSwap();
 	}
 
@@ -2396,7 +3386,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIadd(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iadd :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iadd :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIadd();
 	}
 
@@ -2409,7 +3399,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLadd(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ladd :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ladd :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLadd();
 	}
 
@@ -2422,7 +3412,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFadd(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fadd :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fadd :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFadd();
 	}
 
@@ -2435,7 +3425,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDadd(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dadd :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dadd :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDadd();
 	}
 
@@ -2448,7 +3438,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIsub(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a isub :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a isub :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIsub();
 	}
 
@@ -2461,7 +3451,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLsub(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lsub :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lsub :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLsub();
 	}
 
@@ -2474,7 +3464,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFsub(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fsub :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fsub :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFsub();
 	}
 
@@ -2487,7 +3477,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDsub(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dsub :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dsub :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDsub();
 	}
 
@@ -2500,7 +3490,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretImul(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a imul :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a imul :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateImul();
 	}
 
@@ -2513,7 +3503,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLmul(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lmul :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lmul :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLmul();
 	}
 
@@ -2526,7 +3516,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFmul(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fmul :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fmul :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFmul();
 	}
 
@@ -2539,7 +3529,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDmul(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dmul :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dmul :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDmul();
 	}
 
@@ -2552,7 +3542,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIdiv(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a idiv :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a idiv :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIdiv();
 	}
 
@@ -2565,7 +3555,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLdiv(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ldiv :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ldiv :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLdiv();
 	}
 
@@ -2578,7 +3568,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFdiv(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fdiv :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fdiv :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFdiv();
 	}
 
@@ -2591,7 +3581,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDdiv(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ddiv :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ddiv :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDdiv();
 	}
 
@@ -2604,7 +3594,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIrem(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a irem :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a irem :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIrem();
 	}
 
@@ -2617,7 +3607,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLrem(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lrem :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lrem :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLrem();
 	}
 
@@ -2630,7 +3620,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFrem(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a frem :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a frem :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFrem();
 	}
 
@@ -2643,7 +3633,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDrem(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a drem :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a drem :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDrem();
 	}
 
@@ -2656,7 +3646,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIneg(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ineg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ineg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIneg();
 	}
 
@@ -2669,7 +3659,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLneg(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lneg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lneg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLneg();
 	}
 
@@ -2682,7 +3672,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFneg(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fneg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fneg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFneg();
 	}
 
@@ -2695,7 +3685,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDneg(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dneg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dneg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDneg();
 	}
 
@@ -2708,7 +3698,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIshl(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ishl :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ishl :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIshl();
 	}
 
@@ -2721,7 +3711,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLshl(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lshl :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lshl :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLshl();
 	}
 
@@ -2734,7 +3724,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIshr(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ishr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ishr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIshr();
 	}
 
@@ -2747,7 +3737,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLshr(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lshr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lshr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLshr();
 	}
 
@@ -2760,7 +3750,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIushr(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iushr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iushr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIushr();
 	}
 
@@ -2773,7 +3763,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLushr(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lushr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lushr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLushr();
 	}
 
@@ -2786,7 +3776,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIand(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iand :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iand :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIand();
 	}
 
@@ -2799,7 +3789,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLand(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a land :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a land :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLand();
 	}
 
@@ -2812,7 +3802,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIor(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ior :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ior :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIor();
 	}
 
@@ -2825,7 +3815,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLor(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lor :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lor :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLor();
 	}
 
@@ -2838,7 +3828,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIxor(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ixor :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ixor :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateIxor();
 	}
 
@@ -2851,7 +3841,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLxor(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lxor :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lxor :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLxor();
 	}
 
@@ -2864,9 +3854,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIinc(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iinc :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iinc :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int indexValue = ci.byteAt(index+1);
-		int increment = ci.byteAt(index+2);
+		int increment = (byte)ci.byteAt(index+2);
 
 		return world.evaluateIinc(indexValue,increment);
 	}
@@ -2880,7 +3870,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretI2l(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a i2l :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a i2l :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateI2l();
 	}
 
@@ -2893,7 +3883,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretI2f(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a i2f :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a i2f :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateI2f();
 	}
 
@@ -2906,7 +3896,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretI2d(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a i2d :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a i2d :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateI2d();
 	}
 
@@ -2919,7 +3909,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretL2i(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a l2i :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a l2i :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateL2i();
 	}
 
@@ -2932,7 +3922,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretL2f(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a l2f :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a l2f :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateL2f();
 	}
 
@@ -2945,7 +3935,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretL2d(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a l2d :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a l2d :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateL2d();
 	}
 
@@ -2958,7 +3948,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretF2i(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a f2i :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a f2i :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateF2i();
 	}
 
@@ -2971,7 +3961,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretF2l(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a f2l :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a f2l :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateF2l();
 	}
 
@@ -2984,7 +3974,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretF2d(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a f2d :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a f2d :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateF2d();
 	}
 
@@ -2997,7 +3987,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretD2i(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a d2i :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a d2i :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateD2i();
 	}
 
@@ -3010,7 +4000,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretD2l(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a d2l :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a d2l :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateD2l();
 	}
 
@@ -3023,7 +4013,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretD2f(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a d2f :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a d2f :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateD2f();
 	}
 
@@ -3036,7 +4026,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretI2b(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a i2b :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a i2b :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateI2b();
 	}
 
@@ -3049,7 +4039,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretI2c(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a i2c :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a i2c :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateI2c();
 	}
 
@@ -3062,7 +4052,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretI2s(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a i2s :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a i2s :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateI2s();
 	}
 
@@ -3075,7 +4065,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLcmp(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lcmp :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lcmp :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateLcmp();
 	}
 
@@ -3088,7 +4078,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFcmpl(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fcmpl :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fcmpl :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFcmpl();
 	}
 
@@ -3101,7 +4091,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFcmpg(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a fcmpg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a fcmpg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateFcmpg();
 	}
 
@@ -3114,7 +4104,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDcmpl(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dcmpl :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dcmpl :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDcmpl();
 	}
 
@@ -3127,7 +4117,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDcmpg(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dcmpg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dcmpg :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateDcmpg();
 	}
 
@@ -3140,7 +4130,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIfeq(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ifeq :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ifeq :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3160,9 +4150,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;
 	}
@@ -3176,7 +4166,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIfne(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ifne :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ifne :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3196,9 +4186,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;
 	}
@@ -3212,7 +4202,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIflt(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a iflt :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a iflt :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3232,9 +4222,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	}
 
@@ -3247,7 +4237,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIfge(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ifge :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ifge :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3267,9 +4257,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	}
 
@@ -3282,7 +4272,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIfgt(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ifgt :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ifgt :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3302,9 +4292,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	}
 
@@ -3317,7 +4307,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIfle(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ifle :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ifle :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3337,9 +4327,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	
 	}
@@ -3353,7 +4343,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIf_icmpeq(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a if_icmpeq :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a if_icmpeq :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3373,9 +4363,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	
 	}
@@ -3389,7 +4379,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIf_icmpne(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a if_icmpne :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a if_icmpne :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3409,9 +4399,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	
 	}
@@ -3424,7 +4414,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIf_icmplt(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a if_icmplt :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a if_icmplt :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3444,9 +4434,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	
 	}
@@ -3459,7 +4449,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIf_icmpge(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a if_icmpge :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a if_icmpge :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3479,9 +4469,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	 
 	}
@@ -3494,7 +4484,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIf_icmpgt(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a if_icmpgt :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a if_icmpgt :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3514,9 +4504,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	
 	}
@@ -3529,7 +4519,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIf_icmple(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a if_icmple :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a if_icmple :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3549,9 +4539,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	
 	}
@@ -3564,7 +4554,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIf_acmpeq(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a if_acmpeq :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a if_acmpeq :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3584,9 +4574,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	
 	}
@@ -3600,7 +4590,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIf_acmpne(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a if_acmpne :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a if_acmpne :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -3620,9 +4610,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;	
 	}
@@ -3637,7 +4627,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretGoto(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a goto :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a goto :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int gotoBranch = ci.s16bitAt(index+1);
 		ci.move(index+gotoBranch);
 		return world.evaluateGoto();
@@ -3652,11 +4642,51 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretJsr(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a jsr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int subroutineAddress = ci.s16bitAt(index+1);
-		this.returnIndexesForSubroutines.push(index+3);
-		ci.move(subroutineAddress);
-		return world.evaluateJsr();
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a jsr :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		int context = callSubroutine(world, index);
+		if (context<0) {
+			return null;
+		}
+		ci.move(index+ci.s16bitAt(index+1));
+		JAIWorld modifiedWorld = world.evaluateJsr(index+3);
+		modifiedWorld.setSubroutineContext(context);
+		return modifiedWorld;
+	}
+
+	/**
+	 * Returns the subroutine context called by a jsr (see {@link JAIControlFlowGraph#getCalleeContext(int, int)}).
+	 * 
+	 * @param world the abstract world, in the context of the caller.
+	 * @param index the index of the jsr.
+	 * @return the context called, -1 if it is not known.
+	 */
+	private int callSubroutine(JAIWorld world, int index) {
+		JAIControlFlowGraph graph = findControlFlowGraph();
+		int context = (graph==null) ? -1 : graph.getCalleeContext(world.getSubroutineContext(), index);
+		if (context<0 && JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "No subroutine context for the jsr at "+index, this);
+		return context;
+	}
+
+	/**
+	 * Returns from the subroutine containing a ret: the world goes back to the context of
+	 * the caller and the iterator to the instruction following its jsr.
+	 * 
+	 * @param world the abstract world.
+	 * @param ci the code iterator.
+	 * @param index the index of the ret.
+	 * @return the new state of abstract variables, null if the ret is not in a subroutine.
+	 */
+	private JAIWorld returnFromSubroutine(JAIWorld world, CodeIterator ci, int index) {
+		JAIControlFlowGraph graph = findControlFlowGraph();
+		int context = (graph==null) ? 0 : graph.getContextAt(world.getSubroutineContext(), index);
+		if (context==0) {
+			if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "No subroutine to return from at "+index, this);
+			return null;
+		}
+		ci.move(graph.getReturnIndex(context));
+		JAIWorld modifiedWorld = world.evaluateRet();
+		modifiedWorld.setSubroutineContext(graph.getCallerContext(context));
+		return modifiedWorld;
 	}
 
 	/**
@@ -3668,13 +4698,13 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretRet(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ret :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		ci.move(this.returnIndexesForSubroutines.pop());
-		return world.evaluateRet();
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ret :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return returnFromSubroutine(world, ci, index);
 	}
 
 	/**
-	 * Interprets a tableswitch
+	 * Interprets a tableswitch. Only the cases the selector may take are explored, once per
+	 * distinct target (see {@link #getSwitchTargets(JAIWorld, CodeIterator, int)}).
 	 * 
 	 * @param world the abstract world.
 	 * @param ci the code iterator.
@@ -3682,68 +4712,13 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretTableswitch(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a tableswitch :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-
-		int indexOfDefault;
-		if (index%4==0) {
-			indexOfDefault = index;
-		}
-		else {
-			indexOfDefault=((index/4)+1)*4;
-		}
-		int defaut = ci.s32bitAt(indexOfDefault);
-		int low = ci.s32bitAt(indexOfDefault+4);
-		int high = ci.s32bitAt(indexOfDefault+8);
-		JAIDebug.print("Interpreting tableswitch low: "+low+", high: "+high+", default: "+defaut, this, true);
-
-		JAIWorld modifiedWorld = world.evaluateTableswitch();
-		if (modifiedWorld.allBranchesNeedToBeEvaluated()) {
-			for (int j = low; j<=high;j++) {
-				JAIDebug.print("Launching branch "+j, this, true);
-				interpretFrom(modifiedWorld, index+ci.s32bitAt(indexOfDefault+12+j*4)); 
-
-			}
-			interpretFrom(modifiedWorld, ci.s32bitAt(index+defaut)); 				
-		}
-		else {
-
-			// otherwise, we execute only the indexes whose indexes are returned
-			// by the world
-			int []possibleBranches = modifiedWorld.getValuesOfBranchesToEvaluate();
-			
-			for (int b: possibleBranches) {
-				JAIDebug.print("Possible branch: "+b, this, true);				
-			}
-			
-			// we define an array to keep track of whether branches have been called
-			boolean []hasBranchBeenCalled = new boolean[high-low+1];
-			JAIDebug.print("Number of branches:  "+possibleBranches.length, this, true);
-
-			// for all branches we will check that they have not been evaluated yet
-			boolean hasDefaultBeenCalled = false;
-			//we iterate through all possibilities
-			
-			for (int i = 0; i<possibleBranches.length;i++){
-				int branchIndex = possibleBranches[i];
-				// if the default has not been called and it refers to another branch
-				if (!hasDefaultBeenCalled&&((branchIndex<low) ||(branchIndex>high))) {
-					interpretFrom(modifiedWorld, index+defaut);					
-					hasDefaultBeenCalled = true;				
-				} else if (((branchIndex>=low) || (branchIndex<=high))&&!hasBranchBeenCalled[i]){
-					// if it hasn't been evaluated yet, we launch it
-					JAIDebug.print("Launching branch "+branchIndex, this, true);
-					interpretFrom(modifiedWorld, index+ci.s32bitAt(indexOfDefault+12+i*4)); 
-					hasBranchBeenCalled[i]=true;
-				}
-
-			}
-
-		}
-		return modifiedWorld;
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a tableswitch :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return interpretSwitch(world.evaluateTableswitch(), ci, index);
 	}
 
 	/**
-	 * Interprets a lookupswitch
+	 * Interprets a lookupswitch. Only the cases the selector may take are explored, once per
+	 * distinct target (see {@link #getSwitchTargets(JAIWorld, CodeIterator, int)}).
 	 * 
 	 * @param world the abstract world.
 	 * @param ci the code iterator.
@@ -3751,62 +4726,67 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLookupswitch(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lookupswitch :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int indexOfDefault;
-		// we first calculate the offset
-		if (index%4==0) {
-			indexOfDefault = index;
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lookupswitch :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return interpretSwitch(world.evaluateLookupswitch(), ci, index);
+	}
+
+	/**
+	 * Forks a path to each target of a switch once the switch is evaluated, except the
+	 * last one, on which the path interpreting the switch continues.
+	 *
+	 * @param world the world in which the switch was evaluated.
+	 * @param ci the code iterator.
+	 * @param index the index of the switch.
+	 * @return the world of the path continuing, null if the switch takes no case.
+	 */
+	private JAIWorld interpretSwitch(JAIWorld world, CodeIterator ci, int index) {
+		int []targets = getSwitchTargets(world, ci, index);
+		if (JAIDebug.isEnabled(JAIDebug.INFO, this)) JAIDebug.print(JAIDebug.INFO, "Switch at "+index+" launching "+targets.length+" branches", this);
+		if (targets.length==0) {
+			return null;
 		}
-		else {
-			indexOfDefault=((index/4)+1)*4;
+		for (int i = 0; i<targets.length-1; i++) {
+			forkPath(world.copy(), targets[i]);
 		}
+		ci.move(targets[targets.length-1]);
+		return world;
+	}
 
-		// then we read default and npairs
-		int defaut = ci.s32bitAt(indexOfDefault);
-		int npairs = ci.s32bitAt(indexOfDefault+4);
-
-		JAIWorld modifiedWorld = world.evaluateLookupswitch();
-		// if we need to evaluate all branches, we do that
-		if (modifiedWorld.allBranchesNeedToBeEvaluated()) {
-			for (int j = 0; j<npairs;j++) {
-				JAIDebug.print("Launching branch "+j, this);
-				interpretFrom(modifiedWorld, index+ci.s32bitAt(indexOfDefault+12+j*8)); 
-
-			}
-			// as well as the default
-			interpretFrom(modifiedWorld, index+defaut); 				
+	/**
+	 * Returns the distinct targets a switch may jump to once it is evaluated. If the world
+	 * gives the values of the selector (see {@link JAIWorld#getValuesOfBranchesToEvaluate()}),
+	 * those values are used. Otherwise the bounds of the selector (see
+	 * {@link JAIWorld#getSwitchSelector()}) restrict the cases, so that a selector known to
+	 * a small range explores a few cases of a large table; all the targets are returned when
+	 * the selector has no bounds.
+	 *
+	 * @param world the world in which the switch was evaluated.
+	 * @param ci the code iterator.
+	 * @param index the index of the switch.
+	 * @return the indexes targeted, in increasing order.
+	 */
+	@SuppressWarnings("rawtypes")
+	protected int[] getSwitchTargets(JAIWorld world, CodeIterator ci, int index) {
+		if (!world.allBranchesNeedToBeEvaluated()) {
+			return JAIControlFlowGraph.getSwitchTargets(ci, index, world.getValuesOfBranchesToEvaluate());
 		}
-		else {
-			// otherwise, we execute only the indexes whose indexes are returned
-			// by the world
-			int []possibleBranches = modifiedWorld.getValuesOfBranchesToEvaluate();
-			// we define an array to keep track of whether branches have been called
-			boolean []hasBranchBeenCalled = new boolean[npairs];
-
-			// for all branches we will check that they have not been evaluated yet
-			boolean hasDefaultBeenCalled = false;
-			//we iterate through all possibilities
-			for (int i = 0; i<possibleBranches.length;i++){
-				int branchIndex = possibleBranches[i];
-				boolean hasMatched=false;
-				// we iterate through all possible branches
-				for (int j = 0; j<npairs;j++) {
-					// if it hasn't been evaluated yet, we launch it
-					if (!hasBranchBeenCalled[j]&&ci.s32bitAt(indexOfDefault+8+j*8)==branchIndex) {
-						JAIDebug.print("Launching branch "+j, this);
-						interpretFrom(modifiedWorld, index+ci.s32bitAt(indexOfDefault+12+j*8)); 
-						hasMatched=true;
-						hasBranchBeenCalled[j]=true;
-					}
-				}
-				// if it hadn't been evaluated wedo it
-				if (!hasMatched&&!hasDefaultBeenCalled) {
-					interpretFrom(modifiedWorld, index+defaut);
-					hasDefaultBeenCalled=true;
+		int lowest = Integer.MIN_VALUE;
+		int highest = Integer.MAX_VALUE;
+		JAIAbstractValue selector = world.getSwitchSelector();
+		if (selector!=null) {
+			try {
+				if (selector.isBottom()) {
+					return new int[0];
 				}
+				lowest = selector.getLowestPossibleIntegerValue();
+				highest = selector.getHighestPossibleIntegerValue();
+			} catch (JAIAbstractValueException e) {
+				// the domain does not bound its values, all the cases may be taken
+				lowest = Integer.MIN_VALUE;
+				highest = Integer.MAX_VALUE;
 			}
 		}
-		return modifiedWorld;	
+		return JAIControlFlowGraph.getSwitchTargets(ci, index, lowest, highest);
 	}
 
 	/**
@@ -3818,9 +4798,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIreturn(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ireturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ireturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world.evaluateIreturn();
-		this.resultsOfExecutionToCollect.add(modifiedWorld);
+		collectResult(modifiedWorld);
 		ci.move(ci.getCodeLength()+1);
 		return modifiedWorld;
 	}
@@ -3834,9 +4814,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretLreturn(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a lreturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a lreturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world.evaluateLreturn();
-		this.resultsOfExecutionToCollect.add(modifiedWorld);
+		collectResult(modifiedWorld);
 		ci.move(ci.getCodeLength()+1);
 		return modifiedWorld;
 	}
@@ -3850,9 +4830,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretFreturn(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a freturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a freturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world.evaluateFreturn();
-		this.resultsOfExecutionToCollect.add(modifiedWorld);
+		collectResult(modifiedWorld);
 		ci.move(ci.getCodeLength()+1);
 		return modifiedWorld;
 	}
@@ -3866,9 +4846,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretDreturn(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a dreturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a dreturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world.evaluateDreturn();
-		this.resultsOfExecutionToCollect.add(modifiedWorld);
+		collectResult(modifiedWorld);
 		ci.move(ci.getCodeLength()+1);
 		return modifiedWorld;
 	}
@@ -3882,9 +4862,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAreturn(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a areturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a areturn :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world.evaluateAreturn();
-		this.resultsOfExecutionToCollect.add(modifiedWorld);
+		collectResult(modifiedWorld);
 		ci.move(ci.getCodeLength()+1);
 		return modifiedWorld;
 	}
@@ -3898,9 +4878,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretReturn(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a return :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a return :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		JAIWorld modifiedWorld = world.evaluateReturn();
-		this.resultsOfExecutionToCollect.add(modifiedWorld);
+		collectResult(modifiedWorld);
 		ci.move(ci.getCodeLength()+1);
 		return modifiedWorld;
 	}
@@ -3914,11 +4894,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretGetstatic(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a getstatic :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int staticVariableIndex = ci.s16bitAt(index+1);
-		return world.evaluateGetstatic(getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefClassName(staticVariableIndex)+"/"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefName(staticVariableIndex)+":"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefType(staticVariableIndex));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a getstatic :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return world.evaluateGetstatic((JAIMemberDescriptor)getConstant(index));
 	}
 
 	/**
@@ -3930,11 +4907,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretPutstatic(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a putstatic :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int staticVariableIndex = ci.s16bitAt(index+1);
-		return world.evaluatePutstatic(getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefClassName(staticVariableIndex)+"/"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefName(staticVariableIndex)+":"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefType(staticVariableIndex));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a putstatic :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return world.evaluatePutstatic((JAIMemberDescriptor)getConstant(index));
 	}
 
 	/**
@@ -3946,11 +4920,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretGetfield(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a getfield :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int fieldIndex = ci.s16bitAt(index+1);
-		return world.evaluateGetfield(getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefClassName(fieldIndex)+"/"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefName(fieldIndex)+":"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefType(fieldIndex));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a getfield :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return world.evaluateGetfield((JAIMemberDescriptor)getConstant(index));
 	}
 
 	/**
@@ -3962,11 +4933,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretPutfield(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a putfield :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int fieldIndex = ci.s16bitAt(index+1);
-		return world.evaluatePutfield(getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefClassName(fieldIndex)+"/"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefName(fieldIndex)+":"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getFieldrefType(fieldIndex));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a putfield :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		return world.evaluatePutfield((JAIMemberDescriptor)getConstant(index));
 	}
 
 	/**
@@ -3978,15 +4946,10 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretInvokevirtual(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a invokevirtual :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int methodIndex = ci.s16bitAt(index+1);
-		JAIWorld modifiedWorld = world.evaluateInvokevirtual(getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefClassName(methodIndex)+"/"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefName(methodIndex)+":"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefType(methodIndex));
-		if (modifiedWorld.shouldInterpretMehtodCalls()) {
-			//TODO
-		}
-		return modifiedWorld;	}
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a invokevirtual :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		JAIMemberDescriptor method = (JAIMemberDescriptor)getConstant(index);
+		return evaluateCall(world.evaluateInvokevirtual(method), method, true);
+	}
 
 	/**
 	 * Interprets a invokespecial
@@ -3997,15 +4960,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretInvokespecial(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a invokespecial :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int methodIndex = ci.s16bitAt(index+1);
-		JAIWorld modifiedWorld = world.evaluateInvokespecial(getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefClassName(methodIndex)+"/"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefName(methodIndex)+":"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefType(methodIndex));
-		if (modifiedWorld.shouldInterpretMehtodCalls()) {
-			//TODO
-		}
-		return modifiedWorld;
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a invokespecial :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		JAIMemberDescriptor method = (JAIMemberDescriptor)getConstant(index);
+		return evaluateCall(world.evaluateInvokespecial(method), method, true);
 	}
 
 	/**
@@ -4017,15 +4974,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretInvokestatic(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a invokestatic :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int methodIndex = ci.s16bitAt(index+1);
-		JAIWorld modifiedWorld = world.evaluateInvokestatic(getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefClassName(methodIndex)+"/"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefName(methodIndex)+":"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefType(methodIndex));
-		if (modifiedWorld.shouldInterpretMehtodCalls()) {
-			//TODO
-		}
-		return modifiedWorld;
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a invokestatic :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		JAIMemberDescriptor method = (JAIMemberDescriptor)getConstant(index);
+		return evaluateCall(world.evaluateInvokestatic(method), method, false);
 	}
 
 	/**
@@ -4037,16 +4988,10 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretInvokeinterface(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a invokeinterface :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int methodIndex = ci.s16bitAt(index+1);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a invokeinterface :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int argCount = (int) ci.byteAt(index+3);
-		JAIWorld modifiedWorld = world.evaluateInvokeinterface(getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefClassName(methodIndex)+"/"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefName(methodIndex)+":"
-				+getM().getDeclaringClass().getClassFile().getConstPool().getMethodrefType(methodIndex), argCount);
-		if (modifiedWorld.shouldInterpretMehtodCalls()) {
-			//TODO
-		}
-		return modifiedWorld;
+		JAIMemberDescriptor method = (JAIMemberDescriptor)getConstant(index);
+		return evaluateCall(world.evaluateInvokeinterface(method, argCount), method, true);
 	}
 
 	/**
@@ -4058,9 +5003,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretNew(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a new :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int classIndex = ci.s16bitAt(index+1);
-		JAIWorld modifiedWorld = world.evaluateNew(getM().getDeclaringClass().getClassFile().getConstPool().getClassInfo(classIndex));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a new :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		JAIWorld modifiedWorld = world.evaluateNew((String)getConstant(index), index);
 		return modifiedWorld;
 	}
 
@@ -4073,7 +5017,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretNewarray(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a newarray :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a newarray :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int typeIndex = (int)ci.byteAt(index+1);
 		String typeName = "";
 		switch(typeIndex) {
@@ -4102,7 +5046,7 @@ public class JAIAbstractInterpreter {
 			typeName = "J";
 			break;
 		}
-		JAIWorld modifiedWorld = world.evaluateNewarray(typeName);
+		JAIWorld modifiedWorld = world.evaluateNewarray(typeName, index);
 		return modifiedWorld;
 	}
 
@@ -4115,9 +5059,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretAnewarray(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a anewarray :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int classIndex = ci.s16bitAt(index+1);
-		JAIWorld modifiedWorld = world.evaluateAnewarray(getM().getDeclaringClass().getClassFile().getConstPool().getClassInfo(classIndex));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a anewarray :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		JAIWorld modifiedWorld = world.evaluateAnewarray((String)getConstant(index), index);
 		return modifiedWorld;
 	}
 
@@ -4130,24 +5073,37 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretArraylength(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a arraylength :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a arraylength :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateArraylength();
 	}
 
 	/**
-	 * Interprets a athrow
+	 * Interprets a athrow: the exception goes to the handlers that may catch its class
+	 * (see {@link JAIWorld#getThrownClasses()}), and leaves the method unless one of them
+	 * always catches it. The world of an exception leaving the method is kept apart from
+	 * the results (see {@link #getThrownWorld()}).
 	 * 
 	 * @param world the abstract world.
 	 * @param ci the code iterator.
 	 * @param index the index in the bytecode.
-	 * @return the new state of abstract variables.
+	 * @return null, the path ends.
 	 */	
 	public JAIWorld interpretAthrow(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a athrow :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a athrow :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		String []classes = world.getThrownClasses();
 		JAIWorld modifiedWorld = world.evaluateAthrow();
-		this.resultsOfExecutionToCollect.add(modifiedWorld);
+		JAIControlFlowGraph graph = findControlFlowGraph();
 		ci.move(ci.getCodeLength()+1);
-		return modifiedWorld;
+		if (graph!=null) {
+			ClassPool pool = getM().getDeclaringClass().getClassPool();
+			throwToHandlers(graph, modifiedWorld, index, graph.getHandlersAt(index, classes, pool));
+			if (graph.isAlwaysCaughtAt(index, classes, pool)) {
+				// the path continues in the handlers only
+				return null;
+			}
+		}
+		collectThrown(modifiedWorld);
+		return null;
 	}
 
 	/**
@@ -4159,9 +5115,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretCheckcast(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a checkcast :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int classIndex = ci.s16bitAt(index+1);
-		JAIWorld modifiedWorld = world.evaluateCheckcast(getM().getDeclaringClass().getClassFile().getConstPool().getClassInfo(classIndex));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a checkcast :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		JAIWorld modifiedWorld = world.evaluateCheckcast((String)getConstant(index));
 		return modifiedWorld;
 	}
 
@@ -4174,9 +5129,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretInstanceof(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a instanceof :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int classIndex = ci.s16bitAt(index+1);
-		JAIWorld modifiedWorld = world.evaluateInstanceof(getM().getDeclaringClass().getClassFile().getConstPool().getClassInfo(classIndex));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a instanceof :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		JAIWorld modifiedWorld = world.evaluateInstanceof((String)getConstant(index));
 		return modifiedWorld;
 	}
 
@@ -4189,7 +5143,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretMonitorenter(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a monitorenter :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a monitorenter :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateMonitorenter();
 	}
 
@@ -4202,7 +5156,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretMonitorexit(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a monitorexit :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a monitorexit :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		return world.evaluateMonitorexit();
 	}
 
@@ -4215,8 +5169,8 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretWide(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a wide :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		JAIDebug.print("Interpreting a primitive type operation (and, mul...) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a wide :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a primitive type operation (and, mul...) :"+Mnemonic.OPCODE[ci.byteAt(index)], this);		
 		JAIWorld modifiedWorld = world.evaluateWide();
 		int widerIndex = ci.s16bitAt(index+2);
 		
@@ -4256,7 +5210,7 @@ public class JAIAbstractInterpreter {
 			modifiedWorld = modifiedWorld.evaluateDstore(widerIndex);
 			break;
 		case Opcode.RET: 
-			modifiedWorld = modifiedWorld.evaluateRet();
+			modifiedWorld = returnFromSubroutine(modifiedWorld, ci, index);
 			break;
 		}
 		return modifiedWorld;
@@ -4271,10 +5225,9 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretMultianewarray(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a multianewarray :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int classIndex = ci.s16bitAt(index+1);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a multianewarray :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int dimensions = (int)ci.byteAt(index+3);
-		JAIWorld modifiedWorld = world.evaluateMultianewarray(getM().getDeclaringClass().getClassFile().getConstPool().getClassInfo(classIndex),dimensions);
+		JAIWorld modifiedWorld = world.evaluateMultianewarray((String)getConstant(index),dimensions, index);
 		return modifiedWorld;
 	}
 
@@ -4287,7 +5240,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIfnull(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ifnull :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ifnull :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -4307,9 +5260,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;		
 	}
@@ -4323,7 +5276,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretIfnonnull(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a ifnonnull :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a ifnonnull :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int thenBranch = ci.s16bitAt(index+1);
 		if (thenBranch<0) {
 			// we are in a loop we have to continue on that path
@@ -4343,9 +5296,9 @@ public class JAIAbstractInterpreter {
 				ci.move(index+thenBranch);
 			}
 		} else {
-			// if we need to evaluate both branches, we evaluate the then (the rest will proceed on its own)
-			// we will collect the result in resultsOfExecutionToCollect vector.
-			interpretFrom(modifiedWorld, index+thenBranch); 
+			// if we need to evaluate both branches, we evaluate the then on a copy (the rest will proceed on its own)
+			// we will collect the result with the other results of the interpretation.
+			forkPath(modifiedWorld.copy(), index+thenBranch); 
 		}
 		return modifiedWorld;		}
 
@@ -4358,7 +5311,7 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretGoto_w(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a goto_w :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a goto_w :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
 		int gotoBranch = ci.s32bitAt(index+1);
 		ci.move(index+gotoBranch);
 		return world.evaluateGoto_w();	
@@ -4373,11 +5326,15 @@ public class JAIAbstractInterpreter {
 	 * @return the new state of abstract variables.
 	 */	
 	public JAIWorld interpretJsr_w(JAIWorld world, CodeIterator ci, int index) {
-		JAIDebug.print("Interpreting a jsr_w :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
-		int subroutineAddress = ci.s32bitAt(index+1);
-		this.returnIndexesForSubroutines.push(index+3);
-		ci.move(subroutineAddress);
-		return world.evaluateJsr_w();	
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting a jsr_w :"+Mnemonic.OPCODE[ci.byteAt(index)], this);
+		int context = callSubroutine(world, index);
+		if (context<0) {
+			return null;
+		}
+		ci.move(index+ci.s32bitAt(index+1));
+		JAIWorld modifiedWorld = world.evaluateJsr_w(index+5);
+		modifiedWorld.setSubroutineContext(context);
+		return modifiedWorld;
 	}
 
 
@@ -0,0 +1,170 @@
+package jabsint;
+
+/**
+ * This class represents the objects allocated at one allocation site (the index of a
+ * new instruction) of the method interpreted: the values written in their fields. A
+ * field that was not written has the default value of its type. The object stands for
+ * a single concrete object until the site allocates a second one on the same path; it
+ * is then a summary of all of them, whose fields can only be updated weakly (the value
+ * written is united with the previous one). An object passed to code that was not
+ * interpreted escapes: its fields may then hold any value. The arrays allocated by the
+ * method are objects too, whose class name is the descriptor of their type: their length
+ * and elements are one value of the array domain, updated as their fields. Objects are
+ * immutable.
+ */
+@SuppressWarnings("rawtypes")
+public final class JAIAbstractObject {
+
+	/**
+	 * The index of the new instruction.
+	 */
+	private final int site;
+
+	/**
+	 * The name of the class of the objects.
+	 */
+	private final String className;
+
+	/**
+	 * True if the object stands for several concrete objects.
+	 */
+	private final boolean summary;
+
+	/**
+	 * True if the object was passed to code that was not interpreted.
+	 */
+	private final boolean escaped;
+
+	/**
+	 * The values written in the fields, by field descriptor (class/name:type).
+	 */
+	private final JAIPersistentMap<String,JAIAbstractValue> fields;
+
+	/**
+	 * The length and the elements of the arrays, null if the objects are not arrays. The
+	 * value is not modified once in an object.
+	 */
+	private final JAIAbstractValue array;
+
+	/**
+	 * Creates an object.
+	 *
+	 * @param site the index of the new instruction.
+	 * @param className the name of the class of the objects.
+	 * @param summary true if the object stands for several concrete objects.
+	 * @param escaped true if the object was passed to code that was not interpreted.
+	 * @param fields the values written in the fields.
+	 */
+	public JAIAbstractObject(int site, String className, boolean summary, boolean escaped, JAIPersistentMap<String,JAIAbstractValue> fields) {
+		this(site, className, summary, escaped, fields, null);
+	}
+
+	/**
+	 * Creates an object that may be an array.
+	 *
+	 * @param site the index of the new instruction.
+	 * @param className the name of the class of the objects, the descriptor of the type of arrays.
+	 * @param summary true if the object stands for several concrete objects.
+	 * @param escaped true if the object was passed to code that was not interpreted.
+	 * @param fields the values written in the fields.
+	 * @param array the length and the elements of the arrays, null if the objects are not arrays.
+	 */
+	public JAIAbstractObject(int site, String className, boolean summary, boolean escaped, JAIPersistentMap<String,JAIAbstractValue> fields, JAIAbstractValue array) {
+		this.site = site;
+		this.className = className;
+		this.summary = summary;
+		this.escaped = escaped;
+		this.fields = fields;
+		this.array = array;
+	}
+
+	/**
+	 * @return the index of the new instruction.
+	 */
+	public int getSite() {
+		return site;
+	}
+
+	/**
+	 * @return the name of the class of the objects.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return true if the object stands for several concrete objects (weak updates only).
+	 */
+	public boolean isSummary() {
+		return summary;
+	}
+
+	/**
+	 * @return true if the object was passed to code that was not interpreted (its fields may hold any value).
+	 */
+	public boolean isEscaped() {
+		return escaped;
+	}
+
+	/**
+	 * @return the values written in the fields.
+	 */
+	public JAIPersistentMap<String,JAIAbstractValue> getFields() {
+		return fields;
+	}
+
+	/**
+	 * @return the length and the elements of the arrays, null if the objects are not arrays.
+	 */
+	public JAIAbstractValue getArray() {
+		return array;
+	}
+
+	/**
+	 * Returns the object with other values in its fields.
+	 *
+	 * @param fields the values of the fields.
+	 * @return the new object.
+	 */
+	public JAIAbstractObject withFields(JAIPersistentMap<String,JAIAbstractValue> fields) {
+		return (fields==this.fields) ? this : new JAIAbstractObject(site, className, summary, escaped, fields, array);
+	}
+
+	/**
+	 * Returns the array with other elements.
+	 *
+	 * @param array the length and the elements of the arrays.
+	 * @return the new object.
+	 */
+	public JAIAbstractObject withArray(JAIAbstractValue array) {
+		return (array==this.array) ? this : new JAIAbstractObject(site, className, summary, escaped, fields, array);
+	}
+
+	/**
+	 * Returns the object once it stands for several concrete objects.
+	 *
+	 * @param fields the values of the fields of the summary.
+	 * @return the summary.
+	 */
+	public JAIAbstractObject toSummary(JAIPersistentMap<String,JAIAbstractValue> fields) {
+		return new JAIAbstractObject(site, className, true, escaped, fields, array);
+	}
+
+	/**
+	 * Returns the object once it escaped.
+	 *
+	 * @param fields the values of the fields of the object escaped.
+	 * @return the object escaped.
+	 */
+	public JAIAbstractObject toEscaped(JAIPersistentMap<String,JAIAbstractValue> fields) {
+		return new JAIAbstractObject(site, className, summary, true, fields, array);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return "new@"+site+" "+className+(summary ? " (summary)" : "")+(escaped ? " (escaped) " : " ")+((array==null) ? fields : array);
+	}
+
+}
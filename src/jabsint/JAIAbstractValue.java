@@ -1,5 +1,7 @@
 package jabsint;
 
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * This class represents a value which can span a set of values.
@@ -16,6 +18,11 @@ public abstract class JAIAbstractValue<T> implements Cloneable {
 	 */
 	private String typeName;
 
+	/**
+	 * The category of the type, computed once from its name.
+	 */
+	private int category;
+
 
 	/**
 	 * A simple constructor indicating the name of the type it represents.
@@ -25,6 +32,7 @@ public abstract class JAIAbstractValue<T> implements Cloneable {
 	public JAIAbstractValue(String typeName) {
 		super();
 		this.typeName = typeName;
+		this.category = categoryOf(typeName);
 	}
 
 	/**
@@ -35,18 +43,36 @@ public abstract class JAIAbstractValue<T> implements Cloneable {
 	public JAIAbstractValue(JAIAbstractValue value) {
 		super();
 		this.typeName = value.typeName;
+		this.category = value.category;
 	}
 	
 	/**
+	 * @return the name of the type(s) in here.
+	 */
+	public String getTypeName() {
+		return typeName;
+	}
+
+	/**
+	 * Returns the category of the type: 2 for long and double, 0 for values spanning 
+	 * several types, 1 otherwise.
 	 * 
-	 * 
-	 * @return
+	 * @return the category of the type.
 	 */
 	public int typeCategory() {
+		return category;
+	}
+
+	/**
+	 * Computes the category of a type from its name.
+	 * 
+	 * @param typeName the name of the type.
+	 * @return the category of the type.
+	 */
+	private static int categoryOf(String typeName) {
 		if (typeName.equals("long")||typeName.equals("double")) return 2;
 		if (typeName.contains(":")) return 0;
 		return 1;
-
 	}
 
 	/**
@@ -65,6 +91,13 @@ public abstract class JAIAbstractValue<T> implements Cloneable {
 	 */
 	public abstract boolean equals(Object o) throws JAIAbstractValueException;
 
+	/**
+	 * Returns a hash code consistent with equals (abstract values are used as keys of summaries).
+	 * 
+	 * @return the hash code
+	 */
+	public abstract int hashCode();
+
 	/**
 	 * Returns the intersection.
 	 * 
@@ -81,6 +114,30 @@ public abstract class JAIAbstractValue<T> implements Cloneable {
 	 */
 	public abstract JAIAbstractValue union(JAIAbstractValue value) throws JAIAbstractValueException;
 
+	/**
+	 * Returns the widening of this value by the argument. It is used instead of the union
+	 * at loop heads so that ascending chains are finite. By default it is the union, which
+	 * is only enough for domains without infinite ascending chains.
+	 * 
+	 * @param value the value to widen with
+	 * @param thresholds sorted values at which a growing bound may stop before reaching the extremes of the type
+	 * @return the widened value
+	 */
+	public JAIAbstractValue widen(JAIAbstractValue value, long []thresholds) throws JAIAbstractValueException {
+		return union(value);
+	}
+
+	/**
+	 * Returns the narrowing of this value by the argument. It refines, after widening, the
+	 * bounds that went too far. By default the value is kept as it is.
+	 * 
+	 * @param value the value to narrow with
+	 * @return the narrowed value
+	 */
+	public JAIAbstractValue narrow(JAIAbstractValue value) throws JAIAbstractValueException {
+		return this;
+	}
+
 	/**
 	 * Returns the subtraction (in the sense of the set theory) of one value by another.
 	 * 
@@ -146,6 +203,16 @@ public abstract class JAIAbstractValue<T> implements Cloneable {
 	 */
 	public abstract boolean isTop() throws JAIAbstractValueException;
 
+	/**
+	 * Returns top: the value representing all the values of the type of this value. It
+	 * is used to give up precision on a value, so domains should redefine it.
+	 * 
+	 * @return the top of the type
+	 */
+	public JAIAbstractValue top() throws JAIAbstractValueException {
+		throw new JAIAbstractValueException("No top for "+typeName);
+	}
+
 	/**
 	 * Returns true if it is bottom.
 	 * 
@@ -161,13 +228,57 @@ public abstract class JAIAbstractValue<T> implements Cloneable {
 	 */
 	public abstract JAIValueSet<T> makeConcrete();
 
-	/* (non-Javadoc)
+	/**
+	 * Returns a copy of the value. Values that can be modified in place (see isImmutable())
+	 * must redefine it to return a copy that can be modified independently; immutable
+	 * values return themselves.
+	 * 
 	 * @see java.lang.Object#clone()
 	 */
 	public JAIAbstractValue clone() {
 		return this;
 	}
 
+	/**
+	 * Returns true if the value is never modified once created. Values that can be
+	 * modified in place (arrays modified by storeInArrayref) return false. Worlds share
+	 * values instead of copying them and copy a mutable value with clone() before they
+	 * modify it (copy-on-write); only immutable values are hash-consed. Domains whose
+	 * values are all immutable should redefine it to return true.
+	 * 
+	 * @return true if the value is immutable.
+	 */
+	public boolean isImmutable() {
+		return false;
+	}
+
+	/**
+	 * Returns the allocation sites (the indexes of the new instructions, see
+	 * {@link JAIAbstractObject}) of the objects allocated by the method interpreted that
+	 * this reference may refer to. By default values refer to no allocated object.
+	 * 
+	 * @return the sites, in increasing order.
+	 */
+	public int[] getAllocationSites() {
+		return NO_SITES;
+	}
+
+	/**
+	 * Returns true if this reference may refer to an unknown object: any object, allocated
+	 * by the method interpreted or not. Fields can only be updated weakly through such a
+	 * reference. By default values are unknown references.
+	 * 
+	 * @return true if the reference may refer to any object.
+	 */
+	public boolean mayReferToUnknownObject() {
+		return true;
+	}
+
+	/**
+	 * No allocation site.
+	 */
+	private static final int []NO_SITES = new int[0];
+
 	/** 
 	 * A call to dereference an element from an array.
 	 * 
@@ -178,14 +289,52 @@ public abstract class JAIAbstractValue<T> implements Cloneable {
 	public abstract JAIAbstractValue loadFromArrayref(JAIAbstractValue index) throws JAIAbstractValueException;
 
 	/** 
-	 * A call to dereference an element from an array.
+	 * A call to store an element in an array. It modifies the array in place, so an
+	 * array that supports it is not immutable (see isImmutable()).
 	 * 
 	 * @param the index of the array
-	 * @return the appropriate JAIAbstractValue
+	 * @param value the value stored
 	 * @throws a JAIAbstractValueException when this is not an array.
 	 */
 	public abstract void storeInArrayref(JAIAbstractValue index, JAIAbstractValue value);
 
+	/**
+	 * A call to unite a value with the elements of an array at the indexes the index may
+	 * be, as when the array stored in may be another one. It modifies the array in place,
+	 * as storeInArrayref. By default, values are not arrays.
+	 * 
+	 * @param index the index of the array
+	 * @param value the value stored
+	 * @throws a JAIAbstractValueException when this is not an array.
+	 */
+	public void weakStoreInArrayref(JAIAbstractValue index, JAIAbstractValue value) {
+		throw new JAIAbstractValueException("Not an array: "+typeName);
+	}
+
+	/**
+	 * Returns the length of an array. By default, values are not arrays.
+	 * 
+	 * @return the abstract int of the length.
+	 * @throws a JAIAbstractValueException when this is not an array.
+	 */
+	public JAIAbstractValue getArrayLength() throws JAIAbstractValueException {
+		throw new JAIAbstractValueException("Not an array: "+typeName);
+	}
+
+	/**
+	 * Writes the value in a compact binary form, which the factory that created it reads
+	 * back (see {@link JAIAbstractValuesFactory#readAbstractValue(java.io.DataInput)}). It
+	 * is used to store summaries on disk (see {@link JAISummaryStore}). By default, values
+	 * cannot be written.
+	 * 
+	 * @param out the output.
+	 * @throws IOException if the output fails.
+	 * @throws a JAIAbstractValueException when the value cannot be written.
+	 */
+	public void write(DataOutput out) throws IOException {
+		throw new JAIAbstractValueException("Values of type "+typeName+" cannot be written");
+	}
+
 	/**
 	 * An addition between two integers
 	 * 
@@ -3,6 +3,10 @@
  */
 package jabsint;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * This class represents a factory for abstract variables, this is to use as 
  * an entry point for the JAIMinimalWorld (and its descendants) to have different 
@@ -24,11 +28,143 @@ public abstract class JAIAbstractValuesFactory implements Cloneable{
 		return this;
 	}
 
+	/**
+	 * The table of canonical values, null if values are not hash-consed.
+	 */
+	private JAIInternTable internTable = null;
+
+	/**
+	 * Sets the table of canonical values. When it is set, the worlds replace the
+	 * immutable values they store by canonical ones so that equal values are compared
+	 * by reference.
+	 *
+	 * @param internTable the table (for example JAIInternTable.getShared()), null to stop hash-consing.
+	 */
+	public void setInternTable(JAIInternTable internTable) {
+		this.internTable = internTable;
+	}
+
+	/**
+	 * @return the table of canonical values, null if values are not hash-consed.
+	 */
+	public JAIInternTable getInternTable() {
+		return internTable;
+	}
+
+	/**
+	 * Returns the canonical value equal to a value if values are hash-consed and the value
+	 * is immutable, the value otherwise.
+	 *
+	 * @param value the value.
+	 * @return the canonical value.
+	 */
+	public JAIAbstractValue intern(JAIAbstractValue value) {
+		if (internTable==null || value==null || !value.isImmutable()) {
+			return value;
+		}
+		return internTable.intern(value);
+	}
+
+	/**
+	 * Reads a value written by {@link JAIAbstractValue#write(DataOutput)}. By default,
+	 * values cannot be read; factories whose values can be written must redefine it.
+	 *
+	 * @param in the input.
+	 * @return the value read.
+	 * @throws IOException if the input fails or holds no value of this factory.
+	 */
+	public JAIAbstractValue readAbstractValue(DataInput in) throws IOException {
+		throw new JAIAbstractValueException("Values cannot be read");
+	}
+
+	/**
+	 * Writes what the values created depend on besides the code interpreted (the options
+	 * of the factory and the values it gives to variables that were not set), so that
+	 * the summaries stored on disk are only reused by equivalent factories (see
+	 * {@link JAISummaryStore}). By default, the name of the class is written.
+	 *
+	 * @param out the output.
+	 * @throws IOException if the output fails.
+	 * @throws a JAIAbstractValueException when the configuration cannot be written.
+	 */
+	public void writeConfiguration(DataOutput out) throws IOException {
+		out.writeUTF(getClass().getName());
+	}
+
 	/**
 	 * Creates an abstract value representing a null reference.
 	 */
 	public abstract JAIAbstractValue generateNullAbstractValue();
 
+	/**
+	 * Creates the abstract value of the exception received by a handler. By default,
+	 * exceptions are not represented; factories that represent references must redefine it.
+	 *
+	 * @param catchType the class of the exceptions caught, null for all exceptions.
+	 * @return the corresponding abstract value.
+	 */
+	public JAIAbstractValue generateExceptionAbstractValue(String catchType) {
+		throw new JAIAbstractValueException("Exceptions are not represented");
+	}
+
+	/**
+	 * Creates the abstract value of a reference to the objects allocated at a site (see
+	 * {@link JAIAbstractObject}). By default, references are not represented; factories
+	 * that represent them must redefine it.
+	 *
+	 * @param site the index of the new instruction.
+	 * @return the corresponding abstract value.
+	 */
+	public JAIAbstractValue generateReferenceAbstractValue(int site) {
+		throw new JAIAbstractValueException("References are not represented");
+	}
+
+	/**
+	 * Creates the abstract value of the length and the elements of a new array, held by
+	 * the object of its allocation site (see {@link JAIAbstractObject#getArray()}). The
+	 * elements all have the same value: their default value (see
+	 * {@link #generateDefaultAbstractValue(String)}), or the references to the arrays of
+	 * the next dimension (multianewarray). By default, arrays are not represented.
+	 *
+	 * @param type the descriptor of the type of the array (for example [I or [[J).
+	 * @param length the length of the array.
+	 * @param elements the value of the elements.
+	 * @return the corresponding abstract value.
+	 */
+	public JAIAbstractValue generateArrayAbstractValue(String type, JAIAbstractValue length, JAIAbstractValue elements) {
+		throw new JAIAbstractValueException("Arrays are not represented");
+	}
+
+	/**
+	 * Creates the abstract value of a field that was not written since the object was
+	 * allocated: zero, or null for references.
+	 *
+	 * @param type the type of the field.
+	 * @return the corresponding abstract value.
+	 */
+	public JAIAbstractValue generateDefaultAbstractValue(String type) {
+		switch (type.isEmpty() ? 'I' : type.charAt(0)) {
+		case 'J': return generateLongAbstractValue(0);
+		case 'F': return generateFloatAbstractValue(0);
+		case 'D': return generateDoubleAbstractValue(0);
+		case 'L':
+		case '[': return generateNullAbstractValue();
+		default: return generateIntegerAbstractValue(0);
+		}
+	}
+
+	/**
+	 * Creates the abstract value of the return address pushed by a jsr. By default,
+	 * return addresses are not represented; the interpreters do not read them, since
+	 * subroutines return to the call site of their context (see {@link JAIControlFlowGraph}).
+	 *
+	 * @param returnIndex the index following the jsr.
+	 * @return the corresponding abstract value.
+	 */
+	public JAIAbstractValue generateReturnAddressAbstractValue(int returnIndex) {
+		throw new JAIAbstractValueException("Return addresses are not represented");
+	}
+
 	/**
 	 * Creates an abstract value representing the integer i.
 	 * 
@@ -117,6 +253,30 @@ public abstract class JAIAbstractValuesFactory implements Cloneable{
 	 * @param value the value of the abstract value
 	 */
 	public abstract void setStaticVariableAbstractValue(String staticFieldName, JAIAbstractValue value);
+
+	/**
+	 * Returns the abstract value of a field of an unknown object (see
+	 * {@link JAIAbstractValue#mayReferToUnknownObject()}). By default, any value of
+	 * the type of the field.
+	 *
+	 * @param fieldName the name of the field (class/name:type).
+	 * @return the corresponding abstract value
+	 */
+	public JAIAbstractValue getFieldAbstractValue(String fieldName) {
+		// the name ends with the type of the field
+		return generateTopAbstractValue(fieldName.substring(fieldName.lastIndexOf(':')+1));
+	}
+
+	/**
+	 * Creates the abstract value representing all the values of a type. By default, it is
+	 * not known; factories must redefine it for fields and calls to be interpreted.
+	 *
+	 * @param type the descriptor of the type (for example I or J).
+	 * @return the corresponding abstract value
+	 */
+	public JAIAbstractValue generateTopAbstractValue(String type) {
+		throw new JAIAbstractValueException("No top for "+type);
+	}
 	
 
 }
@@ -0,0 +1,163 @@
+package jabsint;
+
+import java.util.Vector;
+
+/**
+ * This class represents a basic block: a sequence of instructions that can only
+ * be entered through its first instruction and left through its last one.
+ */
+public class JAIBasicBlock {
+
+	/**
+	 * The number of the block in the graph (blocks are numbered in code order).
+	 */
+	private int number;
+
+	/**
+	 * The indexes in the bytecode of the instructions of the block.
+	 */
+	private int []instructionIndexes;
+
+	/**
+	 * The blocks that may be executed after this one.
+	 */
+	private Vector<JAIBasicBlock> successors = new Vector<JAIBasicBlock>();
+
+	/**
+	 * The handlers that may catch an exception thrown by an instruction of the block.
+	 */
+	private Vector<JAIBasicBlock> exceptionSuccessors = new Vector<JAIBasicBlock>();
+
+	/**
+	 * The blocks that may be executed before this one (exceptional edges included).
+	 */
+	private Vector<JAIBasicBlock> predecessors = new Vector<JAIBasicBlock>();
+
+	/**
+	 * True if the block is the target of a back edge (the head of a loop).
+	 */
+	private boolean loopHead = false;
+
+	/**
+	 * Creates a block.
+	 *
+	 * @param number the number of the block.
+	 * @param instructionIndexes the indexes of its instructions.
+	 */
+	public JAIBasicBlock(int number, int []instructionIndexes) {
+		this.number = number;
+		this.instructionIndexes = instructionIndexes;
+	}
+
+	/**
+	 * Simple getter for the number of the block.
+	 *
+	 * @return the number of the block.
+	 */
+	public int getNumber() {
+		return number;
+	}
+
+	/**
+	 * Simple getter for the indexes of the instructions.
+	 *
+	 * @return the indexes of the instructions.
+	 */
+	public int[] getInstructionIndexes() {
+		return instructionIndexes;
+	}
+
+	/**
+	 * Returns the index of the first instruction.
+	 *
+	 * @return the index of the first instruction.
+	 */
+	public int getStartIndex() {
+		return instructionIndexes[0];
+	}
+
+	/**
+	 * Returns the index of the last instruction.
+	 *
+	 * @return the index of the last instruction.
+	 */
+	public int getLastIndex() {
+		return instructionIndexes[instructionIndexes.length-1];
+	}
+
+	/**
+	 * Simple getter for the successors.
+	 *
+	 * @return the successors.
+	 */
+	public Vector<JAIBasicBlock> getSuccessors() {
+		return successors;
+	}
+
+	/**
+	 * Simple getter for the exceptional successors.
+	 *
+	 * @return the first blocks of the handlers that may catch an exception thrown in this block.
+	 */
+	public Vector<JAIBasicBlock> getExceptionSuccessors() {
+		return exceptionSuccessors;
+	}
+
+	/**
+	 * Simple getter for the predecessors.
+	 *
+	 * @return the predecessors.
+	 */
+	public Vector<JAIBasicBlock> getPredecessors() {
+		return predecessors;
+	}
+
+	/**
+	 * Returns true if the block is the head of a loop.
+	 *
+	 * @return true if the block is the target of a back edge.
+	 */
+	public boolean isLoopHead() {
+		return loopHead;
+	}
+
+	/**
+	 * Simple setter for the loop head flag.
+	 *
+	 * @param loopHead true if the block is the target of a back edge.
+	 */
+	public void setLoopHead(boolean loopHead) {
+		this.loopHead = loopHead;
+	}
+
+	/**
+	 * Adds an edge from this block to another one.
+	 *
+	 * @param b the successor.
+	 */
+	public void addSuccessor(JAIBasicBlock b) {
+		if (!successors.contains(b)) {
+			successors.add(b);
+			b.predecessors.add(this);
+		}
+	}
+
+	/**
+	 * Adds an exceptional edge from this block to the first block of a handler.
+	 *
+	 * @param b the first block of the handler.
+	 */
+	public void addExceptionSuccessor(JAIBasicBlock b) {
+		if (!exceptionSuccessors.contains(b)) {
+			exceptionSuccessors.add(b);
+			b.predecessors.add(this);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return "B"+number+"["+getStartIndex()+".."+getLastIndex()+"]";
+	}
+}
@@ -0,0 +1,514 @@
+package jabsint;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+
+/**
+ * This class analyses all the methods of a class, of a directory of classes or of
+ * a jar in one run. Methods are analysed in parallel, each by its own interpreter,
+ * on a ForkJoinPool or on any executor given at creation (for example an executor
+ * of virtual threads on recent JVMs). Results are given to a listener as soon as
+ * each method is analysed. Each analysis can be given a timeout, after which its
+ * interpreter stops, and a path budget (see {@link JAIPathBudget}), after which its
+ * interpretation degrades. When a store of summaries is given (see {@link JAISummaryStore}),
+ * the methods whose summary it holds are not interpreted, and the summaries of the
+ * others are stored, so that the next runs on classes that did not change are fast.
+ * <p>
+ * Usage: <code>java jabsint.JAIBatchAnalyser [-j threads] [-t timeoutInMs] [-p maxPaths] [-n maxInstructions]
+ * [-d top|merge|abort] (className|directory|jar)...</code>
+ */
+public class JAIBatchAnalyser {
+
+	/**
+	 * This class represents the result of the analysis of one method.
+	 */
+	public static class JAIMethodResult {
+		private final CtMethod method;
+		private final JAIWorld world;
+		private final Throwable error;
+		private final boolean timedOut;
+		private final long time;
+		private final JAIPathStatistics statistics;
+		private final JAIMethodSummary summary;
+
+		public JAIMethodResult(CtMethod method, JAIWorld world, Throwable error, boolean timedOut, long time) {
+			this(method, world, error, timedOut, time, null);
+		}
+
+		public JAIMethodResult(CtMethod method, JAIWorld world, Throwable error, boolean timedOut, long time, JAIPathStatistics statistics) {
+			this.method = method;
+			this.world = world;
+			this.error = error;
+			this.timedOut = timedOut;
+			this.time = time;
+			this.statistics = statistics;
+			this.summary = null;
+		}
+
+		public JAIMethodResult(CtMethod method, JAIMethodSummary summary, long time) {
+			this.method = method;
+			this.world = null;
+			this.error = null;
+			this.timedOut = false;
+			this.time = time;
+			this.statistics = null;
+			this.summary = summary;
+		}
+
+		/**
+		 * @return the method analysed.
+		 */
+		public CtMethod getMethod() {
+			return method;
+		}
+
+		/**
+		 * @return the world resulting from the analysis, null if it did not finish or if its summary was stored.
+		 */
+		public JAIWorld getWorld() {
+			return world;
+		}
+
+		/**
+		 * @return the error that stopped the analysis, null if there was none.
+		 */
+		public Throwable getError() {
+			return error;
+		}
+
+		/**
+		 * @return true if the analysis was stopped by its timeout.
+		 */
+		public boolean isTimedOut() {
+			return timedOut;
+		}
+
+		/**
+		 * @return true if the analysis finished.
+		 */
+		public boolean isSuccessful() {
+			return error==null && !timedOut;
+		}
+
+		/**
+		 * @return the duration of the analysis in nanoseconds.
+		 */
+		public long getTime() {
+			return time;
+		}
+
+		/**
+		 * @return the statistics of the interpretation, null if the interpreter does not keep any.
+		 */
+		public JAIPathStatistics getStatistics() {
+			return statistics;
+		}
+
+		/**
+		 * @return the summary of the method read from the store, null if the method was interpreted.
+		 */
+		public JAIMethodSummary getSummary() {
+			return summary;
+		}
+
+		/**
+		 * @return true if the summary of the method was read from the store instead of interpreting it.
+		 */
+		public boolean isStored() {
+			return summary!=null;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		public String toString() {
+			String status = timedOut ? "TIMEOUT" : (error==null ? (summary==null ? "OK" : "STORED") : "ERROR "+error);
+			if (status.equals("OK") && statistics!=null && statistics.isDegraded()) {
+				status = "DEGRADED "+statistics.getExhaustedLimit()+" ("+JAIPathBudget.getPolicyName(statistics.getPolicy())+")";
+			}
+			return method.getLongName()+": "+status+" ("+(time/1000000)+" ms"
+					+(statistics==null ? "" : ", "+statistics.getNumberOfPaths()+" paths")+")";
+		}
+	}
+
+	/**
+	 * This interface represents the receiver of the results of a batch analysis.
+	 * It is called by one thread at a time.
+	 */
+	public interface JAIResultListener {
+		public void methodAnalysed(JAIMethodResult result);
+	}
+
+	/**
+	 * The executor on which methods are analysed.
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * True if the executor was created by this analyser (and should be shut down by it).
+	 */
+	private boolean ownsExecutor;
+
+	/**
+	 * The class pool from which classes are loaded.
+	 */
+	private ClassPool pool = new ClassPool(true);
+
+	/**
+	 * The maximum duration of the analysis of one method in milliseconds, 0 for none.
+	 */
+	private long timeout = 0;
+
+	/**
+	 * The path budget of the analysis of one method, null for none.
+	 */
+	private JAIPathBudget pathBudget = null;
+
+	/**
+	 * The store of the summaries on disk, null if summaries are not stored.
+	 */
+	private JAISummaryStore summaryStore = null;
+
+	/**
+	 * Creates the world in which each method is analysed.
+	 */
+	private Supplier<JAIWorld> worldFactory = JAIWorld::new;
+
+	/**
+	 * Creates the interpreter of each method.
+	 */
+	private Function<CtMethod,JAIAbstractInterpreter> interpreterFactory = JAIAbstractInterpreter::new;
+
+	/**
+	 * Creates an analyser using a ForkJoinPool with one thread per processor.
+	 */
+	public JAIBatchAnalyser() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates an analyser using a ForkJoinPool.
+	 *
+	 * @param parallelism the number of threads of the pool.
+	 */
+	public JAIBatchAnalyser(int parallelism) {
+		this.executor = new ForkJoinPool(parallelism);
+		this.ownsExecutor = true;
+	}
+
+	/**
+	 * Creates an analyser using an executor. The executor is not shut down by the analyser.
+	 *
+	 * @param executor the executor.
+	 */
+	public JAIBatchAnalyser(ExecutorService executor) {
+		this.executor = executor;
+		this.ownsExecutor = false;
+	}
+
+	/**
+	 * @return the class pool from which classes are loaded.
+	 */
+	public ClassPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * @return the maximum duration of the analysis of one method in milliseconds, 0 for none.
+	 */
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout the maximum duration of the analysis of one method in milliseconds, 0 for none.
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * @return the path budget of the analysis of one method, null for none.
+	 */
+	public JAIPathBudget getPathBudget() {
+		return pathBudget;
+	}
+
+	/**
+	 * @param pathBudget the path budget of the analysis of one method, null for none.
+	 */
+	public void setPathBudget(JAIPathBudget pathBudget) {
+		this.pathBudget = pathBudget;
+	}
+
+	/**
+	 * @return the store of the summaries on disk, null if summaries are not stored.
+	 */
+	public JAISummaryStore getSummaryStore() {
+		return summaryStore;
+	}
+
+	/**
+	 * @param summaryStore the store of the summaries on disk, null to store no summaries.
+	 */
+	public void setSummaryStore(JAISummaryStore summaryStore) {
+		this.summaryStore = summaryStore;
+	}
+
+	/**
+	 * @param worldFactory creates the world in which each method is analysed.
+	 */
+	public void setWorldFactory(Supplier<JAIWorld> worldFactory) {
+		this.worldFactory = worldFactory;
+	}
+
+	/**
+	 * @param interpreterFactory creates the interpreter of each method.
+	 */
+	public void setInterpreterFactory(Function<CtMethod,JAIAbstractInterpreter> interpreterFactory) {
+		this.interpreterFactory = interpreterFactory;
+	}
+
+	/**
+	 * Returns the methods with code of a class, of the classes of a directory or of the classes of a jar.
+	 * The classes are fully loaded so that their methods can then be analysed in parallel.
+	 * Classes that cannot be read are skipped.
+	 *
+	 * @param target the name of a class (in the class path), a directory or a jar file.
+	 * @return the methods.
+	 * @throws NotFoundException
+	 * @throws IOException
+	 */
+	public List<CtMethod> methodsOf(String target) throws NotFoundException, IOException {
+		List<String> classNames = new ArrayList<String>();
+		File file = new File(target);
+		if (file.isDirectory()) {
+			pool.appendClassPath(file.getPath());
+			collectClassNames(file, "", classNames);
+		} else if (file.isFile() && target.endsWith(".jar")) {
+			pool.appendClassPath(file.getPath());
+			JarFile jar = new JarFile(file);
+			try {
+				Enumeration<JarEntry> entries = jar.entries();
+				while (entries.hasMoreElements()) {
+					String name = entries.nextElement().getName();
+					if (name.endsWith(".class")) {
+						classNames.add(toClassName(name));
+					}
+				}
+			} finally {
+				jar.close();
+			}
+		} else {
+			classNames.add(target);
+		}
+
+		List<CtMethod> methods = new ArrayList<CtMethod>();
+		for (String className: classNames) {
+			CtClass cc = pool.get(className);
+			try {
+				cc.getClassFile();
+			} catch (RuntimeException e) {
+				// the class file cannot be read by Javassist, its methods are not analysed
+				if (JAIDebug.isEnabled(JAIDebug.ERROR, this)) JAIDebug.print(JAIDebug.ERROR, "Cannot read "+className+": "+e, this);
+				continue;
+			}
+			for (CtMethod m: cc.getDeclaredMethods()) {
+				if (m.getMethodInfo().getCodeAttribute()!=null) {
+					methods.add(m);
+				}
+			}
+		}
+		return methods;
+	}
+
+	/**
+	 * Adds the names of the classes of a directory and its sub-directories.
+	 *
+	 * @param directory the directory.
+	 * @param prefix the path of the directory from the root of the class path.
+	 * @param classNames the list to which names are added.
+	 */
+	private static void collectClassNames(File directory, String prefix, List<String> classNames) {
+		File []files = directory.listFiles();
+		if (files==null) return;
+		for (File f: files) {
+			if (f.isDirectory()) {
+				collectClassNames(f, prefix+f.getName()+"/", classNames);
+			} else if (f.getName().endsWith(".class")) {
+				classNames.add(toClassName(prefix+f.getName()));
+			}
+		}
+	}
+
+	/**
+	 * Transforms the path of a class file into a class name.
+	 *
+	 * @param path the path, with / as a separator.
+	 * @return the class name.
+	 */
+	private static String toClassName(String path) {
+		return path.substring(0, path.length()-".class".length()).replace('/', '.');
+	}
+
+	/**
+	 * Analyses one method in the current thread. If the store of summaries holds the
+	 * summary of the method, the method is not interpreted; otherwise its summary is
+	 * stored, unless its interpretation degraded.
+	 *
+	 * @param m the method.
+	 * @return the result of the analysis.
+	 */
+	public JAIMethodResult analyse(CtMethod m) {
+		long start = System.nanoTime();
+		JAIAbstractInterpreter interpreter = interpreterFactory.apply(m);
+		if (timeout>0) {
+			interpreter.setDeadline(start+timeout*1000000);
+		}
+		interpreter.setPathBudget(pathBudget);
+		interpreter.setSummaryStore(summaryStore);
+		JAIWorld initialWorld = worldFactory.get();
+		byte []key = (summaryStore==null) ? null : summaryStore.keyOf(interpreter, initialWorld, null);
+		if (key!=null) {
+			JAIMethodSummary summary = summaryStore.get(key, initialWorld);
+			if (summary!=null) {
+				return new JAIMethodResult(m, summary, System.nanoTime()-start);
+			}
+		}
+		try {
+			JAIWorld world = interpreter.interpret(initialWorld);
+			JAIPathStatistics statistics = interpreter.getStatistics();
+			if (key!=null && world!=null && (statistics==null || !statistics.isDegraded())) {
+				JAIMethodSummary summary = world.summarize(!m.getSignature().endsWith(")V"));
+				if (summary!=null) {
+					summaryStore.put(key, summary);
+				}
+			}
+			return new JAIMethodResult(m, world, null, false, System.nanoTime()-start, statistics);
+		} catch (JAITimeoutException e) {
+			return new JAIMethodResult(m, null, null, true, System.nanoTime()-start);
+		} catch (RuntimeException | StackOverflowError e) {
+			return new JAIMethodResult(m, null, e, false, System.nanoTime()-start);
+		}
+	}
+
+	/**
+	 * Analyses methods in parallel. The listener receives each result, in the
+	 * current thread, as soon as the method is analysed.
+	 *
+	 * @param methods the methods.
+	 * @param listener the listener.
+	 * @return the number of methods whose analysis finished.
+	 * @throws InterruptedException
+	 */
+	public int analyse(List<CtMethod> methods, JAIResultListener listener) throws InterruptedException {
+		ExecutorCompletionService<JAIMethodResult> completion = new ExecutorCompletionService<JAIMethodResult>(executor);
+		for (final CtMethod m: methods) {
+			completion.submit(new Callable<JAIMethodResult>() {
+				public JAIMethodResult call() {
+					return analyse(m);
+				}
+			});
+		}
+		int successful = 0;
+		for (int i = 0; i<methods.size(); i++) {
+			JAIMethodResult result;
+			try {
+				result = completion.take().get();
+			} catch (ExecutionException e) {
+				// errors are caught in analyse(CtMethod), this would be an Error other than a stack overflow
+				throw new RuntimeException(e.getCause());
+			}
+			if (result.isSuccessful()) {
+				successful++;
+			}
+			listener.methodAnalysed(result);
+		}
+		return successful;
+	}
+
+	/**
+	 * Shuts down the executor if it was created by this analyser.
+	 */
+	public void shutdown() {
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Analyses all the methods of classes, directories or jars and prints the results as they come.
+	 *
+	 * @param args [-j threads] [-t timeoutInMs] [-p maxPaths] [-n maxInstructions] [-d top|merge|abort] followed by class names, directories or jars.
+	 * @throws NotFoundException
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public static void main(String[] args) throws NotFoundException, IOException, InterruptedException {
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		long timeout = 0;
+		long maximumPaths = 0, maximumInstructions = 0;
+		int policy = JAIPathBudget.JOIN_WITH_TOP;
+		List<String> targets = new ArrayList<String>();
+		for (int i = 0; i<args.length; i++) {
+			if (args[i].equals("-j") && i+1<args.length) {
+				parallelism = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-t") && i+1<args.length) {
+				timeout = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-p") && i+1<args.length) {
+				maximumPaths = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-n") && i+1<args.length) {
+				maximumInstructions = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-d") && i+1<args.length) {
+				policy = JAIPathBudget.parsePolicy(args[++i]);
+			} else {
+				targets.add(args[i]);
+			}
+		}
+		if (targets.isEmpty()) {
+			System.err.println("Usage: java jabsint.JAIBatchAnalyser [-j threads] [-t timeoutInMs] [-p maxPaths] [-n maxInstructions]"
+					+" [-d top|merge|abort] (className|directory|jar)...");
+			return;
+		}
+
+		JAIBatchAnalyser analyser = new JAIBatchAnalyser(parallelism);
+		analyser.setTimeout(timeout);
+		if (maximumPaths>0 || maximumInstructions>0) {
+			analyser.setPathBudget(new JAIPathBudget(maximumPaths, maximumInstructions, 0, policy));
+		}
+		List<CtMethod> methods = new ArrayList<CtMethod>();
+		for (String target: targets) {
+			methods.addAll(analyser.methodsOf(target));
+		}
+		long start = System.nanoTime();
+		int successful;
+		try {
+			successful = analyser.analyse(methods, new JAIResultListener() {
+				public void methodAnalysed(JAIMethodResult result) {
+					System.out.println(result);
+				}
+			});
+		} finally {
+			analyser.shutdown();
+		}
+		System.out.println(successful+"/"+methods.size()+" methods analysed in "+(System.nanoTime()-start)/1000000+" ms");
+	}
+
+}
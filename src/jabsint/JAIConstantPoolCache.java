@@ -0,0 +1,133 @@
+package jabsint;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javassist.bytecode.ConstPool;
+
+/**
+ * This class represents the fields and methods referenced by the constant pool of a
+ * class, resolved the first time they are used. There is one cache per constant pool,
+ * shared by all the methods of the class and by all the threads.
+ */
+public class JAIConstantPoolCache {
+
+	/**
+	 * The caches, by constant pool (the constant pools are only weakly referenced).
+	 */
+	private static final Map<ConstPool,JAIConstantPoolCache> caches =
+			Collections.synchronizedMap(new WeakHashMap<ConstPool,JAIConstantPoolCache>());
+
+	/**
+	 * The constant pool (weakly referenced, so that the cache does not keep it alive).
+	 */
+	private final WeakReference<ConstPool> constPool;
+
+	/**
+	 * The member resolved at each index of the constant pool (null if not resolved yet).
+	 */
+	private final AtomicReferenceArray<JAIMemberDescriptor> members;
+
+	/**
+	 * Creates an empty cache.
+	 *
+	 * @param cp the constant pool.
+	 */
+	private JAIConstantPoolCache(ConstPool cp) {
+		this.constPool = new WeakReference<ConstPool>(cp);
+		this.members = new AtomicReferenceArray<JAIMemberDescriptor>(cp.getSize());
+	}
+
+	/**
+	 * Returns the cache of a constant pool, creating it the first time.
+	 *
+	 * @param cp the constant pool.
+	 * @return the cache.
+	 */
+	public static JAIConstantPoolCache get(ConstPool cp) {
+		synchronized (caches) {
+			JAIConstantPoolCache cache = caches.get(cp);
+			if (cache==null) {
+				cache = new JAIConstantPoolCache(cp);
+				caches.put(cp, cache);
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Returns the member resolved at an index.
+	 *
+	 * @param index the index in the constant pool.
+	 * @return the member, null if it is not resolved yet.
+	 */
+	private JAIMemberDescriptor cached(int index) {
+		// entries added to the constant pool after the cache was created are not cached
+		return (index<members.length()) ? members.get(index) : null;
+	}
+
+	/**
+	 * Keeps the member resolved at an index.
+	 *
+	 * @param index the index in the constant pool.
+	 * @param d the member.
+	 */
+	private void cache(int index, JAIMemberDescriptor d) {
+		if (index<members.length()) {
+			members.set(index, d);
+		}
+	}
+
+	/**
+	 * Returns the field referenced at an index (a Fieldref entry).
+	 *
+	 * @param index the index in the constant pool.
+	 * @return the descriptor of the field.
+	 */
+	public JAIMemberDescriptor getFieldref(int index) {
+		JAIMemberDescriptor d = cached(index);
+		if (d==null) {
+			ConstPool cp = constPool.get();
+			d = JAIMemberDescriptor.get(cp.getFieldrefClassName(index), cp.getFieldrefName(index), cp.getFieldrefType(index));
+			cache(index, d);
+		}
+		return d;
+	}
+
+	/**
+	 * Returns the method referenced at an index (a Methodref entry).
+	 *
+	 * @param index the index in the constant pool.
+	 * @return the descriptor of the method.
+	 */
+	public JAIMemberDescriptor getMethodref(int index) {
+		JAIMemberDescriptor d = cached(index);
+		if (d==null) {
+			ConstPool cp = constPool.get();
+			d = JAIMemberDescriptor.get(cp.getMethodrefClassName(index), cp.getMethodrefName(index), cp.getMethodrefType(index));
+			cache(index, d);
+		}
+		return d;
+	}
+
+	/**
+	 * Returns the interface method referenced at an index (an InterfaceMethodref entry).
+	 *
+	 * @param index the index in the constant pool.
+	 * @return the descriptor of the method.
+	 */
+	public JAIMemberDescriptor getInterfaceMethodref(int index) {
+		JAIMemberDescriptor d = cached(index);
+		if (d==null) {
+			ConstPool cp = constPool.get();
+			d = JAIMemberDescriptor.get(cp.getInterfaceMethodrefClassName(index), cp.getInterfaceMethodrefName(index),
+					cp.getInterfaceMethodrefType(index));
+			cache(index, d);
+		}
+		return d;
+	}
+
+}
@@ -0,0 +1,827 @@
+package jabsint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Vector;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.CodeIterator;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.ExceptionTable;
+import javassist.bytecode.Opcode;
+
+/**
+ * This class represents the control-flow graph of a method, as basic blocks
+ * built once from its code attribute. Besides the normal edges, blocks have
+ * exceptional edges to the handlers of the exception table that cover their
+ * athrow instructions and the instructions that may throw implicitly (see
+ * {@link #mayThrowImplicitly(int)}).
+ * <p>
+ * Subroutines (jsr/ret) are resolved when the graph is built. Each call site of a
+ * subroutine gets its own subroutine context, numbered from 1 (0 is the context of
+ * the code outside subroutines). A ret returns to the call site of its context and
+ * goes back to the context of the caller, so engines handle subroutines as if they
+ * were inlined at each call site: their states are kept by state index, the index
+ * of the instruction in its context (see {@link #getStateIndex(int, int)}).
+ */
+public class JAIControlFlowGraph {
+
+	/**
+	 * The blocks, in code order. The first one is the entry block.
+	 */
+	private Vector<JAIBasicBlock> blocks = new Vector<JAIBasicBlock>();
+
+	/**
+	 * The block starting at each index of the code (null if no block starts there).
+	 */
+	private JAIBasicBlock []blockStartingAt;
+
+	/**
+	 * The length of the code.
+	 */
+	private final int codeLength;
+
+	/**
+	 * The indexes following a jsr, to which a ret may return.
+	 */
+	private Vector<Integer> subroutineReturnIndexes = new Vector<Integer>();
+
+	/**
+	 * The indexes following the jsr calling each subroutine, by first instruction of the subroutine.
+	 */
+	private HashMap<Integer, Vector<Integer>> returnIndexesOf = new HashMap<Integer, Vector<Integer>>();
+
+	/**
+	 * The first instruction of the subroutine containing each index, -1 outside subroutines.
+	 */
+	private int []subroutineOf;
+
+	/**
+	 * For each subroutine context, the context of its caller, the first instruction of
+	 * its subroutine and the index following its jsr (-1 for the context 0).
+	 */
+	private int []callerContexts, contextEntries, contextReturnIndexes;
+
+	/**
+	 * The context called by each jsr, by state index of the jsr in the context calling it.
+	 */
+	private HashMap<Integer, Integer> calleeContexts = new HashMap<Integer, Integer>();
+
+	/**
+	 * The maximum number of subroutine contexts of a method.
+	 */
+	public static final int MAXIMUM_CONTEXTS = 1024;
+
+	/**
+	 * The entries of the exception table, in table order.
+	 */
+	private JAIExceptionHandler []exceptionHandlers;
+
+	/**
+	 * The handlers that may catch an exception thrown at each index, in table order and up
+	 * to the first one catching all exceptions (null where no handler covers the index).
+	 */
+	private JAIExceptionHandler [][]handlersAt;
+
+	/**
+	 * The handlers of an index that no handler covers.
+	 */
+	private static final JAIExceptionHandler []NO_HANDLERS = new JAIExceptionHandler[0];
+
+	/**
+	 * Builds the graph of the given code.
+	 *
+	 * @param ca the code attribute of the method.
+	 * @throws BadBytecode
+	 */
+	public JAIControlFlowGraph(CodeAttribute ca) throws BadBytecode {
+		CodeIterator ci = ca.iterator();
+		codeLength = ci.getCodeLength();
+		boolean []isLeader = new boolean[codeLength+1];
+		Vector<Integer> instructions = new Vector<Integer>();
+		isLeader[0] = true;
+
+		ExceptionTable table = ca.getExceptionTable();
+		ConstPool cp = ca.getConstPool();
+		exceptionHandlers = new JAIExceptionHandler[table.size()];
+		for (int i = 0; i<table.size(); i++) {
+			int catchType = table.catchType(i);
+			exceptionHandlers[i] = new JAIExceptionHandler(i, table.startPc(i), table.endPc(i), table.handlerPc(i),
+					(catchType==0) ? null : cp.getClassInfo(catchType));
+			isLeader[table.handlerPc(i)] = true;
+		}
+		handlersAt = new JAIExceptionHandler[codeLength][];
+
+		// first pass: we find the instructions that start a block
+		while (ci.hasNext()) {
+			int index = ci.next();
+			instructions.add(index);
+			int []targets = getBranchTargets(ci, index);
+			for (int target: targets) {
+				isLeader[target] = true;
+			}
+			if (targets.length>0 || endsBlock(ci, index)) {
+				isLeader[ci.lookAhead()] = true;
+			}
+			int op = ci.byteAt(index);
+			if (op==Opcode.JSR || op==Opcode.JSR_W) {
+				subroutineReturnIndexes.add(ci.lookAhead());
+				int entry = targets[0];
+				if (!returnIndexesOf.containsKey(entry)) {
+					returnIndexesOf.put(entry, new Vector<Integer>());
+				}
+				returnIndexesOf.get(entry).add(ci.lookAhead());
+			}
+			handlersAt[index] = findHandlers(index);
+		}
+		int []nextIndexes = new int[codeLength];
+		for (int i = 0; i<instructions.size(); i++) {
+			nextIndexes[instructions.get(i)] = (i+1<instructions.size()) ? instructions.get(i+1) : codeLength;
+		}
+		findSubroutines(ci, nextIndexes);
+		findContexts(ci, instructions);
+
+		// second pass: we group instructions into blocks
+		blockStartingAt = new JAIBasicBlock[codeLength+1];
+		int first = 0;
+		for (int i = 1; i<=instructions.size(); i++) {
+			if (i==instructions.size() || isLeader[instructions.get(i)]) {
+				int []indexes = new int[i-first];
+				for (int j = first; j<i; j++) {
+					indexes[j-first] = instructions.get(j);
+				}
+				JAIBasicBlock b = new JAIBasicBlock(blocks.size(), indexes);
+				blocks.add(b);
+				blockStartingAt[indexes[0]] = b;
+				first = i;
+			}
+		}
+
+		// third pass: we link the blocks
+		for (JAIBasicBlock b: blocks) {
+			int last = b.getLastIndex();
+			int op = ci.byteAt(last);
+			for (int target: getBranchTargets(ci, last)) {
+				b.addSuccessor(blockStartingAt[target]);
+			}
+			if (isReturnFromSubroutine(ci, last) && returnIndexesOf.containsKey(subroutineOf[last])) {
+				for (int returnIndex: returnIndexesOf.get(subroutineOf[last])) {
+					b.addSuccessor(blockStartingAt[returnIndex]);
+				}
+			}
+			boolean fallsThrough = !endsBlock(ci, last) && op!=Opcode.GOTO && op!=Opcode.GOTO_W
+					&& op!=Opcode.JSR && op!=Opcode.JSR_W && !isSwitch(op);
+			if (fallsThrough && b.getNumber()+1<blocks.size()) {
+				b.addSuccessor(blocks.get(b.getNumber()+1));
+			}
+			for (int index: b.getInstructionIndexes()) {
+				int o = ci.byteAt(index);
+				if (o==Opcode.ATHROW || mayThrowImplicitly(o)) {
+					for (JAIExceptionHandler h: getHandlersAt(index)) {
+						b.addExceptionSuccessor(blockStartingAt[h.getHandlerIndex()]);
+					}
+				}
+			}
+		}
+
+		// blocks are in code order, so an edge going backwards closes a loop
+		for (JAIBasicBlock b: blocks) {
+			for (JAIBasicBlock s: b.getSuccessors()) {
+				if (s.getNumber()<=b.getNumber()) {
+					s.setLoopHead(true);
+				}
+			}
+			for (JAIBasicBlock s: b.getExceptionSuccessors()) {
+				if (s.getNumber()<=b.getNumber()) {
+					s.setLoopHead(true);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the instructions of each subroutine: the ones reached from its first instruction
+	 * without going through its ret. The subroutines it calls are skipped (their jsr go on at
+	 * the next instruction), and the handlers of the try blocks starting in the subroutine are
+	 * part of it.
+	 *
+	 * @param ci the code iterator.
+	 * @param nextIndexes the index of the instruction following each instruction.
+	 */
+	private void findSubroutines(CodeIterator ci, int []nextIndexes) {
+		subroutineOf = new int[codeLength];
+		Arrays.fill(subroutineOf, -1);
+		for (int entry: returnIndexesOf.keySet()) {
+			Vector<Integer> toVisit = new Vector<Integer>();
+			toVisit.add(entry);
+			while (!toVisit.isEmpty()) {
+				int index = toVisit.remove(toVisit.size()-1);
+				if (index>=codeLength || subroutineOf[index]!=-1) {
+					continue;
+				}
+				subroutineOf[index] = entry;
+				int op = ci.byteAt(index);
+				if (op==Opcode.JSR || op==Opcode.JSR_W) {
+					toVisit.add(nextIndexes[index]);
+				} else if (!endsBlock(ci, index)) {
+					for (int target: getBranchTargets(ci, index)) {
+						toVisit.add(target);
+					}
+					if (op!=Opcode.GOTO && op!=Opcode.GOTO_W && !isSwitch(op)) {
+						toVisit.add(nextIndexes[index]);
+					}
+				}
+				for (JAIExceptionHandler h: getHandlersAt(index)) {
+					if (h.getStart()>=entry) {
+						toVisit.add(h.getHandlerIndex());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Numbers the subroutine contexts: each jsr of the code outside subroutines, and each
+	 * jsr of a subroutine in each context of the subroutine, calls a new context.
+	 *
+	 * @param ci the code iterator.
+	 * @param instructions the indexes of the instructions.
+	 * @throws BadBytecode if there are more than MAXIMUM_CONTEXTS contexts or a subroutine calls itself.
+	 */
+	private void findContexts(CodeIterator ci, Vector<Integer> instructions) throws BadBytecode {
+		Vector<Integer> callers = new Vector<Integer>(), entries = new Vector<Integer>(), returnIndexes = new Vector<Integer>();
+		callers.add(-1);
+		entries.add(-1);
+		returnIndexes.add(-1);
+		for (int context = 0; context<entries.size(); context++) {
+			for (int index: instructions) {
+				int op = ci.byteAt(index);
+				if ((op!=Opcode.JSR && op!=Opcode.JSR_W) || subroutineOf[index]!=entries.get(context)) {
+					continue;
+				}
+				int entry = getBranchTargets(ci, index)[0];
+				for (int c = context; c>0; c = callers.get(c)) {
+					if (entries.get(c)==entry) {
+						throw new BadBytecode("Recursive subroutine at "+entry);
+					}
+				}
+				if (entries.size()==MAXIMUM_CONTEXTS) {
+					throw new BadBytecode("More than "+MAXIMUM_CONTEXTS+" subroutine contexts");
+				}
+				calleeContexts.put(getStateIndex(context, index), entries.size());
+				callers.add(context);
+				entries.add(entry);
+				returnIndexes.add(index+((op==Opcode.JSR) ? 3 : 5));
+			}
+		}
+		callerContexts = new int[entries.size()];
+		contextEntries = new int[entries.size()];
+		contextReturnIndexes = new int[entries.size()];
+		for (int c = 0; c<entries.size(); c++) {
+			callerContexts[c] = callers.get(c);
+			contextEntries[c] = entries.get(c);
+			contextReturnIndexes[c] = returnIndexes.get(c);
+		}
+	}
+
+	/**
+	 * Returns the handlers that may catch an exception thrown at an index. The type of
+	 * the exception is not known, so all the handlers covering the index may catch it,
+	 * up to the first one that catches all exceptions.
+	 *
+	 * @param index the index of the instruction.
+	 * @return the handlers, in table order, null if there are none.
+	 */
+	private JAIExceptionHandler[] findHandlers(int index) {
+		Vector<JAIExceptionHandler> found = null;
+		for (JAIExceptionHandler h: exceptionHandlers) {
+			if (h.covers(index)) {
+				if (found==null) {
+					found = new Vector<JAIExceptionHandler>();
+				}
+				found.add(h);
+				if (h.catchesAll()) {
+					break;
+				}
+			}
+		}
+		return (found==null) ? null : found.toArray(new JAIExceptionHandler[found.size()]);
+	}
+
+	/**
+	 * Simple getter for the blocks.
+	 *
+	 * @return the blocks in code order.
+	 */
+	public Vector<JAIBasicBlock> getBlocks() {
+		return blocks;
+	}
+
+	/**
+	 * Returns the number of blocks.
+	 *
+	 * @return the number of blocks.
+	 */
+	public int size() {
+		return blocks.size();
+	}
+
+	/**
+	 * Returns the block starting at the given index.
+	 *
+	 * @param index the index in the code.
+	 * @return the block or null if no block starts at this index.
+	 */
+	public JAIBasicBlock getBlockStartingAt(int index) {
+		return blockStartingAt[index];
+	}
+
+	/**
+	 * Simple getter for the indexes to which a ret may return.
+	 *
+	 * @return the indexes following a jsr.
+	 */
+	public Vector<Integer> getSubroutineReturnIndexes() {
+		return subroutineReturnIndexes;
+	}
+
+	/**
+	 * Returns the first instruction of the subroutine containing an index.
+	 *
+	 * @param index the index of the instruction.
+	 * @return the first instruction of the subroutine, -1 if the index is outside subroutines.
+	 */
+	public int getSubroutineAt(int index) {
+		return (index>=0 && index<codeLength) ? subroutineOf[index] : -1;
+	}
+
+	/**
+	 * @return the number of subroutine contexts, the context 0 included.
+	 */
+	public int getNumberOfContexts() {
+		return contextEntries.length;
+	}
+
+	/**
+	 * @return the number of state indexes: the length of the code times the number of contexts.
+	 */
+	public int getNumberOfStates() {
+		return codeLength*contextEntries.length;
+	}
+
+	/**
+	 * Returns the index of the state of an instruction in a subroutine context.
+	 *
+	 * @param context the subroutine context.
+	 * @param index the index of the instruction.
+	 * @return the state index.
+	 */
+	public int getStateIndex(int context, int index) {
+		return context*codeLength+index;
+	}
+
+	/**
+	 * Returns the index of the instruction of a state index.
+	 *
+	 * @param state the state index.
+	 * @return the index of the instruction.
+	 */
+	public int getIndexOfState(int state) {
+		return state%codeLength;
+	}
+
+	/**
+	 * Returns the context in which an instruction reached from a context is executed: the
+	 * context itself, or the closest caller whose subroutine contains the instruction (for
+	 * example for a handler outside a subroutine catching an exception thrown in it).
+	 *
+	 * @param context the subroutine context.
+	 * @param index the index of the instruction.
+	 * @return the context of the instruction.
+	 */
+	public int getContextAt(int context, int index) {
+		int entry = getSubroutineAt(index);
+		while (context>0 && contextEntries[context]!=entry) {
+			context = callerContexts[context];
+		}
+		return context;
+	}
+
+	/**
+	 * Returns the context called by a jsr.
+	 *
+	 * @param context the subroutine context in which the jsr is executed.
+	 * @param index the index of the jsr.
+	 * @return the context of the subroutine called, -1 if the jsr cannot be reached in the context.
+	 */
+	public int getCalleeContext(int context, int index) {
+		Integer callee = calleeContexts.get(getStateIndex(getContextAt(context, index), index));
+		return (callee==null) ? -1 : callee;
+	}
+
+	/**
+	 * Returns the context to which the subroutine of a context returns.
+	 *
+	 * @param context the subroutine context.
+	 * @return the context of the caller, -1 for the context 0.
+	 */
+	public int getCallerContext(int context) {
+		return callerContexts[context];
+	}
+
+	/**
+	 * Returns the index to which the subroutine of a context returns.
+	 *
+	 * @param context the subroutine context.
+	 * @return the index following the jsr, -1 for the context 0.
+	 */
+	public int getReturnIndex(int context) {
+		return contextReturnIndexes[context];
+	}
+
+	/**
+	 * Simple getter for the entries of the exception table.
+	 *
+	 * @return the entries, in table order.
+	 */
+	public JAIExceptionHandler[] getExceptionHandlers() {
+		return exceptionHandlers;
+	}
+
+	/**
+	 * Returns the handlers that may catch an exception thrown at an index, in table order
+	 * and up to the first one catching all exceptions.
+	 *
+	 * @param index the index of the instruction.
+	 * @return the handlers (not to be modified), an empty array if no handler covers the index.
+	 */
+	public JAIExceptionHandler[] getHandlersAt(int index) {
+		JAIExceptionHandler []handlers = (index>=0 && index<handlersAt.length) ? handlersAt[index] : null;
+		return (handlers==null) ? NO_HANDLERS : handlers;
+	}
+
+	/**
+	 * Returns true if an exception thrown at an index is always caught in the method.
+	 *
+	 * @param index the index of the instruction.
+	 * @return true if a handler catching all exceptions covers the index.
+	 */
+	public boolean isAlwaysCaughtAt(int index) {
+		JAIExceptionHandler []handlers = getHandlersAt(index);
+		return handlers.length>0 && handlers[handlers.length-1].catchesAll();
+	}
+
+	/**
+	 * Returns the handlers that may catch an exception of one of some classes thrown at an
+	 * index, in table order. For each class, the handlers after the first one catching it
+	 * are skipped.
+	 *
+	 * @param index the index of the instruction.
+	 * @param classes the classes the exception may be, null if they are not known.
+	 * @param pool the pool in which the classes are looked up.
+	 * @return the handlers (not to be modified), an empty array if none may catch the exception.
+	 */
+	public JAIExceptionHandler[] getHandlersAt(int index, String []classes, ClassPool pool) {
+		JAIExceptionHandler []handlers = getHandlersAt(index);
+		if (classes==null || handlers.length==0) {
+			return handlers;
+		}
+		boolean []reached = new boolean[handlers.length];
+		int numberReached = 0;
+		for (String className: classes) {
+			List<String> superclasses = getSuperclasses(className, pool);
+			for (int i = 0; i<handlers.length; i++) {
+				if (!reached[i] && handlers[i].mayCatch(superclasses)) {
+					reached[i] = true;
+					numberReached++;
+				}
+				if (handlers[i].catches(superclasses)) {
+					break;
+				}
+			}
+		}
+		JAIExceptionHandler []found = new JAIExceptionHandler[numberReached];
+		for (int i = 0, k = 0; i<handlers.length; i++) {
+			if (reached[i]) {
+				found[k++] = handlers[i];
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Returns true if an exception of one of some classes thrown at an index is always
+	 * caught in the method.
+	 *
+	 * @param index the index of the instruction.
+	 * @param classes the classes the exception may be, null if they are not known.
+	 * @param pool the pool in which the classes are looked up.
+	 * @return true if each class is caught by a handler covering the index.
+	 */
+	public boolean isAlwaysCaughtAt(int index, String []classes, ClassPool pool) {
+		if (classes==null) {
+			return isAlwaysCaughtAt(index);
+		}
+		JAIExceptionHandler []handlers = getHandlersAt(index);
+		for (String className: classes) {
+			List<String> superclasses = getSuperclasses(className, pool);
+			boolean caught = false;
+			for (int i = 0; !caught && i<handlers.length; i++) {
+				caught = handlers[i].catches(superclasses);
+			}
+			if (!caught) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a class and its superclasses.
+	 *
+	 * @param className the name of the class.
+	 * @param pool the pool in which the classes are looked up.
+	 * @return the names of the classes, the class first, null if one of them cannot be found.
+	 */
+	private static List<String> getSuperclasses(String className, ClassPool pool) {
+		ArrayList<String> superclasses = new ArrayList<String>();
+		try {
+			for (CtClass c = pool.get(className); c!=null; c = c.getSuperclass()) {
+				superclasses.add(c.getName());
+			}
+		} catch (NotFoundException e) {
+			return null;
+		}
+		return superclasses;
+	}
+
+	/**
+	 * Returns true if an instruction may throw an exception without an athrow: array
+	 * accesses (bounds, null), divisions and remainders of ints and longs (by zero),
+	 * and method invocations.
+	 *
+	 * @param op the opcode.
+	 * @return true if the instruction may throw implicitly.
+	 */
+	public static boolean mayThrowImplicitly(int op) {
+		return (op>=Opcode.IALOAD && op<=Opcode.SALOAD) || (op>=Opcode.IASTORE && op<=Opcode.SASTORE)
+				|| op==Opcode.ARRAYLENGTH || op==Opcode.IDIV || op==Opcode.LDIV || op==Opcode.IREM || op==Opcode.LREM
+				|| (op>=Opcode.INVOKEVIRTUAL && op<=Opcode.INVOKEINTERFACE);
+	}
+
+	/**
+	 * Returns true if the opcode is a conditional branch (if family).
+	 *
+	 * @param op the opcode.
+	 * @return true if it is a conditional branch.
+	 */
+	public static boolean isConditionalBranch(int op) {
+		return (op>=Opcode.IFEQ && op<=Opcode.IF_ACMPNE) || op==Opcode.IFNULL || op==Opcode.IFNONNULL;
+	}
+
+	/**
+	 * Returns true if the opcode is a switch.
+	 *
+	 * @param op the opcode.
+	 * @return true if it is a tableswitch or a lookupswitch.
+	 */
+	public static boolean isSwitch(int op) {
+		return op==Opcode.TABLESWITCH || op==Opcode.LOOKUPSWITCH;
+	}
+
+	/**
+	 * Returns true if the opcode is a return (return, ireturn, areturn...).
+	 *
+	 * @param op the opcode.
+	 * @return true if it is a return.
+	 */
+	public static boolean isReturn(int op) {
+		return op>=Opcode.IRETURN && op<=Opcode.RETURN;
+	}
+
+	/**
+	 * Returns true if the instruction is a ret (possibly wide).
+	 *
+	 * @param ci the code iterator.
+	 * @param index the index of the instruction.
+	 * @return true if it is a ret.
+	 */
+	public static boolean isReturnFromSubroutine(CodeIterator ci, int index) {
+		int op = ci.byteAt(index);
+		return op==Opcode.RET || (op==Opcode.WIDE && ci.byteAt(index+1)==Opcode.RET);
+	}
+
+	/**
+	 * Returns the local variable an iload (possibly wide) loads.
+	 *
+	 * @param ci the code iterator.
+	 * @param index the index of the instruction.
+	 * @return the number of the local variable, -1 if the instruction is not an iload.
+	 */
+	public static int getLoadedIntegerLocal(CodeIterator ci, int index) {
+		int op = ci.byteAt(index);
+		if (op>=Opcode.ILOAD_0 && op<=Opcode.ILOAD_3) {
+			return op-Opcode.ILOAD_0;
+		}
+		if (op==Opcode.ILOAD) {
+			return ci.byteAt(index+1);
+		}
+		if (op==Opcode.WIDE && ci.byteAt(index+1)==Opcode.ILOAD) {
+			return ci.u16bitAt(index+2);
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns true if the instruction pushes an int without popping anything or writing
+	 * a local variable: an iload (possibly wide) or a constant.
+	 *
+	 * @param ci the code iterator.
+	 * @param index the index of the instruction.
+	 * @return true if it only pushes an int.
+	 */
+	public static boolean onlyPushesInteger(CodeIterator ci, int index) {
+		int op = ci.byteAt(index);
+		return (op>=Opcode.ICONST_M1 && op<=Opcode.ICONST_5) || (op>=Opcode.BIPUSH && op<=Opcode.LDC_W)
+				|| getLoadedIntegerLocal(ci, index)>=0;
+	}
+
+	/**
+	 * Returns true if the instruction leaves the method or the subroutine (return, athrow, ret).
+	 *
+	 * @param ci the code iterator.
+	 * @param index the index of the instruction.
+	 * @return true if the next instruction is never executed after this one.
+	 */
+	public static boolean endsBlock(CodeIterator ci, int index) {
+		int op = ci.byteAt(index);
+		return isReturn(op) || op==Opcode.ATHROW || isReturnFromSubroutine(ci, index);
+	}
+
+	/**
+	 * Returns the index at which the operands of a switch start (after the padding).
+	 *
+	 * @param index the index of the switch.
+	 * @return the index of the default offset.
+	 */
+	public static int getSwitchOperandsIndex(int index) {
+		return (index & ~3)+4;
+	}
+
+	/**
+	 * Returns the explicit targets of a jump instruction. For a conditional branch,
+	 * the target is the "then" branch. For switches, the default comes first,
+	 * followed by the cases in order.
+	 *
+	 * @param ci the code iterator.
+	 * @param index the index of the instruction.
+	 * @return the indexes targeted, an empty array if the instruction does not jump.
+	 */
+	public static int[] getBranchTargets(CodeIterator ci, int index) {
+		int op = ci.byteAt(index);
+		if (isConditionalBranch(op) || op==Opcode.GOTO || op==Opcode.JSR) {
+			return new int[]{index+ci.s16bitAt(index+1)};
+		}
+		if (op==Opcode.GOTO_W || op==Opcode.JSR_W) {
+			return new int[]{index+ci.s32bitAt(index+1)};
+		}
+		if (op==Opcode.TABLESWITCH) {
+			int operands = getSwitchOperandsIndex(index);
+			int low = ci.s32bitAt(operands+4);
+			int high = ci.s32bitAt(operands+8);
+			int []targets = new int[high-low+2];
+			targets[0] = index+ci.s32bitAt(operands);
+			for (int i = 0; i<=high-low; i++) {
+				targets[i+1] = index+ci.s32bitAt(operands+12+i*4);
+			}
+			return targets;
+		}
+		if (op==Opcode.LOOKUPSWITCH) {
+			int operands = getSwitchOperandsIndex(index);
+			int npairs = ci.s32bitAt(operands+4);
+			int []targets = new int[npairs+1];
+			targets[0] = index+ci.s32bitAt(operands);
+			for (int i = 0; i<npairs; i++) {
+				targets[i+1] = index+ci.s32bitAt(operands+12+i*8);
+			}
+			return targets;
+		}
+		return new int[0];
+	}
+
+	/**
+	 * Returns the distinct targets of a switch that a selector between two bounds may reach,
+	 * in increasing order. Only the cases of the table within the bounds are read, so that
+	 * a selector known to a small range costs as much on a large table as on a small one,
+	 * and the default is a target only if a value between the bounds matches no case.
+	 * Cases sharing their target with other cases (or with the default) are returned once.
+	 *
+	 * @param ci the code iterator.
+	 * @param index the index of the switch.
+	 * @param lowest the lowest possible value of the selector.
+	 * @param highest the highest possible value of the selector.
+	 * @return the indexes targeted, an empty array if the bounds are empty.
+	 */
+	public static int[] getSwitchTargets(CodeIterator ci, int index, int lowest, int highest) {
+		if (lowest>highest) {
+			return new int[0];
+		}
+		int operands = getSwitchOperandsIndex(index);
+		int defaultTarget = index+ci.s32bitAt(operands);
+		int []targets;
+		int n = 0;
+		if (ci.byteAt(index)==Opcode.TABLESWITCH) {
+			int low = ci.s32bitAt(operands+4);
+			int high = ci.s32bitAt(operands+8);
+			int first = Math.max(lowest, low);
+			int last = Math.min(highest, high);
+			boolean reachesDefault = lowest<low || highest>high;
+			targets = new int[(int)Math.max(0, (long)last-first+1)+(reachesDefault ? 1 : 0)];
+			if (reachesDefault) {
+				targets[n++] = defaultTarget;
+			}
+			for (long value = first; value<=last; value++) {
+				targets[n++] = index+ci.s32bitAt(operands+12+(int)(value-low)*4);
+			}
+		} else {
+			// the keys are sorted, so the cases within the bounds are consecutive
+			int npairs = ci.s32bitAt(operands+4);
+			int first = searchKey(ci, operands, npairs, lowest);
+			int end = searchKey(ci, operands, npairs, (long)highest+1);
+			targets = new int[end-first+1];
+			for (int j = first; j<end; j++) {
+				targets[n++] = index+ci.s32bitAt(operands+12+j*8);
+			}
+			if ((long)highest-lowest+1>end-first) {
+				targets[n++] = defaultTarget;
+			}
+		}
+		return sortTargets(targets, n);
+	}
+
+	/**
+	 * Returns the position of the first key of a lookupswitch that is not lower than a value,
+	 * by binary search on its sorted keys.
+	 *
+	 * @param ci the code iterator.
+	 * @param operands the index of the operands of the lookupswitch.
+	 * @param npairs the number of cases of the lookupswitch.
+	 * @param value the value searched.
+	 * @return the position of the first key not lower than the value, npairs if there is none.
+	 */
+	private static int searchKey(CodeIterator ci, int operands, int npairs, long value) {
+		int low = 0;
+		int high = npairs;
+		while (low<high) {
+			int middle = (low+high)>>>1;
+			if (ci.s32bitAt(operands+8+middle*8)<value) {
+				low = middle+1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the distinct targets of a switch for the given values of its selector,
+	 * in increasing order.
+	 *
+	 * @param ci the code iterator.
+	 * @param index the index of the switch.
+	 * @param values the possible values of the selector.
+	 * @return the indexes targeted.
+	 */
+	public static int[] getSwitchTargets(CodeIterator ci, int index, int []values) {
+		int []targets = new int[values.length];
+		for (int i = 0; i<values.length; i++) {
+			targets[i] = getSwitchTargets(ci, index, values[i], values[i])[0];
+		}
+		return sortTargets(targets, values.length);
+	}
+
+	/**
+	 * Sorts the first targets of an array and removes the duplicates.
+	 *
+	 * @param targets the targets.
+	 * @param n the number of targets in the array.
+	 * @return the distinct targets, in increasing order.
+	 */
+	private static int[] sortTargets(int []targets, int n) {
+		Arrays.sort(targets, 0, n);
+		int distinct = 0;
+		for (int i = 0; i<n; i++) {
+			if (distinct==0 || targets[distinct-1]!=targets[i]) {
+				targets[distinct++] = targets[i];
+			}
+		}
+		return (distinct==targets.length) ? targets : Arrays.copyOf(targets, distinct);
+	}
+
+}
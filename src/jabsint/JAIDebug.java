@@ -1,61 +1,291 @@
 package jabsint;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+/**
+ * This class is used to print debugging messages. Messages have a level (ERROR,
+ * INFO, DEBUG or TRACE) and are printed if the class in which they are written is
+ * enabled at that level. The level of each class is computed once and kept with
+ * the class, and nothing is looked up while no class is enabled at all.
+ * <p>
+ * Messages that need to be built should be guarded:
+ * <code>if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "value: "+v, this);</code>
+ * or given as a supplier: <code>JAIDebug.print(JAIDebug.DEBUG, () -> "value: "+v, this);</code>
+ * <p>
+ * Classes can be enabled with {@link #setLevel(String, int)} or with the system
+ * property jabsint.debug, for example:
+ * <code>-Djabsint.debug=jabsint.JAIAbstractInterpreter=DEBUG,jabsint.worlds=TRACE</code>
+ * (a name without a level is enabled at DEBUG).
+ * <p>
+ * The classes named in {@link #enabledDebugClasses} are still enabled at DEBUG.
+ */
 public class JAIDebug {
 
 	/**
-	 * The array of classes on which the debug messages should be shown. 
+	 * The levels. A class enabled at a level prints the messages of this level and below.
+	 */
+	public static final int OFF = 0;
+	public static final int ERROR = 1;
+	public static final int INFO = 2;
+	public static final int DEBUG = 3;
+	public static final int TRACE = 4;
+
+	/**
+	 * The names of the levels.
+	 */
+	private static final String []levelNames = {"OFF", "ERROR", "INFO", "DEBUG", "TRACE"};
+
+	/**
+	 * The array of classes on which the debug messages should be shown, at the DEBUG level.
 	 * example of classes to debug:	
 	 * <code>public static String []enabledDebugClasses={"jeffects.JEAbstractInterpreter"};</code>
+	 *
+	 * @deprecated use {@link #setLevel(String, int)}, which also enables packages and other levels.
 	 */
-//	public static String []enabledDebugClasses={"jeffects.JEAbstractInterpreter"};
+	@Deprecated
 	public static String []enabledDebugClasses={};
 
 	/**
-	 * Method used to print debugging messages.
-	 * 
-	 * @param message the debugging message to use.
-	 * @param objectInWhichCalled the caller or the class of the caller in case it is in a static method.
+	 * The array of enabledDebugClasses when it was last read, and a copy of its content.
 	 */
-	@SuppressWarnings("rawtypes")
-	public static void print(String message, Object objectInWhichCalled) {
-		String className;
-
-		// if it is a class we check directly for this class
-		if (objectInWhichCalled instanceof Class)
-			className = ((Class)objectInWhichCalled).getName();
-		// else we get the class of the object passed as a parameter
-		else
-			className = objectInWhichCalled.getClass().getName();		
-		
-		// we check that the class is in the classes to print
-		boolean isPrintable = false;
-		for(String s : enabledDebugClasses){
-			if (className.equals(s)) {
-				isPrintable = true; 
+	private static String []readDebugClasses = enabledDebugClasses;
+	private static String []debugClasses = {};
+
+	/**
+	 * The levels given to class or package names.
+	 */
+	private static final HashMap<String,Integer> configuredLevels = new HashMap<String,Integer>();
+
+	/**
+	 * The level of classes whose name (and package) is not configured.
+	 */
+	private static int defaultLevel = OFF;
+
+	/**
+	 * The highest level of all classes. Messages above it are discarded without looking at the class.
+	 */
+	private static volatile int maxLevel = OFF;
+
+	/**
+	 * Incremented when the configuration changes, so that the levels kept with classes are recomputed.
+	 */
+	private static volatile int version = 0;
+
+	/**
+	 * The level of a class for a version of the configuration.
+	 */
+	private static final class ClassLevel {
+		final int version;
+		final int level;
+
+		ClassLevel(int version, int level) {
+			this.version = version;
+			this.level = level;
+		}
+	}
+
+	/**
+	 * The levels kept with the classes.
+	 */
+	private static final ClassValue<ClassLevel> classLevels = new ClassValue<ClassLevel>() {
+		protected ClassLevel computeValue(Class<?> c) {
+			synchronized (JAIDebug.class) {
+				return new ClassLevel(version, levelOf(c.getName()));
+			}
+		}
+	};
+
+	static {
+		String property = System.getProperty("jabsint.debug");
+		if (property!=null) {
+			for (String entry: property.split(",")) {
+				String []nameAndLevel = entry.trim().split("=");
+				if (nameAndLevel[0].isEmpty()) continue;
+				setLevel(nameAndLevel[0], nameAndLevel.length>1 ? parseLevel(nameAndLevel[1]) : DEBUG);
+			}
+		}
+	}
+
+	/**
+	 * Returns the level corresponding to a name (or a number).
+	 *
+	 * @param name the name of the level.
+	 * @return the level, DEBUG if the name is unknown.
+	 */
+	public static int parseLevel(String name) {
+		for (int i = 0; i<levelNames.length; i++) {
+			if (levelNames[i].equalsIgnoreCase(name.trim())) return i;
+		}
+		try {
+			return Integer.parseInt(name.trim());
+		} catch (NumberFormatException e) {
+			return DEBUG;
+		}
+	}
+
+	/**
+	 * Sets the level of a class or of all the classes of a package (and its sub-packages).
+	 *
+	 * @param name the name of the class or of the package.
+	 * @param level the level, OFF to disable it.
+	 */
+	public static synchronized void setLevel(String name, int level) {
+		configuredLevels.put(name, level);
+		configurationChanged();
+	}
+
+	/**
+	 * Sets the level of the classes that are not configured otherwise.
+	 *
+	 * @param level the level.
+	 */
+	public static synchronized void setDefaultLevel(int level) {
+		defaultLevel = level;
+		configurationChanged();
+	}
+
+	/**
+	 * Disables all messages.
+	 */
+	public static synchronized void reset() {
+		configuredLevels.clear();
+		defaultLevel = OFF;
+		enabledDebugClasses = new String[0];
+		readDebugClasses = enabledDebugClasses;
+		debugClasses = enabledDebugClasses;
+		configurationChanged();
+	}
+
+	/**
+	 * Recomputes the highest level and invalidates the levels kept with classes.
+	 */
+	private static void configurationChanged() {
+		int max = (debugClasses.length>0) ? Math.max(defaultLevel, DEBUG) : defaultLevel;
+		for (int level: configuredLevels.values()) {
+			max = Math.max(max, level);
+		}
+		version++;
+		maxLevel = max;
+	}
+
+	/**
+	 * Returns the level of a class: the one of its name, or of its closest package.
+	 *
+	 * @param className the name of the class.
+	 * @return the level.
+	 */
+	private static int levelOf(String className) {
+		int level = defaultLevel;
+		for (String name = className; name!=null; ) {
+			Integer configured = configuredLevels.get(name);
+			if (configured!=null) {
+				level = configured;
 				break;
 			}
+			int dot = name.lastIndexOf('.');
+			name = (dot<0) ? null : name.substring(0, dot);
+		}
+		for (String name: debugClasses) {
+			if (className.equals(name)) return Math.max(level, DEBUG);
+		}
+		return level;
+	}
+
+	/**
+	 * Takes into account the changes of enabledDebugClasses, assigned or modified in place.
+	 */
+	private static void readEnabledDebugClasses() {
+		String []classes = enabledDebugClasses;
+		if (classes==readDebugClasses && (classes==null || Arrays.equals(classes, debugClasses))) {
+			return;
+		}
+		synchronized (JAIDebug.class) {
+			readDebugClasses = classes;
+			debugClasses = (classes==null) ? new String[0] : classes.clone();
+			configurationChanged();
+		}
+	}
+
+	/**
+	 * Checks whether messages of a level are printed for the caller.
+	 *
+	 * @param level the level of the message.
+	 * @param objectInWhichCalled the caller or the class of the caller in case it is in a static method.
+	 * @return true if the message would be printed.
+	 */
+	public static boolean isEnabled(int level, Object objectInWhichCalled) {
+		readEnabledDebugClasses();
+		if (level>maxLevel) return false;
+		Class<?> c = (objectInWhichCalled instanceof Class) ? (Class<?>)objectInWhichCalled : objectInWhichCalled.getClass();
+		ClassLevel classLevel = classLevels.get(c);
+		if (classLevel.version!=version) {
+			classLevels.remove(c);
+			classLevel = classLevels.get(c);
 		}
-		if (isPrintable) 
-			// we print the message with maximum information so it is easier 
-			// to know where it comes from 
-			System.err.println("JEffects DEBUG:"+className+": "+message);
+		return level<=classLevel.level;
 	}
-	
+
 	/**
-	 * Method used to print debugging messages. Prints the message if isTemporary is true.
-	 * 
+	 * Method used to print debugging messages of a given level.
+	 *
+	 * @param level the level of the message.
 	 * @param message the debugging message to use.
 	 * @param objectInWhichCalled the caller or the class of the caller in case it is in a static method.
-	 * @param isTemporary print the message anyway if true.
 	 */
-	@SuppressWarnings({ "rawtypes" })
+	public static void print(int level, String message, Object objectInWhichCalled) {
+		if (isEnabled(level, objectInWhichCalled)) {
+			write(level, message, objectInWhichCalled);
+		}
+	}
+
+	/**
+	 * Method used to print debugging messages of a given level. The message is
+	 * only built if it is printed.
+	 *
+	 * @param level the level of the message.
+	 * @param message the supplier of the debugging message.
+	 * @param objectInWhichCalled the caller or the class of the caller in case it is in a static method.
+	 */
+	public static void print(int level, Supplier<String> message, Object objectInWhichCalled) {
+		if (isEnabled(level, objectInWhichCalled)) {
+			write(level, message.get(), objectInWhichCalled);
+		}
+	}
+
+	/**
+	 * Method used to print debugging messages (at the DEBUG level).
+	 *
+	 * @param message the debugging message to use.
+	 * @param objectInWhichCalled the caller or the class of the caller in case it is in a static method.
+	 */
+	public static void print(String message, Object objectInWhichCalled) {
+		print(DEBUG, message, objectInWhichCalled);
+	}
+
+	/**
+	 * Method used to print debugging messages. Temporary messages are printed at
+	 * the INFO level, others at the DEBUG level.
+	 *
+	 * @param message the debugging message to use.
+	 * @param objectInWhichCalled the caller or the class of the caller in case it is in a static method.
+	 * @param isTemporary true for a message printed at the INFO level.
+	 */
 	public static void print(String message, Object objectInWhichCalled, boolean isTemporary) {
-		if (isTemporary)
-			if (objectInWhichCalled instanceof Class)
-				System.err.println("JEffects DEBUG:TMP:"+((Class)objectInWhichCalled).getName()+": "+message);
-			else
-				System.err.println("JEffects DEBUG:TMP:"+objectInWhichCalled.getClass().getName()+": "+message);
+		print(isTemporary ? INFO : DEBUG, message, objectInWhichCalled);
 	}
 
+	/**
+	 * Writes a message, with maximum information so it is easier to know where it comes from.
+	 *
+	 * @param level the level of the message.
+	 * @param message the message.
+	 * @param objectInWhichCalled the caller or the class of the caller.
+	 */
+	private static void write(int level, String message, Object objectInWhichCalled) {
+		Class<?> c = (objectInWhichCalled instanceof Class) ? (Class<?>)objectInWhichCalled : objectInWhichCalled.getClass();
+		System.err.println("JEffects "+levelNames[level]+":"+c.getName()+": "+message);
+	}
 
 }
@@ -0,0 +1,265 @@
+package jabsint;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javassist.CtMethod;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.CodeIterator;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+
+/**
+ * This class represents the code of a method decoded once: the index of the instruction
+ * following each instruction, the constants of the constant pool used by each
+ * instruction (already resolved), and the control-flow graph of the method.
+ * <p>
+ * Decoded methods are cached per method and never modified once built, so that they
+ * are shared by all the interpreters of a method, including interpreters running in
+ * other threads. The cache only keeps weak references to the methods: the decoded
+ * code of a method that is not used anymore is removed by the garbage collector.
+ */
+public class JAIDecodedMethod {
+
+	/**
+	 * The decoded methods, keyed by the information of the method (compared by reference,
+	 * unlike methods that are equal when they have the same name and signature).
+	 */
+	private static final Map<MethodInfo,JAIDecodedMethod> cache =
+			Collections.synchronizedMap(new WeakHashMap<MethodInfo,JAIDecodedMethod>());
+
+	/**
+	 * The length of the code.
+	 */
+	private final int codeLength;
+
+	/**
+	 * The maximum size of the stack and the number of local variables.
+	 */
+	private final int maxStack, maxLocals;
+
+	/**
+	 * The indexes of the instructions, in code order.
+	 */
+	private final int []instructionIndexes;
+
+	/**
+	 * The index of the instruction following the instruction at each index
+	 * (the length of the code for the last one, -1 where no instruction starts).
+	 */
+	private final int []nextIndexes;
+
+	/**
+	 * The constant used by the instruction at each index (null if it uses none):
+	 * the value of a ldc, the descriptor of a field or a method (shared by all the
+	 * methods), or the name of a class.
+	 */
+	private final Object []constants;
+
+	/**
+	 * The control-flow graph of the method.
+	 */
+	private final JAIControlFlowGraph graph;
+
+	/**
+	 * True at the indexes where blocks reached from several blocks start, and at loop heads.
+	 */
+	private final boolean []joinPoints;
+
+	/**
+	 * True at the indexes of loop heads.
+	 */
+	private final boolean []loopHeads;
+
+	/**
+	 * Decodes the given code.
+	 *
+	 * @param ca the code attribute of the method.
+	 * @throws BadBytecode
+	 */
+	private JAIDecodedMethod(CodeAttribute ca) throws BadBytecode {
+		CodeIterator ci = ca.iterator();
+		ConstPool cp = ca.getConstPool();
+		JAIConstantPoolCache members = JAIConstantPoolCache.get(cp);
+		codeLength = ci.getCodeLength();
+		maxStack = ca.getMaxStack();
+		maxLocals = ca.getMaxLocals();
+		nextIndexes = new int[codeLength];
+		constants = new Object[codeLength];
+		Arrays.fill(nextIndexes, -1);
+		int []indexes = new int[codeLength];
+		int numberOfInstructions = 0;
+		while (ci.hasNext()) {
+			int index = ci.next();
+			indexes[numberOfInstructions++] = index;
+			nextIndexes[index] = ci.lookAhead();
+			constants[index] = resolveConstant(ci, cp, members, index);
+		}
+		instructionIndexes = Arrays.copyOf(indexes, numberOfInstructions);
+		graph = new JAIControlFlowGraph(ca);
+		joinPoints = new boolean[codeLength];
+		loopHeads = new boolean[codeLength];
+		for (JAIBasicBlock block: graph.getBlocks()) {
+			loopHeads[block.getStartIndex()] = block.isLoopHead();
+			joinPoints[block.getStartIndex()] = block.isLoopHead() || block.getPredecessors().size()>1;
+		}
+	}
+
+	/**
+	 * Returns the decoded code of a method, decoding it the first time.
+	 *
+	 * @param m the method.
+	 * @return the decoded code, null if the method has no code.
+	 * @throws BadBytecode
+	 */
+	public static JAIDecodedMethod get(CtMethod m) throws BadBytecode {
+		MethodInfo info = m.getMethodInfo2();
+		JAIDecodedMethod decoded = cache.get(info);
+		if (decoded==null) {
+			CodeAttribute ca = info.getCodeAttribute();
+			if (ca==null) {
+				return null;
+			}
+			// two threads may decode the same method, the first one wins
+			decoded = new JAIDecodedMethod(ca);
+			synchronized (cache) {
+				JAIDecodedMethod previous = cache.get(info);
+				if (previous!=null) {
+					return previous;
+				}
+				cache.put(info, decoded);
+			}
+		}
+		return decoded;
+	}
+
+	/**
+	 * Removes all the decoded methods from the cache (to be called when methods are modified).
+	 */
+	public static void clearCache() {
+		cache.clear();
+	}
+
+	/**
+	 * Returns the constant of the constant pool used by an instruction.
+	 *
+	 * @param ci the code iterator.
+	 * @param cp the constant pool.
+	 * @param members the fields and methods of the constant pool.
+	 * @param index the index of the instruction.
+	 * @return the constant, null if the instruction uses none.
+	 */
+	private static Object resolveConstant(CodeIterator ci, ConstPool cp, JAIConstantPoolCache members, int index) {
+		switch (ci.byteAt(index)) {
+		case Opcode.LDC:
+			return cp.getLdcValue(ci.byteAt(index+1));
+		case Opcode.LDC_W:
+		case Opcode.LDC2_W:
+			return cp.getLdcValue(ci.u16bitAt(index+1));
+		case Opcode.GETSTATIC:
+		case Opcode.PUTSTATIC:
+		case Opcode.GETFIELD:
+		case Opcode.PUTFIELD:
+			return members.getFieldref(ci.u16bitAt(index+1));
+		case Opcode.INVOKEVIRTUAL:
+		case Opcode.INVOKESPECIAL:
+		case Opcode.INVOKESTATIC:
+			return members.getMethodref(ci.u16bitAt(index+1));
+		case Opcode.INVOKEINTERFACE:
+			return members.getInterfaceMethodref(ci.u16bitAt(index+1));
+		case Opcode.NEW:
+		case Opcode.ANEWARRAY:
+		case Opcode.CHECKCAST:
+		case Opcode.INSTANCEOF:
+		case Opcode.MULTIANEWARRAY:
+			return cp.getClassInfo(ci.u16bitAt(index+1));
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * @return the length of the code.
+	 */
+	public int getCodeLength() {
+		return codeLength;
+	}
+
+	/**
+	 * @return the maximum size of the stack.
+	 */
+	public int getMaxStack() {
+		return maxStack;
+	}
+
+	/**
+	 * @return the number of local variables.
+	 */
+	public int getMaxLocals() {
+		return maxLocals;
+	}
+
+	/**
+	 * Simple getter for the indexes of the instructions (not to be modified).
+	 *
+	 * @return the indexes of the instructions in code order.
+	 */
+	public int[] getInstructionIndexes() {
+		return instructionIndexes;
+	}
+
+	/**
+	 * Returns the index of the instruction following an instruction.
+	 *
+	 * @param index the index of the instruction.
+	 * @return the index of the next instruction (the length of the code after the last one),
+	 * -1 if no instruction starts at this index.
+	 */
+	public int getNextIndex(int index) {
+		return (index>=0 && index<codeLength) ? nextIndexes[index] : -1;
+	}
+
+	/**
+	 * Returns the constant of the constant pool used by an instruction.
+	 *
+	 * @param index the index of the instruction.
+	 * @return the constant, null if the instruction uses none.
+	 */
+	public Object getConstant(int index) {
+		return (index>=0 && index<codeLength) ? constants[index] : null;
+	}
+
+	/**
+	 * Returns true if several blocks lead to an instruction (or if it is a loop head).
+	 *
+	 * @param index the index of the instruction.
+	 * @return true if it is a join point.
+	 */
+	public boolean isJoinPoint(int index) {
+		return index>=0 && index<codeLength && joinPoints[index];
+	}
+
+	/**
+	 * Returns true if an instruction is the head of a loop.
+	 *
+	 * @param index the index of the instruction.
+	 * @return true if it is a loop head.
+	 */
+	public boolean isLoopHead(int index) {
+		return index>=0 && index<codeLength && loopHeads[index];
+	}
+
+	/**
+	 * Simple getter for the control-flow graph.
+	 *
+	 * @return the control-flow graph of the method.
+	 */
+	public JAIControlFlowGraph getControlFlowGraph() {
+		return graph;
+	}
+
+}
@@ -0,0 +1,127 @@
+package jabsint;
+
+import java.util.List;
+
+/**
+ * This class represents an entry of the exception table of a method: the range of
+ * code it covers, the index of its handler and the class of the exceptions it catches.
+ */
+public final class JAIExceptionHandler {
+
+	/**
+	 * The position of the entry in the exception table.
+	 */
+	private final int number;
+
+	/**
+	 * The range of code covered (start included, end excluded).
+	 */
+	private final int start, end;
+
+	/**
+	 * The index of the first instruction of the handler.
+	 */
+	private final int handlerIndex;
+
+	/**
+	 * The class of the exceptions caught, null if all exceptions are caught (finally).
+	 */
+	private final String catchType;
+
+	/**
+	 * Creates an entry.
+	 *
+	 * @param number the position of the entry in the exception table.
+	 * @param start the first index covered.
+	 * @param end the index following the last instruction covered.
+	 * @param handlerIndex the index of the first instruction of the handler.
+	 * @param catchType the class of the exceptions caught, null for all exceptions.
+	 */
+	public JAIExceptionHandler(int number, int start, int end, int handlerIndex, String catchType) {
+		this.number = number;
+		this.start = start;
+		this.end = end;
+		this.handlerIndex = handlerIndex;
+		this.catchType = catchType;
+	}
+
+	/**
+	 * @return the position of the entry in the exception table.
+	 */
+	public int getNumber() {
+		return number;
+	}
+
+	/**
+	 * @return the first index covered.
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * @return the index following the last instruction covered.
+	 */
+	public int getEnd() {
+		return end;
+	}
+
+	/**
+	 * @return the index of the first instruction of the handler.
+	 */
+	public int getHandlerIndex() {
+		return handlerIndex;
+	}
+
+	/**
+	 * @return the class of the exceptions caught, null if all exceptions are caught.
+	 */
+	public String getCatchType() {
+		return catchType;
+	}
+
+	/**
+	 * @return true if the handler catches all exceptions.
+	 */
+	public boolean catchesAll() {
+		return catchType==null;
+	}
+
+	/**
+	 * Returns true if the handler catches the exceptions of a class.
+	 *
+	 * @param superclasses the class of the exceptions and its superclasses, null if they are not known.
+	 * @return true if the exceptions are caught, false if they are not or if it is not known.
+	 */
+	public boolean catches(List<String> superclasses) {
+		return catchType==null || (superclasses!=null && superclasses.contains(catchType));
+	}
+
+	/**
+	 * Returns true if the handler may catch the exceptions of a class.
+	 *
+	 * @param superclasses the class of the exceptions and its superclasses, null if they are not known.
+	 * @return true if the exceptions may be caught.
+	 */
+	public boolean mayCatch(List<String> superclasses) {
+		return superclasses==null || catches(superclasses);
+	}
+
+	/**
+	 * Returns true if an instruction is covered by the handler.
+	 *
+	 * @param index the index of the instruction.
+	 * @return true if exceptions thrown at index may be caught by the handler.
+	 */
+	public boolean covers(int index) {
+		return index>=start && index<end;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return "["+start+","+end+")->"+handlerIndex+" "+(catchType==null ? "any" : catchType);
+	}
+
+}
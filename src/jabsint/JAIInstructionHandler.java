@@ -0,0 +1,22 @@
+package jabsint;
+
+import javassist.bytecode.CodeIterator;
+
+/**
+ * This interface represents the interpretation of one bytecode instruction.
+ * Handlers are stored in the dispatch table of the interpreter, indexed by opcode.
+ */
+public interface JAIInstructionHandler {
+
+	/**
+	 * Interprets the instruction at index.
+	 *
+	 * @param interpreter the interpreter on which the instruction is interpreted.
+	 * @param world the abstract world.
+	 * @param ci the code iterator.
+	 * @param index the index in the bytecode.
+	 * @return the new state of abstract variables.
+	 */
+	public JAIWorld interpret(JAIAbstractInterpreter interpreter, JAIWorld world, CodeIterator ci, int index);
+
+}
@@ -0,0 +1,133 @@
+package jabsint;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents a table of canonical abstract values (hash-consing): each
+ * value interned is replaced by the first value equal to it that was interned, so
+ * that equal values are the same object and can be compared by reference.
+ * Only values that are never modified can be interned.
+ * <p>
+ * The table only keeps weak references: a canonical value that is not used
+ * anymore is removed by the garbage collector, so the table stays small on long
+ * runs. It can be used by several threads at the same time; values are spread
+ * over segments that are locked separately.
+ */
+@SuppressWarnings("rawtypes")
+public class JAIInternTable {
+
+	/**
+	 * The number of segments (a power of 2).
+	 */
+	private static final int SEGMENTS = 16;
+
+	/**
+	 * The table used by factories that are not given one.
+	 */
+	private static final JAIInternTable shared = new JAIInternTable();
+
+	/**
+	 * The segments, each mapping a value to a weak reference to its canonical value
+	 * (the value itself is only weakly referenced, as a key).
+	 */
+	@SuppressWarnings("unchecked")
+	private final WeakHashMap<JAIAbstractValue,WeakReference<JAIAbstractValue>> []segments = new WeakHashMap[SEGMENTS];
+
+	/**
+	 * The numbers of values that were already in the table and that were added to it.
+	 */
+	private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+
+	/**
+	 * Creates an empty table.
+	 */
+	public JAIInternTable() {
+		for (int i = 0; i<SEGMENTS; i++) {
+			segments[i] = new WeakHashMap<JAIAbstractValue,WeakReference<JAIAbstractValue>>();
+		}
+	}
+
+	/**
+	 * Returns the table shared by all the analyses.
+	 *
+	 * @return the shared table.
+	 */
+	public static JAIInternTable getShared() {
+		return shared;
+	}
+
+	/**
+	 * Returns the segment of a value.
+	 *
+	 * @param v the value.
+	 * @return its segment.
+	 */
+	private WeakHashMap<JAIAbstractValue,WeakReference<JAIAbstractValue>> segmentOf(JAIAbstractValue v) {
+		int h = v.hashCode();
+		return segments[(h^(h>>>16)) & (SEGMENTS-1)];
+	}
+
+	/**
+	 * Returns the canonical value equal to a value, the value itself if it is the first.
+	 *
+	 * @param v the value (never modified afterwards).
+	 * @return the canonical value.
+	 */
+	public JAIAbstractValue intern(JAIAbstractValue v) {
+		WeakHashMap<JAIAbstractValue,WeakReference<JAIAbstractValue>> segment = segmentOf(v);
+		synchronized (segment) {
+			WeakReference<JAIAbstractValue> ref = segment.get(v);
+			JAIAbstractValue canonical = (ref==null) ? null : ref.get();
+			if (canonical!=null) {
+				hits.incrementAndGet();
+				return canonical;
+			}
+			segment.put(v, new WeakReference<JAIAbstractValue>(v));
+		}
+		misses.incrementAndGet();
+		return v;
+	}
+
+	/**
+	 * @return the number of canonical values in the table (some may be about to be collected).
+	 */
+	public int size() {
+		int size = 0;
+		for (WeakHashMap<JAIAbstractValue,WeakReference<JAIAbstractValue>> segment: segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return the number of values replaced by a canonical value.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of values that became canonical.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Removes all the values and resets the statistics.
+	 */
+	public void clear() {
+		for (WeakHashMap<JAIAbstractValue,WeakReference<JAIAbstractValue>> segment: segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+		hits.set(0);
+		misses.set(0);
+	}
+
+}
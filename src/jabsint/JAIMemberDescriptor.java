@@ -0,0 +1,150 @@
+package jabsint;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javassist.bytecode.Descriptor;
+
+/**
+ * This class represents a field or a method referenced by the code: its class, its
+ * name and its type. Descriptors are interned: there is a single descriptor per
+ * member, so that worlds can compare them by reference (or use them as keys of
+ * identity maps) instead of comparing or parsing strings.
+ */
+public final class JAIMemberDescriptor {
+
+	/**
+	 * The descriptors created so far, by their string representation.
+	 */
+	private static final ConcurrentHashMap<String,JAIMemberDescriptor> descriptors = new ConcurrentHashMap<String,JAIMemberDescriptor>();
+
+	/**
+	 * The class declaring the member, its name and its type.
+	 */
+	private final String className, name, type;
+
+	/**
+	 * The string representation of the member (class/name:type).
+	 */
+	private final String descriptor;
+
+	/**
+	 * The number of parameters of a method (0 for a field).
+	 */
+	private final int numberOfParameters;
+
+	/**
+	 * True for each parameter of a method that is a reference (an object or an array).
+	 */
+	private final boolean []referenceParameters;
+
+	/**
+	 * Creates a descriptor.
+	 *
+	 * @param className the class declaring the member.
+	 * @param name the name of the member.
+	 * @param type the type of the member.
+	 * @param descriptor the string representation of the member.
+	 */
+	private JAIMemberDescriptor(String className, String name, String type, String descriptor) {
+		this.className = className;
+		this.name = name;
+		this.type = type;
+		this.descriptor = descriptor;
+		this.numberOfParameters = isMethod() ? Descriptor.numOfParameters(type) : 0;
+		this.referenceParameters = new boolean[numberOfParameters];
+		int i = type.indexOf('(')+1;
+		for (int n = 0; n<numberOfParameters; n++) {
+			referenceParameters[n] = type.charAt(i)=='L' || type.charAt(i)=='[';
+			while (type.charAt(i)=='[') i++;
+			i = (type.charAt(i)=='L') ? type.indexOf(';', i)+1 : i+1;
+		}
+	}
+
+	/**
+	 * Returns the descriptor of a member, creating it the first time.
+	 *
+	 * @param className the class declaring the member.
+	 * @param name the name of the member.
+	 * @param type the type of the member.
+	 * @return the only descriptor of the member.
+	 */
+	public static JAIMemberDescriptor get(String className, String name, String type) {
+		String descriptor = className+"/"+name+":"+type;
+		JAIMemberDescriptor d = descriptors.get(descriptor);
+		if (d==null) {
+			d = new JAIMemberDescriptor(className, name, type, descriptor);
+			JAIMemberDescriptor previous = descriptors.putIfAbsent(descriptor, d);
+			if (previous!=null) {
+				d = previous;
+			}
+		}
+		return d;
+	}
+
+	/**
+	 * @return the name of the class declaring the member.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the name of the member.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the type of the member (a field type or a method type).
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * @return the string representation of the member (class/name:type).
+	 */
+	public String getDescriptor() {
+		return descriptor;
+	}
+
+	/**
+	 * @return true if the member is a method.
+	 */
+	public boolean isMethod() {
+		return type.startsWith("(");
+	}
+
+	/**
+	 * @return the number of parameters of a method (receiver excluded), 0 for a field.
+	 */
+	public int getNumberOfParameters() {
+		return numberOfParameters;
+	}
+
+	/**
+	 * Returns true if a parameter of a method is a reference (an object or an array).
+	 * 
+	 * @param n the number of the parameter, the first one is 0 (receiver excluded).
+	 * @return true if the parameter is a reference.
+	 */
+	public boolean isReferenceParameter(int n) {
+		return referenceParameters[n];
+	}
+
+	/**
+	 * @return true if the method returns a value.
+	 */
+	public boolean returnsValue() {
+		return !type.endsWith(")V");
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return descriptor;
+	}
+
+}
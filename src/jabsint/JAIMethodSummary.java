@@ -0,0 +1,135 @@
+package jabsint;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This class represents the summary of a method for given abstract arguments:
+ * the abstract value it returns and the values it writes in fields and static
+ * fields. Summaries are immutable and shared between the calls that use them.
+ */
+@SuppressWarnings("rawtypes")
+public class JAIMethodSummary {
+
+	/**
+	 * The value returned, null for a void method.
+	 */
+	private final JAIAbstractValue returnValue;
+
+	/**
+	 * The values written in fields.
+	 */
+	private final JAIPersistentMap<String,JAIAbstractValue> fields;
+
+	/**
+	 * The values written in static fields.
+	 */
+	private final JAIPersistentMap<String,JAIAbstractValue> staticFields;
+
+	/**
+	 * Creates a summary.
+	 *
+	 * @param returnValue the value returned, null for a void method.
+	 * @param fields the values written in fields.
+	 * @param staticFields the values written in static fields.
+	 */
+	public JAIMethodSummary(JAIAbstractValue returnValue, JAIPersistentMap<String,JAIAbstractValue> fields,
+			JAIPersistentMap<String,JAIAbstractValue> staticFields) {
+		this.returnValue = returnValue;
+		this.fields = fields;
+		this.staticFields = staticFields;
+	}
+
+	/**
+	 * @return the value returned, null for a void method.
+	 */
+	public JAIAbstractValue getReturnValue() {
+		return returnValue;
+	}
+
+	/**
+	 * @return the values written in fields.
+	 */
+	public JAIPersistentMap<String,JAIAbstractValue> getFields() {
+		return fields;
+	}
+
+	/**
+	 * @return the values written in static fields.
+	 */
+	public JAIPersistentMap<String,JAIAbstractValue> getStaticFields() {
+		return staticFields;
+	}
+
+	/**
+	 * Writes the summary in a compact binary form (see {@link JAISummaryStore}).
+	 *
+	 * @param out the output.
+	 * @throws IOException if the output fails.
+	 * @throws a JAIAbstractValueException when a value cannot be written.
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeBoolean(returnValue!=null);
+		if (returnValue!=null) {
+			returnValue.write(out);
+		}
+		writeValues(out, fields);
+		writeValues(out, staticFields);
+	}
+
+	/**
+	 * Writes the values of a map, by name.
+	 *
+	 * @param out the output.
+	 * @param map the map.
+	 * @throws IOException if the output fails.
+	 */
+	private static void writeValues(DataOutput out, JAIPersistentMap<String,JAIAbstractValue> map) throws IOException {
+		out.writeInt(map.size());
+		if (map.size()==0) return;
+		for (String name: map.keys()) {
+			out.writeUTF(name);
+			map.get(name).write(out);
+		}
+	}
+
+	/**
+	 * Reads a summary written by {@link #write(DataOutput)}.
+	 *
+	 * @param in the input.
+	 * @param world the world reading the values.
+	 * @return the summary.
+	 * @throws IOException if the input fails.
+	 */
+	public static JAIMethodSummary read(DataInput in, JAIWorld world) throws IOException {
+		JAIAbstractValue returnValue = in.readBoolean() ? world.readAbstractValue(in) : null;
+		JAIPersistentMap<String,JAIAbstractValue> fields = readValues(in, world);
+		return new JAIMethodSummary(returnValue, fields, readValues(in, world));
+	}
+
+	/**
+	 * Reads the values of a map written by {@link #writeValues(DataOutput, JAIPersistentMap)}.
+	 *
+	 * @param in the input.
+	 * @param world the world reading the values.
+	 * @return the map.
+	 * @throws IOException if the input fails.
+	 */
+	private static JAIPersistentMap<String,JAIAbstractValue> readValues(DataInput in, JAIWorld world) throws IOException {
+		JAIPersistentMap<String,JAIAbstractValue> map = JAIPersistentMap.empty();
+		for (int i = in.readInt(); i>0; i--) {
+			String name = in.readUTF();
+			map = map.put(name, world.readAbstractValue(in));
+		}
+		return map;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return "returns "+returnValue+", fields "+fields+", static fields "+staticFields;
+	}
+
+}
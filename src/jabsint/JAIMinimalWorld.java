@@ -1,6 +1,11 @@
 package jabsint;
 
-import java.util.HashMap;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import javassist.bytecode.Opcode;
 
 /**
  * This class represents a minimal world that provides an implementation 
@@ -19,140 +24,1224 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIStack stack = new JAIStack();
 
 	/**
-	 * The list of object variables (fields).
+	 * The values written in fields of unknown objects (see {@link JAIAbstractValue#mayReferToUnknownObject()}).
+	 */
+	public JAIPersistentMap<String,JAIAbstractValue> fields = JAIPersistentMap.empty();
+
+	/**
+	 * The objects and the arrays allocated by the method, by allocation site (see
+	 * {@link JAIAbstractObject}). There is one object per site, so the heap does not grow
+	 * with the number of objects allocated in a loop.
+	 */
+	public JAIPersistentMap<Integer,JAIAbstractObject> heap = JAIPersistentMap.empty();
+
+	/**
+	 * The list of class variables (static fields) written in this world. The static fields
+	 * that were not written have the value the factory gives them (see
+	 * {@link JAIAbstractValuesFactory#getStaticVariableAbstractValue(String)}), which worlds
+	 * never modify.
+	 */
+	public JAIPersistentMap<String,JAIAbstractValue> staticFields = JAIPersistentMap.empty();
+
+	/**
+	 * True if the static fields that were not written may hold any value of their type,
+	 * as in the worlds of methods called, whose callers may have written them.
+	 */
+	private boolean unknownStatics = false;
+
+	/**
+	 * The local variables (of the current frame), indexed by their number. A null slot
+	 * has not been read or written yet; its value is asked to the factory on first read.
+	 */
+	public JAIAbstractValue []localVariables = new JAIAbstractValue[DEFAULT_NUMBER_OF_LOCALS];
+
+	/**
+	 * The number of local variables of worlds created without knowing max_locals.
+	 */
+	public static final int DEFAULT_NUMBER_OF_LOCALS = 8;
+
+	/**
+	 * The selector popped by the last switch evaluated, null if no switch was evaluated.
+	 */
+	private JAIAbstractValue switchSelector = null;
+
+	/**
+	 * The operands of the last integer conditional branch evaluated, the deepest in the
+	 * stack first, null if the last branch compared references (see assumeBranch).
+	 */
+	private JAIAbstractValue []branchOperands = null;
+
+	/**
+	 * The comparison of the operands of the last integer conditional branch evaluated, as
+	 * the opcode of the if_icmp instruction comparing them in the same way.
+	 */
+	private int branchComparison = 0;
+
+	/**
+	 * The factory that will create abstract values.
+	 */
+	public JAIAbstractValuesFactory factory = null;
+
+	/**
+	 * A simple, empty initializer.
+	 * 
+	 */
+	public JAIMinimalWorld(JAIAbstractValuesFactory factory) {
+		this.factory=factory;
+	}
+
+	/**
+	 * True if method calls are interpreted (using summaries), false otherwise.
+	 */
+	private boolean interpretMethodCalls = false;
+
+	/**
+	 * simple boolean to know if all branches need to be evaluated. 
+	 */
+	private boolean evaluateAll = true;
+
+	/**
+	 * Checks whether both branches of the next "if" need to be evaluated. By default the answer is yes.
+	 * 
+	 * @return true if they need, false otherwise.
+	 */
+	public boolean allBranchesNeedToBeEvaluated() {
+		return evaluateThen&&evaluateElse;
+	}
+
+
+	/**
+	 * simple boolean to know if the then branch needs to be evaluated. 
+	 */
+	private boolean evaluateThen = true;
+
+	/**
+	 * simple boolean to know if the else branch needs to be evaluated. 
+	 */
+	private boolean evaluateElse = true;
+
+	/**
+	 * In case both branches of the next "if" do not need to be evaluated, checks whether 
+	 * it is with the "then" (or the "else"). Default value is false.
+	 * 
+	 * @return true if "then" needs to be evaluated, flase otherwise.
+	 */
+	public boolean shouldEvaluateThen() {
+		return evaluateThen;
+	}
+
+
+	/**
+	 * Sets the value for evaluateThen
+	 * 
+	 * @param evaluateThen true to evaluate the then branch, false to evaluate else
+	 */
+	public void setEvaluateThen(boolean evaluateThen) {
+		this.evaluateThen = evaluateThen;
+	}
+	
+	/**
+	 * Sets the value for evaluateThen
+	 * 
+	 * @param evaluateThen true to evaluate the then branch, false to evaluate else
+	 */
+	public void setEvaluateElse(boolean evaluateThen) {
+		this.evaluateElse = evaluateThen;
+	}
+
+	/**
+	 * Gets a local variable
+	 * 
+	 * @param number the number of the local variable
+	 * @return the local variable
+	 */
+	public JAIAbstractValue getLocalVariable(int number) {
+		if (number>=localVariables.length) {
+			ensureNumberOfLocals(number+1);
+		}
+		JAIAbstractValue v = localVariables[number];
+		if (v==null) {
+			v=factory.intern(factory.getLocalVariableAbstractValue(number));
+			localVariables[number] = v;
+		}
+		return v;
+	}
+
+	/**
+	 * 
+	 * Sets the value of a local variable (its canonical value if the factory hash-conses values)
+	 * 
+	 * @param number the number of the local variable
+	 * @param value its value
+	 */
+	public void setLocalVariable(int number, JAIAbstractValue value) {
+		if (number>=localVariables.length) {
+			ensureNumberOfLocals(number+1);
+		}
+		localVariables[number] = factory.intern(value);
+	}
+
+	/**
+	 * Makes sure that the given number of local variables can be stored.
+	 * 
+	 * @param maxLocals the number of local variables.
+	 */
+	private void ensureNumberOfLocals(int maxLocals) {
+		if (maxLocals>localVariables.length) {
+			JAIAbstractValue []newLocalVariables = new JAIAbstractValue[Math.max(maxLocals, 2*localVariables.length)];
+			System.arraycopy(localVariables, 0, newLocalVariables, 0, localVariables.length);
+			localVariables = newLocalVariables;
+		}
+	}
+
+	/**
+	 * A simple constructor that clones the world passed as a parameter. Fields are
+	 * persistent structures shared with the other world until one of them modifies
+	 * them, the stack and the local variables are copied with one array copy each.
+	 * Abstract values are shared, not cloned: the elements of an array, the only values
+	 * that are not immutable, are copied before they are modified (copy-on-write, see
+	 * JAIAbstractValue#isImmutable()).
+	 * 
+	 * @param w the world to clone.
+	 */
+	public JAIMinimalWorld(JAIMinimalWorld w) {
+		super();
+		this.stack = w.getCurrentStack().clone();
+		this.factory = w.getFactory().clone();
+		this.fields = w.getFields();
+		this.staticFields = w.getStaticFields();
+		this.heap = w.getHeap();
+		this.localVariables = w.getLocalVariables().clone();
+		this.interpretMethodCalls = w.shouldInterpretMehtodCalls();
+		this.unknownStatics = w.unknownStatics;
+		this.branchOperands = w.branchOperands;
+		this.branchComparison = w.branchComparison;
+		setSubroutineContext(w.getSubroutineContext());
+	}
+
+	/**
+	 * Loads an element of an array. Arrays the world does not know may hold any value.
+	 * 
+	 * @param array the reference to the array.
+	 * @param index the index of the element.
+	 * @param elementType the descriptor of the type of the element.
+	 * @return the value of the element.
+	 */
+	private JAIAbstractValue loadFromArray(JAIAbstractValue array, JAIAbstractValue index, String elementType) {
+		JAIAbstractValue top = factory.intern(factory.generateTopAbstractValue(elementType));
+		if (array.mayReferToUnknownObject()) {
+			return top;
+		}
+		JAIAbstractValue v = null;
+		for (int site: array.getAllocationSites()) {
+			JAIAbstractObject o = heap.get(site);
+			JAIAbstractValue element = top;
+			if (o!=null && o.getArray()!=null) {
+				try {
+					element = o.getArray().loadFromArrayref(index);
+				} catch (JAIAbstractValueException e) {
+					// the elements are not represented
+				}
+			}
+			v = (v==null) ? element : mergeValues(v, element, COMBINE, null);
+		}
+		// a null reference throws a NullPointerException, the value does not matter
+		return (v==null) ? top : factory.intern(v);
+	}
+
+	/**
+	 * Stores a value in an array. The elements of the arrays of the sites the reference
+	 * may refer to are updated as fields are (see {@link #evaluatePutfield(String)}):
+	 * strongly if the reference refers to a single array, weakly otherwise. A reference
+	 * to an unknown array may refer to any array allocated by the method whose elements
+	 * have the type of the value: they are all updated weakly.
+	 * 
+	 * @param array the reference to the array.
+	 * @param index the index of the element.
+	 * @param value the value stored.
+	 * @param elementType the descriptor of the type of the element.
+	 */
+	private void storeInArray(JAIAbstractValue array, JAIAbstractValue index, JAIAbstractValue value, String elementType) {
+		int []sites = array.getAllocationSites();
+		if (array.mayReferToUnknownObject()) {
+			for (Integer site: (heap.size()==0) ? NO_SITES : heap.keys()) {
+				JAIAbstractObject o = heap.get(site);
+				if (holdsElementsOf(o, elementType)) {
+					heap = heap.put(site, writeElement(o, index, value, false));
+				}
+			}
+			return;
+		}
+		for (int site: sites) {
+			JAIAbstractObject o = heap.get(site);
+			if (o!=null && o.getArray()!=null) {
+				// a single array is written: its previous element is replaced
+				heap = heap.put(site, writeElement(o, index, value, sites.length==1 && !o.isSummary()));
+			}
+		}
+	}
+
+	/**
+	 * Checks whether an object is an array that may hold elements of a type. The loads
+	 * and stores of bytes are the same for arrays of booleans, and those of references
+	 * for all the arrays of references.
+	 * 
+	 * @param o the object.
+	 * @param elementType the descriptor of the type of the element, as given by the instruction.
+	 * @return true if the object is an array whose elements may have the type.
+	 */
+	private static boolean holdsElementsOf(JAIAbstractObject o, String elementType) {
+		if (o.getArray()==null) {
+			return false;
+		}
+		char kind = o.getClassName().charAt(1);
+		switch (elementType.charAt(0)) {
+		case 'B': return kind=='B' || kind=='Z';
+		case 'L': return kind=='L' || kind=='[';
+		default: return kind==elementType.charAt(0);
+		}
+	}
+
+	/**
+	 * Writes a value in the elements of an array allocated by the method, at the indexes
+	 * an int may be. The elements are copied first, since other worlds share them.
+	 * 
+	 * @param o the array.
+	 * @param index the index of the element.
+	 * @param value the value written.
+	 * @param strong true if the value may replace the previous one, false if it is united with it.
+	 * @return the new array.
+	 */
+	private JAIAbstractObject writeElement(JAIAbstractObject o, JAIAbstractValue index, JAIAbstractValue value, boolean strong) {
+		JAIAbstractValue updated = o.getArray().clone();
+		try {
+			if (strong) {
+				updated.storeInArrayref(index, value);
+			} else {
+				updated.weakStoreInArrayref(index, value);
+			}
+		} catch (JAIAbstractValueException e) {
+			updated = o.getArray().top();
+		}
+		return o.withArray(updated);
+	}
+
+	/**
+	 * Returns an array allocated by the method whose elements may then hold any value of
+	 * their type, as when code that was not interpreted may have written them. Its length
+	 * is kept, since it cannot change.
+	 * 
+	 * @param o the array.
+	 * @return the new array.
+	 */
+	private JAIAbstractObject forgetElements(JAIAbstractObject o) {
+		if (o.getArray()==null) {
+			return o;
+		}
+		JAIAbstractValue anyIndex = factory.generateTopAbstractValue("I");
+		return writeElement(o, anyIndex, factory.generateTopAbstractValue(o.getClassName().substring(1)), false);
+	}
+
+	/**
+	 * Sizes the stack and the local variables from the max_stack and max_locals of the method.
+	 * 
+	 * @param maxStack the maximum depth of the operand stack.
+	 * @param maxLocals the number of local variables.
+	 */
+	public void setFrameSize(int maxStack, int maxLocals) {
+		stack.ensureCapacity(maxStack);
+		ensureNumberOfLocals(maxLocals);
+	}
+
+	/**
+	 * Returns a copy of this world. Subclasses with additional state should redefine it.
+	 * 
+	 * @return the copy of the world.
+	 */
+	public JAIWorld copy() {
+		return new JAIMinimalWorld(this);
+	}
+
+	/**
+	 * Returns an estimate of the memory used by this world: the world, its factory, the
+	 * arrays of its stack and local variables, and one node per field. Abstract values
+	 * are not counted since they are shared with the worlds this one was copied from.
+	 * 
+	 * @return the estimated number of bytes.
+	 */
+	public long getEstimatedSize() {
+		long size = 96+8L*(stack.size()+localVariables.length)+48L*(fields.size()+staticFields.size());
+		for (Integer site: (heap.size()==0) ? NO_SITES : heap.keys()) {
+			size += 48+48L*heap.get(site).getFields().size();
+		}
+		return size;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIWorld#shouldInterpretMehtodCalls()
+	 */
+	public boolean shouldInterpretMehtodCalls() {
+		return interpretMethodCalls;
+	}
+
+	/**
+	 * Sets whether method calls are interpreted (using summaries).
+	 * 
+	 * @param interpretMethodCalls true to interpret them, false otherwise.
+	 */
+	public void setInterpretMethodCalls(boolean interpretMethodCalls) {
+		this.interpretMethodCalls = interpretMethodCalls;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIWorld#getSwitchSelector()
+	 */
+	public JAIAbstractValue getSwitchSelector() {
+		return switchSelector;
+	}
+
+	/**
+	 * Restricts the local variables the operands of the last integer conditional branch
+	 * were loaded from to the values for which the comparison takes the given branch.
+	 * A local variable is only restricted if it still holds the operand.
+	 *
+	 * @see jabsint.JAIWorld#assumeBranch(boolean, int[])
+	 */
+	public JAIWorld assumeBranch(boolean then, int []operandLocals) {
+		JAIAbstractValue []operands = branchOperands;
+		branchOperands = null;
+		if (operands==null || operandLocals==null) {
+			return this;
+		}
+		JAIAbstractValue []refined;
+		try {
+			refined = refineComparison(then ? branchComparison : negateComparison(branchComparison), operands[0], operands[1]);
+		} catch (JAIAbstractValueException e) {
+			return this;
+		}
+		int []locals = new int[operands.length];
+		for (int i = 0; i<operands.length; i++) {
+			// a one operand branch compares its operand with a constant
+			int number = (i<operandLocals.length) ? operandLocals[i] : -1;
+			boolean holdsOperand = number>=0 && number<localVariables.length && localVariables[number]==operands[i];
+			locals[i] = holdsOperand ? number : -1;
+		}
+		if (locals[0]>=0 && locals[0]==locals[1]) {
+			setLocalVariable(locals[0], refined[0].intersection(refined[1]));
+			return this;
+		}
+		for (int i = 0; i<operands.length; i++) {
+			if (locals[i]>=0) setLocalVariable(locals[i], refined[i]);
+		}
+		return this;
+	}
+
+	/**
+	 * Records the operands of an integer conditional branch (see assumeBranch).
+	 *
+	 * @param comparison the opcode of the if_icmp instruction comparing the operands in the same way.
+	 * @param v1 the deepest operand in the stack.
+	 * @param v2 the operand on top of the stack.
+	 */
+	private void setBranchOperands(int comparison, JAIAbstractValue v1, JAIAbstractValue v2) {
+		branchComparison = comparison;
+		branchOperands = new JAIAbstractValue[] {v1, v2};
+	}
+
+	/**
+	 * Returns the comparison that holds when a comparison does not.
+	 *
+	 * @param comparison the opcode of an if_icmp instruction.
+	 * @return the opcode of the if_icmp instruction of the opposite comparison.
+	 */
+	private static int negateComparison(int comparison) {
+		switch (comparison) {
+		case Opcode.IF_ICMPEQ:
+			return Opcode.IF_ICMPNE;
+		case Opcode.IF_ICMPNE:
+			return Opcode.IF_ICMPEQ;
+		case Opcode.IF_ICMPLT:
+			return Opcode.IF_ICMPGE;
+		case Opcode.IF_ICMPGE:
+			return Opcode.IF_ICMPLT;
+		case Opcode.IF_ICMPGT:
+			return Opcode.IF_ICMPLE;
+		default:
+			return Opcode.IF_ICMPGT;
+		}
+	}
+
+	/**
+	 * Returns the values two integers may have when a comparison between them holds.
+	 *
+	 * @param comparison the opcode of the if_icmp instruction comparing them.
+	 * @param v1 the first integer.
+	 * @param v2 the second integer.
+	 * @return the restricted values of v1 and v2.
+	 */
+	private JAIAbstractValue[] refineComparison(int comparison, JAIAbstractValue v1, JAIAbstractValue v2) {
+		if (v1.isBottom() || v2.isBottom()) {
+			return new JAIAbstractValue[] {v1, v2};
+		}
+		long low1 = v1.getLowestPossibleIntegerValue();
+		long high1 = v1.getHighestPossibleIntegerValue();
+		long low2 = v2.getLowestPossibleIntegerValue();
+		long high2 = v2.getHighestPossibleIntegerValue();
+		switch (comparison) {
+		case Opcode.IF_ICMPEQ:
+			JAIAbstractValue both = v1.intersection(v2);
+			return new JAIAbstractValue[] {both, both};
+		case Opcode.IF_ICMPNE:
+			// only a constant can be removed from the other value
+			return new JAIAbstractValue[] {(low2==high2) ? v1.minus(v2) : v1, (low1==high1) ? v2.minus(v1) : v2};
+		case Opcode.IF_ICMPLT:
+			return new JAIAbstractValue[] {atMost(v1, high2-1), atLeast(v2, low1+1)};
+		case Opcode.IF_ICMPLE:
+			return new JAIAbstractValue[] {atMost(v1, high2), atLeast(v2, low1)};
+		case Opcode.IF_ICMPGT:
+			return new JAIAbstractValue[] {atLeast(v1, low2+1), atMost(v2, high1-1)};
+		default:
+			return new JAIAbstractValue[] {atLeast(v1, low2), atMost(v2, high1)};
+		}
+	}
+
+	/**
+	 * Restricts an integer to the values lower or equal to a bound.
+	 *
+	 * @param v the integer.
+	 * @param bound the bound.
+	 * @return the restricted integer, v itself if the bound is out of the range of int.
+	 */
+	private JAIAbstractValue atMost(JAIAbstractValue v, long bound) {
+		if (bound<Integer.MIN_VALUE || bound>=Integer.MAX_VALUE) {
+			return v;
+		}
+		return v.intersection(factory.generateIntegerAbstractValueLowerThan((int)bound+1));
+	}
+
+	/**
+	 * Restricts an integer to the values greater or equal to a bound.
+	 *
+	 * @param v the integer.
+	 * @param bound the bound.
+	 * @return the restricted integer, v itself if the bound is out of the range of int.
+	 */
+	private JAIAbstractValue atLeast(JAIAbstractValue v, long bound) {
+		if (bound<=Integer.MIN_VALUE || bound>Integer.MAX_VALUE) {
+			return v;
+		}
+		return v.minus(factory.generateIntegerAbstractValueLowerThan((int)bound));
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIWorld#getCallArguments(int)
+	 */
+	public JAIAbstractValue[] getCallArguments(int numberOfArguments) {
+		if (stack.size()<numberOfArguments) {
+			return null;
+		}
+		JAIAbstractValue []values = stack.toArray();
+		JAIAbstractValue []arguments = new JAIAbstractValue[numberOfArguments];
+		System.arraycopy(values, values.length-numberOfArguments, arguments, 0, numberOfArguments);
+		return arguments;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIWorld#createCalleeWorld(jabsint.JAIAbstractValue[])
+	 */
+	public JAIWorld createCalleeWorld(JAIAbstractValue []arguments) {
+		JAIMinimalWorld w = (JAIMinimalWorld) copy();
+		w.setCurrentStack(new JAIStack());
+		w.setLocalVariables(new JAIAbstractValue[DEFAULT_NUMBER_OF_LOCALS]);
+		w.setFields(JAIPersistentMap.<String,JAIAbstractValue>empty());
+		w.setStaticFields(JAIPersistentMap.<String,JAIAbstractValue>empty());
+		// the caller may have written the static fields, the summary does not depend on it
+		w.unknownStatics = true;
+		w.setHeap(JAIPersistentMap.<Integer,JAIAbstractObject>empty());
+		// arguments of category 2 take two local variables
+		int number = 0;
+		for (JAIAbstractValue v: arguments) {
+			w.setLocalVariable(number, escape(v));
+			number += v.typeCategory();
+		}
+		return w;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIWorld#summarize(boolean)
+	 */
+	public JAIMethodSummary summarize(boolean returnsValue) {
+		JAIAbstractValue returnValue = null;
+		if (returnsValue) {
+			if (stack.isEmpty()) {
+				return null;
+			}
+			returnValue = escape(stack.peek());
+		}
+		return new JAIMethodSummary(returnValue, escapeValues(fields), escapeValues(staticFields));
+	}
+
+	/**
+	 * Returns a value that can leave the method: the allocation sites of a method mean
+	 * nothing in another one, so references to the objects allocated by the method are
+	 * replaced by unknown references.
+	 * 
+	 * @param value the value.
+	 * @return the value if it does not refer to an allocated object, the top of its type otherwise.
+	 */
+	private static JAIAbstractValue escape(JAIAbstractValue value) {
+		return (value.getAllocationSites().length==0) ? value : value.top();
+	}
+
+	/**
+	 * Returns the values of a map that can leave the method (see {@link #escape(JAIAbstractValue)}).
+	 * 
+	 * @param map the map.
+	 * @return the new map.
+	 */
+	private static JAIPersistentMap<String,JAIAbstractValue> escapeValues(JAIPersistentMap<String,JAIAbstractValue> map) {
+		for (String key: (map.size()==0) ? NO_NAMES : map.keys()) {
+			JAIAbstractValue v = map.get(key);
+			if (v.getAllocationSites().length>0) map = map.put(key, v.top());
+		}
+		return map;
+	}
+
+	/**
+	 * Writes whether calls are interpreted and the configuration of the factory.
+	 *
+	 * @see jabsint.JAIWorld#writeConfiguration(java.io.DataOutput)
+	 */
+	public void writeConfiguration(DataOutput out) throws IOException {
+		super.writeConfiguration(out);
+		out.writeBoolean(interpretMethodCalls);
+		factory.writeConfiguration(out);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIWorld#readAbstractValue(java.io.DataInput)
+	 */
+	public JAIAbstractValue readAbstractValue(DataInput in) throws IOException {
+		return factory.intern(factory.readAbstractValue(in));
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIWorld#applySummary(jabsint.JAIMethodSummary, int, boolean)
+	 */
+	public JAIWorld applySummary(JAIMethodSummary summary, int numberOfArguments, boolean returnsValue) {
+		ArrayList<JAIAbstractValue> references = new ArrayList<JAIAbstractValue>(numberOfArguments);
+		for (int i = 0; i<numberOfArguments; i++) {
+			JAIAbstractValue v = stack.pop();
+			if (v.getTypeName().equals("reference")) references.add(v);
+		}
+		// the summary does not tell which elements of the arrays reached the callee stored
+		for (Integer site: reachedSites(references)) {
+			heap = heap.put(site, forgetElements(heap.get(site)));
+		}
+		if (returnsValue) {
+			stack.push(summary.getReturnValue());
+		}
+		// the callee may have written the fields on some of its paths only: the values
+		// written are united with the current ones
+		for (String name: summary.getFields().keys()) {
+			JAIAbstractValue v = summary.getFields().get(name);
+			fields = fields.put(name, factory.intern(mergeValues(getUnknownField(name), v, COMBINE, null)));
+			// the callee may have written the objects passed to it
+			for (Integer site: (heap.size()==0) ? NO_SITES : heap.keys()) {
+				heap = heap.put(site, writeField(heap.get(site), name, v, false));
+			}
+		}
+		for (String name: summary.getStaticFields().keys()) {
+			JAIAbstractValue v = summary.getStaticFields().get(name);
+			staticFields = staticFields.put(name, factory.intern(mergeValues(getStaticField(name), v, COMBINE, null)));
+		}
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Applied the summary: "+summary, this);
+		return this;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIWorld#applyUnknownCall(jabsint.JAIMemberDescriptor, int)
+	 */
+	public JAIWorld applyUnknownCall(JAIMemberDescriptor method, int numberOfArguments) {
+		if (OBJECT_CONSTRUCTOR==method) {
+			// the constructor of Object does nothing
+			stack.pop();
+			return this;
+		}
+		ArrayList<JAIAbstractValue> references = new ArrayList<JAIAbstractValue>();
+		for (int i = 0; i<numberOfArguments; i++) {
+			JAIAbstractValue v = stack.pop();
+			// the arguments are popped from the last one, the receiver (if any) comes last
+			int parameter = method.getNumberOfParameters()-1-i;
+			if (parameter<0 || method.isReferenceParameter(parameter)) {
+				references.add(v);
+			}
+		}
+		ArrayList<Integer> reached = reachedSites(references);
+		for (Integer site: reached) {
+			JAIAbstractObject o = heap.get(site);
+			heap = heap.put(site, forgetElements(o.toEscaped(topValues(o.getFields()))));
+		}
+		if (method.returnsValue()) {
+			String type = method.getType();
+			stack.push(factory.intern(factory.generateTopAbstractValue(type.substring(type.indexOf(')')+1))));
+		}
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Applied the unknown call "+method+", escaped: "+reached, this);
+		return this;
+	}
+
+	/**
+	 * Returns the allocation sites of the objects and arrays that the code receiving
+	 * references may reach: those the references refer to, and those their fields and
+	 * elements refer to, transitively. An unknown object may refer to any object it was
+	 * written in, so all the sites are reached when a reference may refer to one.
+	 *
+	 * @param references the references.
+	 * @return the sites.
+	 */
+	private ArrayList<Integer> reachedSites(ArrayList<JAIAbstractValue> references) {
+		ArrayList<Integer> reached = new ArrayList<Integer>();
+		for (JAIAbstractValue v: references) {
+			if (v.mayReferToUnknownObject()) {
+				return (heap.size()==0) ? new ArrayList<Integer>(0) : heap.keys();
+			}
+			addSites(reached, v);
+		}
+		for (int i = 0; i<reached.size(); i++) {
+			JAIAbstractObject o = heap.get(reached.get(i));
+			for (String name: o.getFields().keys()) {
+				addSites(reached, o.getFields().get(name));
+			}
+			if (o.getArray()!=null) {
+				addSites(reached, o.getArray());
+			}
+		}
+		return reached;
+	}
+
+	/**
+	 * Adds the allocation sites a value may refer to to a list, if they are not in it.
+	 *
+	 * @param sites the list.
+	 * @param value the value.
+	 */
+	private void addSites(ArrayList<Integer> sites, JAIAbstractValue value) {
+		for (int site: value.getAllocationSites()) {
+			if (!sites.contains(site) && heap.containsKey(site)) {
+				sites.add(site);
+			}
+		}
+	}
+
+	/**
+	 * Combines this world with another one. The values on the stack and in the variables
+	 * are united one by one. Fields present in only one of the worlds are kept as they are.
+	 * 
+	 * @param aWorld the world to combine with.
+	 * @return the combination of both worlds
+	 */
+	public JAIWorld combineWith(JAIWorld aWorld) {
+		return merge(aWorld, COMBINE, null);
+	}
+
+	/**
+	 * Widens this world with another one. The values on the stack and in the variables
+	 * are widened one by one (see {@link JAIAbstractValue#widen(JAIAbstractValue, long[])}).
+	 * 
+	 * @param aWorld the world reaching the loop head.
+	 * @param thresholds sorted values at which growing bounds may stop.
+	 * @return the widened world
+	 */
+	public JAIWorld widenWith(JAIWorld aWorld, long []thresholds) {
+		return merge(aWorld, WIDEN, thresholds);
+	}
+
+	/**
+	 * Narrows this world with another one. The values on the stack and in the variables
+	 * are narrowed one by one (see {@link JAIAbstractValue#narrow(JAIAbstractValue)}).
+	 * 
+	 * @param aWorld the world recomputed at the loop head.
+	 * @return the narrowed world
+	 */
+	public JAIWorld narrowWith(JAIWorld aWorld) {
+		return merge(aWorld, NARROW, null);
+	}
+
+	/**
+	 * Returns a copy of this world in which the values on the stack, in the variables
+	 * used, in the fields and in the objects and arrays of the heap are replaced by the
+	 * top of their types.
+	 * 
+	 * @return the world of top values
+	 */
+	public JAIWorld toTop() {
+		JAIMinimalWorld result = (JAIMinimalWorld) this.copy();
+		JAIStack topStack = new JAIStack();
+		for (JAIAbstractValue v: this.getCurrentStack().toArray()) {
+			topStack.push(factory.intern(v.top()));
+		}
+		result.setCurrentStack(topStack);
+		result.setFields(topValues(this.getFields()));
+		result.setStaticFields(topValues(this.getStaticFields()));
+		for (Integer site: (heap.size()==0) ? NO_SITES : heap.keys()) {
+			JAIAbstractObject o = heap.get(site);
+			o = o.withFields(topValues(o.getFields()));
+			result.heap = result.heap.put(site, (o.getArray()==null) ? o : o.withArray(o.getArray().top()));
+		}
+		for (int i = 0; i<localVariables.length; i++) {
+			if (localVariables[i]!=null) {
+				result.setLocalVariable(i, localVariables[i].top());
+			}
+		}
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIWorld#toTopResult(java.lang.String)
+	 */
+	public JAIWorld toTopResult(String returnType) {
+		JAIMinimalWorld result = (JAIMinimalWorld) toTop();
+		JAIStack returned = new JAIStack();
+		if (!returnType.equals("V")) {
+			returned.push(factory.intern(factory.generateTopAbstractValue(returnType)));
+		}
+		result.setCurrentStack(returned);
+		return result;
+	}
+
+	/**
+	 * Replaces the values of a map by the top of their types.
+	 * 
+	 * @param map the map.
+	 * @return the new map.
+	 */
+	private static JAIPersistentMap<String,JAIAbstractValue> topValues(JAIPersistentMap<String,JAIAbstractValue> map) {
+		for (String key: map.keys()) {
+			map = map.put(key, map.get(key).top());
+		}
+		return map;
+	}
+
+	/**
+	 * The ways two worlds can be merged.
+	 */
+	private static final int COMBINE = 0;
+	private static final int WIDEN = 1;
+	private static final int NARROW = 2;
+
+	/**
+	 * Merges this world with another one, value by value.
+	 * 
+	 * @param aWorld the other world.
+	 * @param mode COMBINE, WIDEN or NARROW.
+	 * @param thresholds the widening thresholds (only used when widening).
+	 * @return the merged world
+	 */
+	private JAIWorld merge(JAIWorld aWorld, int mode, long []thresholds) {
+		if (!(aWorld instanceof JAIMinimalWorld)) {
+			return this;
+		}
+		JAIMinimalWorld w = (JAIMinimalWorld) aWorld;
+		JAIMinimalWorld result = (JAIMinimalWorld) this.copy();
+
+		JAIAbstractValue []thisStack = this.getCurrentStack().toArray();
+		JAIAbstractValue []otherStack = w.getCurrentStack().toArray();
+		if (thisStack.length!=otherStack.length) {
+			throw new JAIWorldException("Cannot combine stacks of different heights: "+thisStack.length+" and "+otherStack.length);
+		}
+		JAIStack combinedStack = new JAIStack();
+		for (int i = 0; i<thisStack.length; i++) {
+			combinedStack.push(factory.intern(mergeValues(thisStack[i], otherStack[i], mode, thresholds)));
+		}
+		result.setCurrentStack(combinedStack);
+
+		result.setFields(mergeValues(this.getFields(), w.getFields(), false, mode, thresholds));
+		result.setStaticFields(mergeValues(this.getStaticFields(), w.getStaticFields(), true, mode, thresholds));
+		result.setHeap(mergeHeaps(w.getHeap(), mode, thresholds));
+		for (int i = numberOfLocalsUsed(w)-1; i>=0; i--) {
+			if (this.localVariables[i]!=null || w.localVariables[i]!=null) {
+				result.setLocalVariable(i, mergeValues(this.getLocalVariable(i), w.getLocalVariable(i), mode, thresholds));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Merges two values.
+	 * 
+	 * @param v1 the value of this world.
+	 * @param v2 the value of the other world.
+	 * @param mode COMBINE, WIDEN or NARROW.
+	 * @param thresholds the widening thresholds (only used when widening).
+	 * @return the merged value
+	 */
+	private static JAIAbstractValue mergeValues(JAIAbstractValue v1, JAIAbstractValue v2, int mode, long []thresholds) {
+		if (v1==v2) {
+			return v1;
+		}
+		if (!haveSameType(v1, v2)) {
+			// a variable holding values of different types is dead: the verifier
+			// rejects the code that reads it before writing it
+			return v1.top();
+		}
+		switch (mode) {
+		case WIDEN:
+			return v1.widen(v2, thresholds);
+		case NARROW:
+			return v1.narrow(v2);
+		default:
+			return v1.union(v2);
+		}
+	}
+
+	/**
+	 * Checks whether this world includes all the states of another one, that is if each
+	 * value on the stack and in the variables subsumes the corresponding one.
+	 * 
+	 * @param aWorld the world to compare with.
+	 * @return true if this world includes aWorld, false otherwise.
+	 */
+	public boolean subsumes(JAIWorld aWorld) {
+		if (!(aWorld instanceof JAIMinimalWorld)) {
+			return true;
+		}
+		JAIMinimalWorld w = (JAIMinimalWorld) aWorld;
+		if (this.getCurrentStack().size()!=w.getCurrentStack().size()) {
+			return false;
+		}
+		JAIAbstractValue []thisStack = this.getCurrentStack().toArray();
+		JAIAbstractValue []otherStack = w.getCurrentStack().toArray();
+		for (int i = 0; i<thisStack.length; i++) {
+			if (!subsumesValue(thisStack[i], otherStack[i])) {
+				return false;
+			}
+		}
+		if (!subsumesValues(this.getFields(), w.getFields(), false) || !subsumesValues(this.getStaticFields(), w.getStaticFields(), true)
+				|| !subsumesHeap(w.getHeap())) {
+			return false;
+		}
+		for (int i = numberOfLocalsUsed(w)-1; i>=0; i--) {
+			if (this.localVariables[i]==null && w.localVariables[i]==null) {
+				continue;
+			}
+			if (!subsumesValue(this.getLocalVariable(i), w.getLocalVariable(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Makes both worlds able to store the same number of local variables and returns it.
+	 * 
+	 * @param w the other world.
+	 * @return the number of local variables.
 	 */
-	public HashMap<String,JAIAbstractValue> fields = new HashMap<String,JAIAbstractValue>();
+	private int numberOfLocalsUsed(JAIMinimalWorld w) {
+		int n = Math.max(this.localVariables.length, w.localVariables.length);
+		this.ensureNumberOfLocals(n);
+		w.ensureNumberOfLocals(n);
+		return n;
+	}
 
 	/**
-	 * The list of class variables (static fields).
+	 * Merges two maps of values, key by key. A key missing from a map has the value of
+	 * a field that was not written (see {@link #unwrittenField(String, boolean)}), so
+	 * that a field written on one path only may still hold the value it had before.
+	 * 
+	 * @param values1 the first map.
+	 * @param values2 the second map.
+	 * @param statics true if the maps hold static fields, false if they hold fields of unknown objects.
+	 * @param mode COMBINE, WIDEN or NARROW.
+	 * @param thresholds the widening thresholds (only used when widening).
+	 * @return the merged map.
 	 */
-	public HashMap<String,JAIAbstractValue> staticFields = new HashMap<String,JAIAbstractValue>();
+	private JAIPersistentMap<String,JAIAbstractValue> mergeValues(JAIPersistentMap<String,JAIAbstractValue> values1, JAIPersistentMap<String,JAIAbstractValue> values2, boolean statics, int mode, long []thresholds) {
+		if (values1==values2) {
+			return values1;
+		}
+		JAIPersistentMap<String,JAIAbstractValue> result = values1;
+		for (String name: keysOf(values1, values2)) {
+			JAIAbstractValue v1 = values1.get(name);
+			JAIAbstractValue v2 = values2.get(name);
+			if (v1!=v2) {
+				if (v1==null) v1 = unwrittenField(name, statics);
+				if (v2==null) v2 = unwrittenField(name, statics);
+				result = result.put(name, factory.intern(mergeValues(v1, v2, mode, thresholds)));
+			}
+		}
+		return result;
+	}
 
 	/**
-	 * The list of local variables (of the current frame).
+	 * Checks that each value of a map subsumes the value of the same key in another one.
+	 * A key missing from the second map has the value of a field that was not written.
+	 * A key missing from the first map only subsumes a missing key: a summary tells the
+	 * fields written by its paths by their keys.
+	 * 
+	 * @param values1 the map that should subsume.
+	 * @param values2 the map that should be subsumed.
+	 * @param statics true if the maps hold static fields, false if they hold fields of unknown objects.
+	 * @return true if values1 subsumes values2.
 	 */
-	public HashMap<Integer,JAIAbstractValue> localVariables = new HashMap<Integer,JAIAbstractValue>();
+	private boolean subsumesValues(JAIPersistentMap<String,JAIAbstractValue> values1, JAIPersistentMap<String,JAIAbstractValue> values2, boolean statics) {
+		if (values1==values2) {
+			return true;
+		}
+		for (String name: keysOf(values1, values2)) {
+			JAIAbstractValue v1 = values1.get(name);
+			JAIAbstractValue v2 = values2.get(name);
+			if (v1==v2) {
+				continue;
+			}
+			if (v1==null) {
+				return false;
+			}
+			if (v2==null) v2 = unwrittenField(name, statics);
+			if (!subsumesValue(v1, v2)) {
+				return false;
+			}
+		}
+		return true;
+	}
 
 	/**
-	 * The factory that will create abstract values.
+	 * Returns the keys of two maps.
+	 * 
+	 * @param values1 the first map.
+	 * @param values2 the second map.
+	 * @return the keys of values1, followed by the keys of values2 that are not in values1.
 	 */
-	public JAIAbstractValuesFactory factory = null;
+	private static ArrayList<String> keysOf(JAIPersistentMap<String,JAIAbstractValue> values1, JAIPersistentMap<String,JAIAbstractValue> values2) {
+		ArrayList<String> names = (values1.size()==0) ? new ArrayList<String>(values2.size()) : values1.keys();
+		for (String name: (values2.size()==0) ? NO_NAMES : values2.keys()) {
+			if (!values1.containsKey(name)) names.add(name);
+		}
+		return names;
+	}
 
 	/**
-	 * A simple, empty initializer.
+	 * Returns the value of a field of the unknown objects (see {@link #fields}).
 	 * 
+	 * @param fieldName the name of the field (class/name:type).
+	 * @return the value written in the field, the value of an unwritten field otherwise.
 	 */
-	public JAIMinimalWorld(JAIAbstractValuesFactory factory) {
-		this.factory=factory;
+	private JAIAbstractValue getUnknownField(String fieldName) {
+		JAIAbstractValue v = fields.get(fieldName);
+		return (v==null) ? unwrittenField(fieldName, false) : v;
 	}
 
 	/**
-	 * simple boolean to know if all branches need to be evaluated. 
+	 * Returns the value of a static field.
+	 * 
+	 * @param staticFieldName the name of the static field (class/name:type).
+	 * @return the value written in the field, the value of an unwritten field otherwise.
 	 */
-	private boolean evaluateAll = true;
+	private JAIAbstractValue getStaticField(String staticFieldName) {
+		JAIAbstractValue v = staticFields.get(staticFieldName);
+		return (v==null) ? unwrittenField(staticFieldName, true) : v;
+	}
 
 	/**
-	 * Checks whether both branches of the next "if" need to be evaluated. By default the answer is yes.
+	 * Returns the value of a field that this world did not write, as given by the factory.
 	 * 
-	 * @return true if they need, false otherwise.
+	 * @param fieldName the name of the field (class/name:type).
+	 * @param isStatic true for a static field, false for a field of the unknown objects.
+	 * @return the value of the field, any value of its type for static fields the caller may have written.
 	 */
-	public boolean allBranchesNeedToBeEvaluated() {
-		return evaluateThen&&evaluateElse;
+	private JAIAbstractValue unwrittenField(String fieldName, boolean isStatic) {
+		if (!isStatic) {
+			return factory.intern(factory.getFieldAbstractValue(fieldName));
+		}
+		if (unknownStatics) {
+			// the name ends with the type of the field
+			return factory.intern(factory.generateTopAbstractValue(fieldName.substring(fieldName.lastIndexOf(':')+1)));
+		}
+		return factory.intern(factory.getStaticVariableAbstractValue(fieldName));
 	}
 
-
 	/**
-	 * simple boolean to know if the then branch needs to be evaluated. 
+	 * Checks that a value subsumes another one.
+	 * 
+	 * @param v1 the value that should subsume.
+	 * @param v2 the value that should be subsumed.
+	 * @return true if v1 subsumes v2, or if v1 is the top of a variable holding values of different types.
 	 */
-	private boolean evaluateThen = true;
+	private static boolean subsumesValue(JAIAbstractValue v1, JAIAbstractValue v2) {
+		if (v1==v2) {
+			return true;
+		}
+		if (!haveSameType(v1, v2)) {
+			return v1.isTop();
+		}
+		return v1.subsumes(v2);
+	}
 
 	/**
-	 * simple boolean to know if the else branch needs to be evaluated. 
+	 * Checks whether two values have the same type. The references to objects and to
+	 * arrays (as null and an array) have the same type.
+	 * 
+	 * @param v1 the first value.
+	 * @param v2 the second value.
+	 * @return true if the values have the same type, false otherwise.
 	 */
-	private boolean evaluateElse = true;
+	private static boolean haveSameType(JAIAbstractValue v1, JAIAbstractValue v2) {
+		return v1.getClass()==v2.getClass() || v1.getTypeName().equals(v2.getTypeName());
+	}
 
 	/**
-	 * In case both branches of the next "if" do not need to be evaluated, checks whether 
-	 * it is with the "then" (or the "else"). Default value is false.
+	 * Merges the heap of this world with another one, object by object. A field written
+	 * on one path only has its default value on the other one. The elements of arrays are
+	 * merged as fields. An object allocated on one path only is kept as it is, since the
+	 * other path has no reference to it.
 	 * 
-	 * @return true if "then" needs to be evaluated, flase otherwise.
+	 * @param heap2 the other heap.
+	 * @param mode COMBINE, WIDEN or NARROW.
+	 * @param thresholds the widening thresholds (only used when widening).
+	 * @return the merged heap.
 	 */
-	public boolean shouldEvaluateThen() {
-		return evaluateThen;
+	private JAIPersistentMap<Integer,JAIAbstractObject> mergeHeaps(JAIPersistentMap<Integer,JAIAbstractObject> heap2, int mode, long []thresholds) {
+		if (heap==heap2) {
+			return heap;
+		}
+		JAIPersistentMap<Integer,JAIAbstractObject> result = heap;
+		for (Integer site: heap2.keys()) {
+			JAIAbstractObject o1 = result.get(site);
+			JAIAbstractObject o2 = heap2.get(site);
+			if (o1==o2) {
+				continue;
+			}
+			if (o1==null) {
+				result = result.put(site, o2);
+				continue;
+			}
+			JAIPersistentMap<String,JAIAbstractValue> objectFields = o1.getFields();
+			for (String name: fieldNames(o1, o2)) {
+				JAIAbstractValue v1 = getField(o1, name);
+				JAIAbstractValue v2 = getField(o2, name);
+				if (v1!=v2) objectFields = objectFields.put(name, factory.intern(mergeValues(v1, v2, mode, thresholds)));
+			}
+			JAIAbstractValue array = o1.getArray();
+			if (array!=null && o2.getArray()!=null) {
+				array = mergeValues(array, o2.getArray(), mode, thresholds);
+			}
+			result = result.put(site, new JAIAbstractObject(site, o1.getClassName(), o1.isSummary() || o2.isSummary(),
+					o1.isEscaped() || o2.isEscaped(), objectFields, array));
+		}
+		return result;
 	}
 
-
 	/**
-	 * Sets the value for evaluateThen
+	 * Checks that each object of another heap is subsumed by the object of the same site
+	 * in the heap of this world, field by field and element by element.
 	 * 
-	 * @param evaluateThen true to evaluate the then branch, false to evaluate else
+	 * @param heap2 the other heap.
+	 * @return true if the heap of this world subsumes heap2.
 	 */
-	public void setEvaluateThen(boolean evaluateThen) {
-		this.evaluateThen = evaluateThen;
+	private boolean subsumesHeap(JAIPersistentMap<Integer,JAIAbstractObject> heap2) {
+		if (heap==heap2) {
+			return true;
+		}
+		for (Integer site: heap2.keys()) {
+			JAIAbstractObject o1 = heap.get(site);
+			JAIAbstractObject o2 = heap2.get(site);
+			if (o1==o2) {
+				continue;
+			}
+			if (o1==null || (o2.isSummary() && !o1.isSummary()) || (o2.isEscaped() && !o1.isEscaped())) {
+				return false;
+			}
+			for (String name: fieldNames(o1, o2)) {
+				if (!subsumesValue(getField(o1, name), getField(o2, name))) {
+					return false;
+				}
+			}
+			if (o1.getArray()!=null && o2.getArray()!=null && !subsumesValue(o1.getArray(), o2.getArray())) {
+				return false;
+			}
+		}
+		return true;
 	}
-	
+
 	/**
-	 * Sets the value for evaluateThen
+	 * Returns the names of the fields written in one of two objects.
 	 * 
-	 * @param evaluateThen true to evaluate the then branch, false to evaluate else
+	 * @param o1 the first object.
+	 * @param o2 the second object.
+	 * @return the names.
 	 */
-	public void setEvaluateElse(boolean evaluateThen) {
-		this.evaluateElse = evaluateThen;
+	private static ArrayList<String> fieldNames(JAIAbstractObject o1, JAIAbstractObject o2) {
+		ArrayList<String> names = o1.getFields().keys();
+		for (String name: o2.getFields().keys()) {
+			if (!o1.getFields().containsKey(name)) names.add(name);
+		}
+		return names;
 	}
 
 	/**
-	 * Gets a local variable
+	 * Returns the value of a field of an object allocated by the method.
 	 * 
-	 * @param number the number of the local variable
-	 * @return the local variable
+	 * @param o the object.
+	 * @param fieldName the name of the field (class/name:type).
+	 * @return the value written in the field, its default value if it was not written.
 	 */
-	public JAIAbstractValue getLocalVariable(int number) {
-		JAIAbstractValue v = localVariables.get(number);
+	private JAIAbstractValue getField(JAIAbstractObject o, String fieldName) {
+		JAIAbstractValue v = o.getFields().get(fieldName);
 		if (v==null) {
-			v=factory.getLocalVariableAbstractValue(number);
-			localVariables.put(number, v);
+			// the code the object escaped to may have written the field
+			v = o.isEscaped() ? factory.intern(factory.getFieldAbstractValue(fieldName)) : defaultValue(fieldName);
 		}
 		return v;
 	}
 
 	/**
+	 * Returns the value of a field that was not written since its object was allocated.
 	 * 
-	 * Sets the value of a local variable
-	 * 
-	 * @param number the number of the local variable
-	 * @param value its value
+	 * @param fieldName the name of the field (class/name:type).
+	 * @return the default value of the type of the field.
 	 */
-	public void setLocalVariable(int number, JAIAbstractValue value) {
-		localVariables.put(number,value);
+	private JAIAbstractValue defaultValue(String fieldName) {
+		// the name ends with the type of the field
+		return factory.intern(factory.generateDefaultAbstractValue(fieldName.substring(fieldName.lastIndexOf(':')+1)));
 	}
 
 	/**
-	 * A simple constructor that clones the world passed as a parameter.
+	 * Writes a value in a field of an object allocated by the method.
 	 * 
-	 * @param w the world to clone.
+	 * @param o the object.
+	 * @param fieldName the name of the field (class/name:type).
+	 * @param value the value written.
+	 * @param strong true if the value replaces the previous one, false if it is united with it.
+	 * @return the new object.
 	 */
-	public JAIMinimalWorld(JAIMinimalWorld w) {
-		super();
-		this.stack = w.getCurrentStack().clone();
-		this.factory = w.getFactory().clone();
-
-		// we do a deep clone of all values in the lists
-		HashMap<String, JAIAbstractValue> otherFields = w.getFields();
-		HashMap<String, JAIAbstractValue> otherStaticFields = w.getStaticFields();
-		HashMap<Integer, JAIAbstractValue> otherLocalVariables = w.getLocalVariables();
-		for (String v: otherFields.keySet()) {
-			this.fields.put(v, otherFields.get(v).clone());
-		}
-		for (String v: otherStaticFields.keySet()) {
-			this.staticFields.put(v, otherStaticFields.get(v).clone());
-		}
-		for (Integer i: otherLocalVariables.keySet()) {
-			this.localVariables.put(i, otherLocalVariables.get(i).clone());
+	private JAIAbstractObject writeField(JAIAbstractObject o, String fieldName, JAIAbstractValue value, boolean strong) {
+		JAIAbstractValue v = value;
+		if (!strong) {
+			JAIAbstractValue old = getField(o, fieldName);
+			v = (old==value) ? old : factory.intern(mergeValues(old, value, COMBINE, null));
 		}
+		return o.withFields(o.getFields().put(fieldName, v));
 	}
 
+	/**
+	 * The constructor of Object, called by all the other constructors.
+	 */
+	private static final JAIMemberDescriptor OBJECT_CONSTRUCTOR = JAIMemberDescriptor.get("java.lang.Object", "<init>", "()V");
+
+	/**
+	 * No allocation site.
+	 */
+	private static final ArrayList<Integer> NO_SITES = new ArrayList<Integer>(0);
 
+	/**
+	 * No name.
+	 */
+	private static final ArrayList<String> NO_NAMES = new ArrayList<String>(0);
 
+	/**
+	 * The class of the exception thrown by an athrow on null.
+	 */
+	private static final String NULL_POINTER_EXCEPTION = "java.lang.NullPointerException";
 
 	/**
 	 * Simple getter for the stack
@@ -177,7 +1266,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * 
 	 * @return the fields
 	 */
-	public HashMap<String, JAIAbstractValue> getFields() {
+	public JAIPersistentMap<String, JAIAbstractValue> getFields() {
 		return fields;
 	}
 
@@ -186,7 +1275,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * 
 	 * @param fields the fields to set
 	 */
-	public void setFields(HashMap<String, JAIAbstractValue> fields) {
+	public void setFields(JAIPersistentMap<String, JAIAbstractValue> fields) {
 		this.fields = fields;
 	}
 
@@ -195,7 +1284,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * 
 	 * @return the staticFields
 	 */
-	public HashMap<String, JAIAbstractValue> getStaticFields() {
+	public JAIPersistentMap<String, JAIAbstractValue> getStaticFields() {
 		return staticFields;
 	}
 
@@ -204,16 +1293,34 @@ public class JAIMinimalWorld extends JAIWorld {
 
 	 * @param staticFields the staticFields to set
 	 */
-	public void setStaticFields(HashMap<String, JAIAbstractValue> staticFields) {
+	public void setStaticFields(JAIPersistentMap<String, JAIAbstractValue> staticFields) {
 		this.staticFields = staticFields;
 	}
 
+	/**
+	 * Simple getter for the heap.
+	 * 
+	 * @return the objects allocated, by allocation site
+	 */
+	public JAIPersistentMap<Integer, JAIAbstractObject> getHeap() {
+		return heap;
+	}
+
+	/**
+	 * Simple setter for the heap.
+	 * 
+	 * @param heap the objects allocated, by allocation site
+	 */
+	public void setHeap(JAIPersistentMap<Integer, JAIAbstractObject> heap) {
+		this.heap = heap;
+	}
+
 	/**
 	 * Simple getter for the local variables.
 	 *
 	 * @return the localVariables
 	 */
-	public HashMap<Integer, JAIAbstractValue> getLocalVariables() {
+	public JAIAbstractValue[] getLocalVariables() {
 		return localVariables;
 	}
 
@@ -222,7 +1329,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * 
 	 * @param localVariables the localVariables to set
 	 */
-	public void setLocalVariables(HashMap<Integer, JAIAbstractValue> localVariables) {
+	public void setLocalVariables(JAIAbstractValue []localVariables) {
 		this.localVariables = localVariables;
 	}
 	/**
@@ -251,7 +1358,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateAconst_null() {
-		stack.push(factory.generateNullAbstractValue());
+		stack.push(factory.intern(factory.generateNullAbstractValue()));
 		JAIDebug.print("Pushed null on the stack", this);
 		return this;
 	}
@@ -261,7 +1368,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIconst_m1() {
-		stack.push(factory.generateIntegerAbstractValue(-1));		
+		stack.push(factory.intern(factory.generateIntegerAbstractValue(-1)));		
 		JAIDebug.print("Pushed -1 on the stack ", this);
 		return this;
 	}
@@ -271,7 +1378,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIconst_0() {
-		stack.push(factory.generateIntegerAbstractValue(0));		
+		stack.push(factory.intern(factory.generateIntegerAbstractValue(0)));		
 		JAIDebug.print("Pushed 0 on the stack ", this);
 		return this;
 	}
@@ -281,7 +1388,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIconst_1() {
-		stack.push(factory.generateIntegerAbstractValue(1));		
+		stack.push(factory.intern(factory.generateIntegerAbstractValue(1)));		
 		JAIDebug.print("Pushed 1 on the stack ", this);
 		return this;
 	}
@@ -291,7 +1398,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIconst_2() {
-		stack.push(factory.generateIntegerAbstractValue(2));		
+		stack.push(factory.intern(factory.generateIntegerAbstractValue(2)));		
 		JAIDebug.print("Pushed 2 on the stack ", this);
 		return this;
 	}
@@ -301,7 +1408,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIconst_3() {
-		stack.push(factory.generateIntegerAbstractValue(3));		
+		stack.push(factory.intern(factory.generateIntegerAbstractValue(3)));		
 		JAIDebug.print("Pushed -3 on the stack ", this);
 		return this;
 	}
@@ -311,7 +1418,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIconst_4() {
-		stack.push(factory.generateIntegerAbstractValue(4));		
+		stack.push(factory.intern(factory.generateIntegerAbstractValue(4)));		
 		JAIDebug.print("Pushed 4 on the stack ", this);
 		return this;
 	}
@@ -321,7 +1428,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIconst_5() {
-		stack.push(factory.generateIntegerAbstractValue(5));		
+		stack.push(factory.intern(factory.generateIntegerAbstractValue(5)));		
 		JAIDebug.print("Pushed 5 on the stack ", this);
 		return this;
 	}
@@ -331,7 +1438,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateLconst_0() {
-		stack.push(factory.generateLongAbstractValue(0L));		
+		stack.push(factory.intern(factory.generateLongAbstractValue(0L)));		
 		JAIDebug.print("Pushed 0L on the stack ", this);
 		return this;
 	}
@@ -341,7 +1448,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateLconst_1() {
-		stack.push(factory.generateLongAbstractValue(1L));		
+		stack.push(factory.intern(factory.generateLongAbstractValue(1L)));		
 		JAIDebug.print("Pushed 1L on the stack ", this);
 		return this;
 	}
@@ -351,7 +1458,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateFconst_0() {
-		stack.push(factory.generateFloatAbstractValue(0.0f));		
+		stack.push(factory.intern(factory.generateFloatAbstractValue(0.0f)));		
 		JAIDebug.print("Pushed 0.0f on the stack ", this);
 		return this;
 	}
@@ -361,7 +1468,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateFconst_1() {
-		stack.push(factory.generateFloatAbstractValue(1.0f));		
+		stack.push(factory.intern(factory.generateFloatAbstractValue(1.0f)));		
 		JAIDebug.print("Pushed 1.0f on the stack ", this);
 		return this;
 	}
@@ -371,7 +1478,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateFconst_2() {
-		stack.push(factory.generateFloatAbstractValue(2.0f));		
+		stack.push(factory.intern(factory.generateFloatAbstractValue(2.0f)));		
 		JAIDebug.print("Pushed 2.0f on the stack ", this);
 		return this;
 	}
@@ -381,7 +1488,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateDconst_0() {
-		stack.push(factory.generateDoubleAbstractValue(0.0d));		
+		stack.push(factory.intern(factory.generateDoubleAbstractValue(0.0d)));		
 		JAIDebug.print("Pushed 0.0d on the stack ", this);
 		return this;
 	}
@@ -391,7 +1498,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateDconst_1() {
-		stack.push(factory.generateDoubleAbstractValue(1.0d));		
+		stack.push(factory.intern(factory.generateDoubleAbstractValue(1.0d)));		
 		JAIDebug.print("Pushed 1.0d on the stack ", this);
 		return this;
 	}
@@ -402,8 +1509,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateBipush(byte b) {
-		stack.push(factory.generateIntegerAbstractValue((int)b));		
-		JAIDebug.print("Pushed byte "+b+" on the stack as an integer", this);
+		stack.push(factory.intern(factory.generateIntegerAbstractValue((int)b)));		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed byte "+b+" on the stack as an integer", this);
 		return this;
 	}
 
@@ -413,8 +1520,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateSipush(short s) {
-		stack.push(factory.generateShortAbstractValue(s));		
-		JAIDebug.print("Pushed short "+s+" on the stack as a short", this);
+		stack.push(factory.intern(factory.generateShortAbstractValue(s)));		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed short "+s+" on the stack as a short", this);
 		return this;
 	}
 
@@ -425,16 +1532,16 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateLdc(Object o) {
 		if (o instanceof Integer) {
-			stack.push(factory.generateIntegerAbstractValue(((Integer)o).intValue()));					
-			JAIDebug.print("Pushed constant integer "+o+" on the stack as an integer", this);
+			stack.push(factory.intern(factory.generateIntegerAbstractValue(((Integer)o).intValue())));					
+			if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed constant integer "+o+" on the stack as an integer", this);
 		} else {
 			if (o instanceof Float) {
-				stack.push(factory.generateFloatAbstractValue(((Float)o).floatValue()));					
-				JAIDebug.print("Pushed constant float "+o+" on the stack as a float", this);
+				stack.push(factory.intern(factory.generateFloatAbstractValue(((Float)o).floatValue())));					
+				if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed constant float "+o+" on the stack as a float", this);
 			} else {
 				if (o instanceof String) {
-					stack.push(factory.generateStringAbstractValue((String)o));					
-					JAIDebug.print("Pushed constant String \""+o+"\" on the stack as a String", this);
+					stack.push(factory.intern(factory.generateStringAbstractValue((String)o)));					
+					if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed constant String \""+o+"\" on the stack as a String", this);
 				} else {
 					throw new JAIWorldException("Wrong ldc constant type: "+o.getClass()+"expected int, float or String");
 				}
@@ -461,12 +1568,12 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateLdc2_w(Object o) {
 		if (o instanceof Long) {
-			stack.push(factory.generateLongAbstractValue(((Long)o).longValue()));					
-			JAIDebug.print("Pushed constant long "+o+" on the stack as a long", this);
+			stack.push(factory.intern(factory.generateLongAbstractValue(((Long)o).longValue())));					
+			if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed constant long "+o+" on the stack as a long", this);
 		} else {
 			if (o instanceof Double) {
-				stack.push(factory.generateDoubleAbstractValue(((Double)o).doubleValue()));					
-				JAIDebug.print("Pushed constant double "+o+" on the stack as a double", this);
+				stack.push(factory.intern(factory.generateDoubleAbstractValue(((Double)o).doubleValue())));					
+				if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed constant double "+o+" on the stack as a double", this);
 			} else {
 				throw new JAIWorldException("Wrong ldc constant type: "+o.getClass()+"expected int, float or String");
 			}
@@ -482,7 +1589,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateIload(int i) {
 		stack.push(getLocalVariable(i));
-		JAIDebug.print("Loaded from local variable "+i+" on the stack (should contain an int)", this);		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Loaded from local variable "+i+" on the stack (should contain an int)", this);		
 		return this;
 	}
 
@@ -493,7 +1600,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateLload(int i) {
 		stack.push(getLocalVariable(i));
-		JAIDebug.print("Loaded from local variable "+i+" on the stack (should contain a long)", this);		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Loaded from local variable "+i+" on the stack (should contain a long)", this);		
 		return this;
 	}
 
@@ -504,7 +1611,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateFload(int i) {
 		stack.push(getLocalVariable(i));
-		JAIDebug.print("Loaded from local variable "+i+" on the stack (should contain a float)", this);		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Loaded from local variable "+i+" on the stack (should contain a float)", this);		
 		return this;
 	}
 
@@ -515,7 +1622,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateDload(int i) {
 		stack.push(getLocalVariable(i));
-		JAIDebug.print("Loaded from local variable "+i+" on the stack (should contain a double)", this);		
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Loaded from local variable "+i+" on the stack (should contain a double)", this);		
 		return this;
 	}
 
@@ -526,7 +1633,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateAload(int i) {
 		stack.push(getLocalVariable(i));
-		JAIDebug.print("Pushed reference local variable "+i+"on the stack", this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed reference local variable "+i+"on the stack", this);
 		return this;
 	}
 
@@ -717,9 +1824,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIaload() {
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		JAIAbstractValue result = array.loadFromArrayref(index);
-		stack.push(result);
-		JAIDebug.print("Pushed integer value at "+index+" from array on the stack", this);
+		stack.push(loadFromArray(array, index, "I"));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed integer value at "+index+" from array on the stack", this);
 		return this;
 	}
 
@@ -730,9 +1836,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateLaload() {
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		JAIAbstractValue result = array.loadFromArrayref(index);
-		stack.push(result);
-		JAIDebug.print("Pushed long value at "+index+" from array on the stack", this);
+		stack.push(loadFromArray(array, index, "J"));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed long value at "+index+" from array on the stack", this);
 		return this;
 	}
 
@@ -743,9 +1848,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateFaload() {
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		JAIAbstractValue result = array.loadFromArrayref(index);
-		stack.push(result);
-		JAIDebug.print("Pushed float value at "+index+" from array on the stack", this);
+		stack.push(loadFromArray(array, index, "F"));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed float value at "+index+" from array on the stack", this);
 		return this;
 	}
 
@@ -756,9 +1860,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateDaload() {
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		JAIAbstractValue result = array.loadFromArrayref(index);
-		stack.push(result);
-		JAIDebug.print("Pushed double value at "+index+" from array on the stack", this);
+		stack.push(loadFromArray(array, index, "D"));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed double value at "+index+" from array on the stack", this);
 		return this;
 	}
 
@@ -769,9 +1872,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateAaload() {
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		JAIAbstractValue result = array.loadFromArrayref(index);
-		stack.push(result);
-		JAIDebug.print("Pushed reference value at "+index+" from array on the stack", this);
+		stack.push(loadFromArray(array, index, "Ljava/lang/Object;"));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed reference value at "+index+" from array on the stack", this);
 		return this;
 	}
 
@@ -782,9 +1884,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateBaload() {
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		JAIAbstractValue result = array.loadFromArrayref(index);
-		stack.push(result);
-		JAIDebug.print("Pushed byte value at "+index+" from array on the stack", this);
+		stack.push(loadFromArray(array, index, "B"));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed byte value at "+index+" from array on the stack", this);
 		return this;
 	}
 
@@ -795,9 +1896,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateCaload() {
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		JAIAbstractValue result = array.loadFromArrayref(index);
-		stack.push(result);
-		JAIDebug.print("Pushed char value at "+index+" from array on the stack", this);
+		stack.push(loadFromArray(array, index, "C"));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed char value at "+index+" from array on the stack", this);
 		return this;
 	}
 
@@ -808,9 +1908,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateSaload() {
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		JAIAbstractValue result = array.loadFromArrayref(index);
-		stack.push(result);
-		JAIDebug.print("Pushed short value at "+index+" from array on the stack", this);
+		stack.push(loadFromArray(array, index, "S"));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed short value at "+index+" from array on the stack", this);
 		return this;
 	}
 
@@ -821,7 +1920,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateIstore(int i) {
 		setLocalVariable(i,stack.pop());
-		JAIDebug.print("Stored int in local variable "+i, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored int in local variable "+i, this);
 		return this;
 	}
 
@@ -832,7 +1931,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateLstore(int i) {
 		setLocalVariable(i,stack.pop());
-		JAIDebug.print("Stored long in local variable "+i, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored long in local variable "+i, this);
 		return this;
 	}
 
@@ -843,7 +1942,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateFstore(int i) {
 		setLocalVariable(i,stack.pop());
-		JAIDebug.print("Stored float in local variable "+i, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored float in local variable "+i, this);
 		return this;
 	}
 
@@ -854,7 +1953,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateDstore(int i) {
 		setLocalVariable(i,stack.pop());
-		JAIDebug.print("Stored double in local variable "+i, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored double in local variable "+i, this);
 		return this;
 	}
 
@@ -865,7 +1964,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateAstore(int i) {
 		setLocalVariable(i,stack.pop());
-		JAIDebug.print("Stored reference in local variable "+i, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored reference in local variable "+i, this);
 		return this;
 	}
 
@@ -1057,8 +2156,8 @@ public class JAIMinimalWorld extends JAIWorld {
 		JAIAbstractValue value = stack.pop();
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		array.storeInArrayref(index,value);
-		JAIDebug.print("Stored int value at "+index+" in array on the stack", this);
+		storeInArray(array, index, value, "I");
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored int value at "+index+" in array on the stack", this);
 		return this;
 	}
 
@@ -1070,8 +2169,8 @@ public class JAIMinimalWorld extends JAIWorld {
 		JAIAbstractValue value = stack.pop();
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		array.storeInArrayref(index,value);
-		JAIDebug.print("Stored long value at "+index+" in array on the stack", this);
+		storeInArray(array, index, value, "J");
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored long value at "+index+" in array on the stack", this);
 		return this;
 	}
 
@@ -1083,8 +2182,8 @@ public class JAIMinimalWorld extends JAIWorld {
 		JAIAbstractValue value = stack.pop();
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		array.storeInArrayref(index,value);
-		JAIDebug.print("Stored float value at "+index+" in array on the stack", this);
+		storeInArray(array, index, value, "F");
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored float value at "+index+" in array on the stack", this);
 		return this;
 	}
 
@@ -1096,8 +2195,8 @@ public class JAIMinimalWorld extends JAIWorld {
 		JAIAbstractValue value = stack.pop();
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		array.storeInArrayref(index,value);
-		JAIDebug.print("Stored double value at "+index+" in array on the stack", this);
+		storeInArray(array, index, value, "D");
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored double value at "+index+" in array on the stack", this);
 		return this;
 	}
 
@@ -1109,8 +2208,8 @@ public class JAIMinimalWorld extends JAIWorld {
 		JAIAbstractValue value = stack.pop();
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		array.storeInArrayref(index,value);
-		JAIDebug.print("Stored reference value at "+index+" in array on the stack", this);
+		storeInArray(array, index, value, "Ljava/lang/Object;");
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored reference value at "+index+" in array on the stack", this);
 		return this;
 	}
 
@@ -1122,8 +2221,8 @@ public class JAIMinimalWorld extends JAIWorld {
 		JAIAbstractValue value = stack.pop();
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		array.storeInArrayref(index,value);
-		JAIDebug.print("Stored byte value at "+index+" in array on the stack", this);
+		storeInArray(array, index, value, "B");
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored byte value at "+index+" in array on the stack", this);
 		return this;
 	}
 
@@ -1135,8 +2234,8 @@ public class JAIMinimalWorld extends JAIWorld {
 		JAIAbstractValue value = stack.pop();
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		array.storeInArrayref(index,value);
-		JAIDebug.print("Stored char value at "+index+" in array on the stack", this);
+		storeInArray(array, index, value, "C");
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored char value at "+index+" in array on the stack", this);
 		return this;
 	}
 
@@ -1148,8 +2247,8 @@ public class JAIMinimalWorld extends JAIWorld {
 		JAIAbstractValue value = stack.pop();
 		JAIAbstractValue index = stack.pop();
 		JAIAbstractValue array = stack.pop();
-		array.storeInArrayref(index,value);
-		JAIDebug.print("Stored short value at "+index+" in array on the stack", this);
+		storeInArray(array, index, value, "S");
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Stored short value at "+index+" in array on the stack", this);
 		return this;
 	}
 
@@ -1158,7 +2257,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluatePop() {
-		stack.pop();
+		stack.popCategory1();
 		JAIDebug.print("Evaluated a pop ", this);
 		return this;
 	}
@@ -1296,8 +2395,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIsub() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.integerSub(v2));
 		JAIDebug.print("Evaluated a isub ", this);
 		return this;
@@ -1308,8 +2407,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateLsub() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.longSub(v2));
 		JAIDebug.print("Evaluated a lsub ", this);
 		return this;
@@ -1320,8 +2419,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateFsub() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.floatSub(v2));
 		JAIDebug.print("Evaluated a fsub ", this);
 		return this;
@@ -1332,8 +2431,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateDsub() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.doubleSub(v2));
 		JAIDebug.print("Evaluated a dsub ", this);
 		return this;
@@ -1392,8 +2491,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIdiv() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.integerDiv(v2));
 		JAIDebug.print("Evaluated a idiv ", this);
 		return this;
@@ -1404,8 +2503,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateLdiv() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.longDiv(v2));
 		JAIDebug.print("Evaluated a ldiv ", this);
 		return this;
@@ -1416,8 +2515,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateFdiv() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.floatDiv(v2));
 		JAIDebug.print("Evaluated a fdiv ", this);
 		return this;
@@ -1428,8 +2527,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateDdiv() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.doubleDiv(v2));
 		JAIDebug.print("Evaluated a ddiv ", this);
 		return this;
@@ -1440,8 +2539,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIrem() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.integerRemainder(v2));
 		JAIDebug.print("Evaluated a irem ", this);
 		return this;
@@ -1452,8 +2551,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateLrem() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.longRemainder(v2));
 		JAIDebug.print("Evaluated a lrem ", this);
 		return this;
@@ -1464,8 +2563,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateFrem() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.floatRemainder(v2));
 		JAIDebug.print("Evaluated a frem ", this);
 		return this;
@@ -1476,8 +2575,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateDrem() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
 		stack.push(v1.doubleRemainder(v2));
 		JAIDebug.print("Evaluated a drem ", this);
 		return this;
@@ -1903,6 +3002,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIfeq() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = factory.generateIntegerAbstractValue(0);
+		setBranchOperands(Opcode.IF_ICMPEQ, v1, v2);
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -1922,6 +3022,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIfne() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = factory.generateIntegerAbstractValue(0);
+		setBranchOperands(Opcode.IF_ICMPNE, v1, v2);
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -1941,6 +3042,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIflt() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = factory.generateIntegerAbstractValueLowerThan(0);
+		setBranchOperands(Opcode.IF_ICMPLT, v1, factory.generateIntegerAbstractValue(0));
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -1960,6 +3062,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIfge() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = factory.generateIntegerAbstractValueLowerThan(0);
+		setBranchOperands(Opcode.IF_ICMPGE, v1, factory.generateIntegerAbstractValue(0));
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -1979,6 +3082,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIfgt() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = factory.generateIntegerAbstractValueLowerThan(1);
+		setBranchOperands(Opcode.IF_ICMPGT, v1, factory.generateIntegerAbstractValue(0));
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -1998,6 +3102,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIfle() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = factory.generateIntegerAbstractValueLowerThan(1);
+		setBranchOperands(Opcode.IF_ICMPLE, v1, factory.generateIntegerAbstractValue(0));
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -2017,6 +3122,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIf_icmpeq() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		setBranchOperands(Opcode.IF_ICMPEQ, v2, v1);
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -2036,6 +3142,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIf_icmpne() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		setBranchOperands(Opcode.IF_ICMPNE, v2, v1);
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -2053,8 +3160,9 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIf_icmplt() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
+		setBranchOperands(Opcode.IF_ICMPLT, v1, v2);
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (v1.getLowestPossibleIntegerValue()<v2.getHighestPossibleIntegerValue()) {
@@ -2072,14 +3180,15 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIf_icmpge() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
+		setBranchOperands(Opcode.IF_ICMPGE, v1, v2);
 		setEvaluateElse(false);
 		setEvaluateThen(false);
-		if (v1.getHighestPossibleIntegerValue()<=v2.getLowestPossibleIntegerValue()) {
+		if (v1.getHighestPossibleIntegerValue()>=v2.getLowestPossibleIntegerValue()) {
 			setEvaluateThen(true);
 		} 
-		if (v1.getLowestPossibleIntegerValue()>v2.getHighestPossibleIntegerValue()) {
+		if (v1.getLowestPossibleIntegerValue()<v2.getHighestPossibleIntegerValue()) {
 			setEvaluateElse(true);			
 		}
 		JAIDebug.print("Evaluated a if_icmpge ", this);
@@ -2091,14 +3200,15 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIf_icmpgt() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
+		setBranchOperands(Opcode.IF_ICMPGT, v1, v2);
 		setEvaluateElse(false);
 		setEvaluateThen(false);
-		if (v1.getHighestPossibleIntegerValue()<v2.getLowestPossibleIntegerValue()) {
+		if (v1.getHighestPossibleIntegerValue()>v2.getLowestPossibleIntegerValue()) {
 			setEvaluateThen(true);
 		} 
-		if (v1.getLowestPossibleIntegerValue()>=v2.getHighestPossibleIntegerValue()) {
+		if (v1.getLowestPossibleIntegerValue()<=v2.getHighestPossibleIntegerValue()) {
 			setEvaluateElse(true);			
 		}
 		JAIDebug.print("Evaluated a if_icmpgt ", this);
@@ -2110,8 +3220,9 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIf_icmple() {
-		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		JAIAbstractValue v1 = stack.pop();
+		setBranchOperands(Opcode.IF_ICMPLE, v1, v2);
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (v1.getLowestPossibleIntegerValue()<=v2.getHighestPossibleIntegerValue()) {
@@ -2131,6 +3242,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIf_acmpeq() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		branchOperands = null;
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -2150,6 +3262,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	public JAIWorld evaluateIf_acmpne() {
 		JAIAbstractValue v1 = stack.pop();
 		JAIAbstractValue v2 = stack.pop();
+		branchOperands = null;
 		setEvaluateElse(false);
 		setEvaluateThen(false);
 		if (!v1.intersection(v2).isBottom()) {
@@ -2172,11 +3285,13 @@ public class JAIMinimalWorld extends JAIWorld {
 	}
 
 	/**
-	 * Evaluates a jsr
+	 * Evaluates a jsr: the return address is pushed on the stack.
+	 * @param returnIndex the index following the jsr.
 	 * @return the new state of the abstract world.
 	 */	
-	public JAIWorld evaluateJsr() {
+	public JAIWorld evaluateJsr(int returnIndex) {
 		JAIDebug.print("Evaluated a jsr ", this);
+		stack.push(factory.intern(factory.generateReturnAddressAbstractValue(returnIndex)));
 		return this;
 	}
 
@@ -2194,6 +3309,9 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateTableswitch() {
+		switchSelector = stack.pop();
+		setEvaluateThen(true);
+		setEvaluateElse(true);
 		JAIDebug.print("Evaluated a tableswitch ", this);
 		return this;
 	}
@@ -2203,6 +3321,9 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateLookupswitch() {
+		switchSelector = stack.pop();
+		setEvaluateThen(true);
+		setEvaluateElse(true);
 		JAIDebug.print("Evaluated a lookupswitch ", this);
 		return this;
 	}
@@ -2267,8 +3388,8 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateGetstatic(String staticFieldName) {
-		stack.push(factory.getStaticVariableAbstractValue(staticFieldName));
-		JAIDebug.print("Evaluated a getstatic on "+staticFieldName, this);
+		stack.push(getStaticField(staticFieldName));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluated a getstatic on "+staticFieldName, this);
 		return this;
 	}
 
@@ -2278,8 +3399,9 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluatePutstatic(String staticFieldName) {
-		factory.setStaticVariableAbstractValue(staticFieldName, stack.pop());
-		JAIDebug.print("Evaluated a putstatic on "+staticFieldName, this);
+		JAIAbstractValue value = stack.pop();
+		staticFields = staticFields.put(staticFieldName, value);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluated a putstatic on "+staticFieldName, this);
 		return this;
 	}
 
@@ -2289,8 +3411,32 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateGetfield(String fieldName) {
-		// TODO
-		JAIDebug.print("Evaluate a getfield "+fieldName, this);
+		JAIAbstractValue reference = stack.pop();
+		JAIAbstractValue v = null;
+		int []sites = reference.getAllocationSites();
+		if (reference.mayReferToUnknownObject()) {
+			// any object may be read, those allocated by the method included
+			v = getUnknownField(fieldName);
+			if (fields.containsKey(fieldName)) {
+				v = mergeValues(v, unwrittenField(fieldName, false), COMBINE, null);
+			}
+			sites = new int[heap.size()];
+			int i = 0;
+			for (Integer site: (heap.size()==0) ? NO_SITES : heap.keys()) {
+				sites[i++] = site;
+			}
+		}
+		for (int site: sites) {
+			JAIAbstractObject o = heap.get(site);
+			JAIAbstractValue fieldValue = (o==null) ? factory.getFieldAbstractValue(fieldName) : getField(o, fieldName);
+			v = (v==null) ? fieldValue : mergeValues(v, fieldValue, COMBINE, null);
+		}
+		if (v==null) {
+			// the reference is null, the path throws a NullPointerException
+			v = factory.getFieldAbstractValue(fieldName);
+		}
+		stack.push(factory.intern(v));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluated a getfield "+fieldName+" of "+reference, this);
 		return this;
 	}
 
@@ -2300,8 +3446,25 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluatePutfield(String fieldName) {
-		// TODO
-		JAIDebug.print("Evaluate a putfield "+fieldName, this);
+		JAIAbstractValue value = stack.pop();
+		JAIAbstractValue reference = stack.pop();
+		int []sites = reference.getAllocationSites();
+		if (reference.mayReferToUnknownObject()) {
+			// any object may be written, those allocated by the method included
+			fields = fields.put(fieldName, factory.intern(mergeValues(getUnknownField(fieldName), value, COMBINE, null)));
+			for (Integer site: (heap.size()==0) ? NO_SITES : heap.keys()) {
+				heap = heap.put(site, writeField(heap.get(site), fieldName, value, false));
+			}
+		} else {
+			for (int site: sites) {
+				JAIAbstractObject o = heap.get(site);
+				if (o!=null) {
+					// a single object is written: its previous value is replaced
+					heap = heap.put(site, writeField(o, fieldName, value, sites.length==1 && !o.isSummary()));
+				}
+			}
+		}
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluated a putfield "+fieldName+" of "+reference, this);
 		return this;
 	}
 
@@ -2357,39 +3520,173 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateNew(String classInfo) {
 		// TODO
-		JAIDebug.print("Evaluate a new "+classInfo, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a new "+classInfo, this);
+		return this;
+	}
+
+	/**
+	 * Evaluates a new: the object is added to the heap and a reference to it is pushed.
+	 * When the site already allocated an object on this path, the object of the site
+	 * becomes a summary of both, whose fields may also have their default values.
+	 * @param classInfo The name of the class whose instance is created.
+	 * @param site the index of the new instruction.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateNew(String classInfo, int site) {
+		allocate(site, classInfo, null, false);
+		stack.push(factory.intern(factory.generateReferenceAbstractValue(site)));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluated a new "+classInfo+" at "+site, this);
 		return this;
 	}
 
 	/**
-	 * Evaluates a newarray
-	 * @param typeInfo the type of the new array
+	 * Adds an object or an array to the heap. When the site already allocated an object
+	 * on this path, the object of the site becomes a summary of both, whose fields may
+	 * also have their default values and whose elements may also be the new ones.
+	 * @param site the allocation site.
+	 * @param className the name of the class of the object, the descriptor of the type of an array.
+	 * @param array the length and the elements of the array, null for an object.
+	 * @param summary true if the site allocates several objects at once.
+	 */
+	private void allocate(int site, String className, JAIAbstractValue array, boolean summary) {
+		JAIAbstractObject o = heap.get(site);
+		if (o==null) {
+			o = new JAIAbstractObject(site, className, summary, false, JAIPersistentMap.<String,JAIAbstractValue>empty(), array);
+		} else {
+			if (!o.isSummary()) {
+				JAIPersistentMap<String,JAIAbstractValue> objectFields = o.getFields();
+				for (String name: objectFields.keys()) {
+					objectFields = objectFields.put(name, factory.intern(mergeValues(objectFields.get(name), defaultValue(name), COMBINE, null)));
+				}
+				o = o.toSummary(objectFields);
+			}
+			if (array!=null && o.getArray()!=null) {
+				o = o.withArray(mergeValues(o.getArray(), array, COMBINE, null));
+			}
+		}
+		heap = heap.put(site, o);
+	}
+
+	/**
+	 * Evaluates a newarray whose allocation site is not known: the length is popped and
+	 * a reference to an unknown array is pushed.
+	 * @param typeInfo the type of the elements of the new array
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateNewarray(String typeInfo) {
-		// TODO
-		JAIDebug.print("Evaluate a newarray "+typeInfo, this);
+		return evaluateNewarray(typeInfo, -1);
+	}
+
+	/**
+	 * Evaluates a newarray: the length is popped, the new array is added to the heap
+	 * and a reference to it is pushed.
+	 * @param typeInfo the type of the elements of the new array
+	 * @param site the index of the newarray instruction.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateNewarray(String typeInfo, int site) {
+		newArray("["+typeInfo, 1, site);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluated a newarray "+typeInfo+" at "+site, this);
 		return this;
 	}
 
 	/**
-	 * Evaluates a anewarray
+	 * Evaluates a anewarray whose allocation site is not known: the length is popped and
+	 * a reference to an unknown array is pushed.
 	 * @param classInfo The name of the class whose array is created.
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateAnewarray(String classInfo) {
-		// TODO
-		JAIDebug.print("Evaluate a anewarray "+classInfo, this,true);
+		return evaluateAnewarray(classInfo, -1);
+	}
+
+	/**
+	 * Evaluates a anewarray: the length is popped, the new array is added to the heap
+	 * and a reference to it is pushed.
+	 * @param classInfo The name of the class whose array is created.
+	 * @param site the index of the anewarray instruction.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateAnewarray(String classInfo, int site) {
+		// the name of an array class is its descriptor
+		newArray(classInfo.startsWith("[") ? "["+classInfo : "[L"+classInfo.replace('.', '/')+";", 1, site);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluated a anewarray "+classInfo+" at "+site, this);
 		return this;
 	}
 
 	/**
-	 * Evaluates a arraylength
+	 * Returns the allocation site of the arrays of a dimension of a multianewarray. The
+	 * indexes of the instructions are not negative, so the arrays held by the new array
+	 * get negative sites.
+	 * @param site the index of the multianewarray instruction.
+	 * @param dimension the dimension (1 for the arrays held by the new array).
+	 * @return the allocation site.
+	 */
+	private static int innerSite(int site, int dimension) {
+		return -(site*256+dimension);
+	}
+
+	/**
+	 * Pops the lengths of the first dimensions of a new array, adds the arrays of each
+	 * dimension to the heap and pushes a reference to the new array. The arrays of the
+	 * other dimensions stand for several arrays each.
+	 * @param type the descriptor of the type of the array.
+	 * @param dimensions the number of lengths.
+	 * @param site the index of the instruction, negative if it is not known.
+	 */
+	private void newArray(String type, int dimensions, int site) {
+		JAIAbstractValue []lengths = new JAIAbstractValue[dimensions];
+		for (int i = dimensions-1; i>=0; i--) {
+			lengths[i] = stack.pop();
+		}
+		JAIAbstractValue reference = null;
+		try {
+			// the last dimension first, the elements of the others refer to the next one
+			for (int d = dimensions-1; d>=0 && site>=0; d--) {
+				String arrayType = type.substring(d);
+				JAIAbstractValue elements = (reference!=null) ? reference : factory.intern(factory.generateDefaultAbstractValue(arrayType.substring(1)));
+				JAIAbstractValue array = factory.generateArrayAbstractValue(arrayType, lengths[d], elements);
+				int arraySite = (d==0) ? site : innerSite(site, d);
+				allocate(arraySite, arrayType, array, d>0);
+				reference = factory.intern(factory.generateReferenceAbstractValue(arraySite));
+			}
+		} catch (JAIAbstractValueException e) {
+			reference = null;
+		}
+		stack.push((reference!=null && site>=0) ? reference : factory.intern(factory.generateTopAbstractValue(type)));
+	}
+
+	/**
+	 * Evaluates a arraylength: the reference to an array is popped and the lengths of
+	 * the arrays it may refer to are pushed.
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateArraylength() {
-		// TODO
-		JAIDebug.print("Evaluate a arraylength ", this);
+		JAIAbstractValue array = stack.pop();
+		JAIAbstractValue anyLength = atLeast(factory.intern(factory.generateTopAbstractValue("I")), 0);
+		JAIAbstractValue length = null;
+		if (array.mayReferToUnknownObject()) {
+			length = anyLength;
+		} else {
+			for (int site: array.getAllocationSites()) {
+				JAIAbstractObject o = heap.get(site);
+				JAIAbstractValue l = anyLength;
+				if (o!=null && o.getArray()!=null) {
+					try {
+						l = o.getArray().getArrayLength();
+					} catch (JAIAbstractValueException e) {
+						// the length is not represented
+					}
+				}
+				length = (length==null) ? l : mergeValues(length, l, COMBINE, null);
+			}
+		}
+		if (length==null) {
+			// the reference is null, the path throws a NullPointerException
+			length = anyLength;
+		}
+		stack.push(factory.intern(length));
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Pushed the length "+length+" of "+array+" on the stack", this);
 		return this;
 	}
 
@@ -2403,6 +3700,46 @@ public class JAIMinimalWorld extends JAIWorld {
 		return this;
 	}
 
+	/**
+	 * Returns the classes of the objects the exception may be, from their allocation sites.
+	 * Throwing null throws a NullPointerException.
+	 * 
+	 * @see jabsint.JAIWorld#getThrownClasses()
+	 */
+	public String[] getThrownClasses() {
+		JAIAbstractValue thrown = stack.peek();
+		if (thrown.mayReferToUnknownObject()) {
+			return null;
+		}
+		ArrayList<String> classes = new ArrayList<String>();
+		for (int site: thrown.getAllocationSites()) {
+			JAIAbstractObject o = heap.get(site);
+			if (o==null) {
+				return null;
+			}
+			if (!classes.contains(o.getClassName())) {
+				classes.add(o.getClassName());
+			}
+		}
+		if (!thrown.intersection(factory.generateNullAbstractValue()).isBottom()) {
+			classes.add(NULL_POINTER_EXCEPTION);
+		}
+		return classes.toArray(new String[classes.size()]);
+	}
+
+	/**
+	 * Evaluates the entry in an exception handler: the stack is emptied and the
+	 * exception caught is pushed on it.
+	 * @param catchType the class of the exceptions caught, null for all exceptions.
+	 * @return the new state of the abstract world.
+	 */
+	public JAIWorld evaluateExceptionHandler(String catchType) {
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate the entry in a handler of "+catchType, this);
+		stack.clear();
+		stack.push(factory.intern(factory.generateExceptionAbstractValue(catchType)));
+		return this;
+	}
+
 	/**
 	 * Evaluates a checkcast
 	 * @param typeCast the type in which we want to cast the instance.
@@ -2410,7 +3747,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateCheckcast(String typeCast) {
 		// TODO
-		JAIDebug.print("Evaluate a checkcast "+typeCast, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a checkcast "+typeCast, this);
 		return this;
 	}
 
@@ -2421,7 +3758,7 @@ public class JAIMinimalWorld extends JAIWorld {
 	 */	
 	public JAIWorld evaluateInstanceof(String type) {
 		// TODO
-		JAIDebug.print("Evaluate a instanceof "+type, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a instanceof "+type, this);
 		return this;
 	}
 
@@ -2455,14 +3792,27 @@ public class JAIMinimalWorld extends JAIWorld {
 	}
 
 	/**
-	 * Evaluates a multianewarray
+	 * Evaluates a multianewarray whose allocation site is not known: the lengths are
+	 * popped and a reference to an unknown array is pushed.
 	 * @param type type of the cells of the new array
 	 * @param dimensions the number of dimensions of the new array.
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateMultianewarray(String type, int dimensions) {
-		// TODO
-		JAIDebug.print("Evaluate a multianewarray of "+type+", of "+dimensions+" dimensions", this, true);
+		return evaluateMultianewarray(type, dimensions, -1);
+	}
+
+	/**
+	 * Evaluates a multianewarray: the lengths are popped, the arrays are added to the heap
+	 * and a reference to the new array is pushed.
+	 * @param type type of the cells of the new array
+	 * @param dimensions the number of dimensions of the new array.
+	 * @param site the index of the multianewarray instruction.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateMultianewarray(String type, int dimensions, int site) {
+		newArray(type.replace('.', '/'), dimensions, site);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluated a multianewarray of "+type+", of "+dimensions+" dimensions at "+site, this);
 		return this;
 	}
 
@@ -2471,8 +3821,18 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIfnull() {
-		// TODO
-		JAIDebug.print("Evaluate a ifnull ", this);
+		JAIAbstractValue v1 = stack.pop();
+		JAIAbstractValue v2 = factory.generateNullAbstractValue();
+		branchOperands = null;
+		setEvaluateElse(false);
+		setEvaluateThen(false);
+		if (!v1.intersection(v2).isBottom()) {
+			setEvaluateThen(true);
+		} 
+		if (!v1.minus(v2).isBottom()) {
+			setEvaluateElse(true);			
+		}
+		JAIDebug.print("Evaluated a ifnull ", this);
 		return this;
 	}
 
@@ -2481,8 +3841,18 @@ public class JAIMinimalWorld extends JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateIfnonnull() {
-		// TODO
-		JAIDebug.print("Evaluate a ifnonnull ", this);
+		JAIAbstractValue v1 = stack.pop();
+		JAIAbstractValue v2 = factory.generateNullAbstractValue();
+		branchOperands = null;
+		setEvaluateElse(false);
+		setEvaluateThen(false);
+		if (!v1.intersection(v2).isBottom()) {
+			setEvaluateElse(true);
+		} 
+		if (!v1.minus(v2).isBottom()) {
+			setEvaluateThen(true);			
+		}
+		JAIDebug.print("Evaluated a ifnonnull ", this);
 		return this;
 	}
 
@@ -2496,11 +3866,13 @@ public class JAIMinimalWorld extends JAIWorld {
 	}
 
 	/**
-	 * Evaluates a jsr_w
+	 * Evaluates a jsr_w: the return address is pushed on the stack.
+	 * @param returnIndex the index following the jsr_w.
 	 * @return the new state of the abstract world.
 	 */	
-	public JAIWorld evaluateJsr_w() {
+	public JAIWorld evaluateJsr_w(int returnIndex) {
 		JAIDebug.print("Evaluated a jsr_w ", this);
+		stack.push(factory.intern(factory.generateReturnAddressAbstractValue(returnIndex)));
 		return this;
 	}
 
@@ -0,0 +1,276 @@
+package jabsint;
+
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javassist.CtMethod;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.CodeAttribute;
+
+/**
+ * This class represents an abstract interpreter that explores the paths of the method
+ * in parallel. Each branch is a task of a ForkJoinPool, interpreted from its own copy
+ * of the world, in its own context (see {@link JAIRunContext}). The worlds of the paths leaving the method are
+ * collected in a lock-free queue shared by the contexts of the paths, and combined at
+ * the end, as the sequential interpreter does.
+ * <p>
+ * Branches starting less than a given number of bytes before the end of the code
+ * (the sequential cutoff) are interpreted right away by the path reaching them, since
+ * forking a task costs more than interpreting them.
+ * <p>
+ * When a path fails (for example because the deadline passed), the other paths of the
+ * run stop at their next branch and the interpretation throws the exception of the
+ * first failure, once the paths it forked have stopped. Handlers are interpreted in
+ * parallel too, after the paths that throw exceptions to them. Paths cannot be merged
+ * at join points and there is no path budget: setting them throws an
+ * IllegalStateException. Calls are summarized by sequential interpreters.
+ */
+public class JAIParallelInterpreter extends JAIAbstractInterpreter {
+
+	/**
+	 * The default sequential cutoff, in bytes of code.
+	 */
+	public static final int DEFAULT_SEQUENTIAL_CUTOFF = 64;
+
+	/**
+	 * This class represents the context of a path. The results and the first failure
+	 * are shared by all the paths of a run, the tasks forked are those of the path.
+	 */
+	private static class JAIPathContext extends JAIRunContext {
+		private final int codeLength;
+		private final AtomicReference<Throwable> failure;
+		private ArrayList<JAIPathTask> forkedTasks = null;
+
+		public JAIPathContext(JAIRunContext run, int codeLength, AtomicReference<Throwable> failure) {
+			super(run);
+			this.codeLength = codeLength;
+			this.failure = failure;
+		}
+	}
+
+	/**
+	 * This class represents the interpretation of a path from an index of the code.
+	 */
+	@SuppressWarnings("serial")
+	private static class JAIPathTask extends RecursiveTask<JAIWorld> {
+		private final JAIParallelInterpreter interpreter;
+		private final JAIPathContext path;
+		private final JAIWorld world;
+		private final int index;
+
+		public JAIPathTask(JAIParallelInterpreter interpreter, JAIPathContext path, JAIWorld world, int index) {
+			this.interpreter = interpreter;
+			this.path = path;
+			this.world = world;
+			this.index = index;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveTask#compute()
+		 */
+		protected JAIWorld compute() {
+			return interpreter.interpretPath(path, world, index);
+		}
+	}
+
+	/**
+	 * The pool on which paths are interpreted.
+	 */
+	private ForkJoinPool pool;
+
+	/**
+	 * The number of bytes before the end of the code under which branches are not forked.
+	 */
+	private int sequentialCutoff = DEFAULT_SEQUENTIAL_CUTOFF;
+
+	/**
+	 * Simple constructor for the given method, using the common pool.
+	 *
+	 * @param m the method to interpret.
+	 */
+	public JAIParallelInterpreter(CtMethod m) {
+		this(m, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Simple constructor for the given method.
+	 *
+	 * @param m the method to interpret.
+	 * @param pool the pool on which paths are interpreted.
+	 */
+	public JAIParallelInterpreter(CtMethod m, ForkJoinPool pool) {
+		super(m);
+		this.pool = pool;
+	}
+
+	/**
+	 * @return the pool on which paths are interpreted.
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * @return the number of bytes before the end of the code under which branches are not forked.
+	 */
+	public int getSequentialCutoff() {
+		return sequentialCutoff;
+	}
+
+	/**
+	 * @param sequentialCutoff the number of bytes before the end of the code under which branches are not forked.
+	 */
+	public void setSequentialCutoff(int sequentialCutoff) {
+		this.sequentialCutoff = sequentialCutoff;
+	}
+
+	/**
+	 * Paths are not merged at join points by the parallel interpreter.
+	 *
+	 * @see jabsint.JAIAbstractInterpreter#setMergingAtJoinPoints(boolean)
+	 * @throws IllegalStateException if mergingAtJoinPoints is true.
+	 */
+	public void setMergingAtJoinPoints(boolean mergingAtJoinPoints) {
+		if (mergingAtJoinPoints) {
+			throw new IllegalStateException("The parallel interpreter does not merge paths at join points");
+		}
+		super.setMergingAtJoinPoints(false);
+	}
+
+	/**
+	 * The parallel interpreter has no path budget.
+	 *
+	 * @see jabsint.JAIAbstractInterpreter#setPathBudget(jabsint.JAIPathBudget)
+	 * @throws IllegalStateException if pathBudget is not null.
+	 */
+	public void setPathBudget(JAIPathBudget pathBudget) {
+		if (pathBudget!=null) {
+			throw new IllegalStateException("The parallel interpreter does not apply path budgets");
+		}
+		super.setPathBudget(null);
+	}
+
+	/**
+	 * Method that interprets the method on a given world, exploring its paths in parallel.
+	 *
+	 * @param world the world on which to interpret.
+	 * @return the interpreted world.
+	 */
+	public JAIWorld interpret(JAIWorld world) {
+		JAIControlFlowGraph graph;
+		try {
+			graph = getControlFlowGraph();
+		} catch (BadBytecode e) {
+			return world;
+		}
+		CodeAttribute ca = getM().getMethodInfo2().getCodeAttribute();
+		world.setFrameSize(ca.getMaxStack(), ca.getMaxLocals());
+		ConcurrentLinkedQueue<JAIWorld> results = new ConcurrentLinkedQueue<JAIWorld>();
+		JAIPathContext path = new JAIPathContext(new JAIRunContext(results, null, null), ca.getCodeLength(),
+				new AtomicReference<Throwable>());
+		JAIWorld resultWorld;
+		try {
+			resultWorld = pool.invoke(new JAIPathTask(this, path, world, 0));
+			// the handlers are interpreted once all the exceptions thrown to them are known
+			for (int handlerState = path.nextPendingHandler(); handlerState>=0; handlerState = path.nextPendingHandler()) {
+				pool.invoke(new JAIPathTask(this, new JAIPathContext(path, path.codeLength, path.failure),
+						path.getExceptionalWorld(handlerState), graph.getIndexOfState(handlerState)));
+			}
+		} catch (RuntimeException | Error e) {
+			// the pool may throw a copy of the exception or the cancellation of another path
+			Throwable failure = path.failure.get();
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException)failure;
+			}
+			if (failure instanceof Error) {
+				throw (Error)failure;
+			}
+			throw e;
+		}
+		for (JAIWorld w: results) {
+			resultWorld = (resultWorld==null) ? w : resultWorld.combineWith(w);
+		}
+		setLastContext(path);
+		if (JAIDebug.isEnabled(JAIDebug.INFO, this)) JAIDebug.print(JAIDebug.INFO, "Number of paths: "+results.size(), this);
+		return resultWorld;
+	}
+
+	/**
+	 * Interprets a path in its context and waits for the paths it forked, even when it
+	 * fails, so that no path of the run is still running once the run has failed.
+	 *
+	 * @param path the context of the path.
+	 * @param world the world at the start of the path.
+	 * @param index the index at which the path starts.
+	 * @return the world at the end of the path.
+	 */
+	private JAIWorld interpretPath(JAIPathContext path, JAIWorld world, int index) {
+		if (path.failure.get()!=null) {
+			return null;
+		}
+		JAIWorld resultWorld;
+		// the thread may be joining another path of this method, whose context is restored after
+		JAIRunContext previous = enterContext(path);
+		try {
+			resultWorld = interpretFrom(world, index);
+		} catch (RuntimeException | Error e) {
+			path.failure.compareAndSet(null, e);
+			throw e;
+		} finally {
+			exitContext(previous);
+			awaitForkedTasks(path);
+		}
+		if (path.failure.get()!=null) {
+			throw new CancellationException("Another path of "+getMethodDescriptor()+" failed");
+		}
+		return resultWorld;
+	}
+
+	/**
+	 * Waits for the tasks forked by a path. Once a path of the run has failed, the tasks
+	 * that have not started are cancelled.
+	 *
+	 * @param path the context of the path.
+	 */
+	private void awaitForkedTasks(JAIPathContext path) {
+		if (path.forkedTasks==null) {
+			return;
+		}
+		// the last tasks forked are the most likely to still be in the queue of this thread
+		for (int i = path.forkedTasks.size()-1; i>=0; i--) {
+			JAIPathTask task = path.forkedTasks.get(i);
+			if (path.failure.get()!=null) {
+				task.cancel(false);
+			}
+			// the failures of the tasks are in path.failure
+			task.quietlyJoin();
+		}
+		path.forkedTasks = null;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractInterpreter#forkPath(jabsint.JAIWorld, int)
+	 */
+	protected void forkPath(JAIWorld world, int index) {
+		JAIRunContext run = getContext();
+		if (!(run instanceof JAIPathContext) || ((JAIPathContext)run).codeLength-index<sequentialCutoff) {
+			super.forkPath(world, index);
+			return;
+		}
+		JAIPathContext path = (JAIPathContext)run;
+		if (path.failure.get()!=null) {
+			throw new CancellationException("Another path of "+getMethodDescriptor()+" failed");
+		}
+		JAIPathTask task = new JAIPathTask(this, new JAIPathContext(path, path.codeLength, path.failure), world, index);
+		if (path.forkedTasks==null) {
+			path.forkedTasks = new ArrayList<JAIPathTask>();
+		}
+		path.forkedTasks.add(task);
+		task.fork();
+	}
+
+}
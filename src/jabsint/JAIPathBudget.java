@@ -0,0 +1,129 @@
+package jabsint;
+
+/**
+ * This class represents the limits of a path-sensitive interpretation: the number of
+ * paths explored, the number of instructions interpreted and the time spent. When one
+ * of them is reached, the interpreter degrades the interpretation according to a policy:
+ * <ul>
+ * <li>JOIN_WITH_TOP: no new path is explored and the paths being interpreted end at
+ * their next instruction, as if they returned any value; the result is joined with top
+ * (all its values become top).</li>
+ * <li>MERGE_AT_JOIN_POINTS: the paths continue but are merged at join points from then
+ * on (see {@link JAIStateTable}).</li>
+ * <li>ABORT: all the paths stop and the result is the combination of the paths that
+ * finished (partial, null if none did).</li>
+ * </ul>
+ * The limits on paths and instructions are reached at the same point of each run, so the
+ * degraded result of a method is always the same; the limit on time is not.
+ */
+public class JAIPathBudget {
+
+	/**
+	 * The degradation policies.
+	 */
+	public static final int JOIN_WITH_TOP = 0;
+	public static final int MERGE_AT_JOIN_POINTS = 1;
+	public static final int ABORT = 2;
+
+	/**
+	 * The names of the policies.
+	 */
+	private static final String []POLICY_NAMES = {"join with top", "merge at join points", "abort"};
+
+	/**
+	 * The maximum number of paths, 0 for no limit.
+	 */
+	private final long maximumPaths;
+
+	/**
+	 * The maximum number of instructions, 0 for no limit.
+	 */
+	private final long maximumInstructions;
+
+	/**
+	 * The maximum time in milliseconds, 0 for no limit.
+	 */
+	private final long maximumTime;
+
+	/**
+	 * The policy applied when a limit is reached.
+	 */
+	private final int policy;
+
+	/**
+	 * Creates a budget.
+	 *
+	 * @param maximumPaths the maximum number of paths, 0 for no limit.
+	 * @param maximumInstructions the maximum number of instructions, 0 for no limit.
+	 * @param maximumTime the maximum time in milliseconds, 0 for no limit.
+	 * @param policy JOIN_WITH_TOP, MERGE_AT_JOIN_POINTS or ABORT.
+	 */
+	public JAIPathBudget(long maximumPaths, long maximumInstructions, long maximumTime, int policy) {
+		if (policy<JOIN_WITH_TOP || policy>ABORT) {
+			throw new IllegalArgumentException("Unknown policy "+policy);
+		}
+		this.maximumPaths = maximumPaths;
+		this.maximumInstructions = maximumInstructions;
+		this.maximumTime = maximumTime;
+		this.policy = policy;
+	}
+
+	/**
+	 * @return the maximum number of paths, 0 for no limit.
+	 */
+	public long getMaximumPaths() {
+		return maximumPaths;
+	}
+
+	/**
+	 * @return the maximum number of instructions, 0 for no limit.
+	 */
+	public long getMaximumInstructions() {
+		return maximumInstructions;
+	}
+
+	/**
+	 * @return the maximum time in milliseconds, 0 for no limit.
+	 */
+	public long getMaximumTime() {
+		return maximumTime;
+	}
+
+	/**
+	 * @return the policy applied when a limit is reached.
+	 */
+	public int getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Returns the name of a policy.
+	 *
+	 * @param policy the policy.
+	 * @return its name.
+	 */
+	public static String getPolicyName(int policy) {
+		return POLICY_NAMES[policy];
+	}
+
+	/**
+	 * Returns the policy with a given name (top, merge or abort).
+	 *
+	 * @param name the name.
+	 * @return the policy.
+	 */
+	public static int parsePolicy(String name) {
+		if (name.equals("top")) return JOIN_WITH_TOP;
+		if (name.equals("merge")) return MERGE_AT_JOIN_POINTS;
+		if (name.equals("abort")) return ABORT;
+		throw new IllegalArgumentException("Unknown policy "+name);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return "paths<="+maximumPaths+", instructions<="+maximumInstructions+", time<="+maximumTime+" ms, then "+getPolicyName(policy);
+	}
+
+}
@@ -0,0 +1,140 @@
+package jabsint;
+
+/**
+ * This class represents the statistics of a path-sensitive interpretation of a method:
+ * the paths explored, the instructions interpreted, the time spent, the paths stopped at
+ * join points, and the limit of the budget that was reached, if any.
+ */
+public class JAIPathStatistics {
+
+	/**
+	 * The descriptor of the method interpreted (class/name:type).
+	 */
+	private final String methodDescriptor;
+
+	/**
+	 * The numbers of paths started and of instructions interpreted.
+	 */
+	long numberOfPaths = 0, numberOfInstructions = 0;
+
+	/**
+	 * The time at which the interpretation started, as given by System.nanoTime().
+	 */
+	final long start = System.nanoTime();
+
+	/**
+	 * The duration of the interpretation in nanoseconds.
+	 */
+	private long time = 0;
+
+	/**
+	 * The limit reached (paths, instructions or time), null if none was.
+	 */
+	private String exhaustedLimit = null;
+
+	/**
+	 * The policy applied when the limit was reached.
+	 */
+	private int policy = -1;
+
+	/**
+	 * The number of paths stopped at join points.
+	 */
+	private long numberOfMergedPaths = 0;
+
+	/**
+	 * Creates the statistics of an interpretation that starts.
+	 *
+	 * @param methodDescriptor the descriptor of the method interpreted.
+	 */
+	public JAIPathStatistics(String methodDescriptor) {
+		this.methodDescriptor = methodDescriptor;
+	}
+
+	/**
+	 * Records that a limit was reached.
+	 *
+	 * @param limit the limit (paths, instructions or time).
+	 * @param policy the policy applied.
+	 */
+	void exhausted(String limit, int policy) {
+		this.exhaustedLimit = limit;
+		this.policy = policy;
+	}
+
+	/**
+	 * Records the end of the interpretation.
+	 *
+	 * @param stateTable the worlds at join points, null if paths were not merged.
+	 */
+	void finished(JAIStateTable stateTable) {
+		time = System.nanoTime()-start;
+		numberOfMergedPaths = (stateTable==null) ? 0 : stateTable.getNumberOfSubsumedPaths();
+	}
+
+	/**
+	 * @return the descriptor of the method interpreted (class/name:type).
+	 */
+	public String getMethodDescriptor() {
+		return methodDescriptor;
+	}
+
+	/**
+	 * @return the number of paths started.
+	 */
+	public long getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	/**
+	 * @return the number of instructions interpreted.
+	 */
+	public long getNumberOfInstructions() {
+		return numberOfInstructions;
+	}
+
+	/**
+	 * @return the duration of the interpretation in nanoseconds.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * @return the number of paths stopped at join points because an earlier world included theirs.
+	 */
+	public long getNumberOfMergedPaths() {
+		return numberOfMergedPaths;
+	}
+
+	/**
+	 * @return true if a limit of the budget was reached.
+	 */
+	public boolean isDegraded() {
+		return exhaustedLimit!=null;
+	}
+
+	/**
+	 * @return the limit reached (paths, instructions or time), null if none was.
+	 */
+	public String getExhaustedLimit() {
+		return exhaustedLimit;
+	}
+
+	/**
+	 * @return the policy applied when the limit was reached, -1 if none was.
+	 */
+	public int getPolicy() {
+		return policy;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return methodDescriptor+": "+numberOfPaths+" paths, "+numberOfInstructions+" instructions, "
+				+numberOfMergedPaths+" merged, "+(time/1000)+" us"
+				+(isDegraded() ? ", "+exhaustedLimit+" limit reached ("+JAIPathBudget.getPolicyName(policy)+")" : "");
+	}
+
+}
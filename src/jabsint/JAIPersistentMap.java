@@ -0,0 +1,301 @@
+package jabsint;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * This class represents an immutable map implemented as a hash array mapped trie.
+ * Adding a key copies only the nodes on the path to that key, the rest of the trie
+ * is shared with the original map. Copying a map is therefore free.
+ */
+public final class JAIPersistentMap<K,V> {
+
+	/**
+	 * Returned by nodes when a key is absent (values may be null).
+	 */
+	private static final Object NOT_FOUND = new Object();
+
+	/**
+	 * The empty map.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final JAIPersistentMap EMPTY = new JAIPersistentMap<Object,Object>(null, 0);
+
+	/**
+	 * The root of the trie (null for the empty map).
+	 */
+	private final Node root;
+
+	/**
+	 * The number of keys.
+	 */
+	private final int size;
+
+	/**
+	 * Creates a map.
+	 *
+	 * @param root the root of the trie.
+	 * @param size the number of keys.
+	 */
+	private JAIPersistentMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Returns the empty map.
+	 *
+	 * @return the empty map.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K,V> JAIPersistentMap<K,V> empty() {
+		return (JAIPersistentMap<K,V>) EMPTY;
+	}
+
+	/**
+	 * Creates a persistent map with the content of a map.
+	 *
+	 * @param map the map.
+	 * @return the persistent map.
+	 */
+	public static <K,V> JAIPersistentMap<K,V> fromMap(Map<K,V> map) {
+		JAIPersistentMap<K,V> result = empty();
+		for (Map.Entry<K,V> e: map.entrySet()) {
+			result = result.put(e.getKey(), e.getValue());
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of keys.
+	 *
+	 * @return the number of keys.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the value associated to a key.
+	 *
+	 * @param key the key.
+	 * @return the value or null if the key is absent.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if (root==null) return null;
+		Object v = root.get(0, hash(key), key);
+		return (v==NOT_FOUND) ? null : (V) v;
+	}
+
+	/**
+	 * Returns true if the map contains a key.
+	 *
+	 * @param key the key.
+	 * @return true if the key is present.
+	 */
+	public boolean containsKey(Object key) {
+		return root!=null && root.get(0, hash(key), key)!=NOT_FOUND;
+	}
+
+	/**
+	 * Returns a map associating a value to a key. This map is not modified.
+	 *
+	 * @param key the key.
+	 * @param value the value.
+	 * @return the new map (this map if the key already had this value).
+	 */
+	public JAIPersistentMap<K,V> put(K key, V value) {
+		boolean []added = new boolean[1];
+		Node r = (root==null) ? BitmapNode.EMPTY : root;
+		Node newRoot = r.put(0, hash(key), key, value, added);
+		if (newRoot==root) return this;
+		return new JAIPersistentMap<K,V>(newRoot, added[0] ? size+1 : size);
+	}
+
+	/**
+	 * Returns the keys of the map.
+	 *
+	 * @return the keys in no particular order.
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayList<K> keys() {
+		ArrayList<Object> keys = new ArrayList<Object>(size);
+		if (root!=null) root.collect(keys);
+		return (ArrayList<K>) keys;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (K k: keys()) {
+			if (sb.length()>1) sb.append(", ");
+			sb.append(k).append('=').append(get(k));
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Spreads the hash code of a key.
+	 *
+	 * @param key the key.
+	 * @return the hash.
+	 */
+	private static int hash(Object key) {
+		int h = (key==null) ? 0 : key.hashCode();
+		return h ^ (h>>>16);
+	}
+
+	/**
+	 * Compares two keys.
+	 */
+	private static boolean same(Object k1, Object k2) {
+		return (k1==k2) || (k1!=null && k1.equals(k2));
+	}
+
+	/**
+	 * A node of the trie.
+	 */
+	private static abstract class Node {
+		abstract Object get(int shift, int hash, Object key);
+		abstract Node put(int shift, int hash, Object key, Object value, boolean []added);
+		abstract void collect(ArrayList<Object> keys);
+	}
+
+	/**
+	 * A node indexed by 5 bits of the hash. For each bit set in the bitmap, the
+	 * array contains either a key and its value, or null and a sub-node.
+	 */
+	private static final class BitmapNode extends Node {
+		static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+		final int bitmap;
+		final Object []array;
+
+		BitmapNode(int bitmap, Object []array) {
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+
+		Object get(int shift, int hash, Object key) {
+			int bit = 1<<((hash>>>shift)&31);
+			if ((bitmap&bit)==0) return NOT_FOUND;
+			int i = 2*Integer.bitCount(bitmap&(bit-1));
+			Object k = array[i];
+			Object v = array[i+1];
+			if (k==null && v instanceof Node) return ((Node)v).get(shift+5, hash, key);
+			return same(k, key) ? v : NOT_FOUND;
+		}
+
+		Node put(int shift, int hash, Object key, Object value, boolean []added) {
+			int bit = 1<<((hash>>>shift)&31);
+			int i = 2*Integer.bitCount(bitmap&(bit-1));
+			if ((bitmap&bit)==0) {
+				Object []newArray = new Object[array.length+2];
+				System.arraycopy(array, 0, newArray, 0, i);
+				newArray[i] = key;
+				newArray[i+1] = value;
+				System.arraycopy(array, i, newArray, i+2, array.length-i);
+				added[0] = true;
+				return new BitmapNode(bitmap|bit, newArray);
+			}
+			Object k = array[i];
+			Object v = array[i+1];
+			Node n;
+			if (k==null && v instanceof Node) {
+				n = ((Node)v).put(shift+5, hash, key, value, added);
+				if (n==v) return this;
+				return with(i, null, n);
+			}
+			if (same(k, key)) {
+				if (v==value) return this;
+				return with(i, k, value);
+			}
+			added[0] = true;
+			return with(i, null, createNode(shift+5, k, v, hash, key, value));
+		}
+
+		/**
+		 * Returns a copy of this node with a different entry at i.
+		 */
+		private BitmapNode with(int i, Object key, Object value) {
+			Object []newArray = array.clone();
+			newArray[i] = key;
+			newArray[i+1] = value;
+			return new BitmapNode(bitmap, newArray);
+		}
+
+		void collect(ArrayList<Object> keys) {
+			for (int i = 0; i<array.length; i += 2) {
+				if (array[i]==null && array[i+1] instanceof Node) {
+					((Node)array[i+1]).collect(keys);
+				} else {
+					keys.add(array[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a node containing two keys.
+	 */
+	private static Node createNode(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+		int h1 = hash(k1);
+		if (h1==h2) {
+			return new CollisionNode(h1, new Object[]{k1, v1, k2, v2});
+		}
+		boolean []added = new boolean[1];
+		return BitmapNode.EMPTY.put(shift, h1, k1, v1, added).put(shift, h2, k2, v2, added);
+	}
+
+	/**
+	 * A node containing keys that have the same hash.
+	 */
+	private static final class CollisionNode extends Node {
+		final int hash;
+		final Object []array;
+
+		CollisionNode(int hash, Object []array) {
+			this.hash = hash;
+			this.array = array;
+		}
+
+		Object get(int shift, int hash, Object key) {
+			if (hash!=this.hash) return NOT_FOUND;
+			for (int i = 0; i<array.length; i += 2) {
+				if (same(array[i], key)) return array[i+1];
+			}
+			return NOT_FOUND;
+		}
+
+		Node put(int shift, int hash, Object key, Object value, boolean []added) {
+			if (hash!=this.hash) {
+				BitmapNode parent = new BitmapNode(1<<((this.hash>>>shift)&31), new Object[]{null, this});
+				return parent.put(shift, hash, key, value, added);
+			}
+			for (int i = 0; i<array.length; i += 2) {
+				if (same(array[i], key)) {
+					if (array[i+1]==value) return this;
+					Object []newArray = array.clone();
+					newArray[i+1] = value;
+					return new CollisionNode(hash, newArray);
+				}
+			}
+			Object []newArray = new Object[array.length+2];
+			System.arraycopy(array, 0, newArray, 0, array.length);
+			newArray[array.length] = key;
+			newArray[array.length+1] = value;
+			added[0] = true;
+			return new CollisionNode(hash, newArray);
+		}
+
+		void collect(ArrayList<Object> keys) {
+			for (int i = 0; i<array.length; i += 2) {
+				keys.add(array[i]);
+			}
+		}
+	}
+
+}
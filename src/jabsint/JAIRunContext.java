@@ -0,0 +1,263 @@
+package jabsint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+/**
+ * This class represents the state of one interpretation of a method: the worlds of the
+ * paths that left the method, by returning or by throwing an exception, the worlds at join points, the statistics of the run, the
+ * worlds of the exceptions thrown to each handler, and the count of instructions before
+ * the deadline is checked again. The subroutine context of a path is carried by its
+ * world (see {@link JAIWorld#getSubroutineContext()}). Keeping this state out of the
+ * interpreter lets an interpreter be used for several interpretations, one after the
+ * other or at the same time by several threads (see {@link JAIAbstractInterpreter#getContext()}).
+ * A context is used by one thread at a time.
+ */
+public class JAIRunContext {
+
+	/**
+	 * The worlds of the paths that left the method.
+	 */
+	private final Collection<JAIWorld> results;
+
+	/**
+	 * The worlds of the paths that left the method by throwing an exception. They are
+	 * shared by the contexts of the paths of a run, and locked on.
+	 */
+	private final ArrayList<JAIWorld> thrownResults;
+
+	/**
+	 * The worlds at the join points (null if paths are not merged).
+	 */
+	private JAIStateTable stateTable;
+
+	/**
+	 * The statistics of the run (null if they are not kept).
+	 */
+	private final JAIPathStatistics statistics;
+
+	/**
+	 * The combination of the worlds of the exceptions thrown to each handler, by state index
+	 * of the handler (see {@link JAIControlFlowGraph#getStateIndex(int, int)}). They are
+	 * shared by the contexts of the paths of a run, and locked on.
+	 */
+	private final HashMap<Integer, JAIWorld> exceptionalWorlds;
+
+	/**
+	 * The number of times the world of each handler grew.
+	 */
+	private final HashMap<Integer, Integer> numberOfExceptionalJoins;
+
+	/**
+	 * The handlers whose world grew since they were last interpreted, the first in the code first.
+	 */
+	private final TreeSet<Integer> pendingHandlers;
+
+	/**
+	 * The context in which the summaries of the methods called are computed, null until
+	 * a call is interpreted (see {@link JAISummaryCache#contextOf(JAIAbstractInterpreter, JAIWorld)}).
+	 */
+	private volatile Object summaryContext = null;
+
+	/**
+	 * The number of instructions to interpret before checking the deadline again.
+	 */
+	private int instructionsBeforeCheck = 0;
+
+	/**
+	 * The number of times the world of a handler is combined before being widened.
+	 */
+	private static final int WIDENING_DELAY = JAIStateTable.DEFAULT_WIDENING_DELAY;
+
+	/**
+	 * Creates the context of a run.
+	 *
+	 * @param results the collection in which the worlds of the paths leaving the method are kept.
+	 * @param stateTable the worlds at the join points, null if paths are not merged.
+	 * @param statistics the statistics of the run, null if they are not kept.
+	 */
+	public JAIRunContext(Collection<JAIWorld> results, JAIStateTable stateTable, JAIPathStatistics statistics) {
+		this.results = results;
+		this.stateTable = stateTable;
+		this.statistics = statistics;
+		this.thrownResults = new ArrayList<JAIWorld>();
+		this.exceptionalWorlds = new HashMap<Integer, JAIWorld>();
+		this.numberOfExceptionalJoins = new HashMap<Integer, Integer>();
+		this.pendingHandlers = new TreeSet<Integer>();
+	}
+
+	/**
+	 * Creates a context sharing the results, the exceptions thrown out of the method, the worlds at join points, the statistics and
+	 * the worlds of the handlers of another one.
+	 *
+	 * @param run the other context.
+	 */
+	protected JAIRunContext(JAIRunContext run) {
+		this.results = run.results;
+		this.stateTable = run.stateTable;
+		this.statistics = run.statistics;
+		this.thrownResults = run.thrownResults;
+		this.exceptionalWorlds = run.exceptionalWorlds;
+		this.numberOfExceptionalJoins = run.numberOfExceptionalJoins;
+		this.pendingHandlers = run.pendingHandlers;
+		this.summaryContext = run.summaryContext;
+	}
+
+	/**
+	 * @return the worlds of the paths that left the method.
+	 */
+	public Collection<JAIWorld> getResults() {
+		return results;
+	}
+
+	/**
+	 * Keeps the world of a path leaving the method.
+	 *
+	 * @param world the world.
+	 */
+	public void addResult(JAIWorld world) {
+		results.add(world);
+	}
+
+	/**
+	 * Keeps the world of a path leaving the method by throwing an exception.
+	 *
+	 * @param world the world, the exception on top of its stack.
+	 */
+	public void addThrownResult(JAIWorld world) {
+		synchronized (thrownResults) {
+			thrownResults.add(world);
+		}
+	}
+
+	/**
+	 * Forgets the worlds of the paths that left the method by throwing an exception, before
+	 * they are computed again.
+	 */
+	public void clearThrownResults() {
+		synchronized (thrownResults) {
+			thrownResults.clear();
+		}
+	}
+
+	/**
+	 * Returns the combination of the worlds of the paths that left the method by throwing
+	 * an exception.
+	 *
+	 * @return the combination, null if no exception left the method.
+	 */
+	public JAIWorld getThrownWorld() {
+		synchronized (thrownResults) {
+			JAIWorld thrownWorld = null;
+			for (JAIWorld w: thrownResults) {
+				thrownWorld = (thrownWorld==null) ? w : thrownWorld.combineWith(w);
+			}
+			return thrownWorld;
+		}
+	}
+
+	/**
+	 * @return the worlds at the join points, null if paths are not merged.
+	 */
+	public JAIStateTable getStateTable() {
+		return stateTable;
+	}
+
+	/**
+	 * @param stateTable the worlds at the join points, null if paths are not merged.
+	 */
+	public void setStateTable(JAIStateTable stateTable) {
+		this.stateTable = stateTable;
+	}
+
+	/**
+	 * @return the statistics of the run, null if they are not kept.
+	 */
+	public JAIPathStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Counts an instruction about to be interpreted and tells whether the deadline
+	 * should be checked (see {@link JAIAbstractInterpreter#setDeadline(long)}).
+	 *
+	 * @param instructionsBetweenChecks the number of instructions interpreted between two checks.
+	 * @return true once every instructionsBetweenChecks instructions, the first one included.
+	 */
+	public boolean isDeadlineCheckDue(int instructionsBetweenChecks) {
+		if (--instructionsBeforeCheck<0) {
+			instructionsBeforeCheck = instructionsBetweenChecks;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the context in which the summaries of the methods called are computed, null if it was not computed yet.
+	 */
+	public Object getSummaryContext() {
+		return summaryContext;
+	}
+
+	/**
+	 * @param summaryContext the context in which the summaries of the methods called are computed.
+	 */
+	public void setSummaryContext(Object summaryContext) {
+		this.summaryContext = summaryContext;
+	}
+
+	/**
+	 * Adds the world of an exception thrown to a handler. The handler is interpreted again
+	 * (see {@link #nextPendingHandler()}) if the world is not included in the worlds that
+	 * already reached it. Worlds are widened once they have been combined a few times, so
+	 * that exceptions thrown in loops stop growing them.
+	 *
+	 * @param handlerState the state index of the first instruction of the handler.
+	 * @param world the world at the entry of the handler (not shared with any other path).
+	 */
+	public void addExceptionalWorld(int handlerState, JAIWorld world) {
+		synchronized (exceptionalWorlds) {
+			JAIWorld state = exceptionalWorlds.get(handlerState);
+			if (state==null) {
+				exceptionalWorlds.put(handlerState, world);
+			} else if (state.subsumes(world)) {
+				return;
+			} else {
+				Integer joins = numberOfExceptionalJoins.get(handlerState);
+				int n = (joins==null) ? 1 : joins+1;
+				numberOfExceptionalJoins.put(handlerState, n);
+				exceptionalWorlds.put(handlerState, (n>WIDENING_DELAY) ? state.widenWith(world, null) : state.combineWith(world));
+			}
+			pendingHandlers.add(handlerState);
+		}
+	}
+
+	/**
+	 * Returns the first handler whose world grew since it was last interpreted and marks it
+	 * as interpreted.
+	 *
+	 * @return the state index of the handler, -1 if there is none.
+	 */
+	public int nextPendingHandler() {
+		synchronized (exceptionalWorlds) {
+			Integer handlerState = pendingHandlers.pollFirst();
+			return (handlerState==null) ? -1 : handlerState;
+		}
+	}
+
+	/**
+	 * Returns a copy of the combination of the worlds of the exceptions thrown to a handler.
+	 *
+	 * @param handlerState the state index of the first instruction of the handler.
+	 * @return the copy, null if no exception was thrown to the handler.
+	 */
+	public JAIWorld getExceptionalWorld(int handlerState) {
+		synchronized (exceptionalWorlds) {
+			JAIWorld state = exceptionalWorlds.get(handlerState);
+			return (state==null) ? null : state.copy();
+		}
+	}
+
+}
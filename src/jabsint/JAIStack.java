@@ -3,18 +3,21 @@ package jabsint;
 import java.util.Stack;
 
 /**
- * This class represents an abstract stack.
- * 
+ * This class represents an abstract stack. Values are kept in an array sized
+ * from the max_stack of the method, with their category (1 or 2) in a parallel
+ * array so that stack instructions do not need to ask the values for it.
+ *
  * @author Manuel Oriol (manuel@cs.york.ac.uk)
  * @date Aug 12, 2011
  *
  */
+@SuppressWarnings("rawtypes")
 public class JAIStack implements Cloneable{
-	
-	
+
+
 	/**
 	 * This class represents an exception linked to the stack.
-	 * 
+	 *
 	 * @author Manuel Oriol (manuel@cs.york.ac.uk)
 	 * @date Aug 12, 2011
 	 *
@@ -26,278 +29,405 @@ public class JAIStack implements Cloneable{
 			this.reason=reason;
 		}
 	}
-	
+
+	/**
+	 * The capacity of stacks created without knowing max_stack.
+	 */
+	public static final int DEFAULT_CAPACITY = 8;
+
 	/**
-	 * The actual stack.
+	 * The values, the bottom of the stack first.
 	 */
-	@SuppressWarnings("rawtypes")
-	public Stack<JAIAbstractValue> internalStack = new Stack<JAIAbstractValue>();
-	
+	private JAIAbstractValue []values;
+
+	/**
+	 * The categories of the values.
+	 */
+	private byte []categories;
+
+	/**
+	 * The number of values on the stack.
+	 */
+	private int size = 0;
+
 	/**
 	 * A simple stack.
 	 */
 	public JAIStack() {
-		
+		this(DEFAULT_CAPACITY);
 	}
 
 	/**
-	 * Creates a copy of this stack.
-	 * 
+	 * A stack for a method with the given max_stack. The stack grows if needed.
+	 *
+	 * @param capacity the max_stack of the method.
+	 */
+	public JAIStack(int capacity) {
+		values = new JAIAbstractValue[Math.max(capacity, 1)];
+		categories = new byte[values.length];
+	}
+
+	/**
+	 * Creates a copy of this stack. Values are shared, not cloned: mutable values are
+	 * copied by the world that modifies them (see JAIAbstractValue#isImmutable()).
+	 *
 	 * @param stack
 	 */
-	@SuppressWarnings("rawtypes")
 	public JAIStack(JAIStack stack) {
-		Stack<JAIAbstractValue> otherStack = stack.getInternalStack();
-		for (JAIAbstractValue v: otherStack) {
-			this.push((JAIAbstractValue)v.clone());
+		values = new JAIAbstractValue[stack.values.length];
+		categories = new byte[values.length];
+		size = stack.size;
+		System.arraycopy(stack.values, 0, values, 0, size);
+		System.arraycopy(stack.categories, 0, categories, 0, size);
+	}
+
+	/**
+	 * Makes sure the stack can hold the given number of values without growing.
+	 *
+	 * @param capacity the max_stack of the method.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity>values.length) {
+			JAIAbstractValue []newValues = new JAIAbstractValue[capacity];
+			byte []newCategories = new byte[capacity];
+			System.arraycopy(values, 0, newValues, 0, size);
+			System.arraycopy(categories, 0, newCategories, 0, size);
+			values = newValues;
+			categories = newCategories;
+		}
+	}
+
+	/**
+	 * Returns the number of values on the stack.
+	 *
+	 * @return the size of the stack.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the stack is empty.
+	 *
+	 * @return true if there is no value on the stack.
+	 */
+	public boolean isEmpty() {
+		return size==0;
+	}
+
+	/**
+	 * Removes all the values of the stack.
+	 */
+	public void clear() {
+		for (int i = 0; i<size; i++) {
+			values[i] = null;
 		}
+		size = 0;
 	}
 
-	
 	/**
-	 * Simple getter for the internal stack of this stack.
-	 * 
-	 * @return the internal stack.
+	 * Returns the value on top of the stack without removing it.
+	 *
+	 * @return the top value.
+	 * @throws JAIStackException
+	 */
+	public JAIAbstractValue peek() throws JAIStackException {
+		if (size==0) {
+			throw new JAIStackException("Tried a peek with no value");
+		}
+		return values[size-1];
+	}
+
+	/**
+	 * Returns the values of the stack, the bottom of the stack first.
+	 *
+	 * @return the values.
+	 */
+	public JAIAbstractValue[] toArray() {
+		JAIAbstractValue []result = new JAIAbstractValue[size];
+		System.arraycopy(values, 0, result, 0, size);
+		return result;
+	}
+
+	/**
+	 * Returns a copy of the values of this stack as a java.util.Stack.
+	 *
+	 * @return the values, the bottom of the stack first.
 	 */
-	@SuppressWarnings("rawtypes")
 	public Stack<JAIAbstractValue> getInternalStack() {
-		return this.internalStack;
+		Stack<JAIAbstractValue> stack = new Stack<JAIAbstractValue>();
+		for (int i = 0; i<size; i++) {
+			stack.push(values[i]);
+		}
+		return stack;
 	}
 
 	/**
-	 * Simple setter for the internal stack of this stack.
-	 * 
-	 * @param stack the stack to set.
+	 * Replaces the values of this stack by the ones of a java.util.Stack.
+	 *
+	 * @param stack the values, the bottom of the stack first.
 	 */
-	@SuppressWarnings("rawtypes")
 	public void setInternalStack(Stack<JAIAbstractValue> stack) {
-		this.internalStack=stack;
+		size = 0;
+		ensureCapacity(stack.size());
+		for (JAIAbstractValue v: stack) {
+			push(v);
+		}
 	}
-	
+
 	/**
 	 * A simple push used by other instructions to push something on the stack.
-	 * 
+	 *
 	 * @param v the object to push on the stack.
 	 */
-	@SuppressWarnings("rawtypes")
-	public void push( JAIAbstractValue v) throws JAIStackException  {
+	public void push(JAIAbstractValue v) throws JAIStackException  {
+		if (size==values.length) {
+			ensureCapacity(2*size);
+		}
+		values[size] = v;
+		categories[size] = (byte) v.typeCategory();
+		size++;
+	}
 
-		try {
-			internalStack.push(v);
-		} catch (Throwable t) {
-			throw new JAIStackException("Cannot push value on the stack");
+	/**
+	 * Pushes again a value removed from the stack, with its category.
+	 *
+	 * @param v the value.
+	 * @param category its category.
+	 */
+	private void push(JAIAbstractValue v, byte category) {
+		if (size==values.length) {
+			ensureCapacity(2*size);
 		}
+		values[size] = v;
+		categories[size] = category;
+		size++;
 	}
-	
+
+	/**
+	 * Checks that there are enough values on the stack for an instruction.
+	 *
+	 * @param n the number of values needed.
+	 * @param instruction the name of the instruction.
+	 * @throws JAIStackException
+	 */
+	private void checkSize(int n, String instruction) throws JAIStackException {
+		if (size<n) {
+			throw new JAIStackException("Tried a "+instruction+" without enough values");
+		}
+	}
+
+	/**
+	 * Returns the category of the value at a given depth (0 for the top).
+	 *
+	 * @param depth the depth.
+	 * @return the category.
+	 */
+	private byte categoryAt(int depth) {
+		return categories[size-1-depth];
+	}
+
 	/**
 	 * Duplicates the top value on this stack.
-	 * 
+	 *
 	 * @throws JAIStackException
 	 */
 	public void dup() throws JAIStackException {
-		if (internalStack.size()==0) {
-			throw new JAIStackException("Tried a dup with no value");
-		}
-		@SuppressWarnings("rawtypes")
-		JAIAbstractValue topValueSet = this.internalStack.pop();
-		if (topValueSet.typeCategory()!=1) {
-			throw new JAIStackException("Wrong category of type for a dup");			
+		checkSize(1, "dup");
+		if (categoryAt(0)!=1) {
+			throw new JAIStackException("Wrong category of type for a dup");
 		}
-		this.internalStack.push(topValueSet);
-		this.internalStack.push(topValueSet);
+		push(values[size-1], categories[size-1]);
 	}
+
 	/**
-	 * Removes the top value on this stack and returns it.
-	 * 
+	 * Removes the top value on this stack and returns it, whatever its category.
+	 *
 	 * @throws JAIStackException
 	 */
-	@SuppressWarnings("rawtypes")
 	public JAIAbstractValue pop() throws JAIStackException {
-		if (internalStack.size()==0) {
+		if (size==0) {
 			throw new JAIStackException("Tried a pop with no value");
 		}
-		JAIAbstractValue topValueSet = this.internalStack.pop();
-		if (topValueSet.typeCategory()!=1) {
-			throw new JAIStackException("Wrong category of type for a dup");			
+		size--;
+		JAIAbstractValue v = values[size];
+		values[size] = null;
+		return v;
+	}
+
+	/**
+	 * Removes the top value on this stack for a pop instruction: it must be of category 1.
+	 *
+	 * @throws JAIStackException
+	 */
+	public JAIAbstractValue popCategory1() throws JAIStackException {
+		checkSize(1, "pop");
+		if (categoryAt(0)!=1) {
+			throw new JAIStackException("Wrong category of type for a pop");
 		}
-		return topValueSet;
+		return pop();
 	}
+
 	/**
 	 * Removes the top one or two value on this stack.
-	 * 
+	 *
 	 * @throws JAIStackException
 	 */
-	@SuppressWarnings("rawtypes")
 	public void pop2() throws JAIStackException {
-		JAIAbstractValue v = this.internalStack.pop();
-		if (v.typeCategory()==2) return;
-		if (v.typeCategory()==1) {
+		checkSize(1, "pop2");
+		if (categoryAt(0)==2) {
+			pop();
+			return;
+		}
+		checkSize(2, "pop2");
+		if (categoryAt(0)==1 && categoryAt(1)==1) {
+			pop();
 			pop();
 			return;
 		}
 		throw new JAIStackException("trying a pop2 mixing category 1 and 2 fields.");
-		
 	}
+
 	/**
 	 * Duplicates the top one or two value on this stack.
-	 * 
+	 *
 	 * @throws JAIStackException
 	 */
-	@SuppressWarnings("rawtypes")
 	public void dup2() throws JAIStackException {
-		JAIAbstractValue v = this.internalStack.pop();
-		if (v.typeCategory()==2) {
-			this.internalStack.push(v);
-			this.internalStack.push(v);			
+		checkSize(1, "dup2");
+		if (categoryAt(0)==2) {
+			push(values[size-1], categories[size-1]);
 			return;
 		}
-		if (v.typeCategory()==1) {
-			JAIAbstractValue v2 = this.internalStack.pop();
-			this.internalStack.push(v2);
-			this.internalStack.push(v);
-			this.internalStack.push(v2);
-			this.internalStack.push(v);
+		checkSize(2, "dup2");
+		if (categoryAt(0)==1 && categoryAt(1)==1) {
+			ensureCapacity(size+2);
+			System.arraycopy(values, size-2, values, size, 2);
+			System.arraycopy(categories, size-2, categories, size, 2);
+			size += 2;
 			return;
 		}
-		throw new JAIStackException("trying a pop2 mixing category 1 and 2 fields.");		
+		throw new JAIStackException("trying a dup2 mixing category 1 and 2 fields.");
 	}
+
 	/**
 	 * Swaps the top value on this stack of category 1.
-	 * 
+	 *
 	 * @throws JAIStackException
 	 */
 	public void swap() throws JAIStackException {
-		if (internalStack.size()<2) {
-			throw new JAIStackException("Tried a swap without enough values");
-		}
-		@SuppressWarnings("rawtypes")
-		JAIAbstractValue topValueSet = this.internalStack.pop();
-		if (topValueSet.typeCategory()!=1) {
-			throw new JAIStackException("Wrong category of type for a swap");			
+		checkSize(2, "swap");
+		if (categoryAt(0)!=1 || categoryAt(1)!=1) {
+			throw new JAIStackException("Wrong category of type for a swap");
 		}
-		@SuppressWarnings("rawtypes")
-		JAIAbstractValue v = this.internalStack.pop();
-		this.internalStack.push(topValueSet);
-		this.internalStack.push(v);
+		JAIAbstractValue v = values[size-1];
+		values[size-1] = values[size-2];
+		values[size-2] = v;
+	}
+
+	/**
+	 * Inserts copies of the top n values below the top m values.
+	 * The categories must have been checked.
+	 *
+	 * @param n the number of values to copy.
+	 * @param m the number of values under which to insert them (m>=n).
+	 */
+	private void insertTopBelow(int n, int m) {
+		ensureCapacity(size+n);
+		// shifts the top m values up by n, then copies the (shifted) top n values below them
+		System.arraycopy(values, size-m, values, size-m+n, m);
+		System.arraycopy(categories, size-m, categories, size-m+n, m);
+		System.arraycopy(values, size, values, size-m, n);
+		System.arraycopy(categories, size, categories, size-m, n);
+		size += n;
 	}
+
 	/**
 	 * dup_x1 the top value on this stack of category 1.
-	 * 
+	 *
 	 * @throws JAIStackException
 	 */
 	public void dup_x1() throws JAIStackException {
-		if (internalStack.size()<2) {
-			throw new JAIStackException("Tried a dup_x1 without enough values");
+		checkSize(2, "dup_x1");
+		if (categoryAt(0)!=1 || categoryAt(1)!=1) {
+			throw new JAIStackException("Wrong category of type for a dup_x1");
 		}
-		@SuppressWarnings("rawtypes")
-		JAIAbstractValue topValueSet = this.internalStack.pop();
-		if (topValueSet.typeCategory()!=1) {
-			throw new JAIStackException("Wrong category of type for a dup_x1");			
-		}
-		@SuppressWarnings("rawtypes")
-		JAIAbstractValue v = this.internalStack.pop();
-		this.internalStack.push(topValueSet);
-		this.internalStack.push(v);
-		this.internalStack.push(topValueSet);
+		insertTopBelow(1, 2);
 	}
+
 	/**
 	 * dup_x2 on this stack.
-	 * 
+	 *
 	 * @throws JAIStackException
 	 */
-	@SuppressWarnings("rawtypes")
 	public void dup_x2() throws JAIStackException {
-		JAIAbstractValue v = this.internalStack.pop();
-		if (v.typeCategory()==2) {
-			JAIAbstractValue v2 = this.internalStack.pop();
-			this.internalStack.push(v);
-			this.internalStack.push(v2);			
-			this.internalStack.push(v);
+		checkSize(2, "dup_x2");
+		if (categoryAt(0)!=1) {
+			throw new JAIStackException("trying a dup_x2 mixing category 1 and 2 fields.");
+		}
+		if (categoryAt(1)==2) {
+			insertTopBelow(1, 2);
 			return;
 		}
-		if (v.typeCategory()==1) {
-			JAIAbstractValue v2 = this.internalStack.pop();
-			JAIAbstractValue v3 = this.internalStack.pop();			
-			this.internalStack.push(v);
-			this.internalStack.push(v3);
-			this.internalStack.push(v2);
-			this.internalStack.push(v);
+		checkSize(3, "dup_x2");
+		if (categoryAt(2)==1) {
+			insertTopBelow(1, 3);
 			return;
 		}
-		throw new JAIStackException("trying a dup_x2 mixing category 1 and 2 fields.");		
+		throw new JAIStackException("trying a dup_x2 mixing category 1 and 2 fields.");
 	}
+
 	/**
 	 * dup2_x1 on this stack.
-	 * 
+	 *
 	 * @throws JAIStackException
 	 */
-	@SuppressWarnings("rawtypes")
 	public void dup2_x1() throws JAIStackException {
-		JAIAbstractValue v = this.internalStack.pop();
-		if (v.typeCategory()==2) {
-			JAIAbstractValue v2 = this.internalStack.pop();
-			this.internalStack.push(v);
-			this.internalStack.push(v2);			
-			this.internalStack.push(v);
+		checkSize(2, "dup2_x1");
+		if (categoryAt(0)==2 && categoryAt(1)==1) {
+			insertTopBelow(1, 2);
 			return;
 		}
-		if (v.typeCategory()==1) {
-			JAIAbstractValue v2 = this.internalStack.pop();
-			JAIAbstractValue v3 = this.internalStack.pop();			
-			this.internalStack.push(v2);
-			this.internalStack.push(v);
-			this.internalStack.push(v3);
-			this.internalStack.push(v2);
-			this.internalStack.push(v);
+		checkSize(3, "dup2_x1");
+		if (categoryAt(0)==1 && categoryAt(1)==1 && categoryAt(2)==1) {
+			insertTopBelow(2, 3);
 			return;
 		}
-		throw new JAIStackException("trying a dup2_x1 mixing category 1 and 2 fields.");		
+		throw new JAIStackException("trying a dup2_x1 mixing category 1 and 2 fields.");
 	}
+
 	/**
 	 * dup2_x2 on this stack.
-	 * 
+	 *
 	 * @throws JAIStackException
 	 */
-	@SuppressWarnings("rawtypes")
 	public void dup2_x2() throws JAIStackException {
-		JAIAbstractValue v = this.internalStack.pop();
-		JAIAbstractValue v2 = this.internalStack.pop();
-		if ((v.typeCategory()==2)&&(v2.typeCategory()==2)) {
-			this.internalStack.push(v);
-			this.internalStack.push(v2);			
-			this.internalStack.push(v);
+		checkSize(2, "dup2_x2");
+		if (categoryAt(0)==2 && categoryAt(1)==2) {
+			// form 4: value2, value1 -> value1, value2, value1
+			insertTopBelow(1, 2);
 			return;
 		}
-		JAIAbstractValue v3 = this.internalStack.pop();
-		if ((v.typeCategory()==1)&&(v2.typeCategory()==1)&&(v3.typeCategory()==2)) {
-			this.internalStack.push(v2);			
-			this.internalStack.push(v);
-			this.internalStack.push(v3);			
-			this.internalStack.push(v2);
-			this.internalStack.push(v);
+		checkSize(3, "dup2_x2");
+		if (categoryAt(0)==1 && categoryAt(1)==1 && categoryAt(2)==2) {
+			// form 3
+			insertTopBelow(2, 3);
 			return;
 		}
-		if ((v.typeCategory()==2)&&(v2.typeCategory()==1)&&(v3.typeCategory()==1)) {
-			this.internalStack.push(v);
-			this.internalStack.push(v3);			
-			this.internalStack.push(v2);
-			this.internalStack.push(v);
+		if (categoryAt(0)==2 && categoryAt(1)==1 && categoryAt(2)==1) {
+			// form 2
+			insertTopBelow(1, 3);
 			return;
 		}
-		JAIAbstractValue v4 = this.internalStack.pop();		
-		if ((v.typeCategory()==1)&&(v2.typeCategory()==1)&&(v3.typeCategory()==1)&&(v4.typeCategory()==1)) {
-			this.internalStack.push(v2);			
-			this.internalStack.push(v);
-			this.internalStack.push(v4);
-			this.internalStack.push(v3);
-			this.internalStack.push(v2);			
-			this.internalStack.push(v);
+		checkSize(4, "dup2_x2");
+		if (categoryAt(0)==1 && categoryAt(1)==1 && categoryAt(2)==1 && categoryAt(3)==1) {
+			// form 1
+			insertTopBelow(2, 4);
 			return;
 		}
-
-		throw new JAIStackException("trying a dup2_x1 mixing incorrectly category 1 and 2 fields.");		
+		throw new JAIStackException("trying a dup2_x2 mixing incorrectly category 1 and 2 fields.");
 	}
-	
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#clone()
 	 */
@@ -0,0 +1,171 @@
+package jabsint;
+
+/**
+ * This class represents the worlds reaching the join points of a method during a
+ * path-sensitive interpretation. For each join point, the table keeps the combination
+ * of the worlds that reached it. A path reaching a join point with a world that the
+ * table already includes (see {@link JAIWorld#subsumes(JAIWorld)}) stops there, since
+ * the paths from the combined world cover it; otherwise the path continues with the
+ * combined world. At loop heads, worlds are widened once they have been combined a
+ * given number of times, so that loops stop growing the table.
+ * <p>
+ * The memory used by the worlds of the table is estimated (see {@link JAIWorld#getEstimatedSize()})
+ * and bounded: once the capacity is reached, no new join point is recorded and paths go
+ * through the join points that are not recorded as if there was no table.
+ * <p>
+ * Worlds are kept by state index (see {@link JAIControlFlowGraph#getStateIndex(int, int)}),
+ * so that the states of a subroutine are kept apart for each of its call sites.
+ */
+public class JAIStateTable {
+
+	/**
+	 * The default capacity, in bytes.
+	 */
+	public static final long DEFAULT_CAPACITY = 64L*1024*1024;
+
+	/**
+	 * The default number of times a world is combined at a loop head before being widened.
+	 */
+	public static final int DEFAULT_WIDENING_DELAY = 2;
+
+	/**
+	 * The combined world at each state index (null if none reached it yet).
+	 */
+	private final JAIWorld []states;
+
+	/**
+	 * The number of times the world at each state index grew.
+	 */
+	private final int []numberOfJoins;
+
+	/**
+	 * The maximum estimated size of the worlds of the table, in bytes.
+	 */
+	private final long capacity;
+
+	/**
+	 * The number of times a world is combined at a loop head before being widened.
+	 */
+	private final int wideningDelay;
+
+	/**
+	 * The estimated size of the worlds of the table, in bytes.
+	 */
+	private long size = 0;
+
+	/**
+	 * The number of join points recorded.
+	 */
+	private int numberOfStates = 0;
+
+	/**
+	 * The numbers of paths stopped because their world was included, of paths that made
+	 * the table grow, and of join points not recorded because the table was full.
+	 */
+	private long numberOfSubsumedPaths = 0, numberOfGrowingPaths = 0, numberOfRejectedStates = 0;
+
+	/**
+	 * Creates an empty table.
+	 *
+	 * @param numberOfStates the number of state indexes of the method (the length of its code times its subroutine contexts).
+	 * @param capacity the maximum estimated size of the worlds of the table, in bytes.
+	 * @param wideningDelay the number of times a world is combined at a loop head before being widened.
+	 */
+	public JAIStateTable(int numberOfStates, long capacity, int wideningDelay) {
+		this.states = new JAIWorld[numberOfStates];
+		this.numberOfJoins = new int[numberOfStates];
+		this.capacity = capacity;
+		this.wideningDelay = wideningDelay;
+	}
+
+	/**
+	 * Adds the world of a path reaching a join point to the table.
+	 *
+	 * @param index the state index of the join point.
+	 * @param world the world of the path.
+	 * @param loopHead true if the join point is the head of a loop.
+	 * @return the world with which the path continues, null if the path stops.
+	 */
+	public JAIWorld join(int index, JAIWorld world, boolean loopHead) {
+		JAIWorld state = states[index];
+		if (state==null) {
+			long s = world.getEstimatedSize();
+			if (size+s>capacity) {
+				numberOfRejectedStates++;
+				return world;
+			}
+			states[index] = world.copy();
+			size += s;
+			numberOfStates++;
+			numberOfGrowingPaths++;
+			return world;
+		}
+		if (state.subsumes(world)) {
+			numberOfSubsumedPaths++;
+			return null;
+		}
+		JAIWorld joined;
+		if (loopHead && ++numberOfJoins[index]>wideningDelay) {
+			joined = state.widenWith(world, null);
+		} else {
+			joined = state.combineWith(world);
+		}
+		size += joined.getEstimatedSize()-state.getEstimatedSize();
+		states[index] = joined;
+		numberOfGrowingPaths++;
+		return joined.copy();
+	}
+
+	/**
+	 * Returns the combined world at an index.
+	 *
+	 * @param index the state index.
+	 * @return the world, null if no path reached the index or it is not a recorded join point.
+	 */
+	public JAIWorld getState(int index) {
+		return states[index];
+	}
+
+	/**
+	 * @return the estimated size of the worlds of the table, in bytes.
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * @return the maximum estimated size of the worlds of the table, in bytes.
+	 */
+	public long getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return the number of join points recorded.
+	 */
+	public int getNumberOfStates() {
+		return numberOfStates;
+	}
+
+	/**
+	 * @return the number of paths stopped at a join point because the table included their world.
+	 */
+	public long getNumberOfSubsumedPaths() {
+		return numberOfSubsumedPaths;
+	}
+
+	/**
+	 * @return the number of paths that made the table grow.
+	 */
+	public long getNumberOfGrowingPaths() {
+		return numberOfGrowingPaths;
+	}
+
+	/**
+	 * @return the number of join points not recorded because the table was full.
+	 */
+	public long getNumberOfRejectedStates() {
+		return numberOfRejectedStates;
+	}
+
+}
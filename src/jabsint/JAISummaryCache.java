@@ -0,0 +1,226 @@
+package jabsint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javassist.ClassPool;
+
+/**
+ * This class represents a cache of method summaries, keyed by the context in which
+ * they were computed (see {@link #contextOf(JAIAbstractInterpreter, JAIWorld)}), the
+ * descriptor of the method and the abstract values of its arguments (compared with
+ * equals). Each interpreter has its own cache unless it is given one, which can then
+ * be used by several interpreters at the same time. When it is full, the oldest
+ * summaries are removed first.
+ */
+@SuppressWarnings("rawtypes")
+public class JAISummaryCache {
+
+	/**
+	 * The context in which summaries are computed: the class pool the methods are
+	 * loaded from, and the configuration of the interpreter and of the world.
+	 */
+	private static final class Context {
+		final ClassPool pool;
+		final byte []configuration;
+		final Object owner;
+		final int hash;
+
+		Context(ClassPool pool, byte []configuration, Object owner) {
+			this.pool = pool;
+			this.configuration = configuration;
+			this.owner = owner;
+			this.hash = 31*System.identityHashCode(pool)+Arrays.hashCode(configuration)+System.identityHashCode(owner);
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof Context)) return false;
+			Context c = (Context) o;
+			return hash==c.hash && pool==c.pool && owner==c.owner && Arrays.equals(configuration, c.configuration);
+		}
+
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * The key of a summary: a context, a method and its arguments.
+	 */
+	private static final class Key {
+		final Object context;
+		final String methodDescriptor;
+		final JAIAbstractValue []arguments;
+		final int hash;
+
+		Key(Object context, String methodDescriptor, JAIAbstractValue []arguments) {
+			this.context = context;
+			this.methodDescriptor = methodDescriptor;
+			this.arguments = arguments;
+			this.hash = (31*context.hashCode()+methodDescriptor.hashCode())*31+Arrays.hashCode(arguments);
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) return false;
+			Key k = (Key) o;
+			return hash==k.hash && context.equals(k.context) && methodDescriptor.equals(k.methodDescriptor) && Arrays.equals(arguments, k.arguments);
+		}
+
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * The default capacity of caches.
+	 */
+	public static final int DEFAULT_CAPACITY = 10000;
+
+	/**
+	 * The summaries.
+	 */
+	private final ConcurrentHashMap<Key,JAIMethodSummary> summaries = new ConcurrentHashMap<Key,JAIMethodSummary>();
+
+	/**
+	 * The keys in the order in which they were added, the oldest first.
+	 */
+	private final ConcurrentLinkedQueue<Key> keys = new ConcurrentLinkedQueue<Key>();
+
+	/**
+	 * The number of keys in the queue.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * The maximum number of summaries.
+	 */
+	private final int capacity;
+
+	/**
+	 * The numbers of summaries found and not found.
+	 */
+	private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param capacity the maximum number of summaries.
+	 */
+	public JAISummaryCache(int capacity) {
+		this.capacity = Math.max(capacity, 1);
+	}
+
+	/**
+	 * Returns the context in which an interpreter computes the summaries of the methods
+	 * called from a world: summaries computed in one context are not reused in another.
+	 * Two contexts are equal if the methods come from the same class pool and the
+	 * interpreters and the worlds write the same configuration (see
+	 * {@link JAIAbstractInterpreter#writeConfiguration(java.io.DataOutput)} and
+	 * {@link JAIWorld#writeConfiguration(java.io.DataOutput)}). If the configuration
+	 * cannot be written, the context is only equal to the ones of the same interpretation.
+	 *
+	 * @param interpreter the interpreter of the caller.
+	 * @param world the world of the caller.
+	 * @return the context.
+	 */
+	public static Object contextOf(JAIAbstractInterpreter interpreter, JAIWorld world) {
+		ClassPool pool = interpreter.getM().getDeclaringClass().getClassPool();
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			interpreter.writeConfiguration(out);
+			world.writeConfiguration(out);
+			out.flush();
+			return new Context(pool, bytes.toByteArray(), null);
+		} catch (IOException | JAIAbstractValueException e) {
+			return new Context(pool, null, interpreter.getRootInterpreter());
+		}
+	}
+
+	/**
+	 * Returns the summary of a method for given arguments.
+	 *
+	 * @param context the context of the caller (see {@link #contextOf(JAIAbstractInterpreter, JAIWorld)}).
+	 * @param methodDescriptor the method (class/name:type).
+	 * @param arguments the abstract values of the arguments (receiver first).
+	 * @return the summary, null if there is none.
+	 */
+	public JAIMethodSummary get(Object context, String methodDescriptor, JAIAbstractValue []arguments) {
+		JAIMethodSummary summary = summaries.get(new Key(context, methodDescriptor, arguments));
+		(summary==null ? misses : hits).incrementAndGet();
+		return summary;
+	}
+
+	/**
+	 * Stores the summary of a method for given arguments. If another thread stored
+	 * one in the meantime, that one is kept.
+	 *
+	 * @param context the context of the caller (see {@link #contextOf(JAIAbstractInterpreter, JAIWorld)}).
+	 * @param methodDescriptor the method (class/name:type).
+	 * @param arguments the abstract values of the arguments (receiver first), not modified afterwards.
+	 * @param summary the summary.
+	 * @return the summary stored in the cache.
+	 */
+	public JAIMethodSummary put(Object context, String methodDescriptor, JAIAbstractValue []arguments, JAIMethodSummary summary) {
+		Key key = new Key(context, methodDescriptor, arguments);
+		JAIMethodSummary previous = summaries.putIfAbsent(key, summary);
+		if (previous!=null) {
+			return previous;
+		}
+		keys.add(key);
+		if (size.incrementAndGet()>capacity) {
+			Key oldest = keys.poll();
+			if (oldest!=null) {
+				size.decrementAndGet();
+				summaries.remove(oldest);
+			}
+		}
+		return summary;
+	}
+
+	/**
+	 * @return the number of summaries.
+	 */
+	public int size() {
+		return summaries.size();
+	}
+
+	/**
+	 * @return the maximum number of summaries.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return the number of summaries found.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of summaries not found.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Removes all summaries.
+	 */
+	public void clear() {
+		keys.clear();
+		summaries.clear();
+		size.set(0);
+		hits.set(0);
+		misses.set(0);
+	}
+
+}
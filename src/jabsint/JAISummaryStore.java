@@ -0,0 +1,619 @@
+package jabsint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import javassist.ClassPool;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.ExceptionTable;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+
+/**
+ * This class represents a store of method summaries on disk, so that the next runs do
+ * not interpret again the methods whose code did not change (the summaries of a run
+ * are kept in memory by a {@link JAISummaryCache}). A summary is keyed by a hash of:
+ * the code of the method (its bytecode, its exception table and the constants its
+ * instructions use), the code of the methods it may call when calls are interpreted,
+ * the configuration of the interpreter and of the world (see
+ * {@link JAIWorld#writeConfiguration(java.io.DataOutput)}), and the abstract values of
+ * its arguments. As in the summary cache, the methods calling it are not part of the key.
+ * <p>
+ * The store is a file of fixed size mapped in memory: a header, a table of slots giving
+ * the position of the summary of each key, and a circular log of summaries written in
+ * binary (see {@link JAIMethodSummary#write(java.io.DataOutput)}). When the log is full,
+ * it wraps around and overwrites the oldest summaries, so the file never grows.
+ * Summaries are read without locking: each record repeats its key and a checksum, and a
+ * summary that was overwritten, or is being written, is read as missing. Writers lock
+ * the file, so that several processes can share a store; within a process, each file
+ * is opened once (see {@link #open(File, long)}).
+ */
+@SuppressWarnings("rawtypes")
+public class JAISummaryStore {
+
+	/**
+	 * The hash of the code of a method, the methods it calls, and the last hash computed
+	 * of its code and of the code of the methods it may call.
+	 */
+	private static final class JAIMethodFingerprint {
+		final byte []digest;
+		final List<JAIMemberDescriptor> callees;
+		volatile JAICallsFingerprint calls = null;
+
+		JAIMethodFingerprint(byte []digest, List<JAIMemberDescriptor> callees) {
+			this.digest = digest;
+			this.callees = callees;
+		}
+	}
+
+	/**
+	 * The hash of the code of a method and of the methods it may call, up to a number of nested calls.
+	 */
+	private static final class JAICallsFingerprint {
+		final int callDepth;
+		final byte []digest;
+
+		JAICallsFingerprint(int callDepth, byte []digest) {
+			this.callDepth = callDepth;
+			this.digest = digest;
+		}
+	}
+
+	/**
+	 * The default size of stores, in bytes.
+	 */
+	public static final long DEFAULT_SIZE = 64L*1024*1024;
+
+	/**
+	 * The smallest size of stores, in bytes.
+	 */
+	public static final long MINIMUM_SIZE = 64L*1024;
+
+	/**
+	 * The first int of the file ("JAIS") and the version of its format.
+	 */
+	private static final int MAGIC = 0x4A414953, VERSION = 3;
+
+	/**
+	 * The positions in the header of the number of slots, of the capacity of the log and
+	 * of the position in the log at which the next summary is written.
+	 */
+	private static final int SLOTS_POSITION = 8, CAPACITY_POSITION = 12, WRITE_POSITION = 16;
+
+	/**
+	 * The sizes of the header, of a slot (key, position and length of the summary) and
+	 * of the header of a record of the log (key, length and checksum of the summary).
+	 */
+	private static final int HEADER_SIZE = 32, SLOT_SIZE = 24, RECORD_HEADER_SIZE = 24;
+
+	/**
+	 * The number of bytes of a key.
+	 */
+	private static final int KEY_SIZE = 16;
+
+	/**
+	 * The number of slots in which the summary of a key may be.
+	 */
+	private static final int PROBES = 8;
+
+	/**
+	 * The expected size of a record, from which the number of slots is computed.
+	 */
+	private static final int BYTES_PER_SLOT = 256;
+
+	/**
+	 * The stores opened by this process, by file.
+	 */
+	private static final Map<File,JAISummaryStore> stores = new HashMap<File,JAISummaryStore>();
+
+	/**
+	 * The file of the store.
+	 */
+	private final File file;
+
+	/**
+	 * The channel through which the file is locked (reopened if an interruption closed it).
+	 */
+	private FileChannel channel;
+
+	/**
+	 * The file mapped in memory.
+	 */
+	private final MappedByteBuffer buffer;
+
+	/**
+	 * The number of slots.
+	 */
+	private final int numberOfSlots;
+
+	/**
+	 * The position of the log in the file and its capacity in bytes.
+	 */
+	private final int logStart, logCapacity;
+
+	/**
+	 * The fingerprints of the methods already hashed, by class pool and method descriptor.
+	 */
+	private final Map<ClassPool,Map<String,JAIMethodFingerprint>> fingerprints =
+			Collections.synchronizedMap(new WeakHashMap<ClassPool,Map<String,JAIMethodFingerprint>>());
+
+	/**
+	 * The numbers of summaries found and not found.
+	 */
+	private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+
+	/**
+	 * Opens or creates a store.
+	 *
+	 * @param file the file of the store.
+	 * @param size the size of the file if it is created.
+	 * @throws IOException if the file cannot be opened or mapped.
+	 */
+	private JAISummaryStore(File file, long size) throws IOException {
+		this.file = file;
+		this.channel = new RandomAccessFile(file, "rw").getChannel();
+		int slots, capacity;
+		FileLock lock = channel.lock();
+		try {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			channel.read(header, 0);
+			slots = header.getInt(SLOTS_POSITION);
+			capacity = header.getInt(CAPACITY_POSITION);
+			if (header.getInt(0)!=MAGIC || header.getInt(4)!=VERSION || slots<=0 || capacity<=0
+					|| channel.size()!=HEADER_SIZE+(long)slots*SLOT_SIZE+capacity) {
+				// a new file, or one written by another version: it is emptied
+				size = Math.min(Math.max(size, MINIMUM_SIZE), Integer.MAX_VALUE);
+				slots = (int)(size/(BYTES_PER_SLOT+SLOT_SIZE));
+				capacity = (int)(size-HEADER_SIZE-(long)slots*SLOT_SIZE);
+				channel.truncate(0);
+				header.clear();
+				header.putInt(MAGIC).putInt(VERSION).putInt(slots).putInt(capacity).putInt(0);
+				header.clear();
+				channel.write(header, 0);
+				channel.write(ByteBuffer.allocate(1), HEADER_SIZE+(long)slots*SLOT_SIZE+capacity-1);
+			}
+		} finally {
+			lock.release();
+		}
+		this.numberOfSlots = slots;
+		this.logStart = HEADER_SIZE+slots*SLOT_SIZE;
+		this.logCapacity = capacity;
+		this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, logStart+(long)capacity);
+	}
+
+	/**
+	 * Returns the store of a file, opening it or creating it if it was not opened by this
+	 * process yet. The size of a file that exists is kept.
+	 *
+	 * @param file the file of the store.
+	 * @param size the size of the file, in bytes, if it is created.
+	 * @return the store.
+	 * @throws IOException if the file cannot be opened or mapped.
+	 */
+	public static JAISummaryStore open(File file, long size) throws IOException {
+		File canonicalFile = file.getCanonicalFile();
+		synchronized (stores) {
+			JAISummaryStore store = stores.get(canonicalFile);
+			if (store==null) {
+				store = new JAISummaryStore(canonicalFile, size);
+				stores.put(canonicalFile, store);
+			}
+			return store;
+		}
+	}
+
+	/**
+	 * Returns the key of the summary of a method for given arguments.
+	 *
+	 * @param interpreter the interpreter of the method.
+	 * @param world the world in which the method is interpreted.
+	 * @param arguments the abstract values of the arguments (receiver first), null for
+	 * a method interpreted from the values given by the factory of the world.
+	 * @return the key, null if the configuration or the arguments cannot be written.
+	 */
+	public byte[] keyOf(JAIAbstractInterpreter interpreter, JAIWorld world, JAIAbstractValue []arguments) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			out.write(getFingerprint(interpreter.getM(),
+					world.shouldInterpretMehtodCalls() ? interpreter.getMaximumCallDepth() : 0));
+			interpreter.writeConfiguration(out);
+			world.writeConfiguration(out);
+			out.writeInt((arguments==null) ? -1 : arguments.length);
+			for (int i = 0; arguments!=null && i<arguments.length; i++) {
+				arguments[i].write(out);
+			}
+		} catch (IOException | JAIAbstractValueException e) {
+			return null;
+		}
+		return Arrays.copyOf(digest(bytes.toByteArray()), KEY_SIZE);
+	}
+
+	/**
+	 * Returns the summary of a key.
+	 *
+	 * @param key the key (see {@link #keyOf(JAIAbstractInterpreter, JAIWorld, JAIAbstractValue[])}).
+	 * @param world the world reading the values of the summary.
+	 * @return the summary, null if there is none.
+	 */
+	public JAIMethodSummary get(byte []key, JAIWorld world) {
+		ByteBuffer b = buffer.duplicate();
+		long key1 = ByteBuffer.wrap(key).getLong(0), key2 = ByteBuffer.wrap(key).getLong(8);
+		for (int probe = 0; probe<PROBES; probe++) {
+			int slot = slotPosition(key1, probe);
+			if (b.getLong(slot)!=key1 || b.getLong(slot+8)!=key2) {
+				continue;
+			}
+			byte []payload = readRecord(b, b.getInt(slot+16), b.getInt(slot+20), key1, key2);
+			if (payload!=null) {
+				try {
+					JAIMethodSummary summary = JAIMethodSummary.read(new DataInputStream(new ByteArrayInputStream(payload)), world);
+					hits.incrementAndGet();
+					return summary;
+				} catch (IOException | JAIAbstractValueException e) {
+					if (JAIDebug.isEnabled(JAIDebug.ERROR, this)) JAIDebug.print(JAIDebug.ERROR, "Cannot read a summary of "+file+": "+e, this);
+				}
+			}
+			break;
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Stores the summary of a key. When the log is full, the oldest summaries are overwritten.
+	 *
+	 * @param key the key (see {@link #keyOf(JAIAbstractInterpreter, JAIWorld, JAIAbstractValue[])}).
+	 * @param summary the summary.
+	 * @return true if the summary was stored, false if it cannot be written or is too large.
+	 */
+	public boolean put(byte []key, JAIMethodSummary summary) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			summary.write(new DataOutputStream(bytes));
+		} catch (IOException | JAIAbstractValueException e) {
+			return false;
+		}
+		byte []payload = bytes.toByteArray();
+		// a summary may not evict more than a quarter of the log
+		if (RECORD_HEADER_SIZE+payload.length>logCapacity/4) {
+			return false;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		long key1 = ByteBuffer.wrap(key).getLong(0), key2 = ByteBuffer.wrap(key).getLong(8);
+		synchronized (this) {
+			FileLock lock;
+			try {
+				lock = lockHeader();
+			} catch (IOException e) {
+				if (JAIDebug.isEnabled(JAIDebug.ERROR, this)) JAIDebug.print(JAIDebug.ERROR, "Cannot lock "+file+": "+e, this);
+				return false;
+			}
+			try {
+				ByteBuffer b = buffer.duplicate();
+				int offset = b.getInt(WRITE_POSITION);
+				if (offset<0 || offset>logCapacity-RECORD_HEADER_SIZE-payload.length) {
+					offset = 0;
+				}
+				int record = logStart+offset;
+				b.putLong(record, key1).putLong(record+8, key2).putInt(record+16, payload.length).putInt(record+20, (int)crc.getValue());
+				b.position(record+RECORD_HEADER_SIZE);
+				b.put(payload);
+				b.putInt(WRITE_POSITION, offset+RECORD_HEADER_SIZE+payload.length);
+				int slot = chooseSlot(b, key1, key2);
+				// the slot is emptied first, so that it never gives the position of another key
+				b.putInt(slot+20, 0);
+				b.putLong(slot, key1).putLong(slot+8, key2).putInt(slot+16, offset).putInt(slot+20, payload.length);
+			} finally {
+				try {
+					lock.release();
+				} catch (IOException e) {
+					// the lock is released when the channel is closed
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Locks the header of the file against the other processes, reopening the channel if
+	 * the interruption of a thread closed it.
+	 *
+	 * @return the lock.
+	 * @throws IOException if the file cannot be locked.
+	 */
+	@SuppressWarnings("resource")
+	private FileLock lockHeader() throws IOException {
+		if (!channel.isOpen()) {
+			channel = new RandomAccessFile(file, "rw").getChannel();
+		}
+		return channel.lock(0, HEADER_SIZE, false);
+	}
+
+	/**
+	 * Returns the position in the file of a slot of a key.
+	 *
+	 * @param key1 the first half of the key.
+	 * @param probe the number of the slot among the slots of the key.
+	 * @return the position.
+	 */
+	private int slotPosition(long key1, int probe) {
+		return HEADER_SIZE+(int)(((key1>>>1)%numberOfSlots+probe)%numberOfSlots)*SLOT_SIZE;
+	}
+
+	/**
+	 * Chooses the slot of a key: its slot if it has one, else a slot that is empty or
+	 * whose summary was overwritten, else the first slot of the key (its summary is evicted).
+	 *
+	 * @param b the file.
+	 * @param key1 the first half of the key.
+	 * @param key2 the second half of the key.
+	 * @return the position of the slot.
+	 */
+	private int chooseSlot(ByteBuffer b, long key1, long key2) {
+		int free = -1;
+		for (int probe = 0; probe<PROBES; probe++) {
+			int slot = slotPosition(key1, probe);
+			if (b.getLong(slot)==key1 && b.getLong(slot+8)==key2) {
+				return slot;
+			}
+			if (free<0 && (b.getInt(slot+20)==0
+					|| readRecord(b, b.getInt(slot+16), b.getInt(slot+20), b.getLong(slot), b.getLong(slot+8))==null)) {
+				free = slot;
+			}
+		}
+		return (free<0) ? slotPosition(key1, 0) : free;
+	}
+
+	/**
+	 * Reads the summary of a record of the log, checking that it is the one of the key.
+	 *
+	 * @param b the file.
+	 * @param offset the position of the record in the log.
+	 * @param length the length of the summary.
+	 * @param key1 the first half of the key.
+	 * @param key2 the second half of the key.
+	 * @return the summary in binary, null if the record is not the one of the key or is corrupted.
+	 */
+	private byte[] readRecord(ByteBuffer b, int offset, int length, long key1, long key2) {
+		if (length<=0 || offset<0 || offset>logCapacity-RECORD_HEADER_SIZE-length) {
+			return null;
+		}
+		int record = logStart+offset;
+		if (b.getLong(record)!=key1 || b.getLong(record+8)!=key2 || b.getInt(record+16)!=length) {
+			return null;
+		}
+		int checksum = b.getInt(record+20);
+		byte []payload = new byte[length];
+		b.position(record+RECORD_HEADER_SIZE);
+		b.get(payload);
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		return ((int)crc.getValue()==checksum) ? payload : null;
+	}
+
+	/**
+	 * Returns the fingerprint of a method and, when calls are interpreted, of the methods
+	 * it may call, up to a given number of nested calls.
+	 *
+	 * @param m the method.
+	 * @param callDepth the number of nested calls whose code is hashed.
+	 * @return the fingerprint.
+	 * @throws IOException never (the fingerprint is written in memory).
+	 */
+	private byte[] getFingerprint(CtMethod m, int callDepth) throws IOException {
+		ClassPool pool = m.getDeclaringClass().getClassPool();
+		JAIMemberDescriptor method = JAIMemberDescriptor.get(m.getDeclaringClass().getName(), m.getName(), m.getSignature());
+		JAIMethodFingerprint fingerprint = getFingerprint(pool, method, m);
+		if (callDepth==0) {
+			return fingerprint.digest;
+		}
+		JAICallsFingerprint calls = fingerprint.calls;
+		if (calls!=null && calls.callDepth==callDepth) {
+			return calls.digest;
+		}
+		// the methods reached, sorted so that the order of the calls does not matter
+		TreeMap<String,byte[]> reached = new TreeMap<String,byte[]>();
+		reached.put(method.getDescriptor(), fingerprint.digest);
+		List<JAIMemberDescriptor> callees = fingerprint.callees;
+		for (int depth = 0; depth<callDepth && !callees.isEmpty(); depth++) {
+			List<JAIMemberDescriptor> nextCallees = new ArrayList<JAIMemberDescriptor>();
+			for (JAIMemberDescriptor callee: callees) {
+				if (!reached.containsKey(callee.getDescriptor())) {
+					JAIMethodFingerprint f = getFingerprint(pool, callee, null);
+					reached.put(callee.getDescriptor(), f.digest);
+					nextCallees.addAll(f.callees);
+				}
+			}
+			callees = nextCallees;
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		for (Map.Entry<String,byte[]> e: reached.entrySet()) {
+			out.writeUTF(e.getKey());
+			out.write(e.getValue());
+		}
+		calls = new JAICallsFingerprint(callDepth, digest(bytes.toByteArray()));
+		fingerprint.calls = calls;
+		return calls.digest;
+	}
+
+	/**
+	 * Returns the fingerprint of the code of a method, computing it the first time.
+	 *
+	 * @param pool the class pool of the method.
+	 * @param method the descriptor of the method.
+	 * @param m the method, null to look it up in the pool.
+	 * @return the fingerprint.
+	 * @throws IOException never (the fingerprint is written in memory).
+	 */
+	private JAIMethodFingerprint getFingerprint(ClassPool pool, JAIMemberDescriptor method, CtMethod m) throws IOException {
+		Map<String,JAIMethodFingerprint> methods;
+		synchronized (fingerprints) {
+			methods = fingerprints.get(pool);
+			if (methods==null) {
+				methods = new ConcurrentHashMap<String,JAIMethodFingerprint>();
+				fingerprints.put(pool, methods);
+			}
+		}
+		JAIMethodFingerprint fingerprint = methods.get(method.getDescriptor());
+		if (fingerprint==null) {
+			if (m==null) {
+				synchronized (pool) {
+					try {
+						m = JAIAbstractInterpreter.getCallee(pool.get(method.getClassName()), method.getName(), method.getType());
+					} catch (NotFoundException e) {
+						// the method is not interpreted, only its name matters
+					}
+				}
+			}
+			fingerprint = computeFingerprint(method, m);
+			methods.put(method.getDescriptor(), fingerprint);
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Computes the fingerprint of the code of a method: its bytecode, its exception
+	 * table and the constants its instructions use, which are not in the bytecode.
+	 *
+	 * @param method the descriptor of the method.
+	 * @param m the method, null if it was not found.
+	 * @return the fingerprint.
+	 * @throws IOException never (the fingerprint is written in memory).
+	 */
+	private static JAIMethodFingerprint computeFingerprint(JAIMemberDescriptor method, CtMethod m) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		List<JAIMemberDescriptor> callees = new ArrayList<JAIMemberDescriptor>();
+		out.writeUTF(method.getDescriptor());
+		MethodInfo info = (m==null) ? null : m.getMethodInfo2();
+		CodeAttribute ca = (info==null) ? null : info.getCodeAttribute();
+		out.writeBoolean(ca!=null);
+		if (ca!=null) {
+			ConstPool cp = ca.getConstPool();
+			out.writeInt(info.getAccessFlags());
+			out.writeInt(ca.getMaxStack());
+			out.writeInt(ca.getMaxLocals());
+			out.writeInt(ca.getCodeLength());
+			out.write(ca.getCode());
+			ExceptionTable handlers = ca.getExceptionTable();
+			for (int i = 0; i<handlers.size(); i++) {
+				out.writeInt(handlers.startPc(i));
+				out.writeInt(handlers.endPc(i));
+				out.writeInt(handlers.handlerPc(i));
+				out.writeUTF((handlers.catchType(i)==0) ? "" : cp.getClassInfo(handlers.catchType(i)));
+			}
+			try {
+				JAIDecodedMethod decoded = JAIDecodedMethod.get(m);
+				byte []code = ca.getCode();
+				for (int index: decoded.getInstructionIndexes()) {
+					Object constant = decoded.getConstant(index);
+					int opcode = code[index]&0xff;
+					if (constant==null && (opcode==Opcode.LDC || opcode==Opcode.LDC_W)) {
+						// the classes loaded by ldc are not resolved by the decoded method
+						int i = (opcode==Opcode.LDC) ? code[index+1]&0xff : ((code[index+1]&0xff)<<8)|(code[index+2]&0xff);
+						constant = (cp.getTag(i)==ConstPool.CONST_Class) ? cp.getClassInfo(i) : null;
+					}
+					if (constant!=null) {
+						out.writeInt(index);
+						out.writeUTF(constant.getClass().getName()+":"+constant);
+					}
+					if (constant instanceof JAIMemberDescriptor && ((JAIMemberDescriptor)constant).isMethod()) {
+						callees.add((JAIMemberDescriptor)constant);
+					}
+				}
+			} catch (BadBytecode e) {
+				// the method cannot be interpreted, its bytecode is enough
+			}
+		}
+		return new JAIMethodFingerprint(digest(bytes.toByteArray()), callees);
+	}
+
+	/**
+	 * Returns the SHA-256 hash of bytes.
+	 *
+	 * @param bytes the bytes.
+	 * @return the hash.
+	 */
+	private static byte[] digest(byte []bytes) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(bytes);
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform implements SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return the file of the store.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return the size of the file, in bytes.
+	 */
+	public long getSize() {
+		return logStart+(long)logCapacity;
+	}
+
+	/**
+	 * @return the number of summaries found.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of summaries not found.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Writes the summaries stored to the disk and closes the store. The next call of
+	 * {@link #open(File, long)} opens the file again.
+	 *
+	 * @throws IOException if the file cannot be closed.
+	 */
+	public void close() throws IOException {
+		synchronized (stores) {
+			stores.remove(file);
+		}
+		synchronized (this) {
+			buffer.force();
+			channel.close();
+		}
+	}
+
+}
@@ -0,0 +1,12 @@
+package jabsint;
+
+/**
+ * This class represents the interruption of an interpretation that went past its deadline.
+ */
+@SuppressWarnings("serial")
+public class JAITimeoutException extends RuntimeException{
+	public String reason = "";
+	public JAITimeoutException(String reason) {
+		this.reason=reason;
+	}
+}
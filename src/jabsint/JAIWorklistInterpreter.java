@@ -0,0 +1,595 @@
+package jabsint;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Vector;
+
+import javassist.ClassPool;
+import javassist.CtMethod;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.CodeIterator;
+import javassist.bytecode.Opcode;
+
+/**
+ * This class represents an abstract interpreter that computes a fixpoint over the
+ * basic blocks of the method instead of enumerating its paths. Worlds reaching a
+ * block from different predecessors are combined (see {@link JAIWorld#combineWith(JAIWorld)}),
+ * and a block is evaluated again only when the world at its entry grows
+ * (see {@link JAIWorld#subsumes(JAIWorld)}).
+ * <p>
+ * At loop heads, worlds are widened (see {@link JAIWorld#widenWith(JAIWorld, long[])})
+ * once they have been combined a given number of times, so that loops converge
+ * in a bounded number of iterations. The fixpoint is then refined by a few
+ * narrowing iterations (see {@link JAIWorld#narrowWith(JAIWorld)}). Since each edge of
+ * a conditional branch restricts the local variables the condition tests (see
+ * {@link JAIWorld#assumeBranch(boolean, int[])}), narrowing recovers the bounds of
+ * loop counters compared with constants.
+ * <p>
+ * The worlds of the exceptions thrown in a block are propagated to the handlers that
+ * may catch them, where they are combined like the worlds of normal edges. Blocks of
+ * subroutines have a world for each subroutine context (call site), so that a ret
+ * only returns to the call site of its context (see {@link JAIControlFlowGraph}).
+ * <p>
+ * The state of an interpretation is kept in its context (see {@link JAIRunContext}),
+ * so an interpreter can run several interpretations at the same time.
+ */
+public class JAIWorklistInterpreter extends JAIAbstractInterpreter {
+
+	/**
+	 * This class represents the context of an interpretation: the counts of the blocks
+	 * evaluated and of the times the world of each slot grew, and whether the worlds are
+	 * being narrowed.
+	 */
+	private static class JAIWorklistContext extends JAIRunContext {
+		private final int []numberOfJoins;
+		private int numberOfBlockEvaluations = 0;
+		private boolean narrowing = false;
+
+		public JAIWorklistContext(int numberOfSlots) {
+			super(new ArrayList<JAIWorld>(0), null, null);
+			this.numberOfJoins = new int[numberOfSlots];
+		}
+	}
+
+	/**
+	 * The control-flow graph of the method, shared with the other interpreters of the method.
+	 */
+	private volatile JAIControlFlowGraph graph = null;
+
+	/**
+	 * The number of times the world at a loop head is combined before being widened.
+	 */
+	private int wideningDelay = 2;
+
+	/**
+	 * The sorted values at which growing bounds may stop when widening (null for none).
+	 */
+	private long []wideningThresholds = null;
+
+	/**
+	 * The number of narrowing iterations after the fixpoint is reached.
+	 */
+	private int narrowingIterations = 1;
+
+	/**
+	 * Simple constructor for the given method.
+	 *
+	 * @param m the method to interpret.
+	 */
+	public JAIWorklistInterpreter(CtMethod m) {
+		super(m);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractInterpreter#createCalleeInterpreter(javassist.CtMethod)
+	 */
+	protected JAIAbstractInterpreter createCalleeInterpreter(CtMethod callee) {
+		JAIWorklistInterpreter interpreter = new JAIWorklistInterpreter(callee);
+		interpreter.setWideningDelay(wideningDelay);
+		interpreter.setWideningThresholds(wideningThresholds);
+		interpreter.setNarrowingIterations(narrowingIterations);
+		return interpreter;
+	}
+
+	/**
+	 * Writes the widening and narrowing options too.
+	 *
+	 * @see jabsint.JAIAbstractInterpreter#writeConfiguration(java.io.DataOutput)
+	 */
+	public void writeConfiguration(DataOutput out) throws IOException {
+		super.writeConfiguration(out);
+		out.writeInt(wideningDelay);
+		out.writeInt(narrowingIterations);
+		out.writeInt((wideningThresholds==null) ? -1 : wideningThresholds.length);
+		for (int i = 0; wideningThresholds!=null && i<wideningThresholds.length; i++) {
+			out.writeLong(wideningThresholds[i]);
+		}
+	}
+
+	/**
+	 * Returns the control-flow graph of the method, built once with its decoded code.
+	 *
+	 * @return the control-flow graph.
+	 * @throws BadBytecode
+	 */
+	public JAIControlFlowGraph getControlFlowGraph() throws BadBytecode {
+		if (graph==null) {
+			graph = getDecodedMethod().getControlFlowGraph();
+		}
+		return graph;
+	}
+
+	/**
+	 * Simple getter for the number of blocks evaluated during the last interpretation.
+	 *
+	 * @return the number of block evaluations.
+	 */
+	public int getNumberOfBlockEvaluations() {
+		JAIRunContext run = getLastContext();
+		return (run instanceof JAIWorklistContext) ? ((JAIWorklistContext)run).numberOfBlockEvaluations : 0;
+	}
+
+	/**
+	 * Simple getter for the widening delay.
+	 *
+	 * @return the number of times the world at a loop head is combined before being widened.
+	 */
+	public int getWideningDelay() {
+		return wideningDelay;
+	}
+
+	/**
+	 * Simple setter for the widening delay.
+	 *
+	 * @param wideningDelay the number of times the world at a loop head is combined before being widened.
+	 */
+	public void setWideningDelay(int wideningDelay) {
+		this.wideningDelay = wideningDelay;
+	}
+
+	/**
+	 * Simple getter for the widening thresholds.
+	 *
+	 * @return the sorted thresholds, null if there are none.
+	 */
+	public long[] getWideningThresholds() {
+		return wideningThresholds;
+	}
+
+	/**
+	 * Simple setter for the widening thresholds. The thresholds are sorted.
+	 *
+	 * @param wideningThresholds the thresholds, null for none.
+	 */
+	public void setWideningThresholds(long []wideningThresholds) {
+		if (wideningThresholds!=null) {
+			wideningThresholds = wideningThresholds.clone();
+			Arrays.sort(wideningThresholds);
+		}
+		this.wideningThresholds = wideningThresholds;
+	}
+
+	/**
+	 * Simple getter for the number of narrowing iterations.
+	 *
+	 * @return the number of narrowing iterations.
+	 */
+	public int getNarrowingIterations() {
+		return narrowingIterations;
+	}
+
+	/**
+	 * Simple setter for the number of narrowing iterations.
+	 *
+	 * @param narrowingIterations the number of narrowing iterations (0 to disable narrowing).
+	 */
+	public void setNarrowingIterations(int narrowingIterations) {
+		this.narrowingIterations = narrowingIterations;
+	}
+
+	/**
+	 * Method that interprets the method on a given world until a fixpoint is reached.
+	 * The result is the combination of the worlds at all the returns of the method.
+	 *
+	 * @param world the world on which to interpret.
+	 * @return the interpreted world.
+	 */
+	public JAIWorld interpret(JAIWorld world) {
+		JAIControlFlowGraph graph;
+		try {
+			graph = getControlFlowGraph();
+		} catch (BadBytecode e) {
+			return world;
+		}
+		CodeAttribute ca = getM().getMethodInfo().getCodeAttribute();
+		CodeIterator ci = ca.iterator();
+		world.setFrameSize(ca.getMaxStack(), ca.getMaxLocals());
+		int numberOfSlots = graph.size()*graph.getNumberOfContexts();
+		JAIWorld []entryWorlds = new JAIWorld[numberOfSlots];
+		// slots waiting to be evaluated, the lowest number first
+		BitSet worklist = new BitSet(numberOfSlots);
+		entryWorlds[0] = world;
+		worklist.set(0);
+		JAIWorklistContext run = new JAIWorklistContext(numberOfSlots);
+		JAIRunContext previous = enterContext(run);
+
+		JAIWorld resultWorld = null;
+		try {
+			for (int s = worklist.nextSetBit(0); s>=0; s = worklist.nextSetBit(0)) {
+				worklist.clear(s);
+				run.numberOfBlockEvaluations++;
+				JAIWorld exitWorld = interpretBlock(getBlockOfSlot(s), entryWorlds[s].copy(), ci, entryWorlds, worklist);
+				if (exitWorld!=null) {
+					resultWorld = (resultWorld==null) ? exitWorld : resultWorld.combineWith(exitWorld);
+				}
+			}
+
+			boolean hasLoops = false;
+			for (JAIBasicBlock block: graph.getBlocks()) {
+				hasLoops = hasLoops || block.isLoopHead();
+			}
+			// the exits are evaluated once more from the narrowed loop heads
+			for (int k = 0; hasLoops && narrowingIterations>0 && k<=narrowingIterations; k++) {
+				resultWorld = narrow(world, entryWorlds, ci, k<narrowingIterations);
+			}
+		} finally {
+			exitContext(previous);
+		}
+		setLastContext(run);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Number of block evaluations: "+run.numberOfBlockEvaluations, this);
+		return (resultWorld==null) ? world : resultWorld;
+	}
+
+	/**
+	 * Performs one narrowing iteration: loop heads are evaluated once from their current
+	 * entry world, and the other slots from the combination of the worlds computed during
+	 * this iteration, until these worlds stop growing. A slot is evaluated again when a
+	 * slot evaluated after it reaches it, as a handler of the first subroutine context
+	 * reached from a block of another context. The worlds at loop heads are then narrowed,
+	 * unless the iteration only evaluates the exits from the worlds already narrowed.
+	 *
+	 * @param world the world at the entry of the method.
+	 * @param entryWorlds the worlds at the entry of each slot (updated).
+	 * @param ci the code iterator.
+	 * @param narrowLoopHeads true to narrow the worlds at loop heads.
+	 * @return the combination of the worlds at the exits of the method.
+	 */
+	protected JAIWorld narrow(JAIWorld world, JAIWorld []entryWorlds, CodeIterator ci, boolean narrowLoopHeads) {
+		JAIWorklistContext run = (JAIWorklistContext)getContext();
+		// the exceptions leaving the method are thrown again from the narrowed worlds
+		run.clearThrownResults();
+		JAIWorld []nextWorlds = new JAIWorld[entryWorlds.length];
+		// the world at the exit of each slot, from its last evaluation
+		JAIWorld []exitWorlds = new JAIWorld[entryWorlds.length];
+		BitSet worklist = new BitSet(entryWorlds.length);
+		nextWorlds[0] = world;
+		worklist.set(0);
+		for (int s = 0; s<entryWorlds.length; s++) {
+			if (entryWorlds[s]!=null && getBlockOfSlot(s).isLoopHead()) {
+				worklist.set(s);
+			}
+		}
+		run.narrowing = true;
+		try {
+			for (int s = worklist.nextSetBit(0); s>=0; s = worklist.nextSetBit(0)) {
+				worklist.clear(s);
+				JAIBasicBlock block = getBlockOfSlot(s);
+				JAIWorld input = block.isLoopHead() ? entryWorlds[s] : nextWorlds[s];
+				if (input==null) {
+					continue;
+				}
+				run.numberOfBlockEvaluations++;
+				exitWorlds[s] = interpretBlock(block, input.copy(), ci, nextWorlds, worklist);
+			}
+		} finally {
+			run.narrowing = false;
+		}
+		JAIWorld resultWorld = null;
+		for (int s = 0; s<entryWorlds.length; s++) {
+			if (exitWorlds[s]!=null) {
+				resultWorld = (resultWorld==null) ? exitWorlds[s] : resultWorld.combineWith(exitWorlds[s]);
+			}
+			if (!getBlockOfSlot(s).isLoopHead()) {
+				entryWorlds[s] = nextWorlds[s];
+			} else if (narrowLoopHeads && nextWorlds[s]!=null) {
+				entryWorlds[s] = entryWorlds[s].narrowWith(nextWorlds[s]);
+			}
+		}
+		return resultWorld;
+	}
+
+	/**
+	 * Interprets one block and propagates the resulting worlds to its successors.
+	 *
+	 * @param block the block to interpret.
+	 * @param world the world at the entry of the block (modified in place).
+	 * @param ci the code iterator.
+	 * @param entryWorlds the worlds at the entry of each slot.
+	 * @param worklist the slots that need to be evaluated.
+	 * @return the world if the block returns, null otherwise (an exception leaving the method is kept apart, see {@link #getThrownWorld()}).
+	 */
+	protected JAIWorld interpretBlock(JAIBasicBlock block, JAIWorld world, CodeIterator ci, JAIWorld []entryWorlds, BitSet worklist) {
+		int []indexes = block.getInstructionIndexes();
+		JAIWorld modifiedWorld = world;
+		for (int i = 0; i<indexes.length-1; i++) {
+			if (isImplicitExceptionEdges() && JAIControlFlowGraph.mayThrowImplicitly(ci.byteAt(indexes[i]))) {
+				propagateToHandlers(indexes[i], modifiedWorld, entryWorlds, worklist);
+			}
+			modifiedWorld = interpretOneInstruction(modifiedWorld, ci, indexes[i]);
+			if (modifiedWorld==null) {
+				if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Not interpreting instruction at "+indexes[i], this);
+				return null;
+			}
+		}
+
+		int last = block.getLastIndex();
+		int op = ci.byteAt(last);
+		Vector<JAIBasicBlock> successors = block.getSuccessors();
+
+		if (JAIControlFlowGraph.isReturnFromSubroutine(ci, last)) {
+			// the subroutine returns to the call site of its context only
+			int context = graph.getContextAt(modifiedWorld.getSubroutineContext(), last);
+			if (context==0) {
+				return null;
+			}
+			modifiedWorld = modifiedWorld.evaluateRet();
+			modifiedWorld.setSubroutineContext(graph.getCallerContext(context));
+			propagate(graph.getBlockStartingAt(graph.getReturnIndex(context)), modifiedWorld, entryWorlds, worklist);
+			return null;
+		}
+
+		if (JAIControlFlowGraph.isConditionalBranch(op)) {
+			// each branch restricts the local variables the condition tests
+			int []operandLocals = getBranchOperandLocals(block, ci, op);
+			modifiedWorld = evaluateConditionalBranch(modifiedWorld, op);
+			JAIBasicBlock thenBlock = graph.getBlockStartingAt(last+ci.s16bitAt(last+1));
+			JAIBasicBlock elseBlock = graph.getBlocks().get(block.getNumber()+1);
+			if (modifiedWorld.allBranchesNeedToBeEvaluated()) {
+				propagate(thenBlock, modifiedWorld.copy().assumeBranch(true, operandLocals), entryWorlds, worklist);
+				propagate(elseBlock, modifiedWorld.assumeBranch(false, operandLocals), entryWorlds, worklist);
+			} else if (modifiedWorld.shouldEvaluateThen()) {
+				propagate(thenBlock, modifiedWorld.assumeBranch(true, operandLocals), entryWorlds, worklist);
+			} else {
+				propagate(elseBlock, modifiedWorld.assumeBranch(false, operandLocals), entryWorlds, worklist);
+			}
+			return null;
+		}
+
+		switch (op) {
+		case Opcode.IRETURN:
+			return modifiedWorld.evaluateIreturn();
+		case Opcode.LRETURN:
+			return modifiedWorld.evaluateLreturn();
+		case Opcode.FRETURN:
+			return modifiedWorld.evaluateFreturn();
+		case Opcode.DRETURN:
+			return modifiedWorld.evaluateDreturn();
+		case Opcode.ARETURN:
+			return modifiedWorld.evaluateAreturn();
+		case Opcode.RETURN:
+			return modifiedWorld.evaluateReturn();
+		case Opcode.ATHROW:
+			// only the handlers that may catch the class of the exception are reached
+			String []classes = modifiedWorld.getThrownClasses();
+			ClassPool pool = getM().getDeclaringClass().getClassPool();
+			modifiedWorld = modifiedWorld.evaluateAthrow();
+			propagateToHandlers(graph.getHandlersAt(last, classes, pool), modifiedWorld, entryWorlds, worklist);
+			if (!graph.isAlwaysCaughtAt(last, classes, pool)) {
+				collectThrown(modifiedWorld);
+			}
+			return null;
+		case Opcode.GOTO:
+			modifiedWorld = modifiedWorld.evaluateGoto();
+			break;
+		case Opcode.GOTO_W:
+			modifiedWorld = modifiedWorld.evaluateGoto_w();
+			break;
+		case Opcode.JSR:
+		case Opcode.JSR_W:
+			int callee = graph.getCalleeContext(modifiedWorld.getSubroutineContext(), last);
+			if (callee<0) {
+				return null;
+			}
+			modifiedWorld = (op==Opcode.JSR) ? modifiedWorld.evaluateJsr(last+3) : modifiedWorld.evaluateJsr_w(last+5);
+			modifiedWorld.setSubroutineContext(callee);
+			break;
+		case Opcode.TABLESWITCH:
+			modifiedWorld = modifiedWorld.evaluateTableswitch();
+			successors = getSwitchSuccessors(getSwitchTargets(modifiedWorld, ci, last));
+			break;
+		case Opcode.LOOKUPSWITCH:
+			modifiedWorld = modifiedWorld.evaluateLookupswitch();
+			successors = getSwitchSuccessors(getSwitchTargets(modifiedWorld, ci, last));
+			break;
+		default:
+			// the last instruction does not jump (wide ret included), the block ends
+			// because the next one is the target of a jump
+			if (isImplicitExceptionEdges() && JAIControlFlowGraph.mayThrowImplicitly(op)) {
+				propagateToHandlers(last, modifiedWorld, entryWorlds, worklist);
+			}
+			modifiedWorld = interpretOneInstruction(modifiedWorld, ci, last);
+			if (modifiedWorld==null) {
+				if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Not interpreting instruction at "+last, this);
+				return null;
+			}
+		}
+
+		for (int i = 0; i<successors.size(); i++) {
+			JAIWorld w = (i<successors.size()-1) ? modifiedWorld.copy() : modifiedWorld;
+			propagate(successors.get(i), w, entryWorlds, worklist);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the slot of a block in a subroutine context: the position of its world in
+	 * the tables of the interpreter.
+	 *
+	 * @param context the subroutine context.
+	 * @param block the block.
+	 * @return the slot.
+	 */
+	protected int getSlot(int context, JAIBasicBlock block) {
+		return context*graph.size()+block.getNumber();
+	}
+
+	/**
+	 * Returns the block of a slot.
+	 *
+	 * @param slot the slot.
+	 * @return the block.
+	 */
+	protected JAIBasicBlock getBlockOfSlot(int slot) {
+		return graph.getBlocks().get(slot%graph.size());
+	}
+
+	/**
+	 * Propagates a world to the entry of a block, in the subroutine context of the world.
+	 * The block is scheduled for evaluation if the world is not already included in the
+	 * world at its entry. At loop heads, the worlds are widened once they have been
+	 * combined wideningDelay times. When narrowing, the worlds are only combined and loop
+	 * heads are not scheduled, since they are evaluated from their previous world.
+	 *
+	 * @param block the block.
+	 * @param world the world reaching the block.
+	 * @param entryWorlds the worlds at the entry of each slot.
+	 * @param worklist the slots that need to be evaluated.
+	 */
+	protected void propagate(JAIBasicBlock block, JAIWorld world, JAIWorld []entryWorlds, BitSet worklist) {
+		int b = getSlot(world.getSubroutineContext(), block);
+		JAIWorklistContext run = (JAIWorklistContext)getContext();
+		boolean schedule = !run.narrowing || !block.isLoopHead();
+		JAIWorld entryWorld = entryWorlds[b];
+		if (entryWorld==null) {
+			entryWorlds[b] = world;
+		} else if (entryWorld.subsumes(world)) {
+			return;
+		} else if (!run.narrowing && block.isLoopHead() && run.numberOfJoins[b]>=wideningDelay) {
+			entryWorlds[b] = entryWorld.widenWith(world, wideningThresholds);
+			run.numberOfJoins[b]++;
+		} else {
+			entryWorlds[b] = entryWorld.combineWith(world);
+			if (!run.narrowing) run.numberOfJoins[b]++;
+		}
+		if (schedule) {
+			worklist.set(b);
+		}
+	}
+
+	/**
+	 * Propagates the world of an exception thrown at an index to the handlers that may catch it.
+	 *
+	 * @param index the index of the instruction throwing the exception.
+	 * @param world the world when the exception is thrown (not modified).
+	 * @param entryWorlds the worlds at the entry of each slot.
+	 * @param worklist the slots that need to be evaluated.
+	 */
+	protected void propagateToHandlers(int index, JAIWorld world, JAIWorld []entryWorlds, BitSet worklist) {
+		propagateToHandlers(graph.getHandlersAt(index), world, entryWorlds, worklist);
+	}
+
+	/**
+	 * Propagates the world of an exception to some handlers.
+	 *
+	 * @param handlers the handlers.
+	 * @param world the world when the exception is thrown (not modified).
+	 * @param entryWorlds the worlds at the entry of each slot.
+	 * @param worklist the slots that need to be evaluated.
+	 */
+	protected void propagateToHandlers(JAIExceptionHandler []handlers, JAIWorld world, JAIWorld []entryWorlds, BitSet worklist) {
+		for (JAIExceptionHandler h: handlers) {
+			JAIWorld handlerWorld = world.copy().evaluateExceptionHandler(h.getCatchType());
+			handlerWorld.setSubroutineContext(graph.getContextAt(world.getSubroutineContext(), h.getHandlerIndex()));
+			propagate(graph.getBlockStartingAt(h.getHandlerIndex()), handlerWorld, entryWorlds, worklist);
+		}
+	}
+
+	/**
+	 * Returns the local variables the operands of the conditional branch ending a block were
+	 * loaded from (see {@link JAIWorld#assumeBranch(boolean, int[])}): an operand is known
+	 * when it is pushed by an iload just before the branch, or just before the instruction
+	 * pushing the other operand if that instruction only pushes an int.
+	 *
+	 * @param block the block.
+	 * @param ci the code iterator.
+	 * @param op the opcode of the branch.
+	 * @return the local variables, the deepest operand in the stack first, -1 for an operand
+	 * that was not loaded from a local variable.
+	 */
+	protected int[] getBranchOperandLocals(JAIBasicBlock block, CodeIterator ci, int op) {
+		int []indexes = block.getInstructionIndexes();
+		int n = indexes.length;
+		int top = (n>=2) ? JAIControlFlowGraph.getLoadedIntegerLocal(ci, indexes[n-2]) : -1;
+		if (op<Opcode.IF_ICMPEQ || op>Opcode.IF_ACMPNE) {
+			return new int[] {top};
+		}
+		int deepest = -1;
+		if (n>=3 && JAIControlFlowGraph.onlyPushesInteger(ci, indexes[n-2])) {
+			deepest = JAIControlFlowGraph.getLoadedIntegerLocal(ci, indexes[n-3]);
+		}
+		return new int[] {deepest, top};
+	}
+
+	/**
+	 * Evaluates the condition of a conditional branch in the world.
+	 *
+	 * @param world the world.
+	 * @param op the opcode of the branch.
+	 * @return the world after the evaluation.
+	 */
+	protected JAIWorld evaluateConditionalBranch(JAIWorld world, int op) {
+		switch (op) {
+		case Opcode.IFEQ:
+			return world.evaluateIfeq();
+		case Opcode.IFNE:
+			return world.evaluateIfne();
+		case Opcode.IFLT:
+			return world.evaluateIflt();
+		case Opcode.IFGE:
+			return world.evaluateIfge();
+		case Opcode.IFGT:
+			return world.evaluateIfgt();
+		case Opcode.IFLE:
+			return world.evaluateIfle();
+		case Opcode.IF_ICMPEQ:
+			return world.evaluateIf_icmpeq();
+		case Opcode.IF_ICMPNE:
+			return world.evaluateIf_icmpne();
+		case Opcode.IF_ICMPLT:
+			return world.evaluateIf_icmplt();
+		case Opcode.IF_ICMPGE:
+			return world.evaluateIf_icmpge();
+		case Opcode.IF_ICMPGT:
+			return world.evaluateIf_icmpgt();
+		case Opcode.IF_ICMPLE:
+			return world.evaluateIf_icmple();
+		case Opcode.IF_ACMPEQ:
+			return world.evaluateIf_acmpeq();
+		case Opcode.IF_ACMPNE:
+			return world.evaluateIf_acmpne();
+		case Opcode.IFNULL:
+			return world.evaluateIfnull();
+		case Opcode.IFNONNULL:
+			return world.evaluateIfnonnull();
+		}
+		return world;
+	}
+
+	/**
+	 * Returns the blocks starting at the targets of a switch.
+	 *
+	 * @param targets the distinct indexes targeted by the switch.
+	 * @return the blocks to evaluate, without duplicates.
+	 */
+	private Vector<JAIBasicBlock> getSwitchSuccessors(int []targets) {
+		Vector<JAIBasicBlock> successors = new Vector<JAIBasicBlock>(targets.length);
+		for (int target: targets) {
+			successors.add(graph.getBlockStartingAt(target));
+		}
+		return successors;
+	}
+}
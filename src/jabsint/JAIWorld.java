@@ -3,6 +3,10 @@
  */
 package jabsint;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * This class represents the world as the abstract interpreter sees it.
  * 
@@ -10,7 +14,7 @@ package jabsint;
  * @date Jul 27, 2011
  *
  */
-public class JAIWorld {
+public class JAIWorld implements Cloneable {
 
 	/**
 	 * This class represents an exception in the interpretation of the world.
@@ -27,6 +31,12 @@ public class JAIWorld {
 		}
 	}
 	
+	/**
+	 * The subroutine context in which the world is (see {@link JAIControlFlowGraph}),
+	 * 0 outside subroutines.
+	 */
+	private int subroutineContext = 0;
+
 	/**
 	 * Minimal constructor. 
 	 */
@@ -35,6 +45,20 @@ public class JAIWorld {
 
 	}
 
+	/**
+	 * @return the subroutine context in which the world is, 0 outside subroutines.
+	 */
+	public int getSubroutineContext() {
+		return subroutineContext;
+	}
+
+	/**
+	 * @param subroutineContext the subroutine context in which the world is, 0 outside subroutines.
+	 */
+	public void setSubroutineContext(int subroutineContext) {
+		this.subroutineContext = subroutineContext;
+	}
+
 	
 	/**
 	 * Checks whether it is ok to loop. By default we do not loop.
@@ -75,6 +99,99 @@ public class JAIWorld {
 		return this;
 	}
 
+	/**
+	 * This method allows to widen this world with another one at a loop head. By default 
+	 * it is the combination of both worlds.
+	 * 
+	 * @param aWorld the world reaching the loop head.
+	 * @param thresholds sorted values at which growing bounds may stop.
+	 * @return the widened world
+	 */
+	public JAIWorld widenWith(JAIWorld aWorld, long []thresholds) {
+		return combineWith(aWorld);
+	}
+
+	/**
+	 * This method allows to narrow this world with another one at a loop head, after 
+	 * widening. By default the world is kept as it is.
+	 * 
+	 * @param aWorld the world recomputed at the loop head.
+	 * @return the narrowed world
+	 */
+	public JAIWorld narrowWith(JAIWorld aWorld) {
+		return this;
+	}
+
+	/**
+	 * Returns a world in which all the values of this world are replaced by top, which
+	 * includes any world of the same shape (same stack height and variables). It is
+	 * used to give up precision on a result. By default worlds carry no state.
+	 * 
+	 * @return the world of top values
+	 */
+	public JAIWorld toTop() {
+		return this;
+	}
+
+	/**
+	 * Returns the world of a path that ends before it returns: all its values are replaced
+	 * by top, as by {@link #toTop()}, and the stack only holds any value of the return
+	 * type, as when the method returns. By default worlds carry no state.
+	 * 
+	 * @param returnType the return type of the method (V if it returns no value).
+	 * @return the world of top values
+	 */
+	public JAIWorld toTopResult(String returnType) {
+		return this;
+	}
+
+	/**
+	 * Checks whether this world includes all the states of another one. By default
+	 * worlds carry no state, so the answer is yes. Worlds with a state must redefine it.
+	 *
+	 * @param aWorld the world to compare with.
+	 * @return true if this world includes aWorld, false otherwise.
+	 */
+	public boolean subsumes(JAIWorld aWorld) {
+		return true;
+	}
+
+	/**
+	 * Returns a copy of this world that can be modified independently. By default the
+	 * world is cloned, which only copies its subroutine context. Worlds with a mutable
+	 * state must redefine it.
+	 *
+	 * @return the copy of the world.
+	 */
+	public JAIWorld copy() {
+		try {
+			return (JAIWorld)clone();
+		} catch (CloneNotSupportedException e) {
+			throw new InternalError(e);
+		}
+	}
+
+	/**
+	 * Returns an estimate of the memory used by this world, in bytes, not counting
+	 * what it shares with other worlds. It is used to bound the memory used by the
+	 * worlds kept by the interpreters. By default worlds carry no state.
+	 *
+	 * @return the estimated number of bytes.
+	 */
+	public long getEstimatedSize() {
+		return 16;
+	}
+
+	/**
+	 * Informs the world of the size of the frame of the method about to be interpreted,
+	 * as given by its code attribute. By default nothing is done.
+	 *
+	 * @param maxStack the maximum depth of the operand stack.
+	 * @param maxLocals the number of local variables.
+	 */
+	public void setFrameSize(int maxStack, int maxLocals) {
+	}
+
 	/**
 	 * Checks whether the interpreter should interpret method calls. By default the answer is no.
 	 * 
@@ -84,6 +201,96 @@ public class JAIWorld {
 		return false;
 	}
 
+	/**
+	 * Returns the abstract values of the arguments of a call, which are on top of the stack.
+	 * They are not removed. By default worlds carry no values, so null is returned and the
+	 * call is not interpreted.
+	 *
+	 * @param numberOfArguments the number of arguments, including the receiver.
+	 * @return the arguments (receiver first), or null if they are not known.
+	 */
+	@SuppressWarnings("rawtypes")
+	public JAIAbstractValue[] getCallArguments(int numberOfArguments) {
+		return null;
+	}
+
+	/**
+	 * Creates the world in which a called method is interpreted: the arguments are
+	 * in its local variables and it has written no field yet. By default null is
+	 * returned and the call is not interpreted.
+	 *
+	 * @param arguments the arguments (receiver first).
+	 * @return the world at the entry of the called method.
+	 */
+	@SuppressWarnings("rawtypes")
+	public JAIWorld createCalleeWorld(JAIAbstractValue []arguments) {
+		return null;
+	}
+
+	/**
+	 * Returns the summary of a called method, this world being the one at its exits.
+	 * By default null is returned and the call is not interpreted.
+	 *
+	 * @param returnsValue true if the method returns a value.
+	 * @return the summary, or null if there is none.
+	 */
+	public JAIMethodSummary summarize(boolean returnsValue) {
+		return null;
+	}
+
+	/**
+	 * Writes what the interpretation depends on besides the code interpreted and the
+	 * arguments (the class of the world and its options), so that the summaries stored
+	 * on disk are only reused by equivalent worlds (see {@link JAISummaryStore}). By
+	 * default, the name of the class is written.
+	 *
+	 * @param out the output.
+	 * @throws IOException if the output fails.
+	 */
+	public void writeConfiguration(DataOutput out) throws IOException {
+		out.writeUTF(getClass().getName());
+	}
+
+	/**
+	 * Reads an abstract value written by {@link JAIAbstractValue#write(DataOutput)}, for
+	 * the summaries stored on disk. By default worlds carry no values, so none can be read.
+	 *
+	 * @param in the input.
+	 * @return the value read.
+	 * @throws IOException if the input fails or holds no value of this world.
+	 */
+	@SuppressWarnings("rawtypes")
+	public JAIAbstractValue readAbstractValue(DataInput in) throws IOException {
+		throw new JAIAbstractValueException("Values cannot be read");
+	}
+
+	/**
+	 * Applies a call to a method that is not interpreted, or that cannot be summarized:
+	 * the arguments are replaced by any value of the return type, and the objects the
+	 * method may reach may hold any value. By default nothing is done.
+	 *
+	 * @param method the descriptor of the method called.
+	 * @param numberOfArguments the number of arguments, including the receiver.
+	 * @return the new state of the abstract world.
+	 */
+	public JAIWorld applyUnknownCall(JAIMemberDescriptor method, int numberOfArguments) {
+		return this;
+	}
+
+	/**
+	 * Applies the summary of a called method to this world: the arguments are
+	 * replaced by the returned value and the fields written by the method are updated.
+	 * By default nothing is done.
+	 *
+	 * @param summary the summary.
+	 * @param numberOfArguments the number of arguments, including the receiver.
+	 * @param returnsValue true if the method returns a value.
+	 * @return the new state of the abstract world.
+	 */
+	public JAIWorld applySummary(JAIMethodSummary summary, int numberOfArguments, boolean returnsValue) {
+		return this;
+	}
+
 	/**
 	 * Returns the values possible branches to evaluate.
 	 * 
@@ -94,6 +301,34 @@ public class JAIWorld {
 		return indexes;
 	}
 
+	/**
+	 * Returns the selector of the last switch evaluated, whose bounds tell which cases the
+	 * switch may take. By default worlds carry no values, so null is returned and all the
+	 * cases are taken.
+	 *
+	 * @return the selector, or null if it is not known.
+	 */
+	@SuppressWarnings("rawtypes")
+	public JAIAbstractValue getSwitchSelector() {
+		return null;
+	}
+
+	/**
+	 * Restricts the world to the states in which the last conditional branch evaluated
+	 * goes to its then branch (or to its else branch), so that the bounds a loop condition
+	 * tests hold in the body of the loop. The operands of the branch are popped, so only
+	 * the local variables they were loaded from can be restricted. By default worlds carry
+	 * no values and are kept as they are.
+	 *
+	 * @param then true for the then branch, false for the else branch.
+	 * @param operandLocals for each operand of the branch, the deepest in the stack first,
+	 * the local variable it was loaded from just before the branch, -1 if it was not.
+	 * @return the restricted world.
+	 */
+	public JAIWorld assumeBranch(boolean then, int []operandLocals) {
+		return this;
+	}
+
 
 
 	/**
@@ -1628,12 +1863,23 @@ public class JAIWorld {
 	/**
 	 * Evaluates a jsr
 	 * @return the new state of the abstract world.
+	 * @deprecated redefine {@link #evaluateJsr(int)}, which calls this method by default.
 	 */	
+	@Deprecated
 	public JAIWorld evaluateJsr() {
 		JAIDebug.print("Evaluate a jsr ", this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a jsr
+	 * @param returnIndex the index following the jsr.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateJsr(int returnIndex) {
+		return evaluateJsr();
+	}
+
 	/**
 	 * Evaluates a ret
 	 * @return the new state of the abstract world.
@@ -1721,40 +1967,80 @@ public class JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateGetstatic(String staticFieldName) {
-		JAIDebug.print("Evaluate a getstatic on "+staticFieldName, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a getstatic on "+staticFieldName, this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a getstatic given the interned descriptor of the static field
+	 * (by default, as {@link #evaluateGetstatic(String)} on its string representation).
+	 * @param field the descriptor of the static field.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateGetstatic(JAIMemberDescriptor field) {
+		return evaluateGetstatic(field.getDescriptor());
+	}
+
 	/**
 	 * Evaluates a putstatic
 	 * @param string the name of the concerned static member.
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluatePutstatic(String staticFieldName) {
-		JAIDebug.print("Evaluate a putstatic on "+staticFieldName, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a putstatic on "+staticFieldName, this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a putstatic given the interned descriptor of the static field
+	 * (by default, as {@link #evaluatePutstatic(String)} on its string representation).
+	 * @param field the descriptor of the static field.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluatePutstatic(JAIMemberDescriptor field) {
+		return evaluatePutstatic(field.getDescriptor());
+	}
+
 	/**
 	 * Evaluates a getfield
 	 * @param fieldName the name of the concerned field.
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateGetfield(String fieldName) {
-		JAIDebug.print("Evaluate a getfield "+fieldName, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a getfield "+fieldName, this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a getfield given the interned descriptor of the field
+	 * (by default, as {@link #evaluateGetfield(String)} on its string representation).
+	 * @param field the descriptor of the field.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateGetfield(JAIMemberDescriptor field) {
+		return evaluateGetfield(field.getDescriptor());
+	}
+
 	/**
 	 * Evaluates a putfield
 	 * @param fieldName  the index of the concerned field.
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluatePutfield(String fieldName) {
-		JAIDebug.print("Evaluate a putfield "+fieldName, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a putfield "+fieldName, this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a putfield given the interned descriptor of the field
+	 * (by default, as {@link #evaluatePutfield(String)} on its string representation).
+	 * @param field the descriptor of the field.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluatePutfield(JAIMemberDescriptor field) {
+		return evaluatePutfield(field.getDescriptor());
+	}
+
 	/**
 	 * Evaluates a invokevirtual
 	 * @param methodDescriptor  a String representing the method called.
@@ -1765,6 +2051,16 @@ public class JAIWorld {
 		return this;
 	}
 
+	/**
+	 * Evaluates a invokevirtual given the interned descriptor of the method called
+	 * (by default, as {@link #evaluateInvokevirtual(String)} on its string representation).
+	 * @param method the descriptor of the method called.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateInvokevirtual(JAIMemberDescriptor method) {
+		return evaluateInvokevirtual(method.getDescriptor());
+	}
+
 	/**
 	 * Evaluates a invokespecial
 	 * @param methodDescriptor a String representing the method called.
@@ -1775,6 +2071,16 @@ public class JAIWorld {
 		return this;
 	}
 
+	/**
+	 * Evaluates a invokespecial given the interned descriptor of the method called
+	 * (by default, as {@link #evaluateInvokespecial(String)} on its string representation).
+	 * @param method the descriptor of the method called.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateInvokespecial(JAIMemberDescriptor method) {
+		return evaluateInvokespecial(method.getDescriptor());
+	}
+
 	/**
 	 * Evaluates a invokestatic
 	 * @param methodDescriptor a String representing the method called.
@@ -1785,6 +2091,16 @@ public class JAIWorld {
 		return this;
 	}
 
+	/**
+	 * Evaluates a invokestatic given the interned descriptor of the method called
+	 * (by default, as {@link #evaluateInvokestatic(String)} on its string representation).
+	 * @param method the descriptor of the method called.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateInvokestatic(JAIMemberDescriptor method) {
+		return evaluateInvokestatic(method.getDescriptor());
+	}
+
 	/**
 	 * Evaluates a invokeinterface
 	 * @param methodDescriptor a String representing the method called.
@@ -1796,36 +2112,80 @@ public class JAIWorld {
 		return this;
 	}
 
+	/**
+	 * Evaluates a invokeinterface given the interned descriptor of the method called
+	 * (by default, as {@link #evaluateInvokeinterface(String, int)} on its string representation).
+	 * @param method the descriptor of the method called.
+	 * @param argCount the number of arguments to the method.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateInvokeinterface(JAIMemberDescriptor method, int argCount) {
+		return evaluateInvokeinterface(method.getDescriptor(), argCount);
+	}
+
 	/**
 	 * Evaluates a new
 	 * @param classInfo The name of the class whose instance is created.
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateNew(String classInfo) {
-		JAIDebug.print("Evaluate a new "+classInfo, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a new "+classInfo, this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a new, knowing its allocation site (by default, as
+	 * {@link #evaluateNew(String)}).
+	 * @param classInfo The name of the class whose instance is created.
+	 * @param site the index of the new instruction.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateNew(String classInfo, int site) {
+		return evaluateNew(classInfo);
+	}
+
 	/**
 	 * Evaluates a newarray
 	 * @param typeInfo the type of the new array
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateNewarray(String typeInfo) {
-		JAIDebug.print("Evaluate a newarray "+typeInfo, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a newarray "+typeInfo, this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a newarray, knowing its allocation site (by default, as
+	 * {@link #evaluateNewarray(String)}).
+	 * @param typeInfo the type of the new array
+	 * @param site the index of the newarray instruction.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateNewarray(String typeInfo, int site) {
+		return evaluateNewarray(typeInfo);
+	}
+
 	/**
 	 * Evaluates a anewarray
 	 * @param classInfo The name of the class whose array is created.
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateAnewarray(String classInfo) {
-		JAIDebug.print("Evaluate a anewarray "+classInfo, this,true);
+		if (JAIDebug.isEnabled(JAIDebug.INFO, this)) JAIDebug.print(JAIDebug.INFO, "Evaluate a anewarray "+classInfo, this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a anewarray, knowing its allocation site (by default, as
+	 * {@link #evaluateAnewarray(String)}).
+	 * @param classInfo The name of the class whose array is created.
+	 * @param site the index of the anewarray instruction.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateAnewarray(String classInfo, int site) {
+		return evaluateAnewarray(classInfo);
+	}
+
 	/**
 	 * Evaluates a arraylength
 	 * @return the new state of the abstract world.
@@ -1835,6 +2195,17 @@ public class JAIWorld {
 		return this;
 	}
 
+	/**
+	 * Returns the classes of the objects the exception on top of the stack may be, before
+	 * an athrow. The handlers that cannot catch them are skipped. By default they are not
+	 * known.
+	 * 
+	 * @return the names of the classes, null if the exception may be any object.
+	 */
+	public String[] getThrownClasses() {
+		return null;
+	}
+
 	/**
 	 * Evaluates a athrow
 	 * @return the new state of the abstract world.
@@ -1844,13 +2215,23 @@ public class JAIWorld {
 		return this;
 	}
 
+	/**
+	 * Evaluates the entry in an exception handler: the stack only holds the exception caught.
+	 * @param catchType the class of the exceptions caught, null for all exceptions.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateExceptionHandler(String catchType) {
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate the entry in a handler of "+catchType, this);
+		return this;
+	}
+
 	/**
 	 * Evaluates a checkcast
 	 * @param typeCast the type in which we want to cast the instance.
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateCheckcast(String typeCast) {
-		JAIDebug.print("Evaluate a checkcast "+typeCast, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a checkcast "+typeCast, this);
 		return this;
 	}
 
@@ -1860,7 +2241,7 @@ public class JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateInstanceof(String type) {
-		JAIDebug.print("Evaluate a instanceof "+type, this);
+		if (JAIDebug.isEnabled(JAIDebug.DEBUG, this)) JAIDebug.print(JAIDebug.DEBUG, "Evaluate a instanceof "+type, this);
 		return this;
 	}
 
@@ -1898,10 +2279,22 @@ public class JAIWorld {
 	 * @return the new state of the abstract world.
 	 */	
 	public JAIWorld evaluateMultianewarray(String type, int dimensions) {
-		JAIDebug.print("Evaluate a multianewarray of "+type+", of "+dimensions+" dimensions", this, true);
+		if (JAIDebug.isEnabled(JAIDebug.INFO, this)) JAIDebug.print(JAIDebug.INFO, "Evaluate a multianewarray of "+type+", of "+dimensions+" dimensions", this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a multianewarray, knowing its allocation site (by default, as
+	 * {@link #evaluateMultianewarray(String, int)}).
+	 * @param type type of the cells of the new array
+	 * @param dimensions the number of dimensions of the new array.
+	 * @param site the index of the multianewarray instruction.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateMultianewarray(String type, int dimensions, int site) {
+		return evaluateMultianewarray(type, dimensions);
+	}
+
 	/**
 	 * Evaluates a ifnull
 	 * @return the new state of the abstract world.
@@ -1932,12 +2325,23 @@ public class JAIWorld {
 	/**
 	 * Evaluates a jsr_w
 	 * @return the new state of the abstract world.
+	 * @deprecated redefine {@link #evaluateJsr_w(int)}, which calls this method by default.
 	 */	
+	@Deprecated
 	public JAIWorld evaluateJsr_w() {
 		JAIDebug.print("Evaluate a jsr_w ", this);
 		return this;
 	}
 
+	/**
+	 * Evaluates a jsr_w
+	 * @param returnIndex the index following the jsr_w.
+	 * @return the new state of the abstract world.
+	 */	
+	public JAIWorld evaluateJsr_w(int returnIndex) {
+		return evaluateJsr_w();
+	}
+
 
 
 
@@ -0,0 +1,384 @@
+package jabsint.benchmarks;
+
+/**
+ * This class gathers representative methods used as a fixed corpus by the benchmarks.
+ * The methods are only analysed, never run.
+ */
+public class JAIBenchmarkCorpus {
+
+	/**
+	 * The names of the methods of the corpus.
+	 */
+	public static final String []methodNames = {"straightLine", "branchy", "loop", "tableSwitch", "lookupSwitch"};
+
+	/**
+	 * The names of the methods of the corpus with nested loops (only ints).
+	 */
+	public static final String []nestedLoopMethodNames = {"nestedLoops", "tripleNestedLoops", "largeRange", "countDown"};
+
+	/**
+	 * The names of the methods of the corpus with many branches (only ints).
+	 */
+	public static final String []branchHeavyMethodNames = {"branchy", "manyLocalsBranchy"};
+
+	/**
+	 * The names of the methods of the corpus calling utility methods many times (only ints).
+	 */
+	public static final String []callHeavyMethodNames = {"repeatedClamps", "nestedCalls"};
+
+	/**
+	 * The names of the big methods of the corpus (only ints).
+	 */
+	public static final String []bigMethodNames = {"bigMethod"};
+
+	/**
+	 * The names of the methods of the corpus doing arithmetic on ints, longs, floats and doubles.
+	 */
+	public static final String []arithmeticHeavyMethodNames = {"straightLine", "longArithmetic", "floatingArithmetic", "mixedArithmeticLoop"};
+
+	/**
+	 * Methods with exception handlers.
+	 */
+	public static final String []exceptionHeavyMethodNames = {"exceptionHandlers"};
+
+	/**
+	 * Methods allocating objects in loops.
+	 */
+	public static final String []allocationHeavyMethodNames = {"allocationLoop"};
+
+	/**
+	 * Methods filling and reading large arrays in loops.
+	 */
+	public static final String []arrayHeavyMethodNames = {"arrayInit"};
+
+	/**
+	 * The objects allocated by the corpus.
+	 */
+	private static class Node {
+		int value;
+		Node next;
+	}
+
+	/**
+	 * Straight-line arithmetic.
+	 */
+	public static int straightLine(int a, int b) {
+		int c = a + b;
+		int d = c * 3 - a;
+		int e = (d << 2) ^ b;
+		long l = (long) e * 7L;
+		double x = l / 3.0d;
+		float f = (float) x + 1.5f;
+		return (int) f + (e & 0xff) - (d | 4) % 5;
+	}
+
+	/**
+	 * A sequence of independent conditionals.
+	 */
+	public static int branchy(int a, int b) {
+		int r = 0;
+		if (a > 0) r += 1;
+		if (b < 0) r += 2;
+		if (a == b) r += 4;
+		if (a != 3) r += 8;
+		if (b >= 10) r += 16;
+		if (a <= -5) r += 32;
+		return r;
+	}
+
+	/**
+	 * A simple counting loop.
+	 */
+	public static int loop(int n) {
+		int s = 0;
+		for (int i = 0; i < n; i++) {
+			s += i * 2;
+		}
+		return s;
+	}
+
+	/**
+	 * A dense switch compiled into a tableswitch.
+	 */
+	public static int tableSwitch(int k) {
+		switch (k) {
+		case 0: return 10;
+		case 1: return 11;
+		case 2: return 12;
+		case 3: return 13;
+		case 4: return 14;
+		default: return -1;
+		}
+	}
+
+	/**
+	 * A sparse switch compiled into a lookupswitch.
+	 */
+	public static int lookupSwitch(int k) {
+		switch (k) {
+		case 1: return 1;
+		case 100: return 2;
+		case 1000: return 3;
+		case 10000: return 4;
+		default: return 0;
+		}
+	}
+
+	/**
+	 * Two nested counting loops.
+	 */
+	public static int nestedLoops(int n) {
+		int s = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < i; j++) {
+				s += (i + j) & 0xff;
+			}
+		}
+		return s;
+	}
+
+	/**
+	 * Three nested loops with a bounded accumulator.
+	 */
+	public static int tripleNestedLoops(int n) {
+		int c = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				for (int k = 0; k < 10; k++) {
+					c = (c + i * j + k) % 1000;
+				}
+			}
+		}
+		return c;
+	}
+
+	/**
+	 * A loop over a large induction range.
+	 */
+	public static int largeRange() {
+		int s = 0;
+		for (int i = 0; i < 1000000; i++) {
+			s = (s + i) & 0xffff;
+		}
+		return s;
+	}
+
+	/**
+	 * A decreasing loop.
+	 */
+	public static int countDown(int n) {
+		int steps = 0;
+		while (n > 0) {
+			n -= 3;
+			steps++;
+		}
+		return steps;
+	}
+
+	/**
+	 * Many locals alive across a sequence of conditionals, each touching one local.
+	 */
+	public static int manyLocalsBranchy(int a, int b) {
+		int c = a + 1, d = b + 2, e = a - b, f = a * 3, g = b * 5, h = a ^ b;
+		int i = a & 7, j = b | 8, k = c + d, l = e - f, m = g + h, n = i + j;
+		if (a > 0) c++;
+		if (b > 0) d--;
+		if (a < b) e = 0;
+		if (c == d) f = 1;
+		if (e != 0) g = 2;
+		if (f > g) h = 3;
+		if (h < 10) i = 4;
+		if (j >= 0) k = 5;
+		return c + d + e + f + g + h + i + j + k + l + m + n;
+	}
+
+	/**
+	 * A utility method called many times.
+	 */
+	public static int clamp(int v, int low, int high) {
+		if (v < low) return low;
+		if (v > high) return high;
+		return v;
+	}
+
+	/**
+	 * A utility method calling another one.
+	 */
+	public static int scale(int v) {
+		return clamp(v * 2, 0, 200) + clamp(v, 0, 100);
+	}
+
+	/**
+	 * Repeated calls to a utility method with the same arguments.
+	 */
+	public static int repeatedClamps(int a) {
+		int r = 0;
+		r += clamp(a, 0, 10);
+		r += clamp(a, 0, 10);
+		r += clamp(r, 0, 100);
+		r += clamp(a, 0, 10);
+		r += clamp(r, 0, 100);
+		r += clamp(a, 0, 10);
+		r += clamp(a, 0, 10);
+		r += clamp(r, 0, 100);
+		return r;
+	}
+
+	/**
+	 * Calls to a utility method that calls another one.
+	 */
+	public static int nestedCalls(int a) {
+		return scale(a) + scale(a) + scale(clamp(a, 0, 10)) + scale(a);
+	}
+
+	/**
+	 * A big method: a long sequence of arithmetic, conditionals and switches on eight locals.
+	 */
+	public static int bigMethod(int a, int b) {
+		int c = a + 1, d = b - 1, e = a * b, f = a ^ b, g = a & 255, h = b | 16;
+		f = c + g + 42;
+		a = b - b + 24;
+		a = d * a + 6;
+		if (g > 16) g = b ^ 16; else g = g - 16;
+		b = g & a + 37;
+		switch (b & 3) { case 0: d += 37; break; case 1: d -= 37; break; case 2: a ^= 37; break; default: a = 37; }
+		g = a + d + 3;
+		if (c > 10) e = g - 10; else e = c - 10;
+		b = e * c + 7;
+		d = f ^ b + 36;
+		b = a & d + 32;
+		if (g > 38) f = h | 38; else f = g - 38;
+		h = f + e + 16;
+		switch (c & 3) { case 0: d += 37; break; case 1: d -= 37; break; case 2: b ^= 37; break; default: b = 37; }
+		e = h * f + 47;
+		if (h > 8) e = b ^ 8; else e = h - 8;
+		g = c & f + 10;
+		h = g | a + 43;
+		b = f + f + 45;
+		if (f > 5) h = h - 5; else h = f - 5;
+		b = e * h + 45;
+		switch (b & 3) { case 0: a += 42; break; case 1: a -= 42; break; case 2: e ^= 42; break; default: e = 42; }
+		h = e & g + 43;
+		if (f > 23) a = h | 23; else a = f - 23;
+		c = b + h + 4;
+		d = e - c + 48;
+		d = g * g + 32;
+		if (b > 26) c = h ^ 26; else c = b - 26;
+		e = c & g + 36;
+		switch (e & 3) { case 0: g += 44; break; case 1: g -= 44; break; case 2: f ^= 44; break; default: f = 44; }
+		g = d + c + 6;
+		if (c > 43) c = d - 43; else c = c - 43;
+		d = a * h + 38;
+		c = e ^ e + 1;
+		c = g & f + 40;
+		if (f > 30) c = a | 30; else c = f - 30;
+		g = g + g + 26;
+		switch (b & 3) { case 0: h += 4; break; case 1: h -= 4; break; case 2: g ^= 4; break; default: g = 4; }
+		d = b * d + 29;
+		if (c > 39) b = f ^ 39; else b = c - 39;
+		a = b & a + 37;
+		c = b | f + 40;
+		a = b + d + 40;
+		if (g > 23) c = e - 23; else c = g - 23;
+		f = h * b + 8;
+		switch (h & 3) { case 0: h += 31; break; case 1: h -= 31; break; case 2: h ^= 31; break; default: h = 31; }
+		e = b & c + 7;
+		if (f > 45) e = h | 45; else e = f - 45;
+		return a + b + c + d + e + f + g + h;
+	}
+
+	/**
+	 * Arithmetic, shifts and comparisons on longs.
+	 */
+	public static long longArithmetic(long a, int b) {
+		long c = a * 31L + b;
+		long d = (c << 3) - (a >> 2);
+		long e = (d ^ 0xff00ff00L) & (c | 7L);
+		long f = (e >>> 5) + d % 13L - c / 3L;
+		if (f > a) f = -f;
+		long g = (long) (int) f + (e > d ? 1L : -1L);
+		return g * 1024L + (f << b);
+	}
+
+	/**
+	 * Arithmetic, conversions and comparisons on floats and doubles.
+	 */
+	public static double floatingArithmetic(float x, double y) {
+		float a = x * 2.0f + 1.0f;
+		float b = a / 3.0f - x % 5.0f;
+		double c = y * y + (double) b;
+		double d = c / 7.0d - y * 0.5d;
+		if (d < c) d = -d;
+		float e = (float) d + (float) (long) c;
+		double f = (int) e + (a > b ? 1.0d : 0.0d);
+		return f * 3.5d - (double) (long) d;
+	}
+
+	/**
+	 * A loop mixing ints, longs and doubles.
+	 */
+	public static double mixedArithmeticLoop(int n) {
+		long sum = 0L;
+		double mean = 0.0d;
+		for (int i = 0; i < 100; i++) {
+			sum += (long) i * i;
+			mean = mean * 0.5d + i;
+			if (sum > 1000000L) sum -= 1000000L;
+		}
+		return mean + sum / 100.0d + n;
+	}
+
+	/**
+	 * Divisions and an explicit throw covered by handlers, and a finally block.
+	 */
+	public static int exceptionHandlers(int a, int b, IllegalStateException failure) {
+		int r = 0;
+		try {
+			r = a / b;
+			if (r > 100) {
+				throw failure;
+			}
+			r += a % (b + 1);
+		} catch (ArithmeticException e) {
+			r = -1;
+		} catch (IllegalStateException e) {
+			r = 100;
+		} finally {
+			r++;
+		}
+		return r;
+	}
+
+	/**
+	 * Builds a list in a loop and reads back the fields of its head.
+	 */
+	public static int allocationLoop(int n) {
+		Node head = new Node();
+		head.value = 100;
+		for (int i = 0; i < n; i++) {
+			Node node = new Node();
+			node.value = i & 7;
+			node.next = head;
+			head = node;
+		}
+		Node last = new Node();
+		last.value = head.value + 1;
+		return last.value;
+	}
+
+	/**
+	 * Fills a large array, then counts its values in a second one.
+	 */
+	public static int arrayInit(int n) {
+		int[] values = new int[4096];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = (i + n) & 15;
+		}
+		int[] histogram = new int[16];
+		for (int i = 0; i < values.length; i++) {
+			histogram[values[i]]++;
+		}
+		return histogram[3] + values.length;
+	}
+
+}
@@ -0,0 +1,298 @@
+package jabsint.benchmarks;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * This class runs micro-benchmarks in the way of JMH: each benchmark is run for
+ * warm-up iterations, then for measurement iterations of a fixed duration, and
+ * the average time per operation and the bytes allocated per operation are
+ * reported. Results are written in the JSON format of JMH (mode avgt) so that
+ * the tools comparing JMH results can compare the results of two commits.
+ * <p>
+ * The JMH benchmarks of the jmh module (built by Maven) measure the same hot paths;
+ * this runner is the fallback when JMH cannot be fetched, since it only needs the
+ * classes of the interpreter and lib/javassist.jar.
+ * <p>
+ * Options: <code>-wi warmupIterations -i iterations -r iterationTimeInMs -f regexp -rff results.json</code>
+ */
+public class JAIBenchmarkRunner {
+
+	/**
+	 * This interface represents the operation measured by a benchmark.
+	 */
+	public interface JAIOperation {
+		/**
+		 * Runs the operation once.
+		 *
+		 * @return a result, kept so that the operation is not optimised away.
+		 */
+		public Object run() throws Exception;
+	}
+
+	/**
+	 * This class represents the results of a benchmark.
+	 */
+	public static class JAIBenchmarkResult {
+		public final String name;
+		public final double []nanosPerOperation;
+		public final double []bytesPerOperation;
+
+		public JAIBenchmarkResult(String name, double []nanosPerOperation, double []bytesPerOperation) {
+			this.name = name;
+			this.nanosPerOperation = nanosPerOperation;
+			this.bytesPerOperation = bytesPerOperation;
+		}
+	}
+
+	/**
+	 * Keeps the results of the operations.
+	 */
+	public static volatile Object sink;
+
+	/**
+	 * The names of the benchmarks.
+	 */
+	private final List<String> names = new ArrayList<String>();
+
+	/**
+	 * The operations of the benchmarks.
+	 */
+	private final List<JAIOperation> operations = new ArrayList<JAIOperation>();
+
+	/**
+	 * The number of warm-up iterations.
+	 */
+	private int warmupIterations = 3;
+
+	/**
+	 * The number of measurement iterations.
+	 */
+	private int measurementIterations = 5;
+
+	/**
+	 * The duration of an iteration in milliseconds.
+	 */
+	private long iterationTime = 500;
+
+	/**
+	 * The benchmarks run are the ones whose name contains a match of this expression (all if null).
+	 */
+	private Pattern filter = null;
+
+	/**
+	 * The file in which results are written (none if null).
+	 */
+	private String resultFile = "jai-benchmarks.json";
+
+	/**
+	 * Creates a runner configured by command-line options.
+	 *
+	 * @param args the options.
+	 */
+	public JAIBenchmarkRunner(String []args) {
+		for (int i = 0; i+1<args.length; i += 2) {
+			if (args[i].equals("-wi")) {
+				warmupIterations = Integer.parseInt(args[i+1]);
+			} else if (args[i].equals("-i")) {
+				measurementIterations = Integer.parseInt(args[i+1]);
+			} else if (args[i].equals("-r")) {
+				iterationTime = Long.parseLong(args[i+1]);
+			} else if (args[i].equals("-f")) {
+				filter = Pattern.compile(args[i+1]);
+			} else if (args[i].equals("-rff")) {
+				resultFile = args[i+1];
+			} else {
+				throw new IllegalArgumentException("Unknown option "+args[i]);
+			}
+		}
+	}
+
+	/**
+	 * Adds a benchmark.
+	 *
+	 * @param name the name of the benchmark.
+	 * @param operation the operation measured.
+	 */
+	public void add(String name, JAIOperation operation) {
+		if (filter==null || filter.matcher(name).find()) {
+			names.add(name);
+			operations.add(operation);
+		}
+	}
+
+	/**
+	 * Runs all the benchmarks, prints their results and writes them in the result file.
+	 *
+	 * @return the results.
+	 * @throws Exception
+	 */
+	public List<JAIBenchmarkResult> run() throws Exception {
+		List<JAIBenchmarkResult> results = new ArrayList<JAIBenchmarkResult>();
+		for (int b = 0; b<names.size(); b++) {
+			JAIOperation operation = operations.get(b);
+			for (int i = 0; i<warmupIterations; i++) {
+				iterate(operation, null, 0);
+			}
+			double []nanos = new double[measurementIterations];
+			for (int i = 0; i<measurementIterations; i++) {
+				iterate(operation, nanos, i);
+			}
+			// allocations are measured in separate iterations
+			double []allocations = new double[measurementIterations];
+			for (int i = 0; i<measurementIterations; i++) {
+				allocations[i] = allocationsPerOperation(operation);
+			}
+			JAIBenchmarkResult result = new JAIBenchmarkResult(names.get(b), nanos, allocations);
+			results.add(result);
+			System.out.println(String.format(Locale.ROOT, "%-50s %12.1f +- %8.1f ns/op %12.1f B/op",
+					result.name, mean(nanos), error(nanos), mean(allocations)));
+		}
+		if (resultFile!=null) {
+			Writer w = new OutputStreamWriter(new FileOutputStream(resultFile), "UTF-8");
+			try {
+				writeJson(results, w);
+			} finally {
+				w.close();
+			}
+			System.out.println("Results written in "+resultFile);
+		}
+		return results;
+	}
+
+	/**
+	 * Runs an operation for the duration of an iteration.
+	 *
+	 * @param operation the operation.
+	 * @param nanos the array in which the time per operation is stored (null for a warm-up).
+	 * @param i the index of the iteration.
+	 * @throws Exception
+	 */
+	private void iterate(JAIOperation operation, double []nanos, int i) throws Exception {
+		long deadline = System.nanoTime()+iterationTime*1000000;
+		long operationsRun = 0;
+		int batch = 1;
+		long start = System.nanoTime();
+		long now;
+		do {
+			for (int k = 0; k<batch; k++) {
+				sink = operation.run();
+			}
+			operationsRun += batch;
+			if (batch<1024) batch *= 2;
+			now = System.nanoTime();
+		} while (now<deadline);
+		if (nanos!=null) {
+			nanos[i] = (now-start)/(double)operationsRun;
+		}
+	}
+
+	/**
+	 * Measures the number of bytes allocated per operation.
+	 *
+	 * @param operation the operation.
+	 * @return the number of bytes, or -1 if it cannot be measured.
+	 * @throws Exception
+	 */
+	private static double allocationsPerOperation(JAIOperation operation) throws Exception {
+		int count = 1000;
+		// the allocations of reading the counter are not counted
+		long overhead = JAIForkBenchmark.allocatedBytes();
+		long bytes = JAIForkBenchmark.allocatedBytes();
+		overhead = bytes-overhead;
+		for (int k = 0; k<count; k++) {
+			sink = operation.run();
+		}
+		bytes = JAIForkBenchmark.allocatedBytes()-bytes-overhead;
+		return (overhead<0) ? -1 : Math.max(bytes, 0)/(double)count;
+	}
+
+	/**
+	 * @return the mean of the values.
+	 */
+	private static double mean(double []values) {
+		double sum = 0;
+		for (double v: values) sum += v;
+		return sum/values.length;
+	}
+
+	/**
+	 * Returns the half-width of the 99.9% confidence interval of the mean
+	 * (with the normal distribution, JMH uses the one of Student).
+	 *
+	 * @return the error of the values.
+	 */
+	private static double error(double []values) {
+		if (values.length<2) return Double.NaN;
+		double mean = mean(values);
+		double sum = 0;
+		for (double v: values) sum += (v-mean)*(v-mean);
+		return 3.291*Math.sqrt(sum/(values.length-1))/Math.sqrt(values.length);
+	}
+
+	/**
+	 * Writes results in the JSON format of JMH.
+	 *
+	 * @param results the results.
+	 * @param w the writer.
+	 * @throws IOException
+	 */
+	public void writeJson(List<JAIBenchmarkResult> results, Writer w) throws IOException {
+		w.write("[\n");
+		for (int b = 0; b<results.size(); b++) {
+			JAIBenchmarkResult result = results.get(b);
+			w.write("    {\n");
+			w.write("        \"benchmark\" : \""+result.name.replace("\\", "\\\\").replace("\"", "\\\"")+"\",\n");
+			w.write("        \"mode\" : \"avgt\",\n");
+			w.write("        \"threads\" : 1,\n");
+			w.write("        \"forks\" : 1,\n");
+			w.write("        \"jvm\" : \""+System.getProperty("java.home").replace("\\", "\\\\")+"\",\n");
+			w.write("        \"jdkVersion\" : \""+System.getProperty("java.version")+"\",\n");
+			w.write("        \"warmupIterations\" : "+warmupIterations+",\n");
+			w.write("        \"warmupTime\" : \""+iterationTime+" ms\",\n");
+			w.write("        \"measurementIterations\" : "+measurementIterations+",\n");
+			w.write("        \"measurementTime\" : \""+iterationTime+" ms\",\n");
+			w.write("        \"primaryMetric\" : "+metricJson(result.nanosPerOperation, "ns/op")+",\n");
+			w.write("        \"secondaryMetrics\" : {\n");
+			w.write("            \"\u00b7gc.alloc.rate.norm\" : "+metricJson(result.bytesPerOperation, "B/op")+"\n");
+			w.write("        }\n");
+			w.write("    }"+(b+1<results.size() ? "," : "")+"\n");
+		}
+		w.write("]\n");
+	}
+
+	/**
+	 * Returns the JSON representation of a metric.
+	 *
+	 * @param values the values of the iterations.
+	 * @param unit the unit.
+	 * @return the JSON object.
+	 */
+	private static String metricJson(double []values, String unit) {
+		double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+		StringBuilder raw = new StringBuilder();
+		for (double v: values) {
+			min = Math.min(min, v);
+			max = Math.max(max, v);
+			if (raw.length()>0) raw.append(", ");
+			raw.append(number(v));
+		}
+		return "{ \"score\" : "+number(mean(values))+", \"scoreError\" : "+number(error(values))
+				+", \"scoreConfidence\" : [ "+number(mean(values)-error(values))+", "+number(mean(values)+error(values))+" ]"
+				+", \"scoreUnit\" : \""+unit+"\", \"rawData\" : [ [ "+raw+" ] ] }";
+	}
+
+	/**
+	 * @return the JSON representation of a number.
+	 */
+	private static String number(double v) {
+		return (Double.isNaN(v) || Double.isInfinite(v)) ? "\"NaN\"" : String.format(Locale.ROOT, "%.3f", v);
+	}
+
+}
@@ -0,0 +1,125 @@
+package jabsint.benchmarks;
+
+import jabsint.JAIAbstractInterpreter;
+import jabsint.JAIDebug;
+import jabsint.JAIMinimalWorld;
+import jabsint.domains.JAIIntervalsFactory;
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+import javassist.bytecode.Mnemonic;
+
+/**
+ * This class measures the cost of debugging messages when debugging is off. It
+ * compares the messages as they used to be printed (built, then checked against
+ * a list of class names) with guarded messages, messages given as suppliers and
+ * messages without arguments, and then measures the analysis of the methods of
+ * the corpus. Times are in nanoseconds per message and allocations in bytes per
+ * message, measured with the thread allocation counter of the JVM.
+ */
+public class JAIDebugBenchmark {
+
+	/**
+	 * The number of messages for each measure.
+	 */
+	public static int rounds = 10000000;
+
+	/**
+	 * The list of classes to debug as it used to be configured.
+	 */
+	public static String []legacyEnabledDebugClasses = {"jabsint.JAIMinimalWorld"};
+
+	/**
+	 * Keeps the results alive.
+	 */
+	public static int sink = 0;
+
+	/**
+	 * Runs the benchmark. Optionally takes the number of rounds as an argument.
+	 *
+	 * @param args
+	 * @throws NotFoundException
+	 */
+	public static void main(String[] args) throws NotFoundException {
+		if (args.length>0) {
+			rounds = Integer.parseInt(args[0]);
+		}
+		JAIDebug.reset();
+		for (int i = 0; i<2; i++) {
+			measure("legacy (built, then looked up)", 0);
+			measure("guarded", 1);
+			measure("supplier", 2);
+			measure("constant message", 3);
+		}
+
+		ClassPool pool = ClassPool.getDefault();
+		pool.insertClassPath(new ClassClassPath(JAIBenchmarkCorpus.class));
+		CtClass cc = pool.get(JAIBenchmarkCorpus.class.getName());
+		for (String methodName: JAIBenchmarkCorpus.branchHeavyMethodNames) {
+			CtMethod m = cc.getDeclaredMethod(methodName);
+			int analyses = Math.max(1, rounds/10000);
+			for (int i = 0; i<2; i++) {
+				long bytes = JAIForkBenchmark.allocatedBytes();
+				long start = System.nanoTime();
+				for (int r = 0; r<analyses; r++) {
+					new JAIAbstractInterpreter(m).interpret(new JAIMinimalWorld(new JAIIntervalsFactory()));
+				}
+				long time = System.nanoTime()-start;
+				bytes = JAIForkBenchmark.allocatedBytes()-bytes;
+				System.out.println(methodName+", debugging off: "+(long)(analyses/(time/1e9))+" analyses/s, "
+						+(bytes<0 ? "?" : ""+bytes/analyses)+" bytes/analysis");
+			}
+		}
+	}
+
+	/**
+	 * Measures one way of printing messages.
+	 *
+	 * @param name the name of the measure.
+	 * @param kind 0 for legacy, 1 for guarded, 2 for supplier, 3 for constant messages.
+	 */
+	public static void measure(String name, int kind) {
+		long bytes = JAIForkBenchmark.allocatedBytes();
+		long start = System.nanoTime();
+		for (int r = 0; r<rounds; r++) {
+			final int opcode = r%Mnemonic.OPCODE.length;
+			switch (kind) {
+			case 0:
+				legacyPrint("Interpreting: "+Mnemonic.OPCODE[opcode], JAIDebugBenchmark.class);
+				break;
+			case 1:
+				if (JAIDebug.isEnabled(JAIDebug.DEBUG, JAIDebugBenchmark.class)) JAIDebug.print(JAIDebug.DEBUG, "Interpreting: "+Mnemonic.OPCODE[opcode], JAIDebugBenchmark.class);
+				break;
+			case 2:
+				JAIDebug.print(JAIDebug.DEBUG, () -> "Interpreting: "+Mnemonic.OPCODE[opcode], JAIDebugBenchmark.class);
+				break;
+			default:
+				JAIDebug.print("Interpreting", JAIDebugBenchmark.class);
+			}
+		}
+		long time = System.nanoTime()-start;
+		bytes = JAIForkBenchmark.allocatedBytes()-bytes;
+		System.out.println(name+": "+String.format("%.2f", time/(double)rounds)+" ns/message, "
+				+(bytes<0 ? "?" : String.format("%.2f", bytes/(double)rounds))+" bytes/message");
+	}
+
+	/**
+	 * Prints a message the way messages used to be printed.
+	 *
+	 * @param message the message.
+	 * @param objectInWhichCalled the caller or its class.
+	 */
+	public static void legacyPrint(String message, Object objectInWhichCalled) {
+		String className = (objectInWhichCalled instanceof Class) ? ((Class<?>)objectInWhichCalled).getName() : objectInWhichCalled.getClass().getName();
+		for (String s: legacyEnabledDebugClasses) {
+			if (className.equals(s)) {
+				System.err.println("JEffects DEBUG:"+className+": "+message);
+				return;
+			}
+		}
+		sink += message.length();
+	}
+
+}
@@ -0,0 +1,169 @@
+package jabsint.benchmarks;
+
+import jabsint.JAIAbstractInterpreter;
+import jabsint.JAIWorld;
+
+import java.util.Vector;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.CodeIterator;
+import javassist.bytecode.Mnemonic;
+
+/**
+ * This class measures the number of instructions dispatched per second by the 
+ * interpreter on the methods of the corpus. It compares the dispatch table with 
+ * the former classification based on the mnemonics of the instructions.
+ */
+public class JAIDispatchBenchmark {
+
+	/**
+	 * A world that never forks so that only the dispatch is measured.
+	 */
+	public static class JAINonForkingWorld extends JAIWorld {
+		public boolean allBranchesNeedToBeEvaluated() {
+			return false;
+		}
+	}
+
+	/**
+	 * The number of rounds over the corpus for each measure.
+	 */
+	public static int rounds = 20000;
+
+	/**
+	 * Runs the benchmark. Optionally takes the number of rounds as an argument.
+	 * 
+	 * @param args
+	 * @throws NotFoundException
+	 * @throws BadBytecode
+	 */
+	public static void main(String[] args) throws NotFoundException, BadBytecode {
+		if (args.length>0) {
+			rounds = Integer.parseInt(args[0]);
+		}
+		ClassPool pool = ClassPool.getDefault();
+		pool.insertClassPath(new ClassClassPath(JAIBenchmarkCorpus.class));
+		CtClass cc = pool.get(JAIBenchmarkCorpus.class.getName());
+
+		for (String methodName: JAIBenchmarkCorpus.methodNames) {
+			CtMethod m = cc.getDeclaredMethod(methodName);
+			int []indexes = instructionIndexes(m);
+			// warm-up then measure
+			measure(m, indexes, false);
+			measure(m, indexes, true);
+			double before = measure(m, indexes, false);
+			double after = measure(m, indexes, true);
+			System.out.println(methodName+": "+indexes.length+" instructions, by name: "+(long)before+" instr/s, by table: "+(long)after+" instr/s");
+		}
+	}
+
+	/**
+	 * Collects the indexes of the instructions of a method.
+	 * 
+	 * @param m the method.
+	 * @return the indexes of its instructions.
+	 * @throws BadBytecode
+	 */
+	public static int[] instructionIndexes(CtMethod m) throws BadBytecode {
+		CodeIterator ci = m.getMethodInfo().getCodeAttribute().iterator();
+		Vector<Integer> indexes = new Vector<Integer>();
+		while (ci.hasNext()) {
+			indexes.add(ci.next());
+		}
+		int []result = new int[indexes.size()];
+		for (int i = 0; i<result.length; i++) {
+			result[i] = indexes.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Measures the number of instructions dispatched per second.
+	 * 
+	 * @param m the method.
+	 * @param indexes the indexes of its instructions.
+	 * @param byTable true to use the dispatch table, false to use the names of the instructions.
+	 * @return the number of instructions per second.
+	 */
+	public static double measure(CtMethod m, int []indexes, boolean byTable) {
+		JAIWorld world = new JAINonForkingWorld();
+		CodeIterator ci = m.getMethodInfo().getCodeAttribute().iterator();
+		long start = System.nanoTime();
+		for (int r = 0; r<rounds; r++) {
+			// a new interpreter per round so that collected results do not accumulate
+			JAIAbstractInterpreter interpreter = new JAIAbstractInterpreter(m);
+			for (int index: indexes) {
+				if (byTable) {
+					interpreter.interpretOneInstruction(world, ci, index);
+				} else {
+					interpretOneInstructionByName(interpreter, world, ci, index);
+				}
+			}
+		}
+		long time = System.nanoTime()-start;
+		return ((double)rounds*indexes.length)/(time/1e9);
+	}
+
+	/**
+	 * The former classification of instructions, kept as a baseline.
+	 * 
+	 * @param interpreter the interpreter.
+	 * @param world the world in which interpret it.
+	 * @param ci the code iterator.
+	 * @param index the index in the code.
+	 * @return the modified world
+	 */
+	public static JAIWorld interpretOneInstructionByName(JAIAbstractInterpreter interpreter, JAIWorld world, CodeIterator ci, int index) {
+		int op = ci.byteAt(index);
+		if (Mnemonic.OPCODE[op].contains("pop")||Mnemonic.OPCODE[op].contains("dup")||Mnemonic.OPCODE[op].contains("swap")) {
+			return interpreter.interpretStack(world, ci, index);
+		}
+		if (Mnemonic.OPCODE[op].substring(1).contains("aload")||Mnemonic.OPCODE[op].substring(1).contains("astore")||Mnemonic.OPCODE[op].contains("array")) {
+			return interpreter.interpretArrayOperation(world, ci, index);
+		}
+
+		if (Mnemonic.OPCODE[op].contains("field")||Mnemonic.OPCODE[op].equals("getstatic")||Mnemonic.OPCODE[op].equals("getstatic")) {
+			return interpreter.interpretFieldsOperation(world, ci, index);
+		}
+		if (Mnemonic.OPCODE[op].contains("monitor")) {
+			return interpreter.interpretConcurrencyOperations(world, ci, index);
+		}
+		if (Mnemonic.OPCODE[op].equals("new")||Mnemonic.OPCODE[op].equals("aconst_null")) {
+			return interpreter.interpretObjectStackOperation(world, ci, index);
+		}
+
+		if (Mnemonic.OPCODE[op].contains("invoke")) {
+			return interpreter.interpretInvokeOperation(world, ci, index);
+		}
+
+		if (Mnemonic.OPCODE[op].contains("return")) {
+			return interpreter.interpretReturnOperation(world, ci, index);
+		}
+
+		if (Mnemonic.OPCODE[op].contains("load")||Mnemonic.OPCODE[op].contains("store")||Mnemonic.OPCODE[op].equals("iinc")) {
+			return interpreter.interpretLocalVariableLoadAndStore(world, ci, index);
+		}
+
+		if (Mnemonic.OPCODE[op].startsWith("ldc")) {
+			return interpreter.interpretLoadingFromConstantPool(world, ci, index);
+		}
+		if (Mnemonic.OPCODE[op].startsWith("goto")||Mnemonic.OPCODE[op].startsWith("jsr")||Mnemonic.OPCODE[op].equals("ret")||Mnemonic.OPCODE[op].contains("if")||Mnemonic.OPCODE[op].contains("switch")) {
+			return interpreter.interpretControlFlowStructure(world, ci, index);
+		}
+
+		if (Mnemonic.OPCODE[op].equals("nop")||Mnemonic.OPCODE[op].equals("athrow")||Mnemonic.OPCODE[op].equals("instanceof")||Mnemonic.OPCODE[op].equals("checkcast")||Mnemonic.OPCODE[op].equals("wide")) {
+			return interpreter.interpretSpecialOperation(world, ci, index);
+		}
+
+		if (Mnemonic.OPCODE[op].contains("ipush")||Mnemonic.OPCODE[op].contains("const")||Mnemonic.OPCODE[op].substring(1,2).equals("2")||Mnemonic.OPCODE[op].contains("add")||Mnemonic.OPCODE[op].contains("div")||Mnemonic.OPCODE[op].contains("rem")||Mnemonic.OPCODE[op].contains("mul")||Mnemonic.OPCODE[op].contains("neg")||Mnemonic.OPCODE[op].contains("cmp")||Mnemonic.OPCODE[op].contains("and")||Mnemonic.OPCODE[op].contains("or")||Mnemonic.OPCODE[op].contains("sh")||Mnemonic.OPCODE[op].contains("xor")) {
+			return interpreter.interpretPrimitiveTypeOperation(world, ci, index);
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,178 @@
+package jabsint.benchmarks;
+
+import jabsint.JAIAbstractInterpreter;
+import jabsint.JAIAbstractValue;
+import jabsint.JAIAbstractValuesFactory;
+import jabsint.JAIMinimalWorld;
+import jabsint.JAIPersistentMap;
+import jabsint.JAIStack;
+import jabsint.JAIWorld;
+import jabsint.domains.JAIIntervalsFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+
+/**
+ * This class measures the cost of forking worlds. It compares the worlds of
+ * JAIMinimalWorld, which share their fields and values and copy their stack and
+ * local variables in one array copy each, with worlds that copy all their state
+ * value by value when forking (as worlds used to do), first
+ * on forks alone and then on the path-sensitive analysis of branch-heavy methods.
+ * Allocations are measured with the thread allocation counter of the JVM when it
+ * is available.
+ */
+@SuppressWarnings("rawtypes")
+public class JAIForkBenchmark {
+
+	/**
+	 * A world that copies all its state when forking.
+	 */
+	public static class JAIDeepCopyWorld extends JAIMinimalWorld {
+
+		public JAIDeepCopyWorld(JAIAbstractValuesFactory factory) {
+			super(factory);
+		}
+
+		public JAIDeepCopyWorld(JAIDeepCopyWorld w) {
+			super(w);
+			JAIStack copiedStack = new JAIStack();
+			for (JAIAbstractValue v: w.getCurrentStack().toArray()) {
+				copiedStack.push(v.clone());
+			}
+			setCurrentStack(copiedStack);
+			setFields(deepCopy(w.getFields()));
+			setStaticFields(deepCopy(w.getStaticFields()));
+			JAIAbstractValue []locals = w.getLocalVariables().clone();
+			for (int i = 0; i<locals.length; i++) {
+				locals[i] = (locals[i]==null) ? null : locals[i].clone();
+			}
+			setLocalVariables(locals);
+		}
+
+		private static <K> JAIPersistentMap<K,JAIAbstractValue> deepCopy(JAIPersistentMap<K,JAIAbstractValue> map) {
+			JAIPersistentMap<K,JAIAbstractValue> result = JAIPersistentMap.empty();
+			for (K k: map.keys()) {
+				result = result.put(k, map.get(k).clone());
+			}
+			return result;
+		}
+
+		public JAIWorld copy() {
+			return new JAIDeepCopyWorld(this);
+		}
+	}
+
+	/**
+	 * The number of forks or analyses for each measure.
+	 */
+	public static int rounds = 200000;
+
+	/**
+	 * The numbers of local variables of the worlds forked.
+	 */
+	public static int []sizes = {4, 32, 256};
+
+	/**
+	 * Runs the benchmark. Optionally takes the number of rounds as an argument.
+	 *
+	 * @param args
+	 * @throws NotFoundException
+	 */
+	public static void main(String[] args) throws NotFoundException {
+		if (args.length>0) {
+			rounds = Integer.parseInt(args[0]);
+		}
+		for (int size: sizes) {
+			for (boolean sharing: new boolean[]{false, true}) {
+				measureForks(size, sharing);
+				measureForks(size, sharing);
+			}
+		}
+
+		ClassPool pool = ClassPool.getDefault();
+		pool.insertClassPath(new ClassClassPath(JAIBenchmarkCorpus.class));
+		CtClass cc = pool.get(JAIBenchmarkCorpus.class.getName());
+		for (String methodName: JAIBenchmarkCorpus.branchHeavyMethodNames) {
+			CtMethod m = cc.getDeclaredMethod(methodName);
+			for (boolean sharing: new boolean[]{false, true}) {
+				measureAnalyses(m, sharing);
+				measureAnalyses(m, sharing);
+			}
+		}
+	}
+
+	/**
+	 * Creates an empty world.
+	 *
+	 * @param sharing true for a sharing world, false for a deep-copying one.
+	 * @return the world.
+	 */
+	public static JAIMinimalWorld newWorld(boolean sharing) {
+		JAIAbstractValuesFactory factory = new JAIIntervalsFactory();
+		return sharing ? new JAIMinimalWorld(factory) : new JAIDeepCopyWorld(factory);
+	}
+
+	/**
+	 * Measures forking a world and writing one local variable in the copy.
+	 *
+	 * @param size the number of local variables of the world.
+	 * @param sharing true for a sharing world, false for a deep-copying one.
+	 */
+	public static void measureForks(int size, boolean sharing) {
+		JAIMinimalWorld world = newWorld(sharing);
+		for (int i = 0; i<size; i++) {
+			world.setLocalVariable(i, world.getFactory().generateIntegerAbstractValue(i));
+			world.getCurrentStack().push(world.getFactory().generateIntegerAbstractValue(i));
+		}
+		JAIAbstractValue one = world.getFactory().generateIntegerAbstractValue(1);
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		for (int r = 0; r<rounds; r++) {
+			JAIMinimalWorld w = (JAIMinimalWorld) world.copy();
+			w.setLocalVariable(r%size, one);
+		}
+		long time = System.nanoTime()-start;
+		bytes = allocatedBytes()-bytes;
+		System.out.println("fork+write, "+size+" locals, "+(sharing ? "shared" : "deep copy")+": "
+				+(long)(rounds/(time/1e9))+" forks/s, "+(bytes<0 ? "?" : ""+bytes/rounds)+" bytes/fork");
+	}
+
+	/**
+	 * Measures the path-sensitive analysis of a method.
+	 *
+	 * @param m the method.
+	 * @param sharing true for sharing worlds, false for deep-copying ones.
+	 */
+	public static void measureAnalyses(CtMethod m, boolean sharing) {
+		int analyses = Math.max(1, rounds/100);
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		for (int r = 0; r<analyses; r++) {
+			new JAIAbstractInterpreter(m).interpret(newWorld(sharing));
+		}
+		long time = System.nanoTime()-start;
+		bytes = allocatedBytes()-bytes;
+		System.out.println(m.getName()+", "+(sharing ? "shared" : "deep copy")+": "
+				+(long)(analyses/(time/1e9))+" analyses/s, "+(bytes<0 ? "?" : ""+bytes/analyses)+" bytes/analysis");
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the current thread.
+	 *
+	 * @return the number of bytes, or a negative number if it is not available.
+	 */
+	public static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean)bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return Long.MIN_VALUE;
+	}
+
+}
@@ -0,0 +1,379 @@
+package jabsint.benchmarks;
+
+import jabsint.JAIAbstractInterpreter;
+import jabsint.JAIAbstractValue;
+import jabsint.JAIInternTable;
+import jabsint.JAIMinimalWorld;
+import jabsint.JAIParallelInterpreter;
+import jabsint.JAIPathBudget;
+import jabsint.JAIStack;
+import jabsint.JAIWorklistInterpreter;
+import jabsint.JAIWorld;
+import jabsint.benchmarks.JAIDispatchBenchmark.JAINonForkingWorld;
+import jabsint.domains.JAIFloatingInterval;
+import jabsint.domains.JAIIntegerInterval;
+import jabsint.domains.JAIIntervalsFactory;
+import jabsint.domains.JAILongInterval;
+import jabsint.domains.JAISegmentedArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.Modifier;
+import javassist.bytecode.CodeIterator;
+import javassist.bytecode.Mnemonic;
+import javassist.bytecode.Opcode;
+
+/**
+ * This class gathers the benchmarks of the hot paths of the interpreter, run by
+ * JAIBenchmarkRunner: the dispatch of each opcode of the corpus and of whole
+ * methods, forking and joining worlds, the operations of the stack, the lattice
+ * operations of intervals, the arithmetic of int, long, float and double
+ * intervals, and the analysis of the methods of the corpus with the worklist
+ * interpreter and with the path-sensitive interpreter.
+ * <p>
+ * Example: <code>java jabsint.benchmarks.JAIHotPathBenchmark -wi 3 -i 5 -r 500 -f analysis -rff results.json</code>
+ */
+@SuppressWarnings("rawtypes")
+public class JAIHotPathBenchmark {
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args the options of JAIBenchmarkRunner.
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		JAIBenchmarkRunner runner = new JAIBenchmarkRunner(args);
+		ClassPool pool = ClassPool.getDefault();
+		pool.insertClassPath(new ClassClassPath(JAIBenchmarkCorpus.class));
+		CtClass cc = pool.get(JAIBenchmarkCorpus.class.getName());
+
+		addDispatchBenchmarks(runner, cc);
+		addWorldBenchmarks(runner);
+		addStackBenchmarks(runner);
+		addLatticeBenchmarks(runner);
+		addArithmeticBenchmarks(runner);
+		addAnalysisBenchmarks(runner, cc);
+		addInputWorldsBenchmarks(runner, cc);
+		runner.run();
+	}
+
+	/**
+	 * Returns true for the instructions that transfer control (they interpret the
+	 * rest of the method with the path-sensitive interpreter).
+	 *
+	 * @param op the opcode.
+	 * @return true if it transfers control.
+	 */
+	public static boolean isControlTransfer(int op) {
+		return (op>=Opcode.IFEQ && op<=Opcode.LOOKUPSWITCH) || (op>=Opcode.IFNULL && op<=Opcode.JSR_W);
+	}
+
+	/**
+	 * Adds the dispatch of one occurrence of each opcode of the corpus and of all
+	 * the instructions of each method (control transfers excepted).
+	 */
+	public static void addDispatchBenchmarks(JAIBenchmarkRunner runner, CtClass cc) throws Exception {
+		final JAIWorld world = new JAINonForkingWorld();
+		boolean []seen = new boolean[256];
+		for (CtMethod m: cc.getDeclaredMethods()) {
+			final CodeIterator ci = m.getMethodInfo().getCodeAttribute().iterator();
+			final JAIAbstractInterpreter interpreter = new JAIAbstractInterpreter(m);
+			List<Integer> indexes = new ArrayList<Integer>();
+			for (final int index: JAIDispatchBenchmark.instructionIndexes(m)) {
+				int op = ci.byteAt(index);
+				if (isControlTransfer(op)) continue;
+				indexes.add(index);
+				if (!seen[op]) {
+					seen[op] = true;
+					runner.add("dispatch.opcode."+Mnemonic.OPCODE[op], () -> interpreter.interpretOneInstruction(world, ci, index));
+				}
+			}
+			final int []methodIndexes = new int[indexes.size()];
+			for (int i = 0; i<methodIndexes.length; i++) {
+				methodIndexes[i] = indexes.get(i);
+			}
+			runner.add("dispatch.method."+m.getName(), () -> {
+				JAIWorld w = world;
+				for (int index: methodIndexes) {
+					w = interpreter.interpretOneInstruction(world, ci, index);
+				}
+				return w;
+			});
+		}
+	}
+
+	/**
+	 * Creates a world with a number of local variables and values on the stack.
+	 *
+	 * @param size the number of local variables and of values on the stack.
+	 * @return the world.
+	 */
+	public static JAIMinimalWorld newWorld(int size) {
+		JAIMinimalWorld world = new JAIMinimalWorld(new JAIIntervalsFactory());
+		world.setFrameSize(size, size);
+		for (int i = 0; i<size; i++) {
+			world.setLocalVariable(i, new JAIIntegerInterval(i, i));
+			world.getCurrentStack().push(new JAIIntegerInterval(-i, i));
+		}
+		return world;
+	}
+
+	/**
+	 * Adds forking, joining, widening and comparing worlds.
+	 */
+	public static void addWorldBenchmarks(JAIBenchmarkRunner runner) {
+		for (final int size: new int[]{4, 32, 256}) {
+			final JAIMinimalWorld world = newWorld(size);
+			final JAIMinimalWorld other = (JAIMinimalWorld) world.copy();
+			other.setLocalVariable(size/2, new JAIIntegerInterval(-1000, 1000));
+			final JAIAbstractValue one = new JAIIntegerInterval(1, 1);
+			runner.add("world.fork."+size+"locals", () -> {
+				JAIMinimalWorld w = (JAIMinimalWorld) world.copy();
+				w.setLocalVariable(0, one);
+				return w;
+			});
+			runner.add("world.join."+size+"locals", () -> world.copy().combineWith(other));
+			runner.add("world.widen."+size+"locals", () -> world.copy().widenWith(other, null));
+			runner.add("world.subsumes."+size+"locals", () -> other.subsumes(world));
+		}
+	}
+
+	/**
+	 * Adds the operations of the stack.
+	 */
+	public static void addStackBenchmarks(JAIBenchmarkRunner runner) {
+		final JAIStack stack = new JAIStack(16);
+		for (int i = 0; i<8; i++) {
+			stack.push(new JAIIntegerInterval(i, i));
+		}
+		final JAIAbstractValue v = new JAIIntegerInterval(0, 1);
+		runner.add("stack.pushPop", () -> {
+			stack.push(v);
+			return stack.pop();
+		});
+		runner.add("stack.dupPop", () -> {
+			stack.dup();
+			return stack.pop();
+		});
+		runner.add("stack.dup_x2Pop", () -> {
+			stack.dup_x2();
+			return stack.pop();
+		});
+		runner.add("stack.dup2_x1Pop2", () -> {
+			stack.dup2_x1();
+			stack.pop2();
+			return stack;
+		});
+		runner.add("stack.swap", () -> {
+			stack.swap();
+			return stack;
+		});
+		runner.add("stack.clone", () -> stack.clone());
+	}
+
+	/**
+	 * Adds the lattice and arithmetic operations of intervals.
+	 */
+	public static void addLatticeBenchmarks(JAIBenchmarkRunner runner) {
+		final JAIIntegerInterval a = new JAIIntegerInterval(-10, 100);
+		final JAIIntegerInterval b = new JAIIntegerInterval(5, 1000);
+		final long []thresholds = {-1, 0, 1, 10, 100, 1000, 65535};
+		runner.add("lattice.union", () -> a.union(b));
+		runner.add("lattice.intersection", () -> a.intersection(b));
+		runner.add("lattice.widen", () -> a.widen(b, null));
+		runner.add("lattice.widenThresholds", () -> a.widen(b, thresholds));
+		runner.add("lattice.narrow", () -> JAIIntegerInterval.TOP.narrow(a));
+		runner.add("lattice.subsumes", () -> b.subsumes(a));
+		runner.add("lattice.integerAdd", () -> a.integerAdd(b));
+		runner.add("lattice.integerMul", () -> a.integerMul(b));
+		runner.add("lattice.integerDiv", () -> b.integerDiv(a));
+	}
+
+	/**
+	 * Adds the arithmetic of int, long, float and double intervals, on constants
+	 * (whose common results are shared) and on ranges.
+	 */
+	public static void addArithmeticBenchmarks(JAIBenchmarkRunner runner) {
+		final JAIIntegerInterval i1 = JAIIntegerInterval.of(3, 3);
+		final JAIIntegerInterval i2 = JAIIntegerInterval.of(-2, -2);
+		final JAILongInterval l1 = JAILongInterval.of(-10, 100);
+		final JAILongInterval l2 = JAILongInterval.of(5, 1000);
+		final JAILongInterval lc = JAILongInterval.of(1, 1);
+		final JAIFloatingInterval d1 = JAIFloatingInterval.ofDouble(-10, 100);
+		final JAIFloatingInterval d2 = JAIFloatingInterval.ofDouble(5, 1000);
+		final JAIFloatingInterval f1 = JAIFloatingInterval.ofFloat(-10, 100);
+		final JAIFloatingInterval f2 = JAIFloatingInterval.ofFloat(5, 1000);
+		runner.add("arithmetic.integerAddConstants", () -> i1.integerAdd(i2));
+		runner.add("arithmetic.integerCompare", () -> i1.integerSub(i2).integerAnd(JAIIntegerInterval.ONE));
+		runner.add("arithmetic.longAdd", () -> l1.longAdd(l2));
+		runner.add("arithmetic.longAddConstants", () -> lc.longSub(lc));
+		runner.add("arithmetic.longMul", () -> l1.longMul(l2));
+		runner.add("arithmetic.longDiv", () -> l2.longDiv(l1));
+		runner.add("arithmetic.longCompare", () -> l1.longCompare(l2));
+		runner.add("arithmetic.doubleAdd", () -> d1.doubleAdd(d2));
+		runner.add("arithmetic.doubleMul", () -> d1.doubleMul(d2));
+		runner.add("arithmetic.doubleDiv", () -> d2.doubleDiv(d1));
+		runner.add("arithmetic.doubleCompareG", () -> d1.doubleCompareG(d2));
+		runner.add("arithmetic.floatMul", () -> f1.floatMul(f2));
+		runner.add("arithmetic.double2Integer", () -> d1.double2Integer());
+		runner.add("arithmetic.integer2Double", () -> i1.integer2Double());
+	}
+
+	/**
+	 * Creates a factory of intervals in which the parameters of a method have the values of their types.
+	 *
+	 * @param m the method.
+	 * @return the factory.
+	 */
+	public static JAIIntervalsFactory newFactory(CtMethod m) {
+		JAIIntervalsFactory factory = new JAIIntervalsFactory();
+		factory.setParameterTypes(m.getSignature(), Modifier.isStatic(m.getModifiers()));
+		return factory;
+	}
+
+	/**
+	 * Adds the analysis of the methods of the corpus that only use ints, and of the
+	 * arithmetic-heavy methods, and of some of them with values hash-consed.
+	 */
+	public static void addAnalysisBenchmarks(JAIBenchmarkRunner runner, CtClass cc) throws Exception {
+		String [][]groups = {{"branchy", "loop", "tableSwitch", "lookupSwitch"}, JAIBenchmarkCorpus.nestedLoopMethodNames,
+				JAIBenchmarkCorpus.branchHeavyMethodNames, JAIBenchmarkCorpus.callHeavyMethodNames, JAIBenchmarkCorpus.bigMethodNames,
+				JAIBenchmarkCorpus.arithmeticHeavyMethodNames};
+		List<String> added = new ArrayList<String>();
+		for (String []group: groups) {
+			for (String methodName: group) {
+				if (added.contains(methodName)) continue;
+				added.add(methodName);
+				final CtMethod m = cc.getDeclaredMethod(methodName);
+				runner.add("analysis.worklist."+methodName,
+						() -> new JAIWorklistInterpreter(m).interpret(new JAIMinimalWorld(newFactory(m))));
+			}
+		}
+		for (String methodName: new String[]{"manyLocalsBranchy", "tripleNestedLoops", "bigMethod", "mixedArithmeticLoop"}) {
+			final CtMethod m = cc.getDeclaredMethod(methodName);
+			final JAIInternTable table = new JAIInternTable();
+			runner.add("analysis.hashConsed."+methodName, () -> {
+				JAIIntervalsFactory factory = newFactory(m);
+				factory.setInternTable(table);
+				return new JAIWorklistInterpreter(m).interpret(new JAIMinimalWorld(factory));
+			});
+		}
+		for (String methodName: JAIBenchmarkCorpus.branchHeavyMethodNames) {
+			final CtMethod m = cc.getDeclaredMethod(methodName);
+			runner.add("analysis.paths."+methodName,
+					() -> new JAIAbstractInterpreter(m).interpret(new JAIMinimalWorld(new JAIIntervalsFactory())));
+			runner.add("analysis.pathsMerged."+methodName, () -> {
+				JAIAbstractInterpreter interpreter = new JAIAbstractInterpreter(m);
+				interpreter.setMergingAtJoinPoints(true);
+				return interpreter.interpret(new JAIMinimalWorld(new JAIIntervalsFactory()));
+			});
+			runner.add("analysis.pathsParallel."+methodName,
+					() -> new JAIParallelInterpreter(m).interpret(new JAIMinimalWorld(new JAIIntervalsFactory())));
+			runner.add("analysis.pathsBudget."+methodName, () -> {
+				JAIAbstractInterpreter interpreter = new JAIAbstractInterpreter(m);
+				interpreter.setPathBudget(new JAIPathBudget(16, 0, 0, JAIPathBudget.JOIN_WITH_TOP));
+				return interpreter.interpret(new JAIMinimalWorld(new JAIIntervalsFactory()));
+			});
+		}
+		for (String methodName: JAIBenchmarkCorpus.exceptionHeavyMethodNames) {
+			final CtMethod m = cc.getDeclaredMethod(methodName);
+			runner.add("analysis.exceptions.paths."+methodName, () -> {
+				JAIAbstractInterpreter interpreter = new JAIAbstractInterpreter(m);
+				interpreter.setImplicitExceptionEdges(true);
+				return interpreter.interpret(new JAIMinimalWorld(newFactory(m)));
+			});
+			runner.add("analysis.exceptions.worklist."+methodName, () -> {
+				JAIAbstractInterpreter interpreter = new JAIWorklistInterpreter(m);
+				interpreter.setImplicitExceptionEdges(true);
+				return interpreter.interpret(new JAIMinimalWorld(newFactory(m)));
+			});
+		}
+		for (String methodName: JAIBenchmarkCorpus.allocationHeavyMethodNames) {
+			final CtMethod m = cc.getDeclaredMethod(methodName);
+			runner.add("analysis.heap.paths."+methodName, () -> {
+				JAIAbstractInterpreter interpreter = new JAIAbstractInterpreter(m);
+				interpreter.setMergingAtJoinPoints(true);
+				JAIMinimalWorld world = new JAIMinimalWorld(newFactory(m));
+				world.setInterpretMethodCalls(true);
+				return interpreter.interpret(world);
+			});
+			runner.add("analysis.heap.worklist."+methodName, () -> {
+				JAIMinimalWorld world = new JAIMinimalWorld(newFactory(m));
+				world.setInterpretMethodCalls(true);
+				return new JAIWorklistInterpreter(m).interpret(world);
+			});
+		}
+		for (String methodName: JAIBenchmarkCorpus.arrayHeavyMethodNames) {
+			final CtMethod m = cc.getDeclaredMethod(methodName);
+			runner.add("analysis.arrays.smashed."+methodName, () -> {
+				JAIIntervalsFactory factory = newFactory(m);
+				factory.setArrayMode(JAISegmentedArray.SMASHED);
+				return new JAIWorklistInterpreter(m).interpret(new JAIMinimalWorld(factory));
+			});
+			runner.add("analysis.arrays.segmented."+methodName, () -> {
+				JAIIntervalsFactory factory = newFactory(m);
+				factory.setArrayMode(JAISegmentedArray.SEGMENTED);
+				return new JAIWorklistInterpreter(m).interpret(new JAIMinimalWorld(factory));
+			});
+		}
+	}
+
+	/**
+	 * The number of input worlds analysed by the input worlds benchmarks.
+	 */
+	public static final int NUMBER_OF_INPUT_WORLDS = 16;
+
+	/**
+	 * Creates worlds in which the two int parameters of a method are small intervals,
+	 * different in each world.
+	 *
+	 * @param m the method.
+	 * @return the worlds.
+	 */
+	public static JAIMinimalWorld []newInputWorlds(CtMethod m) {
+		JAIMinimalWorld []worlds = new JAIMinimalWorld[NUMBER_OF_INPUT_WORLDS];
+		for (int k = 0; k<worlds.length; k++) {
+			worlds[k] = new JAIMinimalWorld(newFactory(m));
+			worlds[k].setLocalVariable(0, JAIIntegerInterval.of(-8*k, -8*k+5));
+			worlds[k].setLocalVariable(1, JAIIntegerInterval.of(4*k, 4*k+3));
+		}
+		return worlds;
+	}
+
+	/**
+	 * Adds the path-sensitive analysis of one method on many input worlds, with a new
+	 * interpreter for each world, with one interpreter for all of them, and with one
+	 * interpreter used by several threads at the same time.
+	 */
+	public static void addInputWorldsBenchmarks(JAIBenchmarkRunner runner, CtClass cc) throws Exception {
+		for (String methodName: JAIBenchmarkCorpus.branchHeavyMethodNames) {
+			final CtMethod m = cc.getDeclaredMethod(methodName);
+			final JAIMinimalWorld []worlds = newInputWorlds(m);
+			runner.add("analysis.inputs.newInterpreter."+methodName, () -> {
+				JAIWorld result = null;
+				for (JAIMinimalWorld w: worlds) {
+					result = new JAIAbstractInterpreter(m).interpret(w.copy());
+				}
+				return result;
+			});
+			final JAIAbstractInterpreter shared = new JAIAbstractInterpreter(m);
+			runner.add("analysis.inputs.sharedInterpreter."+methodName, () -> {
+				JAIWorld result = null;
+				for (JAIMinimalWorld w: worlds) {
+					result = shared.interpret(w.copy());
+				}
+				return result;
+			});
+			runner.add("analysis.inputs.sharedConcurrent."+methodName,
+					() -> Arrays.stream(worlds).parallel().map(w -> shared.interpret(w.copy())).reduce((a, b) -> b).get());
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+package jabsint.benchmarks;
+
+import jabsint.JAIAbstractValue;
+import jabsint.JAIMethodSummary;
+import jabsint.JAIMinimalWorld;
+import jabsint.JAISummaryCache;
+import jabsint.JAISummaryStore;
+import jabsint.JAIWorklistInterpreter;
+import jabsint.JAIWorld;
+import jabsint.domains.JAIIntervalsFactory;
+
+import java.io.File;
+import java.io.IOException;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+
+/**
+ * This class measures the interpretation of method calls with summaries on the
+ * call-heavy methods of the corpus, with a cache of summaries shared by all the
+ * analyses, with a new cache for each analysis, without cache (each call is
+ * interpreted again), and with a new cache for each analysis backed by a store
+ * of summaries on disk (see {@link JAISummaryStore}), kept from one measure to the
+ * next as it would be from one run to the next. For each setting, it reports the
+ * time per analysis, the number of methods interpreted per analysis and the
+ * interval returned.
+ */
+@SuppressWarnings("rawtypes")
+public class JAISummaryBenchmark {
+
+	/**
+	 * A cache that never keeps a summary.
+	 */
+	public static class JAINoSummaryCache extends JAISummaryCache {
+		public JAINoSummaryCache() {
+			super(1);
+		}
+
+		public JAIMethodSummary put(Object context, String methodDescriptor, JAIAbstractValue []arguments, JAIMethodSummary summary) {
+			return summary;
+		}
+	}
+
+	/**
+	 * The number of analyses of each method for each measure.
+	 */
+	public static int rounds = 2000;
+
+	/**
+	 * Runs the benchmark. Optionally takes the number of rounds as an argument.
+	 *
+	 * @param args
+	 * @throws NotFoundException
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws NotFoundException, IOException {
+		if (args.length>0) {
+			rounds = Integer.parseInt(args[0]);
+		}
+		ClassPool pool = ClassPool.getDefault();
+		pool.insertClassPath(new ClassClassPath(JAIBenchmarkCorpus.class));
+		CtClass cc = pool.get(JAIBenchmarkCorpus.class.getName());
+		File storeFile = File.createTempFile("jai-summaries", ".store");
+		storeFile.deleteOnExit();
+		JAISummaryStore store = JAISummaryStore.open(storeFile, JAISummaryStore.MINIMUM_SIZE);
+
+		for (String methodName: JAIBenchmarkCorpus.callHeavyMethodNames) {
+			CtMethod m = cc.getDeclaredMethod(methodName);
+			for (String setting: new String[]{"no cache", "cache per analysis", "shared cache", "store on disk"}) {
+				for (int i = 0; i<2; i++) {
+					JAISummaryCache shared = new JAISummaryCache(JAISummaryCache.DEFAULT_CAPACITY);
+					long misses = 0, storeMisses = store.getMisses();
+					JAIWorld result = null;
+					long start = System.nanoTime();
+					for (int r = 0; r<rounds; r++) {
+						JAISummaryCache cache = setting.equals("no cache") ? new JAINoSummaryCache()
+								: setting.equals("shared cache") ? shared : new JAISummaryCache(JAISummaryCache.DEFAULT_CAPACITY);
+						JAIWorklistInterpreter interpreter = new JAIWorklistInterpreter(m);
+						interpreter.setSummaryCache(cache);
+						if (setting.equals("store on disk")) interpreter.setSummaryStore(store);
+						JAIMinimalWorld world = new JAIMinimalWorld(new JAIIntervalsFactory());
+						world.setInterpretMethodCalls(true);
+						result = interpreter.interpret(world);
+						if (cache!=shared) misses += cache.getMisses();
+					}
+					if (setting.equals("shared cache")) misses = shared.getMisses();
+					if (setting.equals("store on disk")) misses = store.getMisses()-storeMisses;
+					double micros = (System.nanoTime()-start)/1e3/rounds;
+					System.out.println(methodName+", "+setting+": "+String.format("%.1f", micros)+" us/analysis, "
+							+String.format("%.2f", misses/(double)rounds)+" methods interpreted/analysis, returns "
+							+JAIWideningBenchmark.returnedValue(result));
+				}
+			}
+		}
+		store.close();
+	}
+
+}
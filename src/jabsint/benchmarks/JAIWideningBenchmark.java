@@ -0,0 +1,104 @@
+package jabsint.benchmarks;
+
+import jabsint.JAIMinimalWorld;
+import jabsint.JAIWorklistInterpreter;
+import jabsint.JAIWorld;
+import jabsint.domains.JAIIntervalsFactory;
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+
+/**
+ * This class measures the convergence of the worklist interpreter with intervals
+ * on the nested loops of the corpus, for several widening delays, thresholds and
+ * numbers of narrowing iterations. For each setting, it reports the number of block
+ * evaluations, the time per analysis and the interval returned by the method.
+ */
+public class JAIWideningBenchmark {
+
+	/**
+	 * The number of analyses of each method for each measure.
+	 */
+	public static int rounds = 2000;
+
+	/**
+	 * The widening delays measured.
+	 */
+	public static int []delays = {0, 2, 5};
+
+	/**
+	 * The threshold sets measured.
+	 */
+	public static long [][]thresholdSets = {null, {-1, 0, 1, 10, 100, 1000, 65535, 1000000}};
+
+	/**
+	 * The numbers of narrowing iterations measured.
+	 */
+	public static int []narrowings = {0, 1};
+
+	/**
+	 * Runs the benchmark. Optionally takes the number of rounds as an argument.
+	 *
+	 * @param args
+	 * @throws NotFoundException
+	 */
+	public static void main(String[] args) throws NotFoundException {
+		if (args.length>0) {
+			rounds = Integer.parseInt(args[0]);
+		}
+		ClassPool pool = ClassPool.getDefault();
+		pool.insertClassPath(new ClassClassPath(JAIBenchmarkCorpus.class));
+		CtClass cc = pool.get(JAIBenchmarkCorpus.class.getName());
+
+		for (String methodName: JAIBenchmarkCorpus.nestedLoopMethodNames) {
+			CtMethod m = cc.getDeclaredMethod(methodName);
+			for (int delay: delays) {
+				for (long []thresholds: thresholdSets) {
+					for (int narrowing: narrowings) {
+						JAIWorklistInterpreter interpreter = new JAIWorklistInterpreter(m);
+						interpreter.setWideningDelay(delay);
+						interpreter.setWideningThresholds(thresholds);
+						interpreter.setNarrowingIterations(narrowing);
+						// warm-up then measure
+						analyse(interpreter);
+						long start = System.nanoTime();
+						JAIWorld result = null;
+						for (int r = 0; r<rounds; r++) {
+							result = analyse(interpreter);
+						}
+						double micros = (System.nanoTime()-start)/1e3/rounds;
+						System.out.println(methodName+" delay="+delay+" thresholds="+(thresholds==null ? 0 : thresholds.length)
+								+" narrowing="+narrowing+": "+interpreter.getNumberOfBlockEvaluations()+" block evaluations, "
+								+String.format("%.1f", micros)+" us/analysis, returns "+returnedValue(result));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Analyses the method of the interpreter with intervals.
+	 *
+	 * @param interpreter the interpreter.
+	 * @return the world at the exits of the method.
+	 */
+	public static JAIWorld analyse(JAIWorklistInterpreter interpreter) {
+		return interpreter.interpret(new JAIMinimalWorld(new JAIIntervalsFactory()));
+	}
+
+	/**
+	 * Returns the value on top of the stack of the resulting world.
+	 *
+	 * @param world the world.
+	 * @return the description of the returned value.
+	 */
+	public static String returnedValue(JAIWorld world) {
+		if (!(world instanceof JAIMinimalWorld) || ((JAIMinimalWorld)world).getCurrentStack().isEmpty()) {
+			return "nothing";
+		}
+		return ((JAIMinimalWorld)world).getCurrentStack().peek().toString();
+	}
+
+}
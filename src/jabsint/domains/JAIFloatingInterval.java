@@ -0,0 +1,869 @@
+package jabsint.domains;
+
+import jabsint.JAIAbstractValue;
+import jabsint.JAIAbstractValueException;
+import jabsint.JAIValueSet;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This class represents a float or a double as an interval [low, high] of possible
+ * values, and whether NaN is possible. Bounds can be infinite. Intervals are immutable.
+ * <p>
+ * Bounds are doubles (never boxed); the bounds of floats are floats. Operations
+ * compute their bounds in the precision of the type: rounding to the nearest
+ * value keeps the order of values, so the bounds computed are the ones that the
+ * JVM would compute and no outward rounding is needed. -0.0 is lower than 0.0
+ * so that the two zeros are never confused. The common intervals are shared
+ * (see of(boolean, double, double, boolean)).
+ */
+@SuppressWarnings("rawtypes")
+public class JAIFloatingInterval extends JAIAbstractValue<Double> {
+
+	/**
+	 * The codes of the arithmetic operations.
+	 */
+	private static final int ADD = 0, SUB = 1, MUL = 2, DIV = 3, REM = 4;
+
+	/**
+	 * Any float, including NaN.
+	 */
+	public static final JAIFloatingInterval FLOAT_TOP = new JAIFloatingInterval(true, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, true);
+
+	/**
+	 * No float.
+	 */
+	public static final JAIFloatingInterval FLOAT_BOTTOM = new JAIFloatingInterval(true, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, false);
+
+	/**
+	 * Any double, including NaN.
+	 */
+	public static final JAIFloatingInterval DOUBLE_TOP = new JAIFloatingInterval(false, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, true);
+
+	/**
+	 * No double.
+	 */
+	public static final JAIFloatingInterval DOUBLE_BOTTOM = new JAIFloatingInterval(false, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, false);
+
+	/**
+	 * The constants shared by all the analyses (the values of fconst and dconst and -1), for floats and for doubles.
+	 */
+	private static final double []SHARED_CONSTANTS = {0.0, 1.0, 2.0, -1.0};
+	private static final JAIFloatingInterval []FLOAT_CONSTANTS = new JAIFloatingInterval[SHARED_CONSTANTS.length];
+	private static final JAIFloatingInterval []DOUBLE_CONSTANTS = new JAIFloatingInterval[SHARED_CONSTANTS.length];
+
+	static {
+		for (int i = 0; i<SHARED_CONSTANTS.length; i++) {
+			FLOAT_CONSTANTS[i] = new JAIFloatingInterval(true, SHARED_CONSTANTS[i], SHARED_CONSTANTS[i], false);
+			DOUBLE_CONSTANTS[i] = new JAIFloatingInterval(false, SHARED_CONSTANTS[i], SHARED_CONSTANTS[i], false);
+		}
+	}
+
+	/**
+	 * True for a float, false for a double.
+	 */
+	private final boolean isFloat;
+
+	/**
+	 * The lowest possible value (not NaN).
+	 */
+	private final double low;
+
+	/**
+	 * The highest possible value (not NaN).
+	 */
+	private final double high;
+
+	/**
+	 * True if NaN is possible.
+	 */
+	private final boolean nan;
+
+	/**
+	 * Creates an interval.
+	 *
+	 * @param isFloat true for a float, false for a double.
+	 * @param low the lowest value.
+	 * @param high the highest value.
+	 * @param nan true if NaN is possible.
+	 */
+	private JAIFloatingInterval(boolean isFloat, double low, double high, boolean nan) {
+		super(isFloat ? "float" : "double");
+		this.isFloat = isFloat;
+		this.low = low;
+		this.high = high;
+		this.nan = nan;
+	}
+
+	/**
+	 * Returns an interval. An interval whose lowest bound is higher than its highest
+	 * bound contains no number. The constants -1, 0, 1 and 2, the empty interval and
+	 * the interval of all values are shared instead of allocated.
+	 *
+	 * @param isFloat true for a float, false for a double.
+	 * @param low the lowest value (not NaN).
+	 * @param high the highest value (not NaN).
+	 * @param nan true if NaN is possible.
+	 * @return the interval.
+	 */
+	public static JAIFloatingInterval of(boolean isFloat, double low, double high, boolean nan) {
+		if (Double.compare(low, high)>0) {
+			if (!nan) return isFloat ? FLOAT_BOTTOM : DOUBLE_BOTTOM;
+			low = Double.POSITIVE_INFINITY;
+			high = Double.NEGATIVE_INFINITY;
+		} else if (!nan && low==high) {
+			long bits = Double.doubleToRawLongBits(low);
+			for (int i = 0; i<SHARED_CONSTANTS.length; i++) {
+				if (bits==Double.doubleToRawLongBits(SHARED_CONSTANTS[i])) {
+					return isFloat ? FLOAT_CONSTANTS[i] : DOUBLE_CONSTANTS[i];
+				}
+			}
+		} else if (nan && low==Double.NEGATIVE_INFINITY && high==Double.POSITIVE_INFINITY) {
+			return isFloat ? FLOAT_TOP : DOUBLE_TOP;
+		}
+		return new JAIFloatingInterval(isFloat, low, high, nan);
+	}
+
+	/**
+	 * Returns the interval of floats [low, high], or the interval of NaN if a bound is NaN.
+	 *
+	 * @param low the lowest value.
+	 * @param high the highest value.
+	 * @return the interval.
+	 */
+	public static JAIFloatingInterval ofFloat(float low, float high) {
+		if (Float.isNaN(low) || Float.isNaN(high)) {
+			return of(true, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, true);
+		}
+		return of(true, low, high, false);
+	}
+
+	/**
+	 * Returns the interval of doubles [low, high], or the interval of NaN if a bound is NaN.
+	 *
+	 * @param low the lowest value.
+	 * @param high the highest value.
+	 * @return the interval.
+	 */
+	public static JAIFloatingInterval ofDouble(double low, double high) {
+		if (Double.isNaN(low) || Double.isNaN(high)) {
+			return of(false, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, true);
+		}
+		return of(false, low, high, false);
+	}
+
+	/**
+	 * Simple getter for the lowest value.
+	 *
+	 * @return the lowest value.
+	 */
+	public double getLow() {
+		return low;
+	}
+
+	/**
+	 * Simple getter for the highest value.
+	 *
+	 * @return the highest value.
+	 */
+	public double getHigh() {
+		return high;
+	}
+
+	/**
+	 * @return true if NaN is possible.
+	 */
+	public boolean isNaNPossible() {
+		return nan;
+	}
+
+	/**
+	 * @return true if the interval contains no number (it may contain NaN).
+	 */
+	private boolean isEmpty() {
+		return Double.compare(low, high)>0;
+	}
+
+	/**
+	 * Returns true if the interval contains a single value (a number or NaN).
+	 *
+	 * @return true if there is one value.
+	 */
+	public boolean isConstant() {
+		return nan ? isEmpty() : Double.compare(low, high)==0;
+	}
+
+	/**
+	 * Casts the argument to an interval.
+	 *
+	 * @param value the value.
+	 * @return the interval.
+	 */
+	private static JAIFloatingInterval asInterval(JAIAbstractValue value) {
+		if (!(value instanceof JAIFloatingInterval)) {
+			throw new JAIAbstractValueException("Not a float or double interval: "+value);
+		}
+		return (JAIFloatingInterval) value;
+	}
+
+	/**
+	 * Returns the exception for operations on other types.
+	 *
+	 * @param operation the name of the operation.
+	 * @return the exception to throw.
+	 */
+	private static JAIAbstractValueException unsupported(String operation) {
+		return new JAIAbstractValueException("Operation not supported on float and double intervals: "+operation);
+	}
+
+	/**
+	 * @return the interval of the same type as this one.
+	 */
+	private JAIFloatingInterval make(double low, double high, boolean nan) {
+		return of(isFloat, low, high, nan);
+	}
+
+	/**
+	 * @return the empty interval of the type of this one.
+	 */
+	private JAIFloatingInterval bottom() {
+		return isFloat ? FLOAT_BOTTOM : DOUBLE_BOTTOM;
+	}
+
+	/**
+	 * Returns true if a <= b, -0.0 being lower than 0.0.
+	 */
+	private static boolean lowerOrEqual(double a, double b) {
+		return Double.compare(a, b)<=0;
+	}
+
+	/**
+	 * Intervals are never modified.
+	 *
+	 * @see jabsint.JAIAbstractValue#isImmutable()
+	 */
+	public boolean isImmutable() {
+		return true;
+	}
+
+	/**
+	 * The first byte of the intervals written (see {@link #write(DataOutput)}).
+	 */
+	static final int TAG = 3;
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#write(java.io.DataOutput)
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(TAG);
+		out.writeBoolean(isFloat);
+		out.writeDouble(low);
+		out.writeDouble(high);
+		out.writeBoolean(nan);
+	}
+
+	/**
+	 * Reads a interval written by {@link #write(DataOutput)}, once its first byte was read.
+	 *
+	 * @param in the input.
+	 * @return the interval.
+	 * @throws IOException if the input fails.
+	 */
+	static JAIFloatingInterval read(DataInput in) throws IOException {
+		return of(in.readBoolean(), in.readDouble(), in.readDouble(), in.readBoolean());
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#subsumes(jabsint.JAIAbstractValue)
+	 */
+	public boolean subsumes(JAIAbstractValue value) {
+		JAIFloatingInterval v = asInterval(value);
+		if (v.nan && !nan) return false;
+		return v.isEmpty() || (lowerOrEqual(low, v.low) && lowerOrEqual(v.high, high));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	public boolean equals(Object o) {
+		if (o==this) return true;
+		if (!(o instanceof JAIFloatingInterval)) return false;
+		JAIFloatingInterval v = (JAIFloatingInterval) o;
+		if (isFloat!=v.isFloat || nan!=v.nan) return false;
+		if (isEmpty() || v.isEmpty()) return isEmpty()==v.isEmpty();
+		return Double.compare(low, v.low)==0 && Double.compare(high, v.high)==0;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	public int hashCode() {
+		int h = (nan ? 1 : 0)+(isFloat ? 2 : 0);
+		return isEmpty() ? h : h+31*Double.hashCode(low)+961*Double.hashCode(high);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#intersection(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue intersection(JAIAbstractValue value) {
+		JAIFloatingInterval v = asInterval(value);
+		return make(Math.max(low, v.low), Math.min(high, v.high), nan && v.nan);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#union(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue union(JAIAbstractValue value) {
+		JAIFloatingInterval v = asInterval(value);
+		if (this.subsumes(v)) return this;
+		if (v.subsumes(this)) return v;
+		return make(Math.min(low, v.low), Math.max(high, v.high), nan || v.nan);
+	}
+
+	/**
+	 * Widens the interval: a bound that grows goes to the next threshold,
+	 * or to the infinity if there is none.
+	 *
+	 * @see jabsint.JAIAbstractValue#widen(jabsint.JAIAbstractValue, long[])
+	 */
+	public JAIAbstractValue widen(JAIAbstractValue value, long []thresholds) {
+		JAIFloatingInterval v = asInterval(value);
+		if (v.isEmpty() || isEmpty()) return union(v);
+		double l = low;
+		double h = high;
+		if (v.low<low) {
+			l = Double.NEGATIVE_INFINITY;
+			for (int i = (thresholds==null) ? -1 : thresholds.length-1; i>=0; i--) {
+				if (thresholds[i]<=v.low) {
+					l = thresholds[i];
+					break;
+				}
+			}
+		}
+		if (v.high>high) {
+			h = Double.POSITIVE_INFINITY;
+			for (int i = 0; thresholds!=null && i<thresholds.length; i++) {
+				if (thresholds[i]>=v.high) {
+					h = thresholds[i];
+					break;
+				}
+			}
+		}
+		if (l==low && h==high && (nan || !v.nan)) return this;
+		return make(l, h, nan || v.nan);
+	}
+
+	/**
+	 * Narrows the interval: only the infinite bounds are refined, and an interval
+	 * without numbers gets none.
+	 *
+	 * @see jabsint.JAIAbstractValue#narrow(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue narrow(JAIAbstractValue value) {
+		JAIFloatingInterval v = asInterval(value);
+		if (isEmpty()) return this;
+		if (v.isEmpty()) return v;
+		double l = (low==Double.NEGATIVE_INFINITY) ? v.low : low;
+		double h = (high==Double.POSITIVE_INFINITY) ? v.high : high;
+		if (l==low && h==high) return this;
+		return make(l, h, nan);
+	}
+
+	/**
+	 * Removes the values of the argument: the result must be an interval, so numbers are
+	 * only removed when all of them are.
+	 *
+	 * @see jabsint.JAIAbstractValue#minus(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue minus(JAIAbstractValue value) {
+		JAIFloatingInterval v = asInterval(value);
+		boolean n = nan && !v.nan;
+		if (v.isEmpty() || isEmpty() || !lowerOrEqual(v.low, low) || !lowerOrEqual(high, v.high)) {
+			return (n==nan) ? this : make(low, high, n);
+		}
+		return make(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, n);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isValueLowerThan(jabsint.JAIAbstractValue)
+	 */
+	public boolean isValueLowerThan(JAIAbstractValue value) {
+		JAIFloatingInterval v = asInterval(value);
+		return !nan && !v.nan && !isEmpty() && !v.isEmpty() && high<v.low;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isValueLowerOrEqualTo(jabsint.JAIAbstractValue)
+	 */
+	public boolean isValueLowerOrEqualTo(JAIAbstractValue value) {
+		JAIFloatingInterval v = asInterval(value);
+		return !nan && !v.nan && !isEmpty() && !v.isEmpty() && high<=v.low;
+	}
+
+	/**
+	 * Returns true if the values may be unordered (one of them may be NaN).
+	 *
+	 * @see jabsint.JAIAbstractValue#isUnordered(jabsint.JAIAbstractValue)
+	 */
+	public boolean isUnordered(JAIAbstractValue value) {
+		return nan || asInterval(value).nan;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#top()
+	 */
+	public JAIAbstractValue top() {
+		return isFloat ? FLOAT_TOP : DOUBLE_TOP;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isTop()
+	 */
+	public boolean isTop() {
+		return nan && low==Double.NEGATIVE_INFINITY && high==Double.POSITIVE_INFINITY;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isBottom()
+	 */
+	public boolean isBottom() {
+		return !nan && isEmpty();
+	}
+
+	/**
+	 * Returns the value of the interval if it is a constant, an empty set otherwise.
+	 *
+	 * @see jabsint.JAIAbstractValue#makeConcrete()
+	 */
+	public JAIValueSet<Double> makeConcrete() {
+		JAIValueSet<Double> set = new JAIValueSet<Double>();
+		if (isConstant()) {
+			set.values.add(nan ? Double.NaN : low);
+		}
+		return set;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#loadFromArrayref(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue loadFromArrayref(JAIAbstractValue index) {
+		throw unsupported("load from array");
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#storeInArrayref(jabsint.JAIAbstractValue, jabsint.JAIAbstractValue)
+	 */
+	public void storeInArrayref(JAIAbstractValue index, JAIAbstractValue value) {
+		throw unsupported("store in array");
+	}
+
+	/**
+	 * Applies an operation to two values in the precision of the type.
+	 *
+	 * @param operation the code of the operation.
+	 * @param a the first value.
+	 * @param b the second value.
+	 * @return the result.
+	 */
+	private double apply(int operation, double a, double b) {
+		if (isFloat) {
+			float x = (float) a, y = (float) b;
+			switch (operation) {
+			case ADD: return x+y;
+			case SUB: return x-y;
+			case MUL: return x*y;
+			case DIV: return x/y;
+			default: return x%y;
+			}
+		}
+		switch (operation) {
+		case ADD: return a+b;
+		case SUB: return a-b;
+		case MUL: return a*b;
+		case DIV: return a/b;
+		default: return a%b;
+		}
+	}
+
+	/**
+	 * Applies a multiplication or a division to two bounds. An undefined result
+	 * (0 times infinity or infinity divided by infinity) is 0, its limit from the
+	 * other values of the intervals.
+	 *
+	 * @param operation the code of the operation.
+	 * @param a the first bound.
+	 * @param b the second bound.
+	 * @return the result.
+	 */
+	private double corner(int operation, double a, double b) {
+		double r = apply(operation, a, b);
+		return Double.isNaN(r) ? 0.0 : r;
+	}
+
+	/**
+	 * @return true if the interval contains a zero.
+	 */
+	private boolean containsZero() {
+		return low<=0 && high>=0;
+	}
+
+	/**
+	 * @return true if the interval contains an infinity.
+	 */
+	private boolean containsInfinity() {
+		return !isEmpty() && (low==Double.NEGATIVE_INFINITY || high==Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Applies an arithmetic operation to this interval and another one. Constants are
+	 * computed as the JVM does; otherwise the bounds are computed from the bounds of the
+	 * arguments, and NaN is possible when an argument may be NaN or when the operation
+	 * may be undefined (for example infinity minus infinity or 0 divided by 0).
+	 *
+	 * @param operation the code of the operation.
+	 * @param value the second argument.
+	 * @return the result.
+	 */
+	private JAIAbstractValue arithmetic(int operation, JAIAbstractValue value) {
+		JAIFloatingInterval v = asInterval(value);
+		if (isBottom() || v.isBottom()) return bottom();
+		boolean n = nan || v.nan;
+		if (isEmpty() || v.isEmpty()) {
+			// only NaN is possible
+			return make(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, true);
+		}
+		if (Double.compare(low, high)==0 && Double.compare(v.low, v.high)==0) {
+			double r = apply(operation, low, v.low);
+			if (Double.isNaN(r)) return make(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, true);
+			return make(r, r, n);
+		}
+		double l, h;
+		switch (operation) {
+		case ADD:
+			n = n || (high==Double.POSITIVE_INFINITY && v.low==Double.NEGATIVE_INFINITY)
+				|| (low==Double.NEGATIVE_INFINITY && v.high==Double.POSITIVE_INFINITY);
+			l = apply(ADD, low, v.low);
+			h = apply(ADD, high, v.high);
+			break;
+		case SUB:
+			n = n || (high==Double.POSITIVE_INFINITY && v.high==Double.POSITIVE_INFINITY)
+				|| (low==Double.NEGATIVE_INFINITY && v.low==Double.NEGATIVE_INFINITY);
+			l = apply(SUB, low, v.high);
+			h = apply(SUB, high, v.low);
+			break;
+		case MUL:
+		case DIV:
+			if (operation==MUL) {
+				n = n || (containsZero() && v.containsInfinity()) || (containsInfinity() && v.containsZero());
+			} else {
+				n = n || (containsZero() && v.containsZero()) || (containsInfinity() && v.containsInfinity());
+				if (v.containsZero()) {
+					// dividing by a zero gives an infinity of either sign
+					return make(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, n);
+				}
+			}
+			double a = corner(operation, low, v.low);
+			double b = corner(operation, low, v.high);
+			double c = corner(operation, high, v.low);
+			double d = corner(operation, high, v.high);
+			l = Math.min(Math.min(a, b), Math.min(c, d));
+			h = Math.max(Math.max(a, b), Math.max(c, d));
+			break;
+		default:
+			// the remainder is smaller than the divisor and has the sign of the dividend
+			n = n || v.containsZero() || containsInfinity();
+			double m = Math.max(Math.abs(v.low), Math.abs(v.high));
+			l = (low>=0) ? 0.0 : Math.max(low, -m);
+			h = (high<=0) ? 0.0 : Math.min(high, m);
+		}
+		if (Double.isNaN(l)) l = Double.NEGATIVE_INFINITY;
+		if (Double.isNaN(h)) h = Double.POSITIVE_INFINITY;
+		return make(l, h, n);
+	}
+
+	/**
+	 * Negates the interval.
+	 *
+	 * @return the result.
+	 */
+	private JAIAbstractValue negation() {
+		if (isEmpty()) return this;
+		return make(-high, -low, nan);
+	}
+
+	/**
+	 * Compares this interval with another one: the result is the interval of the
+	 * possible results among -1, 0 and 1.
+	 *
+	 * @param value the other value.
+	 * @param nanResult the result when one of the values is NaN.
+	 * @return the interval of the results.
+	 */
+	private JAIAbstractValue compare(JAIAbstractValue value, int nanResult) {
+		JAIFloatingInterval v = asInterval(value);
+		if (isBottom() || v.isBottom()) return JAIIntegerInterval.BOTTOM;
+		int l = 2, h = -2;
+		if (nan || v.nan) {
+			l = h = nanResult;
+		}
+		if (!isEmpty() && !v.isEmpty()) {
+			if (low<v.high) {
+				l = -1;
+				h = Math.max(h, -1);
+			}
+			if (low<=v.high && v.low<=high) {
+				l = Math.min(l, 0);
+				h = Math.max(h, 0);
+			}
+			if (high>v.low) {
+				l = Math.min(l, 1);
+				h = 1;
+			}
+		}
+		return JAIIntegerInterval.of(l, h);
+	}
+
+	/**
+	 * Converts to int or long: the JVM rounds towards zero, which keeps the order of
+	 * values, infinities go to the extremes and NaN goes to 0.
+	 *
+	 * @param toLong true to convert to long.
+	 * @return the result.
+	 */
+	private JAIAbstractValue toIntegral(boolean toLong) {
+		if (isBottom()) return toLong ? JAILongInterval.BOTTOM : JAIIntegerInterval.BOTTOM;
+		if (toLong) {
+			long l = isEmpty() ? 0 : (long) low;
+			long h = isEmpty() ? 0 : (long) high;
+			if (nan) {
+				l = Math.min(l, 0);
+				h = Math.max(h, 0);
+			}
+			return JAILongInterval.of(l, h);
+		}
+		int l = isEmpty() ? 0 : (int) low;
+		int h = isEmpty() ? 0 : (int) high;
+		if (nan) {
+			l = Math.min(l, 0);
+			h = Math.max(h, 0);
+		}
+		return JAIIntegerInterval.of(l, h);
+	}
+
+	/**
+	 * Converts to another floating type.
+	 *
+	 * @param toFloat true to convert to float.
+	 * @return the result.
+	 */
+	private JAIAbstractValue toFloating(boolean toFloat) {
+		if (isFloat==toFloat) return this;
+		if (isEmpty()) return of(toFloat, low, high, nan);
+		return toFloat ? of(true, (float) low, (float) high, nan) : of(false, low, high, nan);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		String suffix = isFloat ? "f" : "d";
+		String s = isEmpty() ? "[]" : "["+low+suffix+","+high+suffix+"]";
+		return nan ? s+"+NaN" : s;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#floatAdd(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue floatAdd(JAIAbstractValue v2) {
+		return arithmetic(ADD, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#doubleAdd(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue doubleAdd(JAIAbstractValue v2) {
+		return arithmetic(ADD, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#floatSub(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue floatSub(JAIAbstractValue v2) {
+		return arithmetic(SUB, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#doubleSub(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue doubleSub(JAIAbstractValue v2) {
+		return arithmetic(SUB, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#floatMul(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue floatMul(JAIAbstractValue v2) {
+		return arithmetic(MUL, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#doubleMul(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue doubleMul(JAIAbstractValue v2) {
+		return arithmetic(MUL, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#floatDiv(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue floatDiv(JAIAbstractValue v2) {
+		return arithmetic(DIV, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#doubleDiv(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue doubleDiv(JAIAbstractValue v2) {
+		return arithmetic(DIV, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#floatRemainder(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue floatRemainder(JAIAbstractValue v2) {
+		return arithmetic(REM, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#doubleRemainder(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue doubleRemainder(JAIAbstractValue v2) {
+		return arithmetic(REM, v2);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#floatNegation()
+	 */
+	public JAIAbstractValue floatNegation() {
+		return negation();
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#doubleNegation()
+	 */
+	public JAIAbstractValue doubleNegation() {
+		return negation();
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#float2Integer()
+	 */
+	public JAIAbstractValue float2Integer() {
+		return toIntegral(false);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#float2Long()
+	 */
+	public JAIAbstractValue float2Long() {
+		return toIntegral(true);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#float2Double()
+	 */
+	public JAIAbstractValue float2Double() {
+		return toFloating(false);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#double2Integer()
+	 */
+	public JAIAbstractValue double2Integer() {
+		return toIntegral(false);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#double2Long()
+	 */
+	public JAIAbstractValue double2Long() {
+		return toIntegral(true);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#double2Float()
+	 */
+	public JAIAbstractValue double2Float() {
+		return toFloating(true);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#floatCompareL(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue floatCompareL(JAIAbstractValue v2) {
+		return compare(v2, -1);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#floatCompareG(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue floatCompareG(JAIAbstractValue v2) {
+		return compare(v2, 1);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#doubleCompareL(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue doubleCompareL(JAIAbstractValue v2) {
+		return compare(v2, -1);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#doubleCompareG(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue doubleCompareG(JAIAbstractValue v2) {
+		return compare(v2, 1);
+	}
+
+	// The operations below are not on floats or doubles.
+
+	public JAIAbstractValue integerAdd(JAIAbstractValue v2) { throw unsupported("integerAdd"); }
+	public JAIAbstractValue longAdd(JAIAbstractValue v2) { throw unsupported("longAdd"); }
+	public JAIAbstractValue integerSub(JAIAbstractValue v2) { throw unsupported("integerSub"); }
+	public JAIAbstractValue longSub(JAIAbstractValue v2) { throw unsupported("longSub"); }
+	public JAIAbstractValue integerMul(JAIAbstractValue v2) { throw unsupported("integerMul"); }
+	public JAIAbstractValue longMul(JAIAbstractValue v2) { throw unsupported("longMul"); }
+	public JAIAbstractValue integerDiv(JAIAbstractValue v2) { throw unsupported("integerDiv"); }
+	public JAIAbstractValue longDiv(JAIAbstractValue v2) { throw unsupported("longDiv"); }
+	public JAIAbstractValue integerRemainder(JAIAbstractValue v2) { throw unsupported("integerRemainder"); }
+	public JAIAbstractValue longRemainder(JAIAbstractValue v2) { throw unsupported("longRemainder"); }
+	public JAIAbstractValue integerNegation() { throw unsupported("integerNegation"); }
+	public JAIAbstractValue longNegation() { throw unsupported("longNegation"); }
+	public JAIAbstractValue integerShiftLeft(JAIAbstractValue v2) { throw unsupported("integerShiftLeft"); }
+	public JAIAbstractValue longShiftLeft(JAIAbstractValue v2) { throw unsupported("longShiftLeft"); }
+	public JAIAbstractValue integerShiftRight(JAIAbstractValue v2) { throw unsupported("integerShiftRight"); }
+	public JAIAbstractValue longShiftRight(JAIAbstractValue v2) { throw unsupported("longShiftRight"); }
+	public JAIAbstractValue integerLogicalShiftRight(JAIAbstractValue v2) { throw unsupported("integerLogicalShiftRight"); }
+	public JAIAbstractValue longLogicalShiftRight(JAIAbstractValue v2) { throw unsupported("longLogicalShiftRight"); }
+	public JAIAbstractValue integerAnd(JAIAbstractValue v2) { throw unsupported("integerAnd"); }
+	public JAIAbstractValue longAnd(JAIAbstractValue v2) { throw unsupported("longAnd"); }
+	public JAIAbstractValue integerOr(JAIAbstractValue v2) { throw unsupported("integerOr"); }
+	public JAIAbstractValue longOr(JAIAbstractValue v2) { throw unsupported("longOr"); }
+	public JAIAbstractValue integerXor(JAIAbstractValue v2) { throw unsupported("integerXor"); }
+	public JAIAbstractValue longXor(JAIAbstractValue v2) { throw unsupported("longXor"); }
+	public JAIAbstractValue integer2Long() { throw unsupported("integer2Long"); }
+	public JAIAbstractValue integer2Float() { throw unsupported("integer2Float"); }
+	public JAIAbstractValue integer2Double() { throw unsupported("integer2Double"); }
+	public JAIAbstractValue long2Integer() { throw unsupported("long2Integer"); }
+	public JAIAbstractValue long2Double() { throw unsupported("long2Double"); }
+	public JAIAbstractValue long2Float() { throw unsupported("long2Float"); }
+	public JAIAbstractValue integer2Byte() { throw unsupported("integer2Byte"); }
+	public JAIAbstractValue integer2Character() { throw unsupported("integer2Character"); }
+	public JAIAbstractValue integer2Short() { throw unsupported("integer2Short"); }
+	public JAIAbstractValue longCompare(JAIAbstractValue v2) { throw unsupported("longCompare"); }
+	public int getHighestPossibleIntegerValue() { throw unsupported("getHighestPossibleIntegerValue"); }
+	public int getLowestPossibleIntegerValue() { throw unsupported("getLowestPossibleIntegerValue"); }
+
+}
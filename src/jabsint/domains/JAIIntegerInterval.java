@@ -0,0 +1,723 @@
+package jabsint.domains;
+
+import jabsint.JAIAbstractValue;
+import jabsint.JAIAbstractValueException;
+import jabsint.JAIValueSet;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This class represents an int as an interval [low, high] of possible values.
+ * Intervals are immutable. Operations that may overflow return the whole range of int.
+ * Bounds are ints (never boxed) and the common intervals are shared (see of(int, int)).
+ */
+@SuppressWarnings("rawtypes")
+public class JAIIntegerInterval extends JAIAbstractValue<Integer> {
+
+	/**
+	 * The interval of all ints.
+	 */
+	public static final JAIIntegerInterval TOP = new JAIIntegerInterval(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+	/**
+	 * The empty interval.
+	 */
+	public static final JAIIntegerInterval BOTTOM = new JAIIntegerInterval();
+
+	/**
+	 * The lowest constant shared by all the analyses.
+	 */
+	private static final int LOWEST_SHARED_CONSTANT = -128;
+
+	/**
+	 * The constants from -128 to 127 (the values of iconst and bipush), shared by all the analyses.
+	 */
+	private static final JAIIntegerInterval []CONSTANTS = new JAIIntegerInterval[256];
+
+	/**
+	 * The intervals included in [-1, 1] (the results of comparisons), indexed by [low+1][high+1].
+	 */
+	private static final JAIIntegerInterval [][]COMPARISONS = new JAIIntegerInterval[3][3];
+
+	static {
+		for (int i = 0; i<CONSTANTS.length; i++) {
+			CONSTANTS[i] = new JAIIntegerInterval(i+LOWEST_SHARED_CONSTANT, i+LOWEST_SHARED_CONSTANT);
+		}
+		for (int l = -1; l<=1; l++) {
+			for (int h = l; h<=1; h++) {
+				COMPARISONS[l+1][h+1] = (l==h) ? CONSTANTS[l-LOWEST_SHARED_CONSTANT] : new JAIIntegerInterval(l, h);
+			}
+		}
+	}
+
+	/**
+	 * The interval [0, 0].
+	 */
+	public static final JAIIntegerInterval ZERO = of(0, 0);
+
+	/**
+	 * The interval [1, 1].
+	 */
+	public static final JAIIntegerInterval ONE = of(1, 1);
+
+	/**
+	 * The interval [-1, -1].
+	 */
+	public static final JAIIntegerInterval MINUS_ONE = of(-1, -1);
+
+	/**
+	 * The lowest possible value.
+	 */
+	private final int low;
+
+	/**
+	 * The highest possible value.
+	 */
+	private final int high;
+
+	/**
+	 * True if the interval is empty.
+	 */
+	private final boolean bottom;
+
+	/**
+	 * Creates the interval [low, high].
+	 *
+	 * @param low the lowest value.
+	 * @param high the highest value.
+	 */
+	public JAIIntegerInterval(int low, int high) {
+		super("int");
+		this.low = low;
+		this.high = high;
+		this.bottom = low>high;
+	}
+
+	/**
+	 * Creates the empty interval.
+	 */
+	private JAIIntegerInterval() {
+		super("int");
+		this.low = Integer.MAX_VALUE;
+		this.high = Integer.MIN_VALUE;
+		this.bottom = true;
+	}
+
+	/**
+	 * Returns the interval [low, high]. Small constants, the results of comparisons,
+	 * the empty interval and the interval of all ints are shared instead of allocated.
+	 *
+	 * @param low the lowest value.
+	 * @param high the highest value.
+	 * @return the interval.
+	 */
+	public static JAIIntegerInterval of(int low, int high) {
+		if (low==high) {
+			if (low>=LOWEST_SHARED_CONSTANT && low<LOWEST_SHARED_CONSTANT+CONSTANTS.length) {
+				return CONSTANTS[low-LOWEST_SHARED_CONSTANT];
+			}
+		} else if (low>high) {
+			return BOTTOM;
+		} else if (low>=-1 && high<=1) {
+			return COMPARISONS[low+1][high+1];
+		} else if (low==Integer.MIN_VALUE && high==Integer.MAX_VALUE) {
+			return TOP;
+		}
+		return new JAIIntegerInterval(low, high);
+	}
+
+	/**
+	 * Creates the interval [low, high] from long bounds. If a bound is out of
+	 * the range of int, the operation overflowed and any int is possible.
+	 *
+	 * @param low the lowest value.
+	 * @param high the highest value.
+	 * @return the interval.
+	 */
+	public static JAIIntegerInterval fromLongBounds(long low, long high) {
+		if (low>high) {
+			return BOTTOM;
+		}
+		if (low<Integer.MIN_VALUE || high>Integer.MAX_VALUE) {
+			return TOP;
+		}
+		return of((int)low, (int)high);
+	}
+
+	/**
+	 * Simple getter for the lowest value.
+	 *
+	 * @return the lowest value.
+	 */
+	public int getLow() {
+		return low;
+	}
+
+	/**
+	 * Simple getter for the highest value.
+	 *
+	 * @return the highest value.
+	 */
+	public int getHigh() {
+		return high;
+	}
+
+	/**
+	 * Returns true if the interval contains a single value.
+	 *
+	 * @return true if low==high.
+	 */
+	public boolean isConstant() {
+		return !bottom && low==high;
+	}
+
+	/**
+	 * Casts the argument to an interval.
+	 *
+	 * @param value the value.
+	 * @return the interval.
+	 */
+	private static JAIIntegerInterval asInterval(JAIAbstractValue value) {
+		if (!(value instanceof JAIIntegerInterval)) {
+			throw new JAIAbstractValueException("Not an int interval: "+value);
+		}
+		return (JAIIntegerInterval) value;
+	}
+
+	/**
+	 * Returns the exception for operations on other types.
+	 *
+	 * @param operation the name of the operation.
+	 * @return the exception to throw.
+	 */
+	private static JAIAbstractValueException unsupported(String operation) {
+		return new JAIAbstractValueException("Operation not supported on int intervals: "+operation);
+	}
+
+	/**
+	 * Intervals are never modified.
+	 *
+	 * @see jabsint.JAIAbstractValue#isImmutable()
+	 */
+	public boolean isImmutable() {
+		return true;
+	}
+
+	/**
+	 * The first byte of the intervals written (see {@link #write(DataOutput)}).
+	 */
+	static final int TAG = 1;
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#write(java.io.DataOutput)
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(TAG);
+		out.writeInt(low);
+		out.writeInt(high);
+	}
+
+	/**
+	 * Reads a interval written by {@link #write(DataOutput)}, once its first byte was read.
+	 *
+	 * @param in the input.
+	 * @return the interval.
+	 * @throws IOException if the input fails.
+	 */
+	static JAIIntegerInterval read(DataInput in) throws IOException {
+		return of(in.readInt(), in.readInt());
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#subsumes(jabsint.JAIAbstractValue)
+	 */
+	public boolean subsumes(JAIAbstractValue value) {
+		JAIIntegerInterval v = asInterval(value);
+		if (v.bottom) return true;
+		if (bottom) return false;
+		return low<=v.low && high>=v.high;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	public boolean equals(Object o) {
+		if (o==this) return true;
+		if (!(o instanceof JAIIntegerInterval)) return false;
+		JAIIntegerInterval v = (JAIIntegerInterval) o;
+		if (bottom || v.bottom) return bottom==v.bottom;
+		return low==v.low && high==v.high;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	public int hashCode() {
+		return bottom ? 0 : 31*low+high;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#intersection(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue intersection(JAIAbstractValue value) {
+		JAIIntegerInterval v = asInterval(value);
+		if (bottom || v.bottom) return BOTTOM;
+		int l = Math.max(low, v.low);
+		int h = Math.min(high, v.high);
+		return (l>h) ? BOTTOM : of(l, h);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#union(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue union(JAIAbstractValue value) {
+		JAIIntegerInterval v = asInterval(value);
+		if (v.bottom || this.subsumes(v)) return this;
+		if (bottom || v.subsumes(this)) return v;
+		return of(Math.min(low, v.low), Math.max(high, v.high));
+	}
+
+	/**
+	 * Widens the interval: a bound that grows goes to the next threshold,
+	 * or to the extreme of int if there is none.
+	 *
+	 * @see jabsint.JAIAbstractValue#widen(jabsint.JAIAbstractValue, long[])
+	 */
+	public JAIAbstractValue widen(JAIAbstractValue value, long []thresholds) {
+		JAIIntegerInterval v = asInterval(value);
+		if (v.bottom) return this;
+		if (bottom) return v;
+		long l = low;
+		long h = high;
+		if (v.low<low) {
+			l = Integer.MIN_VALUE;
+			for (int i = (thresholds==null) ? -1 : thresholds.length-1; i>=0; i--) {
+				if (thresholds[i]<=v.low) {
+					l = Math.max(thresholds[i], Integer.MIN_VALUE);
+					break;
+				}
+			}
+		}
+		if (v.high>high) {
+			h = Integer.MAX_VALUE;
+			for (int i = 0; thresholds!=null && i<thresholds.length; i++) {
+				if (thresholds[i]>=v.high) {
+					h = Math.min(thresholds[i], Integer.MAX_VALUE);
+					break;
+				}
+			}
+		}
+		if (l==low && h==high) return this;
+		return of((int)l, (int)h);
+	}
+
+	/**
+	 * Narrows the interval: only the bounds that were widened to the extremes of int
+	 * are refined, and the empty interval stays empty.
+	 *
+	 * @see jabsint.JAIAbstractValue#narrow(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue narrow(JAIAbstractValue value) {
+		JAIIntegerInterval v = asInterval(value);
+		if (bottom) return this;
+		if (v.bottom) return v;
+		int l = (low==Integer.MIN_VALUE) ? v.low : low;
+		int h = (high==Integer.MAX_VALUE) ? v.high : high;
+		if (l==low && h==high) return this;
+		return (l>h) ? BOTTOM : of(l, h);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#minus(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue minus(JAIAbstractValue value) {
+		JAIIntegerInterval v = asInterval(value);
+		if (bottom || v.bottom || v.high<low || v.low>high) return this;
+		if (v.subsumes(this)) return BOTTOM;
+		// the result must be an interval, so only a removed end can be cut
+		if (v.low<=low) return of(v.high+1, high);
+		if (v.high>=high) return of(low, v.low-1);
+		return this;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isValueLowerThan(jabsint.JAIAbstractValue)
+	 */
+	public boolean isValueLowerThan(JAIAbstractValue value) {
+		JAIIntegerInterval v = asInterval(value);
+		return !bottom && !v.bottom && high<v.low;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isValueLowerOrEqualTo(jabsint.JAIAbstractValue)
+	 */
+	public boolean isValueLowerOrEqualTo(JAIAbstractValue value) {
+		JAIIntegerInterval v = asInterval(value);
+		return !bottom && !v.bottom && high<=v.low;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isUnordered(jabsint.JAIAbstractValue)
+	 */
+	public boolean isUnordered(JAIAbstractValue value) {
+		return false;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#top()
+	 */
+	public JAIAbstractValue top() {
+		return TOP;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isTop()
+	 */
+	public boolean isTop() {
+		return !bottom && low==Integer.MIN_VALUE && high==Integer.MAX_VALUE;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isBottom()
+	 */
+	public boolean isBottom() {
+		return bottom;
+	}
+
+	/**
+	 * Returns the values of the interval if there are less than 1024, an empty set otherwise.
+	 *
+	 * @see jabsint.JAIAbstractValue#makeConcrete()
+	 */
+	public JAIValueSet<Integer> makeConcrete() {
+		JAIValueSet<Integer> set = new JAIValueSet<Integer>();
+		if (!bottom && (long)high-(long)low<1024) {
+			for (long i = low; i<=high; i++) {
+				set.values.add((int)i);
+			}
+		}
+		return set;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#loadFromArrayref(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue loadFromArrayref(JAIAbstractValue index) {
+		throw unsupported("load from array");
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#storeInArrayref(jabsint.JAIAbstractValue, jabsint.JAIAbstractValue)
+	 */
+	public void storeInArrayref(JAIAbstractValue index, JAIAbstractValue value) {
+		throw unsupported("store in array");
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerAdd(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerAdd(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		return fromLongBounds((long)low+v.low, (long)high+v.high);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerSub(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerSub(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		return fromLongBounds((long)low-v.high, (long)high-v.low);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerMul(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerMul(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		long a = (long)low*v.low;
+		long b = (long)low*v.high;
+		long c = (long)high*v.low;
+		long d = (long)high*v.high;
+		return fromLongBounds(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+	}
+
+	/**
+	 * Divides this interval by a divisor that does not contain 0.
+	 *
+	 * @param dLow the lowest divisor.
+	 * @param dHigh the highest divisor.
+	 * @return the interval of the quotients.
+	 */
+	private JAIIntegerInterval divideBy(long dLow, long dHigh) {
+		long a = low/dLow;
+		long b = low/dHigh;
+		long c = high/dLow;
+		long d = high/dHigh;
+		return fromLongBounds(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+	}
+
+	/**
+	 * Divides this interval by another one. Dividing by 0 throws an exception in
+	 * the program so it does not produce a value; divisors around 0 are split.
+	 *
+	 * @see jabsint.JAIAbstractValue#integerDiv(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerDiv(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		JAIAbstractValue result = BOTTOM;
+		if (v.low<0) {
+			result = result.union(divideBy(v.low, Math.min(v.high, -1)));
+		}
+		if (v.high>0) {
+			result = result.union(divideBy(Math.max(v.low, 1), v.high));
+		}
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerRemainder(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerRemainder(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom || (v.low==0 && v.high==0)) return BOTTOM;
+		if (isConstant() && v.isConstant() && v.low!=0) {
+			return of(low%v.low, low%v.low);
+		}
+		// the remainder is smaller than the divisor and has the sign of the dividend
+		long m = Math.max(Math.abs((long)v.low), Math.abs((long)v.high))-1;
+		long l = (low>=0) ? 0 : Math.max(low, -m);
+		long h = (high<=0) ? 0 : Math.min(high, m);
+		return fromLongBounds(l, h);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerNegation()
+	 */
+	public JAIAbstractValue integerNegation() {
+		if (bottom) return BOTTOM;
+		return fromLongBounds(-(long)high, -(long)low);
+	}
+
+	/**
+	 * Returns the shift distance if it is known.
+	 *
+	 * @param v the interval of the distance.
+	 * @return the distance (masked as the JVM does) or -1 if it is not a constant.
+	 */
+	private static int shiftDistance(JAIIntegerInterval v) {
+		return v.isConstant() ? v.low & 0x1f : -1;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerShiftLeft(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerShiftLeft(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		int s = shiftDistance(v);
+		if (s<0) return TOP;
+		return fromLongBounds((long)low<<s, (long)high<<s);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerShiftRight(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerShiftRight(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		int s = shiftDistance(v);
+		if (s>=0) return of(low>>s, high>>s);
+		// shifting right brings the value closer to 0 (or -1)
+		return of(Math.min(low, 0), Math.max(high, 0));
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerLogicalShiftRight(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerLogicalShiftRight(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		int s = shiftDistance(v);
+		if (low>=0) {
+			return (s>=0) ? of(low>>>s, high>>>s) : of(0, high);
+		}
+		if (s>0) {
+			return of(0, -1>>>s);
+		}
+		return TOP;
+	}
+
+	/**
+	 * Returns the smallest number of the form 2^n-1 greater or equal to i (i>=0).
+	 *
+	 * @param i the number.
+	 * @return the mask.
+	 */
+	private static int mask(int i) {
+		return (i==0) ? 0 : -1>>>Integer.numberOfLeadingZeros(i);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerAnd(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerAnd(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		if (isConstant() && v.isConstant()) return of(low&v.low, low&v.low);
+		if (low>=0 && v.low>=0) return of(0, Math.min(high, v.high));
+		if (low>=0) return of(0, high);
+		if (v.low>=0) return of(0, v.high);
+		return TOP;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerOr(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerOr(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		if (isConstant() && v.isConstant()) return of(low|v.low, low|v.low);
+		if (low>=0 && v.low>=0) return of(Math.max(low, v.low), mask(Math.max(high, v.high)));
+		return TOP;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integerXor(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue integerXor(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		if (isConstant() && v.isConstant()) return of(low^v.low, low^v.low);
+		if (low>=0 && v.low>=0) return of(0, mask(Math.max(high, v.high)));
+		return TOP;
+	}
+
+	/**
+	 * Keeps the interval if it fits in the range [min, max], returns the range otherwise.
+	 *
+	 * @param min the lowest value of the type.
+	 * @param max the highest value of the type.
+	 * @return the converted interval.
+	 */
+	private JAIIntegerInterval truncate(int min, int max) {
+		if (bottom || (low>=min && high<=max)) return this;
+		return of(min, max);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integer2Byte()
+	 */
+	public JAIAbstractValue integer2Byte() {
+		return truncate(Byte.MIN_VALUE, Byte.MAX_VALUE);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integer2Character()
+	 */
+	public JAIAbstractValue integer2Character() {
+		return truncate(Character.MIN_VALUE, Character.MAX_VALUE);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integer2Short()
+	 */
+	public JAIAbstractValue integer2Short() {
+		return truncate(Short.MIN_VALUE, Short.MAX_VALUE);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integer2Long()
+	 */
+	public JAIAbstractValue integer2Long() {
+		if (bottom) return JAILongInterval.BOTTOM;
+		return JAILongInterval.of(low, high);
+	}
+
+	/**
+	 * Converts to float. Rounding to the nearest float keeps the order of values,
+	 * so the bounds are converted.
+	 *
+	 * @see jabsint.JAIAbstractValue#integer2Float()
+	 */
+	public JAIAbstractValue integer2Float() {
+		if (bottom) return JAIFloatingInterval.FLOAT_BOTTOM;
+		return JAIFloatingInterval.ofFloat(low, high);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#integer2Double()
+	 */
+	public JAIAbstractValue integer2Double() {
+		if (bottom) return JAIFloatingInterval.DOUBLE_BOTTOM;
+		return JAIFloatingInterval.ofDouble(low, high);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#getHighestPossibleIntegerValue()
+	 */
+	public int getHighestPossibleIntegerValue() {
+		return high;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#getLowestPossibleIntegerValue()
+	 */
+	public int getLowestPossibleIntegerValue() {
+		return low;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return bottom ? "[]" : "["+low+","+high+"]";
+	}
+
+	// The operations below are not on ints.
+
+	public JAIAbstractValue longAdd(JAIAbstractValue v2) { throw unsupported("longAdd"); }
+	public JAIAbstractValue floatAdd(JAIAbstractValue v2) { throw unsupported("floatAdd"); }
+	public JAIAbstractValue doubleAdd(JAIAbstractValue v2) { throw unsupported("doubleAdd"); }
+	public JAIAbstractValue longSub(JAIAbstractValue v2) { throw unsupported("longSub"); }
+	public JAIAbstractValue floatSub(JAIAbstractValue v2) { throw unsupported("floatSub"); }
+	public JAIAbstractValue doubleSub(JAIAbstractValue v2) { throw unsupported("doubleSub"); }
+	public JAIAbstractValue longMul(JAIAbstractValue v2) { throw unsupported("longMul"); }
+	public JAIAbstractValue floatMul(JAIAbstractValue v2) { throw unsupported("floatMul"); }
+	public JAIAbstractValue doubleMul(JAIAbstractValue v2) { throw unsupported("doubleMul"); }
+	public JAIAbstractValue longDiv(JAIAbstractValue v2) { throw unsupported("longDiv"); }
+	public JAIAbstractValue floatDiv(JAIAbstractValue v2) { throw unsupported("floatDiv"); }
+	public JAIAbstractValue doubleDiv(JAIAbstractValue v2) { throw unsupported("doubleDiv"); }
+	public JAIAbstractValue longRemainder(JAIAbstractValue v2) { throw unsupported("longRemainder"); }
+	public JAIAbstractValue floatRemainder(JAIAbstractValue v2) { throw unsupported("floatRemainder"); }
+	public JAIAbstractValue doubleRemainder(JAIAbstractValue v2) { throw unsupported("doubleRemainder"); }
+	public JAIAbstractValue longNegation() { throw unsupported("longNegation"); }
+	public JAIAbstractValue floatNegation() { throw unsupported("floatNegation"); }
+	public JAIAbstractValue doubleNegation() { throw unsupported("doubleNegation"); }
+	public JAIAbstractValue longShiftLeft(JAIAbstractValue v2) { throw unsupported("longShiftLeft"); }
+	public JAIAbstractValue longShiftRight(JAIAbstractValue v2) { throw unsupported("longShiftRight"); }
+	public JAIAbstractValue longLogicalShiftRight(JAIAbstractValue v2) { throw unsupported("longLogicalShiftRight"); }
+	public JAIAbstractValue longAnd(JAIAbstractValue v2) { throw unsupported("longAnd"); }
+	public JAIAbstractValue longOr(JAIAbstractValue v2) { throw unsupported("longOr"); }
+	public JAIAbstractValue longXor(JAIAbstractValue v2) { throw unsupported("longXor"); }
+	public JAIAbstractValue long2Integer() { throw unsupported("long2Integer"); }
+	public JAIAbstractValue long2Double() { throw unsupported("long2Double"); }
+	public JAIAbstractValue float2Integer() { throw unsupported("float2Integer"); }
+	public JAIAbstractValue long2Float() { throw unsupported("long2Float"); }
+	public JAIAbstractValue float2Long() { throw unsupported("float2Long"); }
+	public JAIAbstractValue float2Double() { throw unsupported("float2Double"); }
+	public JAIAbstractValue double2Integer() { throw unsupported("double2Integer"); }
+	public JAIAbstractValue double2Long() { throw unsupported("double2Long"); }
+	public JAIAbstractValue double2Float() { throw unsupported("double2Float"); }
+	public JAIAbstractValue longCompare(JAIAbstractValue v2) { throw unsupported("longCompare"); }
+	public JAIAbstractValue floatCompareL(JAIAbstractValue v2) { throw unsupported("floatCompareL"); }
+	public JAIAbstractValue floatCompareG(JAIAbstractValue v2) { throw unsupported("floatCompareG"); }
+	public JAIAbstractValue doubleCompareL(JAIAbstractValue v2) { throw unsupported("doubleCompareL"); }
+	public JAIAbstractValue doubleCompareG(JAIAbstractValue v2) { throw unsupported("doubleCompareG"); }
+
+}
@@ -0,0 +1,286 @@
+package jabsint.domains;
+
+import jabsint.JAIAbstractValue;
+import jabsint.JAIAbstractValueException;
+import jabsint.JAIAbstractValuesFactory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.TreeMap;
+
+/**
+ * This class represents a factory of intervals of ints, longs, floats and doubles, of
+ * sets of allocation sites for references (see {@link JAIReferenceSet}), and of the
+ * elements of arrays (see {@link JAISegmentedArray}), smashed or segmented.
+ * Local and static variables that were not set are unknown: any value of their
+ * type if it is known (see setParameterTypes(String, boolean)), any int otherwise.
+ */
+@SuppressWarnings("rawtypes")
+public class JAIIntervalsFactory extends JAIAbstractValuesFactory {
+
+	/**
+	 * The initial values of the local variables (the parameters).
+	 */
+	private HashMap<Integer,JAIAbstractValue> localVariables = new HashMap<Integer,JAIAbstractValue>();
+
+	/**
+	 * The initial values of the static variables (worlds keep the values they write).
+	 */
+	private HashMap<String,JAIAbstractValue> staticVariables = new HashMap<String,JAIAbstractValue>();
+
+	/**
+	 * The representation of the arrays created: JAISegmentedArray.SMASHED or JAISegmentedArray.SEGMENTED.
+	 */
+	private int arrayMode = JAISegmentedArray.SEGMENTED;
+
+	/**
+	 * The maximum number of segments of the arrays created, when they are segmented.
+	 */
+	private int maximumSegments = JAISegmentedArray.DEFAULT_MAXIMUM_SEGMENTS;
+
+	/**
+	 * @return the representation of the arrays created: JAISegmentedArray.SMASHED or JAISegmentedArray.SEGMENTED.
+	 */
+	public int getArrayMode() {
+		return arrayMode;
+	}
+
+	/**
+	 * @param arrayMode the representation of the arrays created: JAISegmentedArray.SMASHED or JAISegmentedArray.SEGMENTED.
+	 */
+	public void setArrayMode(int arrayMode) {
+		this.arrayMode = arrayMode;
+	}
+
+	/**
+	 * @return the maximum number of segments of the arrays created, when they are segmented.
+	 */
+	public int getMaximumSegments() {
+		return maximumSegments;
+	}
+
+	/**
+	 * @param maximumSegments the maximum number of segments of the arrays created, when they are segmented.
+	 */
+	public void setMaximumSegments(int maximumSegments) {
+		this.maximumSegments = maximumSegments;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#readAbstractValue(java.io.DataInput)
+	 */
+	public JAIAbstractValue readAbstractValue(DataInput in) throws IOException {
+		int tag = in.readByte();
+		switch (tag) {
+		case JAIIntegerInterval.TAG: return JAIIntegerInterval.read(in);
+		case JAILongInterval.TAG: return JAILongInterval.read(in);
+		case JAIFloatingInterval.TAG: return JAIFloatingInterval.read(in);
+		case JAIReferenceSet.TAG: return JAIReferenceSet.read(in);
+		case JAISegmentedArray.TAG: return JAISegmentedArray.read(in, this);
+		default: throw new IOException("Unknown value: "+tag);
+		}
+	}
+
+	/**
+	 * Writes the representation of arrays and the values of the variables that were
+	 * set, in the order of their numbers and names.
+	 *
+	 * @see jabsint.JAIAbstractValuesFactory#writeConfiguration(java.io.DataOutput)
+	 */
+	public void writeConfiguration(DataOutput out) throws IOException {
+		super.writeConfiguration(out);
+		out.writeInt(arrayMode);
+		out.writeInt(maximumSegments);
+		TreeMap<Integer,JAIAbstractValue> locals = new TreeMap<Integer,JAIAbstractValue>(localVariables);
+		out.writeInt(locals.size());
+		for (Integer number: locals.keySet()) {
+			out.writeInt(number);
+			locals.get(number).write(out);
+		}
+		TreeMap<String,JAIAbstractValue> statics = new TreeMap<String,JAIAbstractValue>(staticVariables);
+		out.writeInt(statics.size());
+		for (String name: statics.keySet()) {
+			out.writeUTF(name);
+			statics.get(name).write(out);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateNullAbstractValue()
+	 */
+	public JAIAbstractValue generateNullAbstractValue() {
+		return JAIReferenceSet.NULL;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateReferenceAbstractValue(int)
+	 */
+	public JAIAbstractValue generateReferenceAbstractValue(int site) {
+		return JAIReferenceSet.of(site);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateArrayAbstractValue(java.lang.String, jabsint.JAIAbstractValue, jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue generateArrayAbstractValue(String type, JAIAbstractValue length, JAIAbstractValue elements) {
+		return new JAISegmentedArray(type.substring(1), length, elements, arrayMode, maximumSegments);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateExceptionAbstractValue(java.lang.String)
+	 */
+	public JAIAbstractValue generateExceptionAbstractValue(String catchType) {
+		// the exception may have been thrown by any code, it is an unknown object
+		return JAIReferenceSet.UNKNOWN;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateReturnAddressAbstractValue(int)
+	 */
+	public JAIAbstractValue generateReturnAddressAbstractValue(int returnIndex) {
+		// the index itself, so that the return addresses of different call sites differ
+		return JAIIntegerInterval.of(returnIndex, returnIndex);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateIntegerAbstractValue(int)
+	 */
+	public JAIAbstractValue generateIntegerAbstractValue(int i) {
+		return JAIIntegerInterval.of(i, i);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateIntegerAbstractValueLowerThan(int)
+	 */
+	public JAIAbstractValue generateIntegerAbstractValueLowerThan(int i) {
+		if (i==Integer.MIN_VALUE) {
+			return JAIIntegerInterval.BOTTOM;
+		}
+		return JAIIntegerInterval.of(Integer.MIN_VALUE, i-1);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateLongAbstractValue(long)
+	 */
+	public JAIAbstractValue generateLongAbstractValue(long l) {
+		return JAILongInterval.of(l, l);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateFloatAbstractValue(float)
+	 */
+	public JAIAbstractValue generateFloatAbstractValue(float f) {
+		return JAIFloatingInterval.ofFloat(f, f);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateDoubleAbstractValue(double)
+	 */
+	public JAIAbstractValue generateDoubleAbstractValue(double d) {
+		return JAIFloatingInterval.ofDouble(d, d);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateShortAbstractValue(short)
+	 */
+	public JAIAbstractValue generateShortAbstractValue(short s) {
+		return JAIIntegerInterval.of(s, s);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateStringAbstractValue(java.lang.String)
+	 */
+	public JAIAbstractValue generateStringAbstractValue(String s) {
+		throw new JAIAbstractValueException("Strings are not represented by intervals");
+	}
+
+	/**
+	 * Returns the interval of all the values of a type, or any reference for objects and arrays.
+	 *
+	 * @param type the descriptor of the type (for example I or J).
+	 * @return the interval, the one of all ints for types that are not represented.
+	 */
+	public static JAIAbstractValue topOf(String type) {
+		switch (type.isEmpty() ? 'I' : type.charAt(0)) {
+		case 'J': return JAILongInterval.TOP;
+		case 'F': return JAIFloatingInterval.FLOAT_TOP;
+		case 'D': return JAIFloatingInterval.DOUBLE_TOP;
+		case 'Z': return JAIIntegerInterval.of(0, 1);
+		case 'B': return JAIIntegerInterval.of(Byte.MIN_VALUE, Byte.MAX_VALUE);
+		case 'C': return JAIIntegerInterval.of(Character.MIN_VALUE, Character.MAX_VALUE);
+		case 'S': return JAIIntegerInterval.of(Short.MIN_VALUE, Short.MAX_VALUE);
+		case 'L':
+		case '[': return JAIReferenceSet.TOP;
+		default: return JAIIntegerInterval.TOP;
+		}
+	}
+
+	/**
+	 * Sets the initial values of the parameters of a method to all the values of their types,
+	 * so that longs, floats, doubles and references are not taken for ints. The receiver is
+	 * an unknown object.
+	 *
+	 * @param descriptor the descriptor of the method, for example (IJ)V.
+	 * @param isStatic true if the method is static (it has no receiver in local variable 0).
+	 */
+	public void setParameterTypes(String descriptor, boolean isStatic) {
+		int number = isStatic ? 0 : 1;
+		if (!isStatic) {
+			localVariables.put(0, JAIReferenceSet.UNKNOWN);
+		}
+		int i = descriptor.indexOf('(')+1;
+		while (i<descriptor.length() && descriptor.charAt(i)!=')') {
+			int start = i;
+			while (descriptor.charAt(i)=='[') i++;
+			if (descriptor.charAt(i)=='L') i = descriptor.indexOf(';', i);
+			i++;
+			String type = descriptor.substring(start, i);
+			localVariables.put(number, topOf(type));
+			number += (type.equals("J") || type.equals("D")) ? 2 : 1;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#getLocalVariableAbstractValue(int)
+	 */
+	public JAIAbstractValue getLocalVariableAbstractValue(int number) {
+		JAIAbstractValue v = localVariables.get(number);
+		return (v==null) ? JAIIntegerInterval.TOP : v;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#setLocalVariableAbstractValue(int, jabsint.JAIAbstractValue)
+	 */
+	public void setLocalVariableAbstractValue(int number, JAIAbstractValue value) {
+		localVariables.put(number, value);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#getStaticVariableAbstractValue(java.lang.String)
+	 */
+	public JAIAbstractValue getStaticVariableAbstractValue(String staticFieldName) {
+		JAIAbstractValue v = staticVariables.get(staticFieldName);
+		if (v==null) {
+			// the name ends with the type of the field
+			v = topOf(staticFieldName.substring(staticFieldName.lastIndexOf(':')+1));
+		}
+		return v;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#setStaticVariableAbstractValue(java.lang.String, jabsint.JAIAbstractValue)
+	 */
+	public void setStaticVariableAbstractValue(String staticFieldName, JAIAbstractValue value) {
+		staticVariables.put(staticFieldName, value);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValuesFactory#generateTopAbstractValue(java.lang.String)
+	 */
+	public JAIAbstractValue generateTopAbstractValue(String type) {
+		return topOf(type);
+	}
+
+}
@@ -0,0 +1,693 @@
+package jabsint.domains;
+
+import jabsint.JAIAbstractValue;
+import jabsint.JAIAbstractValueException;
+import jabsint.JAIValueSet;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This class represents a long as an interval [low, high] of possible values.
+ * Intervals are immutable. Operations that may overflow return the whole range of long.
+ * Bounds are longs (never boxed) and the common intervals are shared (see of(long, long)).
+ */
+@SuppressWarnings("rawtypes")
+public class JAILongInterval extends JAIAbstractValue<Long> {
+
+	/**
+	 * The interval of all longs.
+	 */
+	public static final JAILongInterval TOP = new JAILongInterval(Long.MIN_VALUE, Long.MAX_VALUE);
+
+	/**
+	 * The empty interval.
+	 */
+	public static final JAILongInterval BOTTOM = new JAILongInterval();
+
+	/**
+	 * The interval [0, 0].
+	 */
+	public static final JAILongInterval ZERO = new JAILongInterval(0, 0);
+
+	/**
+	 * The interval [1, 1].
+	 */
+	public static final JAILongInterval ONE = new JAILongInterval(1, 1);
+
+	/**
+	 * The interval [-1, -1].
+	 */
+	public static final JAILongInterval MINUS_ONE = new JAILongInterval(-1, -1);
+
+	/**
+	 * The lowest possible value.
+	 */
+	private final long low;
+
+	/**
+	 * The highest possible value.
+	 */
+	private final long high;
+
+	/**
+	 * True if the interval is empty.
+	 */
+	private final boolean bottom;
+
+	/**
+	 * Creates the interval [low, high].
+	 *
+	 * @param low the lowest value.
+	 * @param high the highest value.
+	 */
+	public JAILongInterval(long low, long high) {
+		super("long");
+		this.low = low;
+		this.high = high;
+		this.bottom = low>high;
+	}
+
+	/**
+	 * Creates the empty interval.
+	 */
+	private JAILongInterval() {
+		super("long");
+		this.low = Long.MAX_VALUE;
+		this.high = Long.MIN_VALUE;
+		this.bottom = true;
+	}
+
+	/**
+	 * Returns the interval [low, high]. The constants -1, 0 and 1, the empty interval
+	 * and the interval of all longs are shared instead of allocated.
+	 *
+	 * @param low the lowest value.
+	 * @param high the highest value.
+	 * @return the interval.
+	 */
+	public static JAILongInterval of(long low, long high) {
+		if (low==high) {
+			if (low==0) return ZERO;
+			if (low==1) return ONE;
+			if (low==-1) return MINUS_ONE;
+		} else if (low>high) {
+			return BOTTOM;
+		} else if (low==Long.MIN_VALUE && high==Long.MAX_VALUE) {
+			return TOP;
+		}
+		return new JAILongInterval(low, high);
+	}
+
+	/**
+	 * Simple getter for the lowest value.
+	 *
+	 * @return the lowest value.
+	 */
+	public long getLow() {
+		return low;
+	}
+
+	/**
+	 * Simple getter for the highest value.
+	 *
+	 * @return the highest value.
+	 */
+	public long getHigh() {
+		return high;
+	}
+
+	/**
+	 * Returns true if the interval contains a single value.
+	 *
+	 * @return true if low==high.
+	 */
+	public boolean isConstant() {
+		return !bottom && low==high;
+	}
+
+	/**
+	 * Casts the argument to an interval.
+	 *
+	 * @param value the value.
+	 * @return the interval.
+	 */
+	private static JAILongInterval asInterval(JAIAbstractValue value) {
+		if (!(value instanceof JAILongInterval)) {
+			throw new JAIAbstractValueException("Not a long interval: "+value);
+		}
+		return (JAILongInterval) value;
+	}
+
+	/**
+	 * Casts the argument to an int interval (the distance of shifts).
+	 *
+	 * @param value the value.
+	 * @return the interval.
+	 */
+	private static JAIIntegerInterval asIntegerInterval(JAIAbstractValue value) {
+		if (!(value instanceof JAIIntegerInterval)) {
+			throw new JAIAbstractValueException("Not an int interval: "+value);
+		}
+		return (JAIIntegerInterval) value;
+	}
+
+	/**
+	 * Returns the exception for operations on other types.
+	 *
+	 * @param operation the name of the operation.
+	 * @return the exception to throw.
+	 */
+	private static JAIAbstractValueException unsupported(String operation) {
+		return new JAIAbstractValueException("Operation not supported on long intervals: "+operation);
+	}
+
+	/**
+	 * Returns the interval between the lowest and the highest of four values.
+	 */
+	private static JAILongInterval hull(long a, long b, long c, long d) {
+		return of(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+	}
+
+	/**
+	 * Intervals are never modified.
+	 *
+	 * @see jabsint.JAIAbstractValue#isImmutable()
+	 */
+	public boolean isImmutable() {
+		return true;
+	}
+
+	/**
+	 * The first byte of the intervals written (see {@link #write(DataOutput)}).
+	 */
+	static final int TAG = 2;
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#write(java.io.DataOutput)
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(TAG);
+		out.writeLong(low);
+		out.writeLong(high);
+	}
+
+	/**
+	 * Reads a interval written by {@link #write(DataOutput)}, once its first byte was read.
+	 *
+	 * @param in the input.
+	 * @return the interval.
+	 * @throws IOException if the input fails.
+	 */
+	static JAILongInterval read(DataInput in) throws IOException {
+		return of(in.readLong(), in.readLong());
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#subsumes(jabsint.JAIAbstractValue)
+	 */
+	public boolean subsumes(JAIAbstractValue value) {
+		JAILongInterval v = asInterval(value);
+		if (v.bottom) return true;
+		if (bottom) return false;
+		return low<=v.low && high>=v.high;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	public boolean equals(Object o) {
+		if (o==this) return true;
+		if (!(o instanceof JAILongInterval)) return false;
+		JAILongInterval v = (JAILongInterval) o;
+		if (bottom || v.bottom) return bottom==v.bottom;
+		return low==v.low && high==v.high;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	public int hashCode() {
+		return bottom ? 0 : 31*Long.hashCode(low)+Long.hashCode(high);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#intersection(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue intersection(JAIAbstractValue value) {
+		JAILongInterval v = asInterval(value);
+		if (bottom || v.bottom) return BOTTOM;
+		return of(Math.max(low, v.low), Math.min(high, v.high));
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#union(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue union(JAIAbstractValue value) {
+		JAILongInterval v = asInterval(value);
+		if (v.bottom || this.subsumes(v)) return this;
+		if (bottom || v.subsumes(this)) return v;
+		return of(Math.min(low, v.low), Math.max(high, v.high));
+	}
+
+	/**
+	 * Widens the interval: a bound that grows goes to the next threshold,
+	 * or to the extreme of long if there is none.
+	 *
+	 * @see jabsint.JAIAbstractValue#widen(jabsint.JAIAbstractValue, long[])
+	 */
+	public JAIAbstractValue widen(JAIAbstractValue value, long []thresholds) {
+		JAILongInterval v = asInterval(value);
+		if (v.bottom) return this;
+		if (bottom) return v;
+		long l = low;
+		long h = high;
+		if (v.low<low) {
+			l = Long.MIN_VALUE;
+			for (int i = (thresholds==null) ? -1 : thresholds.length-1; i>=0; i--) {
+				if (thresholds[i]<=v.low) {
+					l = thresholds[i];
+					break;
+				}
+			}
+		}
+		if (v.high>high) {
+			h = Long.MAX_VALUE;
+			for (int i = 0; thresholds!=null && i<thresholds.length; i++) {
+				if (thresholds[i]>=v.high) {
+					h = thresholds[i];
+					break;
+				}
+			}
+		}
+		if (l==low && h==high) return this;
+		return of(l, h);
+	}
+
+	/**
+	 * Narrows the interval: only the bounds that were widened to the extremes of long
+	 * are refined, and the empty interval stays empty.
+	 *
+	 * @see jabsint.JAIAbstractValue#narrow(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue narrow(JAIAbstractValue value) {
+		JAILongInterval v = asInterval(value);
+		if (bottom) return this;
+		if (v.bottom) return v;
+		long l = (low==Long.MIN_VALUE) ? v.low : low;
+		long h = (high==Long.MAX_VALUE) ? v.high : high;
+		if (l==low && h==high) return this;
+		return of(l, h);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#minus(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue minus(JAIAbstractValue value) {
+		JAILongInterval v = asInterval(value);
+		if (bottom || v.bottom || v.high<low || v.low>high) return this;
+		if (v.subsumes(this)) return BOTTOM;
+		// the result must be an interval, so only a removed end can be cut
+		if (v.low<=low) return of(v.high+1, high);
+		if (v.high>=high) return of(low, v.low-1);
+		return this;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isValueLowerThan(jabsint.JAIAbstractValue)
+	 */
+	public boolean isValueLowerThan(JAIAbstractValue value) {
+		JAILongInterval v = asInterval(value);
+		return !bottom && !v.bottom && high<v.low;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isValueLowerOrEqualTo(jabsint.JAIAbstractValue)
+	 */
+	public boolean isValueLowerOrEqualTo(JAIAbstractValue value) {
+		JAILongInterval v = asInterval(value);
+		return !bottom && !v.bottom && high<=v.low;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isUnordered(jabsint.JAIAbstractValue)
+	 */
+	public boolean isUnordered(JAIAbstractValue value) {
+		return false;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#top()
+	 */
+	public JAIAbstractValue top() {
+		return TOP;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isTop()
+	 */
+	public boolean isTop() {
+		return !bottom && low==Long.MIN_VALUE && high==Long.MAX_VALUE;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isBottom()
+	 */
+	public boolean isBottom() {
+		return bottom;
+	}
+
+	/**
+	 * Returns the values of the interval if there are less than 1024, an empty set otherwise.
+	 *
+	 * @see jabsint.JAIAbstractValue#makeConcrete()
+	 */
+	public JAIValueSet<Long> makeConcrete() {
+		JAIValueSet<Long> set = new JAIValueSet<Long>();
+		if (!bottom && high-low>=0 && high-low<1024) {
+			for (long i = low; i<=high; i++) {
+				set.values.add(i);
+			}
+		}
+		return set;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#loadFromArrayref(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue loadFromArrayref(JAIAbstractValue index) {
+		throw unsupported("load from array");
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#storeInArrayref(jabsint.JAIAbstractValue, jabsint.JAIAbstractValue)
+	 */
+	public void storeInArrayref(JAIAbstractValue index, JAIAbstractValue value) {
+		throw unsupported("store in array");
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longAdd(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longAdd(JAIAbstractValue v2) {
+		JAILongInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		long l = low+v.low;
+		long h = high+v.high;
+		// the sign of a sum overflows when it differs from the signs of both arguments
+		if (((low^l)&(v.low^l))<0 || ((high^h)&(v.high^h))<0) return TOP;
+		return of(l, h);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longSub(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longSub(JAIAbstractValue v2) {
+		JAILongInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		long l = low-v.high;
+		long h = high-v.low;
+		// a difference overflows when the arguments have different signs and the result has the sign of the second
+		if (((low^v.high)&(low^l))<0 || ((high^v.low)&(high^h))<0) return TOP;
+		return of(l, h);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longMul(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longMul(JAIAbstractValue v2) {
+		JAILongInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		if (overflows(low, v.low) || overflows(low, v.high) || overflows(high, v.low) || overflows(high, v.high)) return TOP;
+		return hull(low*v.low, low*v.high, high*v.low, high*v.high);
+	}
+
+	/**
+	 * Returns true if the product of two longs overflows (checked without exception,
+	 * overflows are common on unknown values).
+	 *
+	 * @param a the first long.
+	 * @param b the second long.
+	 * @return true if a*b is not the product.
+	 */
+	private static boolean overflows(long a, long b) {
+		long r = a*b;
+		if (((Math.abs(a)|Math.abs(b))>>>31)==0) return false;
+		return (a!=0 && (r/a!=b || (a==-1 && b==Long.MIN_VALUE)));
+	}
+
+	/**
+	 * Divides this interval by a divisor that does not contain 0.
+	 *
+	 * @param dLow the lowest divisor.
+	 * @param dHigh the highest divisor.
+	 * @return the interval of the quotients.
+	 */
+	private JAILongInterval divideBy(long dLow, long dHigh) {
+		// Long.MIN_VALUE/-1 overflows
+		if (low==Long.MIN_VALUE && dLow<=-1 && dHigh>=-1) return TOP;
+		return hull(low/dLow, low/dHigh, high/dLow, high/dHigh);
+	}
+
+	/**
+	 * Divides this interval by another one. Dividing by 0 throws an exception in
+	 * the program so it does not produce a value; divisors around 0 are split.
+	 *
+	 * @see jabsint.JAIAbstractValue#longDiv(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longDiv(JAIAbstractValue v2) {
+		JAILongInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		JAIAbstractValue result = BOTTOM;
+		if (v.low<0) {
+			result = result.union(divideBy(v.low, Math.min(v.high, -1)));
+		}
+		if (v.high>0) {
+			result = result.union(divideBy(Math.max(v.low, 1), v.high));
+		}
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longRemainder(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longRemainder(JAIAbstractValue v2) {
+		JAILongInterval v = asInterval(v2);
+		if (bottom || v.bottom || (v.low==0 && v.high==0)) return BOTTOM;
+		if (isConstant() && v.isConstant()) {
+			return of(low%v.low, low%v.low);
+		}
+		// the remainder is smaller than the divisor and has the sign of the dividend
+		long m = (v.low==Long.MIN_VALUE) ? Long.MAX_VALUE : Math.max(Math.abs(v.low), Math.abs(v.high))-1;
+		long l = (low>=0) ? 0 : Math.max(low, -m);
+		long h = (high<=0) ? 0 : Math.min(high, m);
+		return of(l, h);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longNegation()
+	 */
+	public JAIAbstractValue longNegation() {
+		if (bottom) return BOTTOM;
+		if (low==Long.MIN_VALUE) return TOP;
+		return of(-high, -low);
+	}
+
+	/**
+	 * Returns the shift distance if it is known.
+	 *
+	 * @param v the interval of the distance.
+	 * @return the distance (masked as the JVM does) or -1 if it is not a constant.
+	 */
+	private static int shiftDistance(JAIIntegerInterval v) {
+		return v.isConstant() ? v.getLow() & 0x3f : -1;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longShiftLeft(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longShiftLeft(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asIntegerInterval(v2);
+		if (bottom || v.isBottom()) return BOTTOM;
+		int s = shiftDistance(v);
+		if (s<0) return TOP;
+		long l = low<<s;
+		long h = high<<s;
+		// the bits shifted out must be copies of the sign
+		if ((l>>s)!=low || (h>>s)!=high) return TOP;
+		return of(l, h);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longShiftRight(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longShiftRight(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asIntegerInterval(v2);
+		if (bottom || v.isBottom()) return BOTTOM;
+		int s = shiftDistance(v);
+		if (s>=0) return of(low>>s, high>>s);
+		// shifting right brings the value closer to 0 (or -1)
+		return of(Math.min(low, 0), Math.max(high, 0));
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longLogicalShiftRight(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longLogicalShiftRight(JAIAbstractValue v2) {
+		JAIIntegerInterval v = asIntegerInterval(v2);
+		if (bottom || v.isBottom()) return BOTTOM;
+		int s = shiftDistance(v);
+		if (low>=0) {
+			return (s>=0) ? of(low>>>s, high>>>s) : of(0, high);
+		}
+		if (s>0) {
+			return of(0, -1L>>>s);
+		}
+		return TOP;
+	}
+
+	/**
+	 * Returns the smallest number of the form 2^n-1 greater or equal to l (l>=0).
+	 *
+	 * @param l the number.
+	 * @return the mask.
+	 */
+	private static long mask(long l) {
+		return (l==0) ? 0 : -1L>>>Long.numberOfLeadingZeros(l);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longAnd(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longAnd(JAIAbstractValue v2) {
+		JAILongInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		if (isConstant() && v.isConstant()) return of(low&v.low, low&v.low);
+		if (low>=0 && v.low>=0) return of(0, Math.min(high, v.high));
+		if (low>=0) return of(0, high);
+		if (v.low>=0) return of(0, v.high);
+		return TOP;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longOr(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longOr(JAIAbstractValue v2) {
+		JAILongInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		if (isConstant() && v.isConstant()) return of(low|v.low, low|v.low);
+		if (low>=0 && v.low>=0) return of(Math.max(low, v.low), mask(Math.max(high, v.high)));
+		return TOP;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#longXor(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longXor(JAIAbstractValue v2) {
+		JAILongInterval v = asInterval(v2);
+		if (bottom || v.bottom) return BOTTOM;
+		if (isConstant() && v.isConstant()) return of(low^v.low, low^v.low);
+		if (low>=0 && v.low>=0) return of(0, mask(Math.max(high, v.high)));
+		return TOP;
+	}
+
+	/**
+	 * Converts to int: the values are kept if they all fit in an int, any int is
+	 * possible otherwise.
+	 *
+	 * @see jabsint.JAIAbstractValue#long2Integer()
+	 */
+	public JAIAbstractValue long2Integer() {
+		if (bottom) return JAIIntegerInterval.BOTTOM;
+		return JAIIntegerInterval.fromLongBounds(low, high);
+	}
+
+	/**
+	 * Converts to float. Rounding to the nearest float keeps the order of values,
+	 * so the bounds are converted.
+	 *
+	 * @see jabsint.JAIAbstractValue#long2Float()
+	 */
+	public JAIAbstractValue long2Float() {
+		if (bottom) return JAIFloatingInterval.FLOAT_BOTTOM;
+		return JAIFloatingInterval.ofFloat(low, high);
+	}
+
+	/**
+	 * Converts to double. Rounding to the nearest double keeps the order of values,
+	 * so the bounds are converted.
+	 *
+	 * @see jabsint.JAIAbstractValue#long2Double()
+	 */
+	public JAIAbstractValue long2Double() {
+		if (bottom) return JAIFloatingInterval.DOUBLE_BOTTOM;
+		return JAIFloatingInterval.ofDouble(low, high);
+	}
+
+	/**
+	 * Compares two longs: the result is the interval of the possible results among -1, 0 and 1.
+	 *
+	 * @see jabsint.JAIAbstractValue#longCompare(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue longCompare(JAIAbstractValue v2) {
+		JAILongInterval v = asInterval(v2);
+		if (bottom || v.bottom) return JAIIntegerInterval.BOTTOM;
+		int l = (low<v.high) ? -1 : (low==v.high ? 0 : 1);
+		int h = (high>v.low) ? 1 : (high==v.low ? 0 : -1);
+		return JAIIntegerInterval.of(l, h);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		return bottom ? "[]" : "["+low+"L,"+high+"L]";
+	}
+
+	// The operations below are not on longs.
+
+	public JAIAbstractValue integerAdd(JAIAbstractValue v2) { throw unsupported("integerAdd"); }
+	public JAIAbstractValue floatAdd(JAIAbstractValue v2) { throw unsupported("floatAdd"); }
+	public JAIAbstractValue doubleAdd(JAIAbstractValue v2) { throw unsupported("doubleAdd"); }
+	public JAIAbstractValue integerSub(JAIAbstractValue v2) { throw unsupported("integerSub"); }
+	public JAIAbstractValue floatSub(JAIAbstractValue v2) { throw unsupported("floatSub"); }
+	public JAIAbstractValue doubleSub(JAIAbstractValue v2) { throw unsupported("doubleSub"); }
+	public JAIAbstractValue integerMul(JAIAbstractValue v2) { throw unsupported("integerMul"); }
+	public JAIAbstractValue floatMul(JAIAbstractValue v2) { throw unsupported("floatMul"); }
+	public JAIAbstractValue doubleMul(JAIAbstractValue v2) { throw unsupported("doubleMul"); }
+	public JAIAbstractValue integerDiv(JAIAbstractValue v2) { throw unsupported("integerDiv"); }
+	public JAIAbstractValue floatDiv(JAIAbstractValue v2) { throw unsupported("floatDiv"); }
+	public JAIAbstractValue doubleDiv(JAIAbstractValue v2) { throw unsupported("doubleDiv"); }
+	public JAIAbstractValue integerRemainder(JAIAbstractValue v2) { throw unsupported("integerRemainder"); }
+	public JAIAbstractValue floatRemainder(JAIAbstractValue v2) { throw unsupported("floatRemainder"); }
+	public JAIAbstractValue doubleRemainder(JAIAbstractValue v2) { throw unsupported("doubleRemainder"); }
+	public JAIAbstractValue integerNegation() { throw unsupported("integerNegation"); }
+	public JAIAbstractValue floatNegation() { throw unsupported("floatNegation"); }
+	public JAIAbstractValue doubleNegation() { throw unsupported("doubleNegation"); }
+	public JAIAbstractValue integerShiftLeft(JAIAbstractValue v2) { throw unsupported("integerShiftLeft"); }
+	public JAIAbstractValue integerShiftRight(JAIAbstractValue v2) { throw unsupported("integerShiftRight"); }
+	public JAIAbstractValue integerLogicalShiftRight(JAIAbstractValue v2) { throw unsupported("integerLogicalShiftRight"); }
+	public JAIAbstractValue integerAnd(JAIAbstractValue v2) { throw unsupported("integerAnd"); }
+	public JAIAbstractValue integerOr(JAIAbstractValue v2) { throw unsupported("integerOr"); }
+	public JAIAbstractValue integerXor(JAIAbstractValue v2) { throw unsupported("integerXor"); }
+	public JAIAbstractValue integer2Long() { throw unsupported("integer2Long"); }
+	public JAIAbstractValue integer2Float() { throw unsupported("integer2Float"); }
+	public JAIAbstractValue integer2Double() { throw unsupported("integer2Double"); }
+	public JAIAbstractValue float2Integer() { throw unsupported("float2Integer"); }
+	public JAIAbstractValue float2Long() { throw unsupported("float2Long"); }
+	public JAIAbstractValue float2Double() { throw unsupported("float2Double"); }
+	public JAIAbstractValue double2Integer() { throw unsupported("double2Integer"); }
+	public JAIAbstractValue double2Long() { throw unsupported("double2Long"); }
+	public JAIAbstractValue double2Float() { throw unsupported("double2Float"); }
+	public JAIAbstractValue integer2Byte() { throw unsupported("integer2Byte"); }
+	public JAIAbstractValue integer2Character() { throw unsupported("integer2Character"); }
+	public JAIAbstractValue integer2Short() { throw unsupported("integer2Short"); }
+	public JAIAbstractValue floatCompareL(JAIAbstractValue v2) { throw unsupported("floatCompareL"); }
+	public JAIAbstractValue floatCompareG(JAIAbstractValue v2) { throw unsupported("floatCompareG"); }
+	public JAIAbstractValue doubleCompareL(JAIAbstractValue v2) { throw unsupported("doubleCompareL"); }
+	public JAIAbstractValue doubleCompareG(JAIAbstractValue v2) { throw unsupported("doubleCompareG"); }
+	public int getHighestPossibleIntegerValue() { throw unsupported("getHighestPossibleIntegerValue"); }
+	public int getLowestPossibleIntegerValue() { throw unsupported("getLowestPossibleIntegerValue"); }
+
+}
@@ -0,0 +1,390 @@
+package jabsint.domains;
+
+import jabsint.JAIAbstractValue;
+import jabsint.JAIAbstractValueException;
+import jabsint.JAIValueSet;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This class represents a reference as the set of the allocation sites (the indexes of
+ * the new and newarray instructions, see {@link jabsint.JAIAbstractObject}) of the
+ * objects and arrays it may refer to, whether it may be null, and whether it may refer to an unknown object. An
+ * unknown object is any object, allocated by the method or not: the parameters, the
+ * values read from fields of unknown objects and the exceptions caught are unknown.
+ * Sets are immutable; the sites of a set that may refer to unknown objects are not kept.
+ */
+@SuppressWarnings("rawtypes")
+public class JAIReferenceSet extends JAIAbstractValue<Integer> {
+
+	/**
+	 * No allocation site.
+	 */
+	private static final int []NO_SITES = new int[0];
+
+	/**
+	 * Any reference.
+	 */
+	public static final JAIReferenceSet TOP = new JAIReferenceSet(NO_SITES, true, true);
+
+	/**
+	 * No reference.
+	 */
+	public static final JAIReferenceSet BOTTOM = new JAIReferenceSet(NO_SITES, false, false);
+
+	/**
+	 * The null reference.
+	 */
+	public static final JAIReferenceSet NULL = new JAIReferenceSet(NO_SITES, false, true);
+
+	/**
+	 * Any reference to an object (not null).
+	 */
+	public static final JAIReferenceSet UNKNOWN = new JAIReferenceSet(NO_SITES, true, false);
+
+	/**
+	 * The allocation sites of the objects referred to, in increasing order.
+	 */
+	private final int []sites;
+
+	/**
+	 * True if the reference may refer to an unknown object.
+	 */
+	private final boolean unknown;
+
+	/**
+	 * True if the reference may be null.
+	 */
+	private final boolean mayBeNull;
+
+	/**
+	 * Creates a set.
+	 *
+	 * @param sites the allocation sites, in increasing order (not copied).
+	 * @param unknown true if the reference may refer to an unknown object.
+	 * @param mayBeNull true if the reference may be null.
+	 */
+	private JAIReferenceSet(int []sites, boolean unknown, boolean mayBeNull) {
+		super("reference");
+		this.sites = unknown ? NO_SITES : sites;
+		this.unknown = unknown;
+		this.mayBeNull = mayBeNull;
+	}
+
+	/**
+	 * Returns the reference to the objects allocated at a site.
+	 *
+	 * @param site the index of the new instruction.
+	 * @return the reference.
+	 */
+	public static JAIReferenceSet of(int site) {
+		return new JAIReferenceSet(new int[]{site}, false, false);
+	}
+
+	/**
+	 * Returns a set, sharing the constants.
+	 *
+	 * @param sites the allocation sites, in increasing order (not copied).
+	 * @param unknown true if the reference may refer to an unknown object.
+	 * @param mayBeNull true if the reference may be null.
+	 * @return the set.
+	 */
+	private static JAIReferenceSet of(int []sites, boolean unknown, boolean mayBeNull) {
+		if (unknown || sites.length==0) {
+			if (unknown) return mayBeNull ? TOP : UNKNOWN;
+			return mayBeNull ? NULL : BOTTOM;
+		}
+		return new JAIReferenceSet(sites, false, mayBeNull);
+	}
+
+	/**
+	 * Casts the argument to a set of references.
+	 *
+	 * @param value the value.
+	 * @return the set, TOP if the value is not a set of references.
+	 */
+	private static JAIReferenceSet asReferenceSet(JAIAbstractValue value) {
+		// references of the worlds that do not model them are any reference
+		return (value instanceof JAIReferenceSet) ? (JAIReferenceSet) value : TOP;
+	}
+
+	/**
+	 * Returns the exception for operations on other types.
+	 *
+	 * @param operation the name of the operation.
+	 * @return the exception to throw.
+	 */
+	private static JAIAbstractValueException unsupported(String operation) {
+		return new JAIAbstractValueException("Operation not supported on references: "+operation);
+	}
+
+	/**
+	 * @return true if the reference may be null.
+	 */
+	public boolean mayBeNull() {
+		return mayBeNull;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#getAllocationSites()
+	 */
+	public int[] getAllocationSites() {
+		return sites;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#mayReferToUnknownObject()
+	 */
+	public boolean mayReferToUnknownObject() {
+		return unknown;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isImmutable()
+	 */
+	public boolean isImmutable() {
+		return true;
+	}
+
+	/**
+	 * The first byte of the sets written (see {@link #write(DataOutput)}).
+	 */
+	static final int TAG = 4;
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#write(java.io.DataOutput)
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(TAG);
+		out.writeBoolean(unknown);
+		out.writeBoolean(mayBeNull);
+		out.writeInt(sites.length);
+		for (int site: sites) {
+			out.writeInt(site);
+		}
+	}
+
+	/**
+	 * Reads a set written by {@link #write(DataOutput)}, once its first byte was read.
+	 *
+	 * @param in the input.
+	 * @return the set.
+	 * @throws IOException if the input fails.
+	 */
+	static JAIReferenceSet read(DataInput in) throws IOException {
+		boolean unknown = in.readBoolean();
+		boolean mayBeNull = in.readBoolean();
+		int []sites = new int[in.readInt()];
+		for (int i = 0; i<sites.length; i++) {
+			sites[i] = in.readInt();
+		}
+		return of(sites, unknown, mayBeNull);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#subsumes(jabsint.JAIAbstractValue)
+	 */
+	public boolean subsumes(JAIAbstractValue value) {
+		JAIReferenceSet v = asReferenceSet(value);
+		if (v.mayBeNull && !mayBeNull) return false;
+		if (unknown) return true;
+		if (v.unknown) return false;
+		int i = 0;
+		for (int site: v.sites) {
+			while (i<sites.length && sites[i]<site) i++;
+			if (i==sites.length || sites[i]!=site) return false;
+		}
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	public boolean equals(Object o) {
+		if (o==this) return true;
+		if (!(o instanceof JAIReferenceSet)) return false;
+		JAIReferenceSet v = (JAIReferenceSet) o;
+		return unknown==v.unknown && mayBeNull==v.mayBeNull && Arrays.equals(sites, v.sites);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	public int hashCode() {
+		return 4*Arrays.hashCode(sites)+(unknown ? 2 : 0)+(mayBeNull ? 1 : 0);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#intersection(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue intersection(JAIAbstractValue value) {
+		JAIReferenceSet v = asReferenceSet(value);
+		if (unknown) return of(v.sites, v.unknown, mayBeNull && v.mayBeNull);
+		if (v.unknown) return of(sites, false, mayBeNull && v.mayBeNull);
+		int []common = new int[Math.min(sites.length, v.sites.length)];
+		int n = 0;
+		for (int i = 0, j = 0; i<sites.length && j<v.sites.length;) {
+			if (sites[i]==v.sites[j]) {
+				common[n++] = sites[i];
+				i++;
+				j++;
+			} else if (sites[i]<v.sites[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return of(Arrays.copyOf(common, n), false, mayBeNull && v.mayBeNull);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#union(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue union(JAIAbstractValue value) {
+		JAIReferenceSet v = asReferenceSet(value);
+		if (this.subsumes(v)) return this;
+		if (v.subsumes(this)) return v;
+		if (unknown || v.unknown) return of(NO_SITES, true, mayBeNull || v.mayBeNull);
+		int []all = new int[sites.length+v.sites.length];
+		int n = 0;
+		int i = 0, j = 0;
+		while (i<sites.length || j<v.sites.length) {
+			if (j==v.sites.length || (i<sites.length && sites[i]<v.sites[j])) {
+				all[n++] = sites[i++];
+			} else if (i==sites.length || v.sites[j]<sites[i]) {
+				all[n++] = v.sites[j++];
+			} else {
+				all[n++] = sites[i++];
+				j++;
+			}
+		}
+		return of(Arrays.copyOf(all, n), false, mayBeNull || v.mayBeNull);
+	}
+
+	/**
+	 * Removes null when the argument is the null reference. Other references are kept,
+	 * since a site or an unknown object stands for several objects.
+	 *
+	 * @see jabsint.JAIAbstractValue#minus(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue minus(JAIAbstractValue value) {
+		JAIReferenceSet v = asReferenceSet(value);
+		if (v.equals(NULL) && mayBeNull) {
+			return of(sites, unknown, false);
+		}
+		return this;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#top()
+	 */
+	public JAIAbstractValue top() {
+		return TOP;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isTop()
+	 */
+	public boolean isTop() {
+		return unknown && mayBeNull;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isBottom()
+	 */
+	public boolean isBottom() {
+		return !unknown && !mayBeNull && sites.length==0;
+	}
+
+	/**
+	 * Returns an empty set: objects are not concrete values.
+	 *
+	 * @see jabsint.JAIAbstractValue#makeConcrete()
+	 */
+	public JAIValueSet<Integer> makeConcrete() {
+		return new JAIValueSet<Integer>();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		StringBuilder s = new StringBuilder("{");
+		for (int site: sites) {
+			s.append(s.length()>1 ? ", " : "").append("new@").append(site);
+		}
+		if (unknown) s.append(s.length()>1 ? ", " : "").append("?");
+		if (mayBeNull) s.append(s.length()>1 ? ", " : "").append("null");
+		return s.append("}").toString();
+	}
+
+	// The operations below are not on references.
+
+	public boolean isValueLowerThan(JAIAbstractValue value) { throw unsupported("isValueLowerThan"); }
+	public boolean isValueLowerOrEqualTo(JAIAbstractValue value) { throw unsupported("isValueLowerOrEqualTo"); }
+	public boolean isUnordered(JAIAbstractValue value) { throw unsupported("isUnordered"); }
+	public JAIAbstractValue loadFromArrayref(JAIAbstractValue index) { throw unsupported("load from array"); }
+	public void storeInArrayref(JAIAbstractValue index, JAIAbstractValue value) { throw unsupported("store in array"); }
+	public JAIAbstractValue integerAdd(JAIAbstractValue v2) { throw unsupported("integerAdd"); }
+	public JAIAbstractValue longAdd(JAIAbstractValue v2) { throw unsupported("longAdd"); }
+	public JAIAbstractValue floatAdd(JAIAbstractValue v2) { throw unsupported("floatAdd"); }
+	public JAIAbstractValue doubleAdd(JAIAbstractValue v2) { throw unsupported("doubleAdd"); }
+	public JAIAbstractValue integerSub(JAIAbstractValue v2) { throw unsupported("integerSub"); }
+	public JAIAbstractValue longSub(JAIAbstractValue v2) { throw unsupported("longSub"); }
+	public JAIAbstractValue floatSub(JAIAbstractValue v2) { throw unsupported("floatSub"); }
+	public JAIAbstractValue doubleSub(JAIAbstractValue v2) { throw unsupported("doubleSub"); }
+	public JAIAbstractValue integerMul(JAIAbstractValue v2) { throw unsupported("integerMul"); }
+	public JAIAbstractValue longMul(JAIAbstractValue v2) { throw unsupported("longMul"); }
+	public JAIAbstractValue floatMul(JAIAbstractValue v2) { throw unsupported("floatMul"); }
+	public JAIAbstractValue doubleMul(JAIAbstractValue v2) { throw unsupported("doubleMul"); }
+	public JAIAbstractValue integerDiv(JAIAbstractValue v2) { throw unsupported("integerDiv"); }
+	public JAIAbstractValue longDiv(JAIAbstractValue v2) { throw unsupported("longDiv"); }
+	public JAIAbstractValue floatDiv(JAIAbstractValue v2) { throw unsupported("floatDiv"); }
+	public JAIAbstractValue doubleDiv(JAIAbstractValue v2) { throw unsupported("doubleDiv"); }
+	public JAIAbstractValue integerRemainder(JAIAbstractValue v2) { throw unsupported("integerRemainder"); }
+	public JAIAbstractValue longRemainder(JAIAbstractValue v2) { throw unsupported("longRemainder"); }
+	public JAIAbstractValue floatRemainder(JAIAbstractValue v2) { throw unsupported("floatRemainder"); }
+	public JAIAbstractValue doubleRemainder(JAIAbstractValue v2) { throw unsupported("doubleRemainder"); }
+	public JAIAbstractValue integerNegation() { throw unsupported("integerNegation"); }
+	public JAIAbstractValue longNegation() { throw unsupported("longNegation"); }
+	public JAIAbstractValue floatNegation() { throw unsupported("floatNegation"); }
+	public JAIAbstractValue doubleNegation() { throw unsupported("doubleNegation"); }
+	public JAIAbstractValue integerShiftLeft(JAIAbstractValue v2) { throw unsupported("integerShiftLeft"); }
+	public JAIAbstractValue longShiftLeft(JAIAbstractValue v2) { throw unsupported("longShiftLeft"); }
+	public JAIAbstractValue integerShiftRight(JAIAbstractValue v2) { throw unsupported("integerShiftRight"); }
+	public JAIAbstractValue longShiftRight(JAIAbstractValue v2) { throw unsupported("longShiftRight"); }
+	public JAIAbstractValue integerLogicalShiftRight(JAIAbstractValue v2) { throw unsupported("integerLogicalShiftRight"); }
+	public JAIAbstractValue longLogicalShiftRight(JAIAbstractValue v2) { throw unsupported("longLogicalShiftRight"); }
+	public JAIAbstractValue integerAnd(JAIAbstractValue v2) { throw unsupported("integerAnd"); }
+	public JAIAbstractValue longAnd(JAIAbstractValue v2) { throw unsupported("longAnd"); }
+	public JAIAbstractValue integerOr(JAIAbstractValue v2) { throw unsupported("integerOr"); }
+	public JAIAbstractValue longOr(JAIAbstractValue v2) { throw unsupported("longOr"); }
+	public JAIAbstractValue integerXor(JAIAbstractValue v2) { throw unsupported("integerXor"); }
+	public JAIAbstractValue longXor(JAIAbstractValue v2) { throw unsupported("longXor"); }
+	public JAIAbstractValue integer2Long() { throw unsupported("integer2Long"); }
+	public JAIAbstractValue integer2Float() { throw unsupported("integer2Float"); }
+	public JAIAbstractValue integer2Double() { throw unsupported("integer2Double"); }
+	public JAIAbstractValue long2Integer() { throw unsupported("long2Integer"); }
+	public JAIAbstractValue long2Double() { throw unsupported("long2Double"); }
+	public JAIAbstractValue float2Integer() { throw unsupported("float2Integer"); }
+	public JAIAbstractValue long2Float() { throw unsupported("long2Float"); }
+	public JAIAbstractValue float2Long() { throw unsupported("float2Long"); }
+	public JAIAbstractValue float2Double() { throw unsupported("float2Double"); }
+	public JAIAbstractValue double2Integer() { throw unsupported("double2Integer"); }
+	public JAIAbstractValue double2Long() { throw unsupported("double2Long"); }
+	public JAIAbstractValue double2Float() { throw unsupported("double2Float"); }
+	public JAIAbstractValue integer2Byte() { throw unsupported("integer2Byte"); }
+	public JAIAbstractValue integer2Character() { throw unsupported("integer2Character"); }
+	public JAIAbstractValue integer2Short() { throw unsupported("integer2Short"); }
+	public JAIAbstractValue longCompare(JAIAbstractValue v2) { throw unsupported("longCompare"); }
+	public JAIAbstractValue floatCompareL(JAIAbstractValue v2) { throw unsupported("floatCompareL"); }
+	public JAIAbstractValue floatCompareG(JAIAbstractValue v2) { throw unsupported("floatCompareG"); }
+	public JAIAbstractValue doubleCompareL(JAIAbstractValue v2) { throw unsupported("doubleCompareL"); }
+	public JAIAbstractValue doubleCompareG(JAIAbstractValue v2) { throw unsupported("doubleCompareG"); }
+	public int getHighestPossibleIntegerValue() { throw unsupported("getHighestPossibleIntegerValue"); }
+	public int getLowestPossibleIntegerValue() { throw unsupported("getLowestPossibleIntegerValue"); }
+
+}
@@ -0,0 +1,786 @@
+package jabsint.domains;
+
+import jabsint.JAIAbstractValue;
+import jabsint.JAIAbstractValueException;
+import jabsint.JAIAbstractValuesFactory;
+import jabsint.JAIValueSet;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This class represents the arrays allocated at a site (see
+ * {@link jabsint.JAIAbstractObject#getArray()}): their length, as an interval of ints,
+ * and their elements, as a few segments of consecutive indexes whose elements share an abstract value. An
+ * array is either smashed, with a single segment whose value is only updated weakly (it
+ * is united with the values stored), or segmented, with up to a maximum number of
+ * segments: storing at a single index replaces the value of that index. When there are
+ * too many segments, the neighbouring segments covering the fewest indexes are united,
+ * so that loops initialising large arrays are interpreted in constant space. The values
+ * of the elements are only widened after the array was widened a few times, since the
+ * loops storing constants in an array are stable after one iteration.
+ * <p>
+ * Arrays are modified in place by storeInArrayref, so they are not immutable: worlds
+ * copy them before modifying them (see {@link JAIAbstractValue#isImmutable()}). The
+ * elements of arrays of references are references (see {@link JAIReferenceSet}), to
+ * the arrays of the next dimension for arrays of arrays.
+ */
+@SuppressWarnings("rawtypes")
+public class JAISegmentedArray extends JAIAbstractValue<Integer> {
+
+	/**
+	 * A single segment, updated weakly.
+	 */
+	public static final int SMASHED = 0;
+
+	/**
+	 * Several segments, updated strongly when a single index is stored.
+	 */
+	public static final int SEGMENTED = 1;
+
+	/**
+	 * The default maximum number of segments of a segmented array.
+	 */
+	public static final int DEFAULT_MAXIMUM_SEGMENTS = 8;
+
+	/**
+	 * The number of times an array is widened before the values of its elements are.
+	 */
+	private static final int WIDENING_DELAY = 3;
+
+	/**
+	 * The highest index of an array.
+	 */
+	private static final int MAX_INDEX = Integer.MAX_VALUE-1;
+
+	/**
+	 * The lengths of the arrays.
+	 */
+	private static final JAIIntegerInterval ANY_LENGTH = JAIIntegerInterval.of(0, Integer.MAX_VALUE);
+
+	/**
+	 * The descriptor of the type of the elements (for example I or [I).
+	 */
+	private final String elementType;
+
+	/**
+	 * SMASHED or SEGMENTED.
+	 */
+	private final int mode;
+
+	/**
+	 * The maximum number of segments.
+	 */
+	private final int maximumSegments;
+
+	/**
+	 * The length of the array.
+	 */
+	private JAIIntegerInterval length;
+
+	/**
+	 * The first index of each segment, in increasing order: the first one is 0, the last
+	 * segment goes up to the highest index.
+	 */
+	private int []starts;
+
+	/**
+	 * The value of the elements of each segment.
+	 */
+	private JAIAbstractValue []values;
+
+	/**
+	 * The number of times the array was widened.
+	 */
+	private int widenings = 0;
+
+	/**
+	 * Creates an array whose elements all have the same value.
+	 *
+	 * @param elementType the descriptor of the type of the elements.
+	 * @param length the length of the array.
+	 * @param elements the value of the elements.
+	 * @param mode SMASHED or SEGMENTED.
+	 * @param maximumSegments the maximum number of segments (used when segmented).
+	 */
+	public JAISegmentedArray(String elementType, JAIAbstractValue length, JAIAbstractValue elements, int mode, int maximumSegments) {
+		super("reference");
+		this.elementType = elementType;
+		this.mode = mode;
+		this.maximumSegments = (mode==SMASHED) ? 1 : Math.max(1, maximumSegments);
+		this.length = asLength(length);
+		this.starts = new int[]{0};
+		this.values = new JAIAbstractValue[]{elements};
+	}
+
+	/**
+	 * Creates an array with the elements of another one.
+	 *
+	 * @param array the other array.
+	 * @param length the length of the array.
+	 * @param starts the first index of each segment (not copied).
+	 * @param values the value of each segment (not copied).
+	 */
+	private JAISegmentedArray(JAISegmentedArray array, JAIIntegerInterval length, int []starts, JAIAbstractValue []values) {
+		super(array);
+		this.elementType = array.elementType;
+		this.mode = array.mode;
+		this.maximumSegments = array.maximumSegments;
+		this.length = length;
+		this.starts = starts;
+		this.values = values;
+		this.widenings = array.widenings;
+		normalize();
+	}
+
+	/**
+	 * Returns the lengths an int may be the length of.
+	 *
+	 * @param value the int.
+	 * @return the non-negative values of the int, any length if it is not an interval.
+	 */
+	private static JAIIntegerInterval asLength(JAIAbstractValue value) {
+		if (!(value instanceof JAIIntegerInterval)) {
+			return ANY_LENGTH;
+		}
+		return (JAIIntegerInterval) ANY_LENGTH.intersection(value);
+	}
+
+	/**
+	 * Returns the exception for operations on other types.
+	 *
+	 * @param operation the name of the operation.
+	 * @return the exception to throw.
+	 */
+	private static JAIAbstractValueException unsupported(String operation) {
+		return new JAIAbstractValueException("Operation not supported on arrays: "+operation);
+	}
+
+	/**
+	 * @return the descriptor of the type of the elements.
+	 */
+	public String getElementType() {
+		return elementType;
+	}
+
+	/**
+	 * @return SMASHED or SEGMENTED.
+	 */
+	public int getMode() {
+		return mode;
+	}
+
+	/**
+	 * @return the number of segments.
+	 */
+	public int getNumberOfSegments() {
+		return starts.length;
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#getArrayLength()
+	 */
+	public JAIAbstractValue getArrayLength() {
+		return length;
+	}
+
+	/**
+	 * Returns the index of the segment of an index.
+	 *
+	 * @param index the index.
+	 * @return the index of the segment.
+	 */
+	private int segmentOf(int index) {
+		int k = Arrays.binarySearch(starts, index);
+		return (k>=0) ? k : -k-2;
+	}
+
+	/**
+	 * Returns the last index of a segment.
+	 *
+	 * @param k the index of the segment.
+	 * @return its last index.
+	 */
+	private int endOf(int k) {
+		return (k+1<starts.length) ? starts[k+1]-1 : MAX_INDEX;
+	}
+
+	/**
+	 * Starts a segment at an index, splitting the segment that contains it.
+	 *
+	 * @param index the index.
+	 */
+	private void split(int index) {
+		if (index<=0 || index>MAX_INDEX) {
+			return;
+		}
+		int k = segmentOf(index);
+		if (starts[k]==index) {
+			return;
+		}
+		int []newStarts = new int[starts.length+1];
+		JAIAbstractValue []newValues = new JAIAbstractValue[values.length+1];
+		System.arraycopy(starts, 0, newStarts, 0, k+1);
+		System.arraycopy(values, 0, newValues, 0, k+1);
+		newStarts[k+1] = index;
+		newValues[k+1] = values[k];
+		System.arraycopy(starts, k+1, newStarts, k+2, starts.length-k-1);
+		System.arraycopy(values, k+1, newValues, k+2, values.length-k-1);
+		starts = newStarts;
+		values = newValues;
+	}
+
+	/**
+	 * Removes a segment, uniting its value with the one of the previous segment.
+	 *
+	 * @param k the index of the segment (not 0).
+	 */
+	private void removeSegment(int k) {
+		JAIAbstractValue v = values[k-1].equals(values[k]) ? values[k-1] : values[k-1].union(values[k]);
+		int []newStarts = new int[starts.length-1];
+		JAIAbstractValue []newValues = new JAIAbstractValue[values.length-1];
+		System.arraycopy(starts, 0, newStarts, 0, k);
+		System.arraycopy(values, 0, newValues, 0, k);
+		System.arraycopy(starts, k+1, newStarts, k, starts.length-k-1);
+		System.arraycopy(values, k+1, newValues, k, values.length-k-1);
+		newValues[k-1] = v;
+		starts = newStarts;
+		values = newValues;
+	}
+
+	/**
+	 * Keeps the segments in a canonical form: the segments past the end of the array
+	 * (which cannot be read) are dropped, neighbouring segments with the same value are
+	 * joined, and the segments covering the fewest indexes are joined with their
+	 * neighbours until there are no more than the maximum number of segments.
+	 */
+	private void normalize() {
+		int end = Math.max(1, length.isBottom() ? 1 : length.getHigh());
+		while (starts.length>1 && starts[starts.length-1]>=end) {
+			// the last segment cannot be read, its value does not matter
+			int []newStarts = Arrays.copyOf(starts, starts.length-1);
+			values = Arrays.copyOf(values, values.length-1);
+			starts = newStarts;
+		}
+		for (int k = starts.length-1; k>0; k--) {
+			if (values[k].equals(values[k-1])) {
+				removeSegment(k);
+			}
+		}
+		while (starts.length>maximumSegments) {
+			int best = 1;
+			long bestWidth = Long.MAX_VALUE;
+			for (int k = 1; k<starts.length; k++) {
+				long width = (long)endOf(k)-starts[k-1];
+				if (width<bestWidth) {
+					best = k;
+					bestWidth = width;
+				}
+			}
+			removeSegment(best);
+		}
+	}
+
+	/**
+	 * Returns the union of values.
+	 *
+	 * @param values the values (at least one).
+	 * @return their union.
+	 */
+	private static JAIAbstractValue unionOf(JAIAbstractValue []values) {
+		JAIAbstractValue v = values[0];
+		for (int k = 1; k<values.length; k++) {
+			if (!v.equals(values[k])) v = v.union(values[k]);
+		}
+		return v;
+	}
+
+	/**
+	 * Returns the union of the values of the segments overlapping a range of indexes.
+	 *
+	 * @param low the first index.
+	 * @param high the last index.
+	 * @return the union.
+	 */
+	private JAIAbstractValue valueOver(int low, int high) {
+		int first = segmentOf(low);
+		int last = segmentOf(high);
+		return unionOf(Arrays.copyOfRange(values, first, last+1));
+	}
+
+	/**
+	 * Returns the indexes of an array of the given length that an int may be.
+	 *
+	 * @param index the int.
+	 * @return the first and the last index, null if there is none.
+	 */
+	private int[] indexesOf(JAIAbstractValue index) {
+		if (length.isBottom() || length.getHigh()==0) {
+			return null;
+		}
+		long low = 0;
+		long high = (long)length.getHigh()-1;
+		if (index instanceof JAIIntegerInterval) {
+			JAIIntegerInterval i = (JAIIntegerInterval) index;
+			if (i.isBottom()) {
+				return null;
+			}
+			// the other indexes throw an ArrayIndexOutOfBoundsException
+			low = Math.max(low, i.getLow());
+			high = Math.min(high, i.getHigh());
+		}
+		return (low>high) ? null : new int[]{(int)low, (int)high};
+	}
+
+	/**
+	 * Returns the starts of the segments of two arrays together.
+	 *
+	 * @param a1 the first array.
+	 * @param a2 the second array.
+	 * @return the starts of the segments of both, in increasing order.
+	 */
+	private static int[] commonStarts(JAISegmentedArray a1, JAISegmentedArray a2) {
+		int []all = new int[a1.starts.length+a2.starts.length];
+		int n = 0;
+		int i = 0, j = 0;
+		while (i<a1.starts.length || j<a2.starts.length) {
+			if (j==a2.starts.length || (i<a1.starts.length && a1.starts[i]<a2.starts[j])) {
+				all[n++] = a1.starts[i++];
+			} else if (i==a1.starts.length || a2.starts[j]<a1.starts[i]) {
+				all[n++] = a2.starts[j++];
+			} else {
+				all[n++] = a1.starts[i++];
+				j++;
+			}
+		}
+		return Arrays.copyOf(all, n);
+	}
+
+	/**
+	 * Converts a value stored in the array to the type of its elements: bytes, chars,
+	 * shorts and booleans are truncated.
+	 *
+	 * @param value the value stored.
+	 * @return the value of the element.
+	 */
+	private JAIAbstractValue toElement(JAIAbstractValue value) {
+		if (!(value instanceof JAIIntegerInterval)) {
+			return value;
+		}
+		switch (elementKind()) {
+		case 'B': return value.integer2Byte();
+		case 'C': return value.integer2Character();
+		case 'S': return value.integer2Short();
+		case 'Z': return value.integerAnd(JAIIntegerInterval.ONE);
+		default: return value;
+		}
+	}
+
+	/**
+	 * Loads the union of the values of the elements at the indexes the argument may be.
+	 *
+	 * @see jabsint.JAIAbstractValue#loadFromArrayref(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue loadFromArrayref(JAIAbstractValue index) {
+		int []range = indexesOf(index);
+		if (range==null) {
+			// the load throws an exception, the value does not matter
+			return values[0];
+		}
+		return valueOver(range[0], range[1]);
+	}
+
+	/**
+	 * Stores a value at the indexes the argument may be. The value replaces the one of
+	 * the element if the array is segmented and the index is known, otherwise it is
+	 * united with the values of the elements at the indexes.
+	 *
+	 * @see jabsint.JAIAbstractValue#storeInArrayref(jabsint.JAIAbstractValue, jabsint.JAIAbstractValue)
+	 */
+	public void storeInArrayref(JAIAbstractValue index, JAIAbstractValue value) {
+		store(index, value, true);
+	}
+
+	/**
+	 * Unites a value with the elements at the indexes the argument may be. Only the
+	 * segments of these indexes are updated.
+	 *
+	 * @see jabsint.JAIAbstractValue#weakStoreInArrayref(jabsint.JAIAbstractValue, jabsint.JAIAbstractValue)
+	 */
+	public void weakStoreInArrayref(JAIAbstractValue index, JAIAbstractValue value) {
+		store(index, value, false);
+	}
+
+	/**
+	 * Stores a value at the indexes an int may be.
+	 *
+	 * @param index the int.
+	 * @param value the value stored.
+	 * @param strong true if the value may replace the one of a single element, false if it is always united with it.
+	 */
+	private void store(JAIAbstractValue index, JAIAbstractValue value, boolean strong) {
+		int []range = indexesOf(index);
+		if (range==null) {
+			return;
+		}
+		JAIAbstractValue v = toElement(value);
+		if (mode==SMASHED) {
+			values[0] = values[0].equals(v) ? values[0] : values[0].union(v);
+			return;
+		}
+		split(range[0]);
+		if (range[1]<MAX_INDEX) split(range[1]+1);
+		for (int k = segmentOf(range[0]); k<=segmentOf(range[1]); k++) {
+			values[k] = ((strong && range[0]==range[1]) || values[k].equals(v)) ? v : values[k].union(v);
+		}
+		normalize();
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isImmutable()
+	 */
+	public boolean isImmutable() {
+		return false;
+	}
+
+	/**
+	 * The first byte of the arrays written (see {@link #write(DataOutput)}).
+	 */
+	static final int TAG = 5;
+
+	/**
+	 * Writes the array and the values of its segments, which must be writable too.
+	 *
+	 * @see jabsint.JAIAbstractValue#write(java.io.DataOutput)
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(TAG);
+		out.writeUTF(elementType);
+		out.writeByte(mode);
+		out.writeInt(maximumSegments);
+		out.writeInt(widenings);
+		out.writeInt(length.getLow());
+		out.writeInt(length.getHigh());
+		out.writeInt(starts.length);
+		for (int k = 0; k<starts.length; k++) {
+			out.writeInt(starts[k]);
+			values[k].write(out);
+		}
+	}
+
+	/**
+	 * Reads an array written by {@link #write(DataOutput)}, once its first byte was read.
+	 *
+	 * @param in the input.
+	 * @param factory the factory reading the values of the segments.
+	 * @return the array.
+	 * @throws IOException if the input fails.
+	 */
+	static JAISegmentedArray read(DataInput in, JAIAbstractValuesFactory factory) throws IOException {
+		String elementType = in.readUTF();
+		int mode = in.readByte();
+		int maximumSegments = in.readInt();
+		int widenings = in.readInt();
+		JAIIntegerInterval length = JAIIntegerInterval.of(in.readInt(), in.readInt());
+		int []starts = new int[in.readInt()];
+		JAIAbstractValue []values = new JAIAbstractValue[starts.length];
+		for (int k = 0; k<starts.length; k++) {
+			starts[k] = in.readInt();
+			values[k] = factory.readAbstractValue(in);
+		}
+		if (starts.length==0 || starts[0]!=0) {
+			throw new IOException("Malformed array");
+		}
+		JAISegmentedArray array = new JAISegmentedArray(elementType, length, values[0], mode, maximumSegments);
+		array.widenings = widenings;
+		return new JAISegmentedArray(array, length, starts, values);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#clone()
+	 */
+	public JAIAbstractValue clone() {
+		return new JAISegmentedArray(this, length, starts.clone(), values.clone());
+	}
+
+	/**
+	 * Returns the allocation sites of the objects the elements may refer to.
+	 *
+	 * @see jabsint.JAIAbstractValue#getAllocationSites()
+	 */
+	public int[] getAllocationSites() {
+		if (!isReferenceArray()) {
+			return super.getAllocationSites();
+		}
+		return unionOf(values).getAllocationSites();
+	}
+
+	/**
+	 * Returns true if the elements may refer to unknown objects.
+	 *
+	 * @see jabsint.JAIAbstractValue#mayReferToUnknownObject()
+	 */
+	public boolean mayReferToUnknownObject() {
+		return isReferenceArray() && unionOf(values).mayReferToUnknownObject();
+	}
+
+	/**
+	 * @return the first character of the descriptor of the type of the elements.
+	 */
+	private char elementKind() {
+		return elementType.isEmpty() ? 'I' : elementType.charAt(0);
+	}
+
+	/**
+	 * @return true if the elements are references.
+	 */
+	private boolean isReferenceArray() {
+		return elementKind()=='L' || elementKind()=='[';
+	}
+
+	/**
+	 * Checks the arrays segment by segment.
+	 *
+	 * @see jabsint.JAIAbstractValue#subsumes(jabsint.JAIAbstractValue)
+	 */
+	public boolean subsumes(JAIAbstractValue value) {
+		if (!(value instanceof JAISegmentedArray)) {
+			return value.isBottom();
+		}
+		JAISegmentedArray a = (JAISegmentedArray) value;
+		if (!length.subsumes(a.length)) {
+			return false;
+		}
+		for (int start: commonStarts(this, a)) {
+			JAIAbstractValue v1 = values[segmentOf(start)];
+			JAIAbstractValue v2 = a.values[a.segmentOf(start)];
+			if (v1!=v2 && !v1.subsumes(v2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	public boolean equals(Object o) {
+		if (o==this) return true;
+		if (!(o instanceof JAISegmentedArray)) return false;
+		JAISegmentedArray a = (JAISegmentedArray) o;
+		return elementType.equals(a.elementType) && length.equals(a.length)
+				&& Arrays.equals(starts, a.starts) && Arrays.equals(values, a.values);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	public int hashCode() {
+		return ((elementType.hashCode()*31+length.hashCode())*31+Arrays.hashCode(starts))*31+Arrays.hashCode(values);
+	}
+
+	/**
+	 * Intersects the arrays segment by segment.
+	 *
+	 * @see jabsint.JAIAbstractValue#intersection(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue intersection(JAIAbstractValue value) {
+		if (!(value instanceof JAISegmentedArray)) {
+			return this;
+		}
+		JAISegmentedArray a = (JAISegmentedArray) value;
+		int []common = commonStarts(this, a);
+		JAIAbstractValue []newValues = new JAIAbstractValue[common.length];
+		for (int k = 0; k<common.length; k++) {
+			newValues[k] = values[segmentOf(common[k])].intersection(a.values[a.segmentOf(common[k])]);
+		}
+		return new JAISegmentedArray(this, (JAIIntegerInterval) length.intersection(a.length), common, newValues);
+	}
+
+	/**
+	 * Unites the arrays segment by segment.
+	 *
+	 * @see jabsint.JAIAbstractValue#union(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue union(JAIAbstractValue value) {
+		if (!(value instanceof JAISegmentedArray)) {
+			return value.isBottom() ? this : top();
+		}
+		JAISegmentedArray a = (JAISegmentedArray) value;
+		int []common = commonStarts(this, a);
+		JAIAbstractValue []newValues = new JAIAbstractValue[common.length];
+		for (int k = 0; k<common.length; k++) {
+			JAIAbstractValue v1 = values[segmentOf(common[k])];
+			JAIAbstractValue v2 = a.values[a.segmentOf(common[k])];
+			newValues[k] = v1.equals(v2) ? v1 : v1.union(v2);
+		}
+		return new JAISegmentedArray(this, (JAIIntegerInterval) length.union(a.length), common, newValues);
+	}
+
+	/**
+	 * Widens the values of the segments of this array, which keeps its segments, with the
+	 * union of the values of the other array over each segment, and widens the length.
+	 * The values are united instead the first times the array is widened.
+	 *
+	 * @see jabsint.JAIAbstractValue#widen(jabsint.JAIAbstractValue, long[])
+	 */
+	public JAIAbstractValue widen(JAIAbstractValue value, long []thresholds) {
+		if (!(value instanceof JAISegmentedArray)) {
+			return union(value);
+		}
+		JAISegmentedArray a = (JAISegmentedArray) value;
+		boolean delayed = widenings<WIDENING_DELAY;
+		JAIAbstractValue []newValues = new JAIAbstractValue[values.length];
+		for (int k = 0; k<values.length; k++) {
+			JAIAbstractValue v = a.valueOver(starts[k], endOf(k));
+			if (values[k].equals(v)) {
+				newValues[k] = values[k];
+			} else {
+				newValues[k] = delayed ? values[k].union(v) : values[k].widen(v, thresholds);
+			}
+		}
+		JAISegmentedArray result = new JAISegmentedArray(this, asLength(length.widen(a.length, thresholds)), starts.clone(), newValues);
+		result.widenings = widenings+1;
+		return result;
+	}
+
+	/**
+	 * Narrows the values of the segments of this array with the union of the values of
+	 * the other array over each segment, and narrows the length.
+	 *
+	 * @see jabsint.JAIAbstractValue#narrow(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue narrow(JAIAbstractValue value) {
+		if (!(value instanceof JAISegmentedArray)) {
+			return this;
+		}
+		JAISegmentedArray a = (JAISegmentedArray) value;
+		JAIAbstractValue []newValues = new JAIAbstractValue[values.length];
+		for (int k = 0; k<values.length; k++) {
+			newValues[k] = values[k].narrow(a.valueOver(starts[k], endOf(k)));
+		}
+		return new JAISegmentedArray(this, asLength(length.narrow(a.length)), starts.clone(), newValues);
+	}
+
+	/**
+	 * Returns the array itself, since an array stands for several arrays.
+	 *
+	 * @see jabsint.JAIAbstractValue#minus(jabsint.JAIAbstractValue)
+	 */
+	public JAIAbstractValue minus(JAIAbstractValue value) {
+		return this;
+	}
+
+	/**
+	 * Returns an array of any length whose elements may hold any value of their type.
+	 *
+	 * @see jabsint.JAIAbstractValue#top()
+	 */
+	public JAIAbstractValue top() {
+		return new JAISegmentedArray(this, ANY_LENGTH, new int[]{0}, new JAIAbstractValue[]{unionOf(values).top()});
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isTop()
+	 */
+	public boolean isTop() {
+		return length.equals(ANY_LENGTH) && starts.length==1 && values[0].isTop();
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIAbstractValue#isBottom()
+	 */
+	public boolean isBottom() {
+		return length.isBottom();
+	}
+
+	/**
+	 * Returns an empty set: arrays are not concrete values.
+	 *
+	 * @see jabsint.JAIAbstractValue#makeConcrete()
+	 */
+	public JAIValueSet<Integer> makeConcrete() {
+		return new JAIValueSet<Integer>();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		StringBuilder s = new StringBuilder(elementType).append(length).append("{");
+		for (int k = 0; k<starts.length; k++) {
+			if (k>0) s.append(", ");
+			s.append(starts[k]).append("..");
+			if (k+1<starts.length) s.append(starts[k+1]-1);
+			s.append("=").append(values[k]);
+		}
+		return s.append("}").toString();
+	}
+
+	// The operations below are not on arrays.
+
+	public boolean isValueLowerThan(JAIAbstractValue value) { throw unsupported("isValueLowerThan"); }
+	public boolean isValueLowerOrEqualTo(JAIAbstractValue value) { throw unsupported("isValueLowerOrEqualTo"); }
+	public boolean isUnordered(JAIAbstractValue value) { throw unsupported("isUnordered"); }
+	public JAIAbstractValue integerAdd(JAIAbstractValue v2) { throw unsupported("integerAdd"); }
+	public JAIAbstractValue longAdd(JAIAbstractValue v2) { throw unsupported("longAdd"); }
+	public JAIAbstractValue floatAdd(JAIAbstractValue v2) { throw unsupported("floatAdd"); }
+	public JAIAbstractValue doubleAdd(JAIAbstractValue v2) { throw unsupported("doubleAdd"); }
+	public JAIAbstractValue integerSub(JAIAbstractValue v2) { throw unsupported("integerSub"); }
+	public JAIAbstractValue longSub(JAIAbstractValue v2) { throw unsupported("longSub"); }
+	public JAIAbstractValue floatSub(JAIAbstractValue v2) { throw unsupported("floatSub"); }
+	public JAIAbstractValue doubleSub(JAIAbstractValue v2) { throw unsupported("doubleSub"); }
+	public JAIAbstractValue integerMul(JAIAbstractValue v2) { throw unsupported("integerMul"); }
+	public JAIAbstractValue longMul(JAIAbstractValue v2) { throw unsupported("longMul"); }
+	public JAIAbstractValue floatMul(JAIAbstractValue v2) { throw unsupported("floatMul"); }
+	public JAIAbstractValue doubleMul(JAIAbstractValue v2) { throw unsupported("doubleMul"); }
+	public JAIAbstractValue integerDiv(JAIAbstractValue v2) { throw unsupported("integerDiv"); }
+	public JAIAbstractValue longDiv(JAIAbstractValue v2) { throw unsupported("longDiv"); }
+	public JAIAbstractValue floatDiv(JAIAbstractValue v2) { throw unsupported("floatDiv"); }
+	public JAIAbstractValue doubleDiv(JAIAbstractValue v2) { throw unsupported("doubleDiv"); }
+	public JAIAbstractValue integerRemainder(JAIAbstractValue v2) { throw unsupported("integerRemainder"); }
+	public JAIAbstractValue longRemainder(JAIAbstractValue v2) { throw unsupported("longRemainder"); }
+	public JAIAbstractValue floatRemainder(JAIAbstractValue v2) { throw unsupported("floatRemainder"); }
+	public JAIAbstractValue doubleRemainder(JAIAbstractValue v2) { throw unsupported("doubleRemainder"); }
+	public JAIAbstractValue integerNegation() { throw unsupported("integerNegation"); }
+	public JAIAbstractValue longNegation() { throw unsupported("longNegation"); }
+	public JAIAbstractValue floatNegation() { throw unsupported("floatNegation"); }
+	public JAIAbstractValue doubleNegation() { throw unsupported("doubleNegation"); }
+	public JAIAbstractValue integerShiftLeft(JAIAbstractValue v2) { throw unsupported("integerShiftLeft"); }
+	public JAIAbstractValue longShiftLeft(JAIAbstractValue v2) { throw unsupported("longShiftLeft"); }
+	public JAIAbstractValue integerShiftRight(JAIAbstractValue v2) { throw unsupported("integerShiftRight"); }
+	public JAIAbstractValue longShiftRight(JAIAbstractValue v2) { throw unsupported("longShiftRight"); }
+	public JAIAbstractValue integerLogicalShiftRight(JAIAbstractValue v2) { throw unsupported("integerLogicalShiftRight"); }
+	public JAIAbstractValue longLogicalShiftRight(JAIAbstractValue v2) { throw unsupported("longLogicalShiftRight"); }
+	public JAIAbstractValue integerAnd(JAIAbstractValue v2) { throw unsupported("integerAnd"); }
+	public JAIAbstractValue longAnd(JAIAbstractValue v2) { throw unsupported("longAnd"); }
+	public JAIAbstractValue integerOr(JAIAbstractValue v2) { throw unsupported("integerOr"); }
+	public JAIAbstractValue longOr(JAIAbstractValue v2) { throw unsupported("longOr"); }
+	public JAIAbstractValue integerXor(JAIAbstractValue v2) { throw unsupported("integerXor"); }
+	public JAIAbstractValue longXor(JAIAbstractValue v2) { throw unsupported("longXor"); }
+	public JAIAbstractValue integer2Long() { throw unsupported("integer2Long"); }
+	public JAIAbstractValue integer2Float() { throw unsupported("integer2Float"); }
+	public JAIAbstractValue integer2Double() { throw unsupported("integer2Double"); }
+	public JAIAbstractValue long2Integer() { throw unsupported("long2Integer"); }
+	public JAIAbstractValue long2Double() { throw unsupported("long2Double"); }
+	public JAIAbstractValue float2Integer() { throw unsupported("float2Integer"); }
+	public JAIAbstractValue long2Float() { throw unsupported("long2Float"); }
+	public JAIAbstractValue float2Long() { throw unsupported("float2Long"); }
+	public JAIAbstractValue float2Double() { throw unsupported("float2Double"); }
+	public JAIAbstractValue double2Integer() { throw unsupported("double2Integer"); }
+	public JAIAbstractValue double2Long() { throw unsupported("double2Long"); }
+	public JAIAbstractValue double2Float() { throw unsupported("double2Float"); }
+	public JAIAbstractValue integer2Byte() { throw unsupported("integer2Byte"); }
+	public JAIAbstractValue integer2Character() { throw unsupported("integer2Character"); }
+	public JAIAbstractValue integer2Short() { throw unsupported("integer2Short"); }
+	public JAIAbstractValue longCompare(JAIAbstractValue v2) { throw unsupported("longCompare"); }
+	public JAIAbstractValue floatCompareL(JAIAbstractValue v2) { throw unsupported("floatCompareL"); }
+	public JAIAbstractValue floatCompareG(JAIAbstractValue v2) { throw unsupported("floatCompareG"); }
+	public JAIAbstractValue doubleCompareL(JAIAbstractValue v2) { throw unsupported("doubleCompareL"); }
+	public JAIAbstractValue doubleCompareG(JAIAbstractValue v2) { throw unsupported("doubleCompareG"); }
+	public int getHighestPossibleIntegerValue() { throw unsupported("getHighestPossibleIntegerValue"); }
+	public int getLowestPossibleIntegerValue() { throw unsupported("getLowestPossibleIntegerValue"); }
+
+}
@@ -2,6 +2,7 @@ package jabsint.worlds;
 
 import jabsint.JAIAbstractValuesFactory;
 import jabsint.JAIMinimalWorld;
+import jabsint.JAIWorld;
 
 public class JAIEffectsWorld extends JAIMinimalWorld {
 
@@ -10,7 +11,21 @@ public class JAIEffectsWorld extends JAIMinimalWorld {
 		// TODO Auto-generated constructor stub
 	}
 	
-	
+	/**
+	 * A simple constructor that clones the world passed as a parameter.
+	 * 
+	 * @param w the world to clone.
+	 */
+	public JAIEffectsWorld(JAIEffectsWorld w) {
+		super(w);
+	}
+
+	/* (non-Javadoc)
+	 * @see jabsint.JAIMinimalWorld#copy()
+	 */
+	public JAIWorld copy() {
+		return new JAIEffectsWorld(this);
+	}
 	
 
 }
@@ -0,0 +1,132 @@
+package jabsint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+/**
+ * Checks the persistent map on keys whose hashes collide, share their first bits (sub-nodes)
+ * or differ, and that adding a key leaves the original map unchanged.
+ */
+public class JAIPersistentMapTest {
+
+	/**
+	 * A key with a given hash code.
+	 */
+	private static final class Key {
+		final String name;
+		final int hash;
+
+		Key(String name, int hash) {
+			this.name = name;
+			this.hash = hash;
+		}
+
+		public boolean equals(Object o) {
+			return (o instanceof Key) && ((Key)o).name.equals(name);
+		}
+
+		public int hashCode() {
+			return hash;
+		}
+
+		public String toString() {
+			return name;
+		}
+	}
+
+	@Test
+	public void collidingKeysAreKeptApart() {
+		JAIPersistentMap<Key,Integer> map = JAIPersistentMap.empty();
+		for (int i = 0; i<10; i++) {
+			map = map.put(new Key("k"+i, 42), i);
+		}
+		assertEquals(10, map.size());
+		for (int i = 0; i<10; i++) {
+			assertEquals(Integer.valueOf(i), map.get(new Key("k"+i, 42)));
+		}
+		assertFalse(map.containsKey(new Key("k10", 42)));
+		assertNull(map.get(new Key("k10", 42)));
+	}
+
+	@Test
+	public void collidingKeysAreReplaced() {
+		JAIPersistentMap<Key,Integer> map = JAIPersistentMap.empty();
+		map = map.put(new Key("a", 7), 1).put(new Key("b", 7), 2);
+		JAIPersistentMap<Key,Integer> replaced = map.put(new Key("b", 7), 3);
+		assertEquals(2, replaced.size());
+		assertEquals(Integer.valueOf(3), replaced.get(new Key("b", 7)));
+		assertEquals(Integer.valueOf(1), replaced.get(new Key("a", 7)));
+		assertEquals(Integer.valueOf(2), map.get(new Key("b", 7)));
+	}
+
+	@Test
+	public void collisionAndOtherKeyShareANode() {
+		// the third key has the same first 5 bits as the colliding ones, then differs
+		JAIPersistentMap<Key,Integer> map = JAIPersistentMap.empty();
+		map = map.put(new Key("a", 3), 1).put(new Key("b", 3), 2).put(new Key("c", 3|(1<<5)), 3);
+		assertEquals(3, map.size());
+		assertEquals(Integer.valueOf(1), map.get(new Key("a", 3)));
+		assertEquals(Integer.valueOf(2), map.get(new Key("b", 3)));
+		assertEquals(Integer.valueOf(3), map.get(new Key("c", 3|(1<<5))));
+		assertFalse(map.containsKey(new Key("c", 3)));
+	}
+
+	@Test
+	public void keysSharingPrefixesGoToSubNodes() {
+		// the hashes only differ in their last bits, so each level of the trie is used
+		HashMap<Key,Integer> expected = new HashMap<Key,Integer>();
+		JAIPersistentMap<Key,Integer> map = JAIPersistentMap.empty();
+		for (int level = 0; level<7; level++) {
+			for (int bits = 0; bits<3; bits++) {
+				Key k = new Key("l"+level+"b"+bits, (bits<<(5*level))^0x7);
+				map = map.put(k, 10*level+bits);
+				expected.put(k, 10*level+bits);
+			}
+		}
+		assertEquals(expected.size(), map.size());
+		for (Key k: expected.keySet()) {
+			assertEquals(expected.get(k), map.get(k));
+		}
+		assertEquals(expected.keySet(), new HashSet<Key>(map.keys()));
+	}
+
+	@Test
+	public void putLeavesTheOriginalMapUnchanged() {
+		JAIPersistentMap<String,Integer> map = JAIPersistentMap.empty();
+		for (int i = 0; i<100; i++) {
+			map = map.put("key"+i, i);
+		}
+		JAIPersistentMap<String,Integer> updated = map.put("key5", -5).put("new", 0);
+		assertEquals(100, map.size());
+		assertEquals(101, updated.size());
+		assertEquals(Integer.valueOf(5), map.get("key5"));
+		assertEquals(Integer.valueOf(-5), updated.get("key5"));
+		assertFalse(map.containsKey("new"));
+		assertTrue(updated.containsKey("new"));
+	}
+
+	@Test
+	public void nullValuesArePresent() {
+		JAIPersistentMap<String,Integer> map = JAIPersistentMap.<String,Integer>empty().put("a", null);
+		assertTrue(map.containsKey("a"));
+		assertNull(map.get("a"));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void emptyMapIsShared() {
+		assertSame(JAIPersistentMap.empty(), JAIPersistentMap.empty());
+		assertEquals(0, JAIPersistentMap.empty().size());
+		assertEquals(new ArrayList<Object>(), JAIPersistentMap.empty().keys());
+	}
+
+}
@@ -0,0 +1,78 @@
+package jabsint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import jabsint.domains.JAIIntegerInterval;
+import jabsint.domains.JAIIntervalsFactory;
+
+import org.junit.Test;
+
+/**
+ * Checks that the state table stops the paths it includes, grows with the others, widens
+ * at loop heads, and stops recording join points once its capacity is reached.
+ */
+public class JAIStateTableTest {
+
+	/**
+	 * Returns a world whose first local variable is an interval.
+	 */
+	private static JAIMinimalWorld world(int low, int high) {
+		JAIMinimalWorld world = new JAIMinimalWorld(new JAIIntervalsFactory());
+		world.setFrameSize(2, 1);
+		world.setLocalVariable(0, JAIIntegerInterval.of(low, high));
+		return world;
+	}
+
+	@Test
+	public void includedPathsStop() {
+		JAIStateTable table = new JAIStateTable(4, JAIStateTable.DEFAULT_CAPACITY, JAIStateTable.DEFAULT_WIDENING_DELAY);
+		assertNotNull(table.join(1, world(0, 10), false));
+		assertNull(table.join(1, world(2, 5), false));
+		assertEquals(1, table.getNumberOfSubsumedPaths());
+		assertEquals(1, table.getNumberOfGrowingPaths());
+	}
+
+	@Test
+	public void growingPathsContinueWithTheCombination() {
+		JAIStateTable table = new JAIStateTable(4, JAIStateTable.DEFAULT_CAPACITY, JAIStateTable.DEFAULT_WIDENING_DELAY);
+		table.join(2, world(0, 1), false);
+		JAIMinimalWorld joined = (JAIMinimalWorld)table.join(2, world(5, 6), false);
+		assertEquals(JAIIntegerInterval.of(0, 6), joined.getLocalVariable(0));
+		assertEquals(JAIIntegerInterval.of(0, 6), ((JAIMinimalWorld)table.getState(2)).getLocalVariable(0));
+		assertEquals(2, table.getNumberOfGrowingPaths());
+		assertEquals(1, table.getNumberOfStates());
+	}
+
+	@Test
+	public void loopHeadsAreWidenedAfterTheDelay() {
+		JAIStateTable table = new JAIStateTable(4, JAIStateTable.DEFAULT_CAPACITY, 1);
+		table.join(0, world(0, 0), true);
+		JAIMinimalWorld combined = (JAIMinimalWorld)table.join(0, world(1, 1), true);
+		assertEquals(JAIIntegerInterval.of(0, 1), combined.getLocalVariable(0));
+		JAIMinimalWorld widened = (JAIMinimalWorld)table.join(0, world(2, 2), true);
+		assertEquals(JAIIntegerInterval.of(0, Integer.MAX_VALUE), widened.getLocalVariable(0));
+		assertNull(table.join(0, world(100, 1000), true));
+	}
+
+	@Test
+	public void joinPointsAreNotRecordedOnceFull() {
+		long size = world(0, 0).getEstimatedSize();
+		JAIStateTable table = new JAIStateTable(4, size, JAIStateTable.DEFAULT_WIDENING_DELAY);
+		assertNotNull(table.join(0, world(0, 0), false));
+		assertEquals(size, table.getSize());
+		// the table is full: the path goes on as if there was no table
+		JAIMinimalWorld world = world(3, 3);
+		assertTrue(table.join(1, world, false)==world);
+		assertNull(table.getState(1));
+		assertTrue(table.join(1, world(3, 3), false)!=null);
+		assertEquals(2, table.getNumberOfRejectedStates());
+		assertEquals(1, table.getNumberOfStates());
+		// the recorded join point still stops the paths it includes
+		assertNull(table.join(0, world(0, 0), false));
+		assertTrue(table.getSize()<=table.getCapacity());
+	}
+
+}
@@ -0,0 +1,144 @@
+package jabsint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import jabsint.domains.JAIIntegerInterval;
+import jabsint.domains.JAIIntervalsFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that summaries written in a store are read back, in the same process and once
+ * the file is opened again, and that a file of another format is emptied.
+ */
+public class JAISummaryStoreTest {
+
+	private File file;
+
+	private final JAIWorld world = new JAIMinimalWorld(new JAIIntervalsFactory());
+
+	@Before
+	public void createFile() throws IOException {
+		file = File.createTempFile("jabsint", ".summaries");
+		file.delete();
+	}
+
+	@After
+	public void deleteFile() throws IOException {
+		JAISummaryStore.open(file, JAISummaryStore.MINIMUM_SIZE).close();
+		file.delete();
+	}
+
+	/**
+	 * Returns a key of the store.
+	 */
+	private static byte[] key(int n) {
+		byte []key = new byte[16];
+		Arrays.fill(key, (byte)n);
+		return key;
+	}
+
+	/**
+	 * Returns a summary returning an interval and writing a field and a static field.
+	 */
+	private static JAIMethodSummary summary(int low, int high) {
+		JAIPersistentMap<String,JAIAbstractValue> fields = JAIPersistentMap.empty();
+		JAIPersistentMap<String,JAIAbstractValue> staticFields = JAIPersistentMap.empty();
+		return new JAIMethodSummary(JAIIntegerInterval.of(low, high),
+				fields.put("A/f:I", JAIIntegerInterval.of(0, 1)), staticFields.put("A/s:I", JAIIntegerInterval.of(low, low)));
+	}
+
+	@Test
+	public void summariesAreReadBack() throws IOException {
+		JAISummaryStore store = JAISummaryStore.open(file, JAISummaryStore.MINIMUM_SIZE);
+		assertTrue(store.put(key(1), summary(3, 7)));
+		JAIMethodSummary read = store.get(key(1), world);
+		assertNotNull(read);
+		assertEquals(JAIIntegerInterval.of(3, 7), read.getReturnValue());
+		assertEquals(JAIIntegerInterval.of(0, 1), read.getFields().get("A/f:I"));
+		assertEquals(JAIIntegerInterval.of(3, 3), read.getStaticFields().get("A/s:I"));
+		assertNull(store.get(key(2), world));
+		assertEquals(1, store.getHits());
+		assertEquals(1, store.getMisses());
+	}
+
+	@Test
+	public void summariesAreReplaced() throws IOException {
+		JAISummaryStore store = JAISummaryStore.open(file, JAISummaryStore.MINIMUM_SIZE);
+		store.put(key(1), summary(3, 7));
+		store.put(key(1), summary(4, 4));
+		assertEquals(JAIIntegerInterval.of(4, 4), store.get(key(1), world).getReturnValue());
+	}
+
+	@Test
+	public void summariesSurviveReopening() throws IOException {
+		JAISummaryStore store = JAISummaryStore.open(file, JAISummaryStore.MINIMUM_SIZE);
+		assertSame(store, JAISummaryStore.open(file, JAISummaryStore.MINIMUM_SIZE));
+		for (int i = 1; i<=20; i++) {
+			assertTrue(store.put(key(i), summary(i, 2*i)));
+		}
+		long size = store.getSize();
+		store.close();
+
+		// the size of a file that exists is kept
+		JAISummaryStore reopened = JAISummaryStore.open(file, 2*JAISummaryStore.MINIMUM_SIZE);
+		assertNotSame(store, reopened);
+		assertEquals(size, reopened.getSize());
+		for (int i = 1; i<=20; i++) {
+			assertEquals(JAIIntegerInterval.of(i, 2*i), reopened.get(key(i), world).getReturnValue());
+		}
+	}
+
+	@Test
+	public void filesOfAnotherFormatAreEmptied() throws IOException {
+		JAISummaryStore store = JAISummaryStore.open(file, JAISummaryStore.MINIMUM_SIZE);
+		store.put(key(1), summary(3, 7));
+		store.close();
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			// the version follows the magic number
+			raf.seek(4);
+			raf.writeInt(-1);
+		} finally {
+			raf.close();
+		}
+		JAISummaryStore reopened = JAISummaryStore.open(file, JAISummaryStore.MINIMUM_SIZE);
+		assertNull(reopened.get(key(1), world));
+		assertTrue(reopened.put(key(1), summary(1, 1)));
+		assertEquals(JAIIntegerInterval.of(1, 1), reopened.get(key(1), world).getReturnValue());
+	}
+
+	@Test
+	public void oldSummariesAreOverwrittenWhenTheLogIsFull() throws IOException {
+		JAISummaryStore store = JAISummaryStore.open(file, JAISummaryStore.MINIMUM_SIZE);
+		int n = (int)(store.getSize()/16);
+		for (int i = 0; i<n; i++) {
+			byte []key = key(9);
+			key[0] = (byte)i;
+			key[1] = (byte)(i>>8);
+			store.put(key, summary(i, i));
+		}
+		assertEquals(JAISummaryStore.MINIMUM_SIZE, store.getSize());
+		byte []last = key(9);
+		last[0] = (byte)(n-1);
+		last[1] = (byte)((n-1)>>8);
+		assertEquals(JAIIntegerInterval.of(n-1, n-1), store.get(last, world).getReturnValue());
+		byte []first = key(9);
+		first[0] = 0;
+		first[1] = 0;
+		assertNull(store.get(first, world));
+	}
+
+}
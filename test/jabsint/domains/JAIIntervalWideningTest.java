@@ -0,0 +1,81 @@
+package jabsint.domains;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks the widening and the narrowing of int and long intervals: growing bounds go to
+ * the next threshold or to the extremes, narrowing only refines the widened bounds, and
+ * the empty interval stays empty.
+ */
+public class JAIIntervalWideningTest {
+
+	private static final long []THRESHOLDS = {-10, 0, 10, 100};
+
+	@Test
+	public void growingBoundsGoToTheExtremes() {
+		JAIIntegerInterval i = JAIIntegerInterval.of(0, 5);
+		assertEquals(JAIIntegerInterval.of(0, Integer.MAX_VALUE), i.widen(JAIIntegerInterval.of(1, 6), null));
+		assertEquals(JAIIntegerInterval.of(Integer.MIN_VALUE, 5), i.widen(JAIIntegerInterval.of(-1, 5), null));
+		assertEquals(JAIIntegerInterval.TOP, i.widen(JAIIntegerInterval.of(-1, 6), null));
+	}
+
+	@Test
+	public void includedValuesDoNotWiden() {
+		JAIIntegerInterval i = JAIIntegerInterval.of(0, 5);
+		assertSame(i, i.widen(JAIIntegerInterval.of(1, 4), null));
+		assertSame(i, i.widen(JAIIntegerInterval.BOTTOM, THRESHOLDS));
+		assertEquals(i, JAIIntegerInterval.BOTTOM.widen(i, THRESHOLDS));
+	}
+
+	@Test
+	public void growingBoundsStopAtThresholds() {
+		JAIIntegerInterval i = JAIIntegerInterval.of(0, 5);
+		assertEquals(JAIIntegerInterval.of(0, 10), i.widen(JAIIntegerInterval.of(0, 6), THRESHOLDS));
+		assertEquals(JAIIntegerInterval.of(0, 100), i.widen(JAIIntegerInterval.of(0, 11), THRESHOLDS));
+		assertEquals(JAIIntegerInterval.of(0, Integer.MAX_VALUE), i.widen(JAIIntegerInterval.of(0, 101), THRESHOLDS));
+		assertEquals(JAIIntegerInterval.of(-10, 5), i.widen(JAIIntegerInterval.of(-3, 5), THRESHOLDS));
+		assertEquals(JAIIntegerInterval.of(Integer.MIN_VALUE, 5), i.widen(JAIIntegerInterval.of(-11, 5), THRESHOLDS));
+	}
+
+	@Test
+	public void narrowingRefinesWidenedBounds() {
+		JAIIntegerInterval widened = JAIIntegerInterval.of(0, Integer.MAX_VALUE);
+		assertEquals(JAIIntegerInterval.of(0, 9), widened.narrow(JAIIntegerInterval.of(0, 9)));
+		// a bound that was not widened is kept
+		assertEquals(JAIIntegerInterval.of(0, 9), widened.narrow(JAIIntegerInterval.of(2, 9)));
+		assertEquals(JAIIntegerInterval.of(-4, 3), JAIIntegerInterval.TOP.narrow(JAIIntegerInterval.of(-4, 3)));
+		JAIIntegerInterval i = JAIIntegerInterval.of(1, 2);
+		assertSame(i, i.narrow(JAIIntegerInterval.of(0, 100)));
+	}
+
+	@Test
+	public void emptyIntervalsStayEmptyWhenNarrowing() {
+		assertTrue(JAIIntegerInterval.BOTTOM.narrow(JAIIntegerInterval.of(0, 1)).isBottom());
+		assertTrue(JAIIntegerInterval.of(0, Integer.MAX_VALUE).narrow(JAIIntegerInterval.BOTTOM).isBottom());
+		assertTrue(JAILongInterval.BOTTOM.narrow(JAILongInterval.of(0, 1)).isBottom());
+	}
+
+	@Test
+	public void wideningThenNarrowingRecoversALoopBound() {
+		// for (i = 0; i<10; i++): the head sees [0,0], then [0,1], and the exit test gives [0,9] back
+		JAIIntegerInterval head = JAIIntegerInterval.of(0, 0);
+		JAIIntegerInterval widened = (JAIIntegerInterval)head.widen(JAIIntegerInterval.of(0, 1), null);
+		assertEquals(JAIIntegerInterval.of(0, Integer.MAX_VALUE), widened);
+		assertEquals(JAIIntegerInterval.of(0, 10), widened.narrow(JAIIntegerInterval.of(0, 10)));
+	}
+
+	@Test
+	public void longIntervalsWidenAndNarrow() {
+		JAILongInterval l = JAILongInterval.of(0, 5);
+		assertEquals(JAILongInterval.of(0, Long.MAX_VALUE), l.widen(JAILongInterval.of(0, 6), null));
+		assertEquals(JAILongInterval.of(0, 10), l.widen(JAILongInterval.of(0, 6), THRESHOLDS));
+		assertEquals(JAILongInterval.of(Long.MIN_VALUE, 5), l.widen(JAILongInterval.of(-200, 5), THRESHOLDS));
+		assertEquals(JAILongInterval.of(0, 7), JAILongInterval.of(0, Long.MAX_VALUE).narrow(JAILongInterval.of(0, 7)));
+		assertSame(l, l.narrow(JAILongInterval.of(-1, 6)));
+	}
+
+}